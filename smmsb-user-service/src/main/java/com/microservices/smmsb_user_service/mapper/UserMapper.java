@@ -0,0 +1,31 @@
+package com.microservices.smmsb_user_service.mapper;
+
+import com.microservices.smmsb_user_service.dto.UserDto;
+import com.microservices.smmsb_user_service.dto.request.CreateUserRequest;
+import com.microservices.smmsb_user_service.model.User;
+
+// Mapping eksplisit tanpa refleksi; output JSON sama dengan ModelMapper (lihat UserMapperTest)
+public final class UserMapper {
+
+   private UserMapper() {
+   }
+
+   public static UserDto toDto(User user) {
+      UserDto dto = new UserDto();
+      dto.setId(user.getId());
+      dto.setUsername(user.getUsername());
+      dto.setPasswordHash(user.getPasswordHash());
+      dto.setEmail(user.getEmail());
+      dto.setRole(user.getRole());
+      return dto;
+   }
+
+   // Password tidak di-map; hash di-set oleh service setelah di-encode
+   public static User toEntity(CreateUserRequest request) {
+      User user = new User();
+      user.setUsername(request.getUsername());
+      user.setEmail(request.getEmail());
+      user.setRole(request.getRole());
+      return user;
+   }
+}
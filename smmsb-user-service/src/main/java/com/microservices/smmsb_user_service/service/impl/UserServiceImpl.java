@@ -2,7 +2,6 @@ package com.microservices.smmsb_user_service.service.impl;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +18,7 @@ import com.microservices.smmsb_user_service.dto.response.ListResponse;
 import com.microservices.smmsb_user_service.dto.response.MessageResponse;
 import com.microservices.smmsb_user_service.exception.DuplicateResourceException;
 import com.microservices.smmsb_user_service.exception.ResourceNotFoundException;
+import com.microservices.smmsb_user_service.mapper.UserMapper;
 import com.microservices.smmsb_user_service.model.User;
 import com.microservices.smmsb_user_service.repository.UserRepository;
 import com.microservices.smmsb_user_service.service.UserService;
@@ -31,15 +31,12 @@ public class UserServiceImpl implements UserService {
       private final UserRepository userRepository;
       private final PasswordEncoder passwordEncoder;
       private final MessageUtils messageUtils;
-      private final ModelMapper modelMapper;
 
       @Autowired
-      public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, MessageUtils messageUtils,
-                  ModelMapper modelMapper) {
+      public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, MessageUtils messageUtils) {
             this.userRepository = userRepository;
             this.passwordEncoder = passwordEncoder;
             this.messageUtils = messageUtils;
-            this.modelMapper = modelMapper;
       }
 
       // Create User
@@ -60,7 +57,7 @@ public class UserServiceImpl implements UserService {
             }
 
             // Create new user
-            User user = modelMapper.map(createUserRequest, User.class);
+            User user = UserMapper.toEntity(createUserRequest);
             user.setPasswordHash(passwordEncoder.encode(createUserRequest.getPassword()));
             userRepository.save(user);
 
@@ -152,7 +149,7 @@ public class UserServiceImpl implements UserService {
 
             Page<User> users = userRepository.findAll(spec, pageable);
             List<UserDto> userDtos = users.stream()
-                        .map(user -> modelMapper.map(user, UserDto.class))
+                        .map(UserMapper::toDto)
                         .toList();
 
             return new ListResponse<>(
@@ -169,7 +166,7 @@ public class UserServiceImpl implements UserService {
                         .orElseThrow(() -> new ResourceNotFoundException(
                                     messageUtils.getMessage("error.user.not.found")));
 
-            UserDto userDto = modelMapper.map(user, UserDto.class);
+            UserDto userDto = UserMapper.toDto(user);
 
             return ApiDataResponseBuilder.builder()
                         .data(userDto)
@@ -0,0 +1,46 @@
+package com.microservices.smmsb_user_service.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_user_service.dto.UserDto;
+import com.microservices.smmsb_user_service.dto.request.CreateUserRequest;
+import com.microservices.smmsb_user_service.model.User;
+
+// Memastikan mapper eksplisit menghasilkan JSON yang sama dengan ModelMapper sebelumnya
+public class UserMapperTest {
+
+   private final ModelMapper modelMapper = new ModelMapper();
+   private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+   @Test
+   void toDto_ProducesSameJsonAsModelMapper() throws Exception {
+      User user = User.builder()
+            .id(1L)
+            .username("kasir01")
+            .passwordHash("$2a$10$hash")
+            .email("kasir01@bengkel.id")
+            .role("ADMIN")
+            .createdAt(LocalDateTime.of(2025, 1, 1, 8, 0))
+            .build();
+
+      assertEquals(objectMapper.writeValueAsString(modelMapper.map(user, UserDto.class)),
+            objectMapper.writeValueAsString(UserMapper.toDto(user)));
+   }
+
+   @Test
+   void toEntity_MatchesModelMapper() {
+      CreateUserRequest request = new CreateUserRequest();
+      request.setUsername("kasir02");
+      request.setPassword("password123");
+      request.setEmail("kasir02@bengkel.id");
+      request.setRole("ADMIN");
+
+      assertEquals(modelMapper.map(request, User.class), UserMapper.toEntity(request));
+   }
+}
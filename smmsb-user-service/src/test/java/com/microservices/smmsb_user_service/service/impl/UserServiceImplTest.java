@@ -11,10 +11,10 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -48,9 +48,6 @@ public class UserServiceImplTest {
    @Mock
    private MessageUtils messageUtils;
 
-   @Mock
-   private ModelMapper modelMapper;
-
    @InjectMocks
    private UserServiceImpl userService;
 
@@ -73,6 +70,7 @@ public class UserServiceImplTest {
       userDto = new UserDto();
       userDto.setId(1L);
       userDto.setUsername("testuser");
+      userDto.setPasswordHash("hashedpassword");
       userDto.setEmail("test@example.com");
       userDto.setRole("ROLE_SUPERADMIN");
 
@@ -96,7 +94,6 @@ public class UserServiceImplTest {
       // Arrange
       when(userRepository.existsByUsername(createUserRequest.getUsername())).thenReturn(false);
       when(userRepository.existsByEmail(createUserRequest.getEmail())).thenReturn(false);
-      when(modelMapper.map(createUserRequest, User.class)).thenReturn(user);
       when(passwordEncoder.encode(createUserRequest.getPassword())).thenReturn("hashedpassword");
       when(messageUtils.getMessage("success.user.created", createUserRequest.getUsername()))
             .thenReturn("User created successfully");
@@ -112,7 +109,12 @@ public class UserServiceImplTest {
       verify(userRepository).existsByUsername(createUserRequest.getUsername());
       verify(userRepository).existsByEmail(createUserRequest.getEmail());
       verify(passwordEncoder).encode(createUserRequest.getPassword());
-      verify(userRepository).save(user);
+      ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+      verify(userRepository).save(userCaptor.capture());
+      assertEquals("newuser", userCaptor.getValue().getUsername());
+      assertEquals("new@example.com", userCaptor.getValue().getEmail());
+      assertEquals("hashedpassword", userCaptor.getValue().getPasswordHash());
+      assertEquals("ROLE_SUPERADMIN", userCaptor.getValue().getRole());
    }
 
    @Test
@@ -312,7 +314,6 @@ public class UserServiceImplTest {
       Page<User> userPage = new PageImpl<>(userList, pageable, userList.size());
 
       when(userRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(userPage);
-      when(modelMapper.map(user, UserDto.class)).thenReturn(userDto);
       when(messageUtils.getMessage("success.user.retrieved"))
             .thenReturn("Users retrieved successfully");
 
@@ -337,7 +338,6 @@ public class UserServiceImplTest {
       Page<User> userPage = new PageImpl<>(userList, pageable, userList.size());
 
       when(userRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(userPage);
-      when(modelMapper.map(user, UserDto.class)).thenReturn(userDto);
       when(messageUtils.getMessage("success.user.retrieved"))
             .thenReturn("Users retrieved successfully");
 
@@ -357,7 +357,6 @@ public class UserServiceImplTest {
    void getUserById_Success() {
       // Arrange
       when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-      when(modelMapper.map(user, UserDto.class)).thenReturn(userDto);
       when(messageUtils.getMessage("success.user.retrieved"))
             .thenReturn("User retrieved successfully");
 
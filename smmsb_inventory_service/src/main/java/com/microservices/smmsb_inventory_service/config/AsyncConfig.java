@@ -0,0 +1,37 @@
+package com.microservices.smmsb_inventory_service.config;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+   // Executor kecil untuk pekerjaan storage di background (misalnya hapus gambar lama)
+   @Bean(name = "imageJanitorExecutor")
+   public Executor imageJanitorExecutor() {
+      ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+      executor.setCorePoolSize(1);
+      executor.setMaxPoolSize(2);
+      executor.setQueueCapacity(1000);
+      executor.setThreadNamePrefix("image-janitor-");
+      executor.initialize();
+      return executor;
+   }
+
+   // Pembuatan varian gambar memakai CPU dan memori, jadi dibatasi agar tidak mengganggu request
+   @Bean(name = "imageVariantExecutor")
+   public Executor imageVariantExecutor() {
+      ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+      executor.setCorePoolSize(1);
+      executor.setMaxPoolSize(2);
+      executor.setQueueCapacity(200);
+      executor.setThreadNamePrefix("image-variant-");
+      executor.initialize();
+      return executor;
+   }
+}
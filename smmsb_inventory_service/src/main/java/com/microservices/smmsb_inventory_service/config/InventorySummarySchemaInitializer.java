@@ -0,0 +1,47 @@
+package com.microservices.smmsb_inventory_service.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.microservices.smmsb_inventory_service.repository.InventorySummaryJdbcRepository;
+import com.microservices.smmsb_inventory_service.service.InventorySummaryService;
+
+/**
+ * Memasang shard inventory_summary dan trigger product_stock sebelum listener Kafka mulai menerima event.
+ *
+ * Fungsi trigger diganti di setiap startup (threshold atau jumlah shard bisa berubah), lalu agregat dihitung
+ * ulang sekali agar data yang sudah ada sebelum trigger terpasang ikut terhitung.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class InventorySummarySchemaInitializer implements InitializingBean {
+
+   private final InventorySummaryJdbcRepository inventorySummaryJdbcRepository;
+   private final InventorySummaryService inventorySummaryService;
+   private final TransactionTemplate transactionTemplate;
+
+   @Value("${application.low-stock.threshold:10}")
+   private int lowStockThreshold;
+
+   @Value("${application.inventory-summary.shards:16}")
+   private int shards;
+
+   @Autowired
+   public InventorySummarySchemaInitializer(InventorySummaryJdbcRepository inventorySummaryJdbcRepository,
+         InventorySummaryService inventorySummaryService, TransactionTemplate transactionTemplate) {
+      this.inventorySummaryJdbcRepository = inventorySummaryJdbcRepository;
+      this.inventorySummaryService = inventorySummaryService;
+      this.transactionTemplate = transactionTemplate;
+   }
+
+   @Override
+   public void afterPropertiesSet() {
+      transactionTemplate.executeWithoutResult(
+            status -> inventorySummaryJdbcRepository.installTrigger(shards, lowStockThreshold));
+      inventorySummaryService.reconcile();
+   }
+}
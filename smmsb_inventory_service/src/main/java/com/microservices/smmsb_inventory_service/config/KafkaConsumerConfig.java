@@ -1,15 +1,28 @@
 package com.microservices.smmsb_inventory_service.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.backoff.FixedBackOff;
 
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.ProductCacheInvalidationEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.StockReservationDecisionEvent;
 import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
 
 import java.util.HashMap;
@@ -18,6 +31,21 @@ import java.util.Map;
 @Configuration
 public class KafkaConsumerConfig {
 
+    @Value("${spring.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    // Satu thread consumer per partisi update-product-stock; thread melebihi jumlah partisi (dijumlah dari semua
+    // replika) akan menganggur. Urutan per produk tetap terjaga karena pesan di-key dengan productId.
+    @Value("${application.kafka.stock-listener.concurrency:6}")
+    private int stockListenerConcurrency;
+
+    // Percobaan ulang event stok yang gagal sebelum dikirim ke DLT
+    @Value("${application.kafka.stock-listener.retry-interval-ms:1000}")
+    private long stockRetryIntervalMs;
+
+    @Value("${application.kafka.stock-listener.retry-attempts:2}")
+    private long stockRetryAttempts;
+
     @Bean
     public ConsumerFactory<String, UpdateProductStockEvent> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
@@ -25,12 +53,13 @@ public class KafkaConsumerConfig {
         config.put(ConsumerConfig.GROUP_ID_CONFIG, "inventory-group");
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-        
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         config.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
         config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
-        
+
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.microservices.smmsb_inventory_service.dto.kafkaEvent");
         config.put(JsonDeserializer.TYPE_MAPPINGS, "updateProductStock:com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent");
         config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
@@ -40,12 +69,147 @@ public class KafkaConsumerConfig {
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, UpdateProductStockEvent> 
+    public ConcurrentKafkaListenerContainerFactory<String, UpdateProductStockEvent>
     kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, UpdateProductStockEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         factory.setBatchListener(false); // Sesuaikan jika ingin menggunakan batch processing
+        factory.setConcurrency(stockListenerConcurrency);
+        return factory;
+    }
+
+    // Factory untuk batch listener: satu poll diproses sekaligus, offset di-commit setelah listener
+    // (dan transaksi DB di dalamnya) selesai
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, UpdateProductStockEvent>
+    batchKafkaListenerContainerFactory(KafkaTemplate<String, Object> kafkaTemplate) {
+        ConcurrentKafkaListenerContainerFactory<String, UpdateProductStockEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(stockListenerConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(batchErrorHandler(kafkaTemplate));
+        return factory;
+    }
+
+    // KafkaBatchConsumer melempar BatchListenerFailedException dengan index event yang gagal: offset sebelum index
+    // itu di-commit, event yang gagal dicoba ulang lalu dikirim ke update-product-stock.DLT, dan sisa batch
+    // dikirim ulang ke listener
+    private DefaultErrorHandler batchErrorHandler(KafkaTemplate<String, Object> kafkaTemplate) {
+        // Partisi negatif: partisi DLT dipilih producer, jadi DLT tidak perlu partisi sebanyak topic asal
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + ".DLT", -1));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer,
+                new FixedBackOff(stockRetryIntervalMs, stockRetryAttempts));
+        // Database yang sedang tidak tersedia bukan kesalahan event: dicoba terus, tidak dikirim ke DLT
+        errorHandler.setBackOffFunction((record, exception) -> isDatabaseUnavailable(exception)
+                ? new FixedBackOff(stockRetryIntervalMs, FixedBackOff.UNLIMITED_ATTEMPTS)
+                : null);
+        return errorHandler;
+    }
+
+    private static boolean isDatabaseUnavailable(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof TransientDataAccessException || current instanceof RecoverableDataAccessException
+                    || current instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Keputusan reservasi dari Transaction Service; group sendiri agar rebalance dan lag-nya terpisah dari
+    // consumer stok
+    @Bean
+    public ConsumerFactory<String, StockReservationDecisionEvent> stockReservationDecisionConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9082");
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, "inventory-reservation-group");
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+
+        config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.microservices.smmsb_inventory_service.dto.kafkaEvent");
+        config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(),
+                new JsonDeserializer<>(StockReservationDecisionEvent.class));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, StockReservationDecisionEvent>
+    stockReservationDecisionListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, StockReservationDecisionEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(stockReservationDecisionConsumerFactory());
+        factory.setConcurrency(stockListenerConcurrency);
+        return factory;
+    }
+
+    // Reservasi stok order dari Transaction Service; group sendiri agar rebalance dan lag-nya terpisah dari
+    // consumer stok
+    @Bean
+    public ConsumerFactory<String, OrderStockEvent> orderStockConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9082");
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, "inventory-order-group");
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+
+        config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.microservices.smmsb_inventory_service.dto.kafkaEvent");
+        config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(),
+                new JsonDeserializer<>(OrderStockEvent.class));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, OrderStockEvent> orderStockListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, OrderStockEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(orderStockConsumerFactory());
+        factory.setConcurrency(stockListenerConcurrency);
+        return factory;
+    }
+
+    // Consumer invalidasi cache: setiap replika memakai group id sendiri (lihat ProductCacheInvalidationListener)
+    // dan hanya membaca pesan baru, karena isi cache replika yang baru start memang masih kosong
+    @Bean
+    public ConsumerFactory<String, ProductCacheInvalidationEvent> productCacheInvalidationConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9082");
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+
+        config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.microservices.smmsb_inventory_service.dto.kafkaEvent");
+        config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(),
+                new JsonDeserializer<>(ProductCacheInvalidationEvent.class));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductCacheInvalidationEvent>
+    productCacheInvalidationListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ProductCacheInvalidationEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(productCacheInvalidationConsumerFactory());
         return factory;
     }
 }
@@ -4,6 +4,7 @@ import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
@@ -14,6 +15,7 @@ import org.springframework.kafka.support.serializer.JsonSerializer;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.KafkaAdmin;
 
 @Configuration
@@ -21,7 +23,26 @@ public class KafkaProducerConfig {
 
     private static final String KAFKA_BROKER = "localhost:9082";
     private static final String NOTIFICATION_EVENT = "notificationTopic";
-    private static final String LOW_STOCK_ALERT = "lowStockAlert";
+    private static final String LOW_STOCK_DIGEST = "lowStockDigest";
+    private static final String UPDATE_PRODUCT_STOCK_REJECTED = "update-product-stock-rejected";
+    private static final String PRODUCT_CACHE_INVALIDATION = "product-cache-invalidation";
+    private static final String PRODUCT_CHANGED = "productChanged";
+    private static final String STOCK_RESERVATION_RESULT = "stock-reservation-result";
+    private static final String UPDATE_PRODUCT_STOCK_DLT = "update-product-stock.DLT";
+
+    // Harus sama dengan konfigurasi transaction service, karena notificationTopic juga dibuat di sana
+    @Value("${application.kafka.topics.notification.partitions:6}")
+    private int notificationPartitions;
+
+    @Value("${application.kafka.topics.product-changed.partitions:6}")
+    private int productChangedPartitions;
+
+    // Hasil reservasi di-key dengan transactionId
+    @Value("${application.kafka.topics.stock-reservation.partitions:6}")
+    private int stockReservationPartitions;
+
+    @Value("${application.kafka.topics.replication-factor:1}")
+    private short replicationFactor;
 
     // Konfigurasi Producer
     @Bean
@@ -54,11 +75,43 @@ public class KafkaProducerConfig {
 
     @Bean
     public NewTopic createNotificationTopic() {
-        return new NewTopic(NOTIFICATION_EVENT, 1, (short) 1); // 1 partition, 1 replication factor
+        return new NewTopic(NOTIFICATION_EVENT, notificationPartitions, replicationFactor);
     }
     
     @Bean
-    public NewTopic createLowStockAlertTopic() {
-        return new NewTopic(LOW_STOCK_ALERT, 1, (short) 1); // 1 partition, 1 replication factor
+    public NewTopic createLowStockDigestTopic() {
+        return new NewTopic(LOW_STOCK_DIGEST, 1, (short) 1); // 1 partition, 1 replication factor
+    }
+
+    @Bean
+    public NewTopic createUpdateProductStockRejectedTopic() {
+        return new NewTopic(UPDATE_PRODUCT_STOCK_REJECTED, 1, (short) 1); // 1 partition, 1 replication factor
+    }
+
+    @Bean
+    public NewTopic createProductCacheInvalidationTopic() {
+        return new NewTopic(PRODUCT_CACHE_INVALIDATION, 1, (short) 1); // 1 partition, 1 replication factor
+    }
+
+    // Event stok yang tetap gagal setelah dicoba ulang oleh batch listener, untuk ditelusuri manual
+    @Bean
+    public NewTopic createUpdateProductStockDeadLetterTopic() {
+        return new NewTopic(UPDATE_PRODUCT_STOCK_DLT, 1, replicationFactor);
+    }
+
+    @Bean
+    public NewTopic createStockReservationResultTopic() {
+        return new NewTopic(STOCK_RESERVATION_RESULT, stockReservationPartitions, replicationFactor);
+    }
+
+    // Compacted: replika katalog di service lain membaca topic dari awal dan tetap mendapat semua produk,
+    // karena Kafka menyimpan pesan terakhir per productId
+    @Bean
+    public NewTopic createProductChangedTopic() {
+        return TopicBuilder.name(PRODUCT_CHANGED)
+                .partitions(productChangedPartitions)
+                .replicas(replicationFactor)
+                .compact()
+                .build();
     }
 }
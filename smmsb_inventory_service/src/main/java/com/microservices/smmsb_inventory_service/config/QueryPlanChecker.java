@@ -0,0 +1,105 @@
+package com.microservices.smmsb_inventory_service.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pemeriksaan plan query repository yang paling sering dipanggil, hanya untuk dev
+ * (application.query-plan-check.enabled).
+ *
+ * Setiap query di-EXPLAIN dengan enable_seqscan=off, sehingga planner selalu memilih index jika ada index yang
+ * bisa dipakai; Seq Scan yang tetap muncul berarti query tersebut tidak punya index dan akan scan seluruh tabel
+ * di data produksi, walaupun tabel dev masih kecil. Hasilnya hanya di-log. Nilai literal di bawah hanya contoh,
+ * bentuk WHERE/ORDER BY harus mengikuti query aslinya.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.query-plan-check.enabled", havingValue = "true")
+public class QueryPlanChecker implements ApplicationRunner {
+
+   private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+   static {
+      QUERIES.put("ProductStockRepository.findByIdAndIsDeletedFalse",
+            "SELECT * FROM product_stock WHERE id = 1 AND is_deleted = false");
+      QUERIES.put("ProductStockRepository.findSummariesByIdIn",
+            "SELECT id, product_name, quantity, price FROM product_stock WHERE id IN (1, 2, 3) AND is_deleted = false");
+      QUERIES.put("ProductStockRepository.existsByProductNameAndIsDeletedFalse",
+            "SELECT 1 FROM product_stock WHERE product_name = 'Busi' AND is_deleted = false LIMIT 1");
+      QUERIES.put("ProductStockRepository.findByIsDeletedFalseAndIsLowStockFalseAndQuantityLessThanAndIdBetween",
+            "SELECT * FROM product_stock WHERE is_deleted = false AND is_low_stock = false AND quantity < 10 "
+                  + "AND id BETWEEN 1 AND 1000");
+      QUERIES.put("ProductStockRepository.findByIsDeletedFalseAndIsLowStockTrueAndQuantityGreaterThanEqualAndIdBetween",
+            "SELECT * FROM product_stock WHERE is_deleted = false AND is_low_stock = true AND quantity >= 10 "
+                  + "AND id BETWEEN 1 AND 1000");
+      QUERIES.put("ProductStockSpesification.hasProductName",
+            "SELECT * FROM product_stock WHERE product_name LIKE '%oli%' ORDER BY id LIMIT 10");
+      QUERIES.put("ProductStockSpesification.hasPrice (sort price)",
+            "SELECT * FROM product_stock WHERE price = 55000 ORDER BY price, id LIMIT 10");
+      QUERIES.put("ProductStockSpesification.hasQuantity (sort quantity)",
+            "SELECT * FROM product_stock WHERE quantity = 5 ORDER BY quantity, id LIMIT 10");
+      QUERIES.put("ProductStockCursor (sort createdAt)",
+            "SELECT * FROM product_stock WHERE created_at > '2025-01-01' ORDER BY created_at, id LIMIT 10");
+      QUERIES.put("ProductStockCursor (sort updatedAt)",
+            "SELECT * FROM product_stock WHERE updated_at > '2025-01-01' ORDER BY updated_at, id LIMIT 10");
+      QUERIES.put("ProductStockJdbcRepository.claimLowStockDigest",
+            "SELECT id FROM product_stock WHERE is_low_stock = true AND is_deleted = false "
+                  + "AND (low_stock_alerted_at IS NULL OR low_stock_alerted_at < now()) ORDER BY quantity, id "
+                  + "LIMIT 500");
+      QUERIES.put("OutboxEventRepository.lockNextBatch",
+            "SELECT * FROM outbox_event WHERE sent_at IS NULL AND attempts < 10 ORDER BY id LIMIT 100");
+      QUERIES.put("StockMovementJdbcRepository.findHistory",
+            "SELECT * FROM stock_movement WHERE product_id = 1 AND created_at >= now() - interval '30 days' "
+                  + "AND created_at < now() ORDER BY created_at DESC, id DESC LIMIT 100");
+      QUERIES.put("ProcessedStockEventJdbcRepository.deleteProcessedBefore",
+            "SELECT event_id FROM processed_stock_event WHERE processed_at < now() LIMIT 1000");
+   }
+
+   private final JdbcTemplate jdbcTemplate;
+   private final TransactionTemplate transactionTemplate;
+
+   @Autowired
+   public QueryPlanChecker(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+      this.jdbcTemplate = jdbcTemplate;
+      this.transactionTemplate = transactionTemplate;
+   }
+
+   @Override
+   public void run(ApplicationArguments args) {
+      List<String> seqScans = new ArrayList<>();
+      QUERIES.forEach((name, sql) -> {
+         try {
+            List<String> plan = explain(sql);
+            plan.stream().filter(line -> line.contains("Seq Scan"))
+                  .forEach(line -> seqScans.add(name + ": " + line.trim()));
+         } catch (DataAccessException e) {
+            log.warn("Query plan check failed for {} - Error: {}", name, e.getMessage());
+         }
+      });
+      if (seqScans.isEmpty()) {
+         log.info("Query plan check: {} repository queries use an index", QUERIES.size());
+      } else {
+         seqScans.forEach(scan -> log.warn("Query plan check: sequential scan in {}", scan));
+      }
+   }
+
+   private List<String> explain(String sql) {
+      return transactionTemplate.execute(status -> {
+         jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+         return jdbcTemplate.queryForList("EXPLAIN (COSTS OFF) " + sql, String.class);
+      });
+   }
+}
@@ -0,0 +1,114 @@
+package com.microservices.smmsb_inventory_service.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.service.ClusterJobRunner;
+import com.microservices.smmsb_inventory_service.service.InventorySummaryService;
+import com.microservices.smmsb_inventory_service.service.LowStockAlertService;
+import com.microservices.smmsb_inventory_service.service.StockEventDeduplicator;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
+import com.microservices.smmsb_inventory_service.service.StockReservationService;
+import com.microservices.smmsb_inventory_service.service.kafka.OutboxRelay;
+
+/**
+ * Job terjadwal yang cukup dijalankan sekali per jadwal di seluruh replika. Semua didaftarkan di sini lewat
+ * ClusterJobRunner, sehingga cron yang sama dipakai untuk trigger dan untuk identitas run di lease.
+ *
+ * Job per instance (refresh StockLedger, OutboxRelay.relay, sweep reservasi kedaluwarsa, heartbeat scheduler) tetap
+ * memakai @Scheduled biasa. OutboxRelay.relay dijadwalkan di setiap instance tetapi hanya satu yang mengirim,
+ * dibatasi advisory lock per batch.
+ */
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer {
+
+   private final ClusterJobRunner clusterJobRunner;
+   private final LowStockAlertService lowStockAlertService;
+   private final ProductStockRepository productStockRepository;
+   private final InventorySummaryService inventorySummaryService;
+   private final StockMovementService stockMovementService;
+   private final OutboxRelay outboxRelay;
+   private final StockEventDeduplicator stockEventDeduplicator;
+   private final StockReservationService stockReservationService;
+
+   @Value("${application.low-stock.reconcile-cron:0 0 2 * * *}")
+   private String lowStockReconcileCron;
+
+   // Rekonsiliasi low stock dibagi per rentang id, dikerjakan paralel oleh replika yang hidup
+   @Value("${application.low-stock.reconcile-shards:8}")
+   private int lowStockReconcileShards;
+
+   @Value("${application.low-stock.digest-cron:0 */5 * * * *}")
+   private String lowStockDigestCron;
+
+   @Value("${application.inventory-summary.reconcile-cron:0 30 2 * * *}")
+   private String inventorySummaryReconcileCron;
+
+   @Value("${application.stock-movement.checkpoint-cron:0 15 0 * * *}")
+   private String stockMovementCheckpointCron;
+
+   @Value("${application.stock-movement.partition-cron:0 0 1 * * *}")
+   private String stockMovementPartitionCron;
+
+   @Value("${application.outbox.cleanup-cron:0 30 3 * * *}")
+   private String outboxCleanupCron;
+
+   @Value("${application.stock-event-dedup.purge-cron:0 45 * * * *}")
+   private String stockEventDedupPurgeCron;
+
+   @Value("${application.stock-reservation.purge-cron:0 50 3 * * *}")
+   private String stockReservationPurgeCron;
+
+   @Autowired
+   public SchedulingConfig(ClusterJobRunner clusterJobRunner, LowStockAlertService lowStockAlertService,
+         ProductStockRepository productStockRepository, InventorySummaryService inventorySummaryService,
+         StockMovementService stockMovementService, OutboxRelay outboxRelay,
+         StockEventDeduplicator stockEventDeduplicator, StockReservationService stockReservationService) {
+      this.clusterJobRunner = clusterJobRunner;
+      this.lowStockAlertService = lowStockAlertService;
+      this.productStockRepository = productStockRepository;
+      this.inventorySummaryService = inventorySummaryService;
+      this.stockMovementService = stockMovementService;
+      this.outboxRelay = outboxRelay;
+      this.stockEventDeduplicator = stockEventDeduplicator;
+      this.stockReservationService = stockReservationService;
+   }
+
+   @Override
+   public void configureTasks(ScheduledTaskRegistrar registrar) {
+      registrar.addCronTask(() -> clusterJobRunner.runSharded("low-stock-reconcile", lowStockReconcileCron,
+            lowStockReconcileShards, this::reconcileLowStockShard), lowStockReconcileCron);
+      registerOnce(registrar, "low-stock-digest", lowStockDigestCron, lowStockAlertService::sendDigest);
+      registerOnce(registrar, "inventory-summary-reconcile", inventorySummaryReconcileCron,
+            inventorySummaryService::reconcile);
+      registerOnce(registrar, "stock-movement-checkpoint", stockMovementCheckpointCron,
+            stockMovementService::createCheckpoints);
+      registerOnce(registrar, "stock-movement-partitions", stockMovementPartitionCron,
+            stockMovementService::maintainPartitions);
+      registerOnce(registrar, "outbox-cleanup", outboxCleanupCron, outboxRelay::cleanup);
+      registerOnce(registrar, "stock-event-dedup-purge", stockEventDedupPurgeCron,
+            stockEventDeduplicator::purgeExpired);
+      registerOnce(registrar, "stock-reservation-purge", stockReservationPurgeCron,
+            stockReservationService::purgeSettled);
+   }
+
+   private void registerOnce(ScheduledTaskRegistrar registrar, String jobName, String cron, Runnable task) {
+      registrar.addCronTask(() -> clusterJobRunner.runOnce(jobName, cron, task), cron);
+   }
+
+   private void reconcileLowStockShard(int shard, int shardCount) {
+      Long minId = productStockRepository.findMinId();
+      Long maxId = productStockRepository.findMaxId();
+      if (minId == null || maxId == null) {
+         return;
+      }
+      long[] range = ClusterJobRunner.idRange(minId, maxId, shard, shardCount);
+      if (range[0] <= range[1]) {
+         lowStockAlertService.reconcile(range[0], range[1]);
+      }
+   }
+}
@@ -0,0 +1,121 @@
+package com.microservices.smmsb_inventory_service.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Menjalankan migration SQL berversi dari classpath:db/migration (V{versi}__{deskripsi}.sql), dengan format
+ * nama yang sama seperti Flyway.
+ *
+ * Seluruh skema (tabel, kolom, sequence, index) dikelola lewat migration; Hibernate hanya memvalidasi
+ * (ddl-auto=validate). Karena itu runner berjalan sebelum EntityManagerFactory dibuat, sama seperti Flyway, dan
+ * memakai transaction manager JDBC sendiri karena JpaTransactionManager belum tersedia. Setiap migration dijalankan sekali dalam transaksinya sendiri dan dicatat di schema_migration beserta
+ * checksum-nya; file yang diubah setelah dijalankan menggagalkan startup. Advisory lock mencegah dua instance
+ * menjalankan migration yang sama.
+ */
+@Slf4j
+@Component(SchemaMigrationRunner.BEAN_NAME)
+public class SchemaMigrationRunner implements InitializingBean {
+
+   static final String BEAN_NAME = "schemaMigrationRunner";
+
+   private static final String LOCATION = "classpath:db/migration/V*__*.sql";
+   private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+   private final JdbcTemplate jdbcTemplate;
+   private final TransactionTemplate transactionTemplate;
+
+   @Autowired
+   public SchemaMigrationRunner(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+      this.jdbcTemplate = jdbcTemplate;
+      this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+   }
+
+   @Override
+   public void afterPropertiesSet() throws IOException {
+      for (Migration migration : loadMigrations()) {
+         transactionTemplate.executeWithoutResult(status -> apply(migration));
+      }
+   }
+
+   private void apply(Migration migration) {
+      jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('schema_migration'))");
+      jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migration ("
+            + "version INTEGER PRIMARY KEY, "
+            + "description VARCHAR(200) NOT NULL, "
+            + "checksum VARCHAR(32) NOT NULL, "
+            + "installed_at TIMESTAMP(6) NOT NULL DEFAULT now())");
+
+      List<String> applied = jdbcTemplate.queryForList("SELECT checksum FROM schema_migration WHERE version = ?",
+            String.class, migration.version());
+      if (!applied.isEmpty()) {
+         if (!applied.get(0).equals(migration.checksum())) {
+            throw new IllegalStateException("Schema migration V" + migration.version()
+                  + " was modified after it was applied; add a new migration instead");
+         }
+         return;
+      }
+
+      jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+         ScriptUtils.executeSqlScript(connection, migration.resource());
+         return null;
+      });
+      jdbcTemplate.update("INSERT INTO schema_migration (version, description, checksum) VALUES (?, ?, ?)",
+            migration.version(), migration.description(), migration.checksum());
+      log.info("Applied schema migration V{} {}", migration.version(), migration.description());
+   }
+
+   private List<Migration> loadMigrations() throws IOException {
+      List<Migration> migrations = new ArrayList<>();
+      for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+         Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+         if (!matcher.matches()) {
+            throw new IllegalStateException("Invalid schema migration file name: " + resource.getFilename());
+         }
+         String script = resource.getContentAsString(StandardCharsets.UTF_8);
+         migrations.add(new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+               DigestUtils.md5DigestAsHex(script.getBytes(StandardCharsets.UTF_8)), resource));
+      }
+      migrations.sort(Comparator.comparingInt(Migration::version));
+      for (int i = 1; i < migrations.size(); i++) {
+         if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+            throw new IllegalStateException("Duplicate schema migration version V" + migrations.get(i).version());
+         }
+      }
+      return migrations;
+   }
+
+   private record Migration(int version, String description, String checksum, Resource resource) {
+   }
+
+   // EntityManagerFactory (validate schema) baru dibuat setelah semua migration dijalankan
+   @Configuration
+   static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+      EntityManagerFactoryDependency() {
+         super(BEAN_NAME);
+      }
+   }
+}
@@ -0,0 +1,50 @@
+package com.microservices.smmsb_inventory_service.config;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.microservices.smmsb_inventory_service.repository.StockMovementJdbcRepository;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Menyiapkan ledger stock_movement sebelum listener Kafka mulai menerima event.
+ *
+ * Tabel induk dibuat oleh migration V6. Partisi bulan berjalan dan beberapa bulan ke depan dibuat langsung,
+ * lalu produk lama diberi movement OPENING agar total ledger sama dengan quantity saat ini. Semua langkah
+ * idempotent.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class StockMovementSchemaInitializer implements InitializingBean {
+
+   private final StockMovementJdbcRepository stockMovementJdbcRepository;
+   private final StockMovementService stockMovementService;
+   private final TransactionTemplate transactionTemplate;
+
+   @Autowired
+   public StockMovementSchemaInitializer(StockMovementJdbcRepository stockMovementJdbcRepository,
+         StockMovementService stockMovementService, TransactionTemplate transactionTemplate) {
+      this.stockMovementJdbcRepository = stockMovementJdbcRepository;
+      this.stockMovementService = stockMovementService;
+      this.transactionTemplate = transactionTemplate;
+   }
+
+   @Override
+   public void afterPropertiesSet() {
+      stockMovementService.maintainPartitions();
+
+      Integer opened = transactionTemplate.execute(
+            status -> stockMovementJdbcRepository.insertOpeningMovements(LocalDateTime.now()));
+      if (opened != null && opened > 0) {
+         log.info("Recorded opening stock movements for {} products", opened);
+      }
+   }
+}
@@ -1,22 +1,36 @@
 package com.microservices.smmsb_inventory_service.controller;
 
+import com.microservices.smmsb_inventory_service.dto.CacheStatsDto;
+import com.microservices.smmsb_inventory_service.dto.DedupStatsDto;
+import com.microservices.smmsb_inventory_service.dto.InventorySummaryDto;
 import com.microservices.smmsb_inventory_service.dto.ProductStockDto;
+import com.microservices.smmsb_inventory_service.dto.StockAsOfDto;
+import com.microservices.smmsb_inventory_service.dto.StockMovementDto;
 import com.microservices.smmsb_inventory_service.dto.request.CreateProductStockRequest;
 import com.microservices.smmsb_inventory_service.dto.request.UpdateProductStockRequest;
 import com.microservices.smmsb_inventory_service.dto.response.ApiDataResponseBuilder;
 import com.microservices.smmsb_inventory_service.dto.response.ListResponse;
 import com.microservices.smmsb_inventory_service.dto.response.MessageResponse;
 import com.microservices.smmsb_inventory_service.exception.ValidationErrorResponse;
+import com.microservices.smmsb_inventory_service.service.InventorySummaryService;
+import com.microservices.smmsb_inventory_service.service.ProductExportService;
+import com.microservices.smmsb_inventory_service.service.ProductImportService;
 import com.microservices.smmsb_inventory_service.service.ProductStockService;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
+import com.microservices.smmsb_inventory_service.service.StockUpdateService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.data.domain.Sort;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -27,7 +41,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -36,10 +55,23 @@ import java.util.Map;
 public class ProductStockController {
 
         private final ProductStockService productStockService;
+        private final ProductImportService productImportService;
+        private final ProductExportService productExportService;
+        private final StockMovementService stockMovementService;
+        private final InventorySummaryService inventorySummaryService;
+        private final StockUpdateService stockUpdateService;
 
         @Autowired
-        public ProductStockController(ProductStockService productStockService) {
+        public ProductStockController(ProductStockService productStockService,
+                        ProductImportService productImportService, ProductExportService productExportService,
+                        StockMovementService stockMovementService, InventorySummaryService inventorySummaryService,
+                        StockUpdateService stockUpdateService) {
                 this.productStockService = productStockService;
+                this.productImportService = productImportService;
+                this.productExportService = productExportService;
+                this.stockMovementService = stockMovementService;
+                this.inventorySummaryService = inventorySummaryService;
+                this.stockUpdateService = stockUpdateService;
         }
 
         // Create product stock
@@ -57,6 +89,44 @@ public class ProductStockController {
                 return productStockService.createProductStock(createProductStockRequest);
         }
 
+        // Bulk import product stock (streamed CSV / NDJSON body)
+        @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE }, produces = MediaType.APPLICATION_JSON_VALUE)
+        @Operation(summary = "Bulk import product stocks", description = "Imports products from a CSV (header: productName,description,quantity,price) or NDJSON body. Rows are validated and inserted in chunks; existing or repeated names are skipped and reported per line.", tags = {
+                        "Inventory" })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Import finished (see per-row errors in data)", content = @Content(schema = @Schema(implementation = ApiDataResponseBuilder.class))),
+                        @ApiResponse(responseCode = "400", description = "Bad request (unsupported format or invalid CSV header)", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+        })
+        public ResponseEntity<ApiDataResponseBuilder> importProductStocks(HttpServletRequest request)
+                        throws IOException {
+                return ResponseEntity.ok(productImportService.importProducts(request.getInputStream(),
+                                request.getContentType()));
+        }
+
+        // Export full product catalog (streamed, constant memory)
+        @GetMapping("/export")
+        @Operation(summary = "Export product catalog", description = "Streams every non-deleted product as CSV or NDJSON, ordered by id. Rows are read with a server-side cursor and written directly to the response.", tags = {
+                        "Inventory" })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Catalog streamed successfully"),
+                        @ApiResponse(responseCode = "400", description = "Bad request (unsupported format)", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+        })
+        public ResponseEntity<StreamingResponseBody> exportProductStocks(
+                        @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = ProductExportService.FORMAT_CSV) String format) {
+                StreamingResponseBody body = productExportService.exportProducts(format);
+                boolean csv = ProductExportService.FORMAT_CSV.equalsIgnoreCase(format);
+                String fileName = "product-stock-" + LocalDate.now() + (csv ? ".csv" : ".ndjson");
+
+                return ResponseEntity.ok()
+                                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                                                : MediaType.APPLICATION_NDJSON)
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                                .body(body);
+        }
+
         // Update product stock
         @PutMapping("/update/{id}")
         @Operation(summary = "Update a product stock", description = "Updates an existing product stock information.", tags = {
@@ -90,7 +160,7 @@ public class ProductStockController {
 
         // get all product stock
         @GetMapping("/get-all")
-        @Operation(summary = "Get all product stocks", description = "Retrieves a list of all product stocks with optional filters.", tags = {
+        @Operation(summary = "Get all product stocks", description = "Retrieves a list of all product stocks with optional filters. Pass `search` for relevance-ranked partial name search, or `after` (empty for the first page) to use cursor paging without a total count.", tags = {
                         "Inventory" })
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved product stocks", content = @Content(schema = @Schema(implementation = ListResponse.class))),
@@ -100,7 +170,16 @@ public class ProductStockController {
                         @Parameter(description = "Pagination and sorting parameters", example = "{ \"page\": 0, \"size\": 10, \"sort\": \"id,asc\" }") @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable,
                         @Parameter(description = "Filter product by porduct name") @RequestParam(required = false) String productName,
                         @Parameter(description = "Filter product by price") @RequestParam(required = false) BigDecimal price,
-                        @Parameter(description = "Filter product by quantity") @RequestParam(required = false) Integer quantity) {
+                        @Parameter(description = "Filter product by quantity") @RequestParam(required = false) Integer quantity,
+                        @Parameter(description = "Opaque cursor from the previous page's nextCursor; send it empty to start cursor paging") @RequestParam(required = false) String after,
+                        @Parameter(description = "Search product name by partial or similar name, ordered by relevance") @RequestParam(required = false) String search) {
+                if (search != null && !search.isBlank()) {
+                        return ResponseEntity.ok(productStockService.searchProductStocks(search, pageable, price, quantity));
+                }
+                if (after != null) {
+                        return ResponseEntity.ok(productStockService.getAllProductStocksAfter(after, pageable.getSort(),
+                                        pageable.getPageSize(), productName, price, quantity));
+                }
                 return ResponseEntity
                                 .ok(productStockService.getAllProductStocks(pageable, productName, price, quantity));
         }
@@ -118,6 +197,70 @@ public class ProductStockController {
                 return ResponseEntity.ok(productStockService.getProductStockById(id));
         }
 
+        // get product stocks by ids
+        @GetMapping("/get-by-ids")
+        @Operation(summary = "Get product stocks by IDs", description = "Resolves up to 200 product IDs (comma separated) with a single query. Returns a map keyed by product ID; IDs that do not exist or are deleted are omitted.", tags = {
+                        "Inventory" })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved product stocks", content = @Content(schema = @Schema(implementation = ApiDataResponseBuilder.class))),
+                        @ApiResponse(responseCode = "400", description = "No IDs or too many IDs", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+        })
+        public ResponseEntity<ApiDataResponseBuilder> getProductStocksByIds(
+                        @Parameter(description = "Product IDs, comma separated") @RequestParam List<Long> ids) {
+                return ResponseEntity.ok(productStockService.getProductStocksByIds(ids));
+        }
+
+        // check stock availability
+        @GetMapping("/check-availability/{id}")
+        @Operation(summary = "Check product stock availability", description = "Checks whether the requested quantity is available, served from the in-memory stock ledger.", tags = {
+                        "Inventory" })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully checked availability", content = @Content(schema = @Schema(implementation = ApiDataResponseBuilder.class))),
+                        @ApiResponse(responseCode = "404", description = "Product stock not found", content = @Content),
+                        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+        })
+        public ResponseEntity<ApiDataResponseBuilder> checkStockAvailability(@PathVariable Long id,
+                        @Parameter(description = "Requested quantity") @RequestParam(defaultValue = "1") int quantity) {
+                return ResponseEntity.ok(productStockService.checkStockAvailability(id, quantity));
+        }
+
+        // product cache statistics
+        @GetMapping("/cache-stats")
+        @Operation(summary = "Get product cache statistics", description = "Returns hit, miss and eviction counters of this instance's product cache.", tags = {
+                        "Inventory" })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics", content = @Content(schema = @Schema(implementation = CacheStatsDto.class))),
+                        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+        })
+        public ResponseEntity<ApiDataResponseBuilder> getProductCacheStats() {
+                return ResponseEntity.ok(productStockService.getProductCacheStats());
+        }
+
+        // stock event deduplication statistics
+        @GetMapping("/dedup-stats")
+        @Operation(summary = "Get stock event deduplication statistics", description = "Returns how many update-product-stock events this instance checked, how many were dropped as redeliveries, and the average dedup cost per event.", tags = {
+                        "Inventory" })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved deduplication statistics", content = @Content(schema = @Schema(implementation = DedupStatsDto.class))),
+                        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+        })
+        public ResponseEntity<ApiDataResponseBuilder> getDedupStats() {
+                return ResponseEntity.ok(stockUpdateService.getDedupStats());
+        }
+
+        // inventory summary for dashboard
+        @GetMapping("/summary")
+        @Operation(summary = "Get inventory summary", description = "Returns total stock value, product count, low-stock and out-of-stock counts. Maintained incrementally on every stock change; reads do not scan products.", tags = {
+                        "Inventory" })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved inventory summary", content = @Content(schema = @Schema(implementation = InventorySummaryDto.class))),
+                        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+        })
+        public ResponseEntity<ApiDataResponseBuilder> getInventorySummary() {
+                return ResponseEntity.ok(inventorySummaryService.getSummary());
+        }
+
         // upload photo
         @PostMapping(value = "/upload-photo/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
         @Operation(summary = "Upload product stock photo", description = "Uploads a photo for a specific product stock.", tags = {
@@ -136,4 +279,58 @@ public class ProductStockController {
 
                 return ResponseEntity.ok(response);
         }
+
+        // upload photo as raw body (streamed to storage without multipart buffering)
+        @PutMapping(value = "/upload-photo/{id}", consumes = { MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE }, produces = MediaType.APPLICATION_JSON_VALUE)
+        @Operation(summary = "Stream product stock photo", description = "Uploads a photo sent as the raw request body; the body is streamed to object storage without being buffered. Content-Length is required.", tags = {
+                        "Inventory" })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Photo uploaded successfully", content = @Content(schema = @Schema(implementation = ListResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Bad request (invalid file type or size)", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                        @ApiResponse(responseCode = "404", description = "Product stock not found", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+        })
+        public ResponseEntity<ListResponse<Map<String, String>>> streamUserPhoto(
+                        @PathVariable Long id,
+                        @Parameter(description = "Original file name") @RequestParam(defaultValue = "photo") String fileName,
+                        HttpServletRequest request) throws IOException {
+                ListResponse<Map<String, String>> response = productStockService.uploadImageStream(
+                                request.getInputStream(), request.getContentLengthLong(), request.getContentType(),
+                                fileName, id);
+
+                return ResponseEntity.ok(response);
+        }
+
+        // Stock movement history per product
+        @GetMapping("/movements/{productId}")
+        @Operation(summary = "Get stock movement history", description = "Returns ledger rows (CREATE, ADJUST, SALE, RETURN, OPENING) for a product, newest first, within [from, to). Defaults to the last 30 days.", tags = {
+                        "Inventory" })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Stock movements retrieved successfully", content = @Content(schema = @Schema(implementation = ListResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Bad request (invalid date range)", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+        })
+        public ResponseEntity<ListResponse<StockMovementDto>> getStockMovements(
+                        @PathVariable Long productId,
+                        @Parameter(description = "Inclusive start (ISO date-time)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                        @Parameter(description = "Exclusive end (ISO date-time)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                        @RequestParam(defaultValue = "100") int size) {
+                return ResponseEntity.ok(stockMovementService.getMovementHistory(productId, from, to, size));
+        }
+
+        // Stock quantity at a point in time
+        @GetMapping("/stock-as-of/{productId}")
+        @Operation(summary = "Get stock as of a timestamp", description = "Computes the quantity at the given time from the latest daily checkpoint plus the movements after it. History starts when the movement ledger was enabled.", tags = {
+                        "Inventory" })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Stock quantity computed successfully", content = @Content(schema = @Schema(implementation = StockAsOfDto.class))),
+                        @ApiResponse(responseCode = "400", description = "Bad request (missing or future timestamp)", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                        @ApiResponse(responseCode = "404", description = "Product not found", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+        })
+        public ApiDataResponseBuilder getStockAsOf(@PathVariable Long productId,
+                        @Parameter(description = "Point in time (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+                return stockMovementService.getStockAsOf(productId, asOf);
+        }
 }
@@ -0,0 +1,19 @@
+package com.microservices.smmsb_inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+   private int size;
+   private int maxSize;
+   private long hits;
+   private long misses;
+   private double hitRate;
+   private long evictions;
+   private long expirations;
+   private long invalidations;
+}
@@ -0,0 +1,21 @@
+package com.microservices.smmsb_inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DedupStatsDto {
+   private int recentSize;
+   private int recentMaxSize;
+   private long checked;
+   // Dibuang oleh daftar id terbaru di memori, tanpa query
+   private long duplicatesInMemory;
+   // Dibuang oleh tabel processed_stock_event
+   private long duplicatesInDatabase;
+   private long withoutEventId;
+   // Rata-rata waktu cek dedup per event (memori + insert klaim), dalam mikrodetik
+   private double avgMicrosPerEvent;
+}
@@ -0,0 +1,15 @@
+package com.microservices.smmsb_inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDto {
+   // Nomor baris pada file (baris header CSV dihitung)
+   private long line;
+   private String productName;
+   private String message;
+}
@@ -0,0 +1,19 @@
+package com.microservices.smmsb_inventory_service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ImportResultDto {
+   private long totalRows;
+   private long imported;
+   // Nama sudah ada di database atau muncul lebih dari sekali di file
+   private long skipped;
+   private long failed;
+   // Dibatasi agar response tetap kecil untuk file besar; jumlah lengkap ada di skipped/failed
+   private List<ImportErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+package com.microservices.smmsb_inventory_service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventorySummaryDto {
+   // Hanya produk yang belum dihapus
+   private long productCount;
+   private long totalQuantity;
+   // Jumlah price x quantity
+   private BigDecimal totalValue;
+   // 0 < quantity < lowStockThreshold; produk habis tidak ikut dihitung di sini
+   private long lowStockCount;
+   private long outOfStockCount;
+   private int lowStockThreshold;
+   private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.microservices.smmsb_inventory_service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductExportRowDto {
+   private Long id;
+   private String productName;
+   private String description;
+   private int quantity;
+   private BigDecimal price;
+   private LocalDateTime createdAt;
+   private LocalDateTime updatedAt;
+}
@@ -12,4 +12,6 @@ public class ProductStockDto {
    private int quantity;
    private BigDecimal price;
    private String imageUrl;
+   private String thumbnailUrl;
+   private String mediumUrl;
 }
@@ -0,0 +1,18 @@
+package com.microservices.smmsb_inventory_service.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Data produk ringkas untuk multi-get (get-by-ids); dibentuk langsung oleh query tanpa memuat entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryDto {
+   private Long id;
+   private String productName;
+   private int quantity;
+   private BigDecimal price;
+}
@@ -0,0 +1,19 @@
+package com.microservices.smmsb_inventory_service.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAsOfDto {
+   private Long productId;
+   private LocalDateTime asOf;
+   private int quantity;
+   // Checkpoint yang dipakai sebagai titik awal (null jika dihitung dari awal ledger)
+   private LocalDateTime checkpointAt;
+   private int movementsApplied;
+}
@@ -0,0 +1,15 @@
+package com.microservices.smmsb_inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAvailabilityDto {
+   private Long productId;
+   private int availableQuantity;
+   private int requestedQuantity;
+   private boolean available;
+}
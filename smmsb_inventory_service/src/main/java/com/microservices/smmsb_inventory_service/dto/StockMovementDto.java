@@ -0,0 +1,28 @@
+package com.microservices.smmsb_inventory_service.dto;
+
+import java.time.LocalDateTime;
+
+import com.microservices.smmsb_inventory_service.model.StockMovementType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDto {
+   private Long id;
+   private Long productId;
+   private StockMovementType movementType;
+   // Positif untuk stok masuk, negatif untuk stok keluar
+   private int quantityDelta;
+   private Long transactionId;
+   private Long userId;
+   private LocalDateTime createdAt;
+
+   public static StockMovementDto of(Long productId, StockMovementType movementType, int quantityDelta,
+         Long transactionId, Long userId) {
+      return new StockMovementDto(null, productId, movementType, quantityDelta, transactionId, userId, null);
+   }
+}
@@ -0,0 +1,17 @@
+package com.microservices.smmsb_inventory_service.dto.kafkaEvent;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LowStockDigestEvent {
+   private int threshold;
+   // Produk yang baru turun di bawah ambang atau masih low stock setelah cooldown, quantity terendah lebih dulu
+   private List<LowStockAlertEvent> items;
+   private String message;
+}
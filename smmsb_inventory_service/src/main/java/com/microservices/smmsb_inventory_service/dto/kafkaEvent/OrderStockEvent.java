@@ -0,0 +1,19 @@
+package com.microservices.smmsb_inventory_service.dto.kafkaEvent;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Reservasi stok untuk seluruh baris order dari Transaction Service (topic order-stock-reservation)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStockEvent {
+    private Long orderId;
+    private Long userId;
+    // Id unik per event untuk deduplikasi redelivery
+    private String eventId;
+    private List<OrderStockLine> lines;
+}
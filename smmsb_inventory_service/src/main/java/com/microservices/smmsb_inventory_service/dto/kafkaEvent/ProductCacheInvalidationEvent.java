@@ -0,0 +1,15 @@
+package com.microservices.smmsb_inventory_service.dto.kafkaEvent;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCacheInvalidationEvent {
+   private String originInstanceId;
+   private List<Long> productIds;
+}
@@ -0,0 +1,18 @@
+package com.microservices.smmsb_inventory_service.dto.kafkaEvent;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Data katalog terbaru satu produk (bukan selisih), dikirim setiap kali produk dibuat, diubah atau dihapus
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangedEvent {
+   private Long productId;
+   private String productName;
+   private BigDecimal price;
+   private boolean deleted;
+}
@@ -0,0 +1,15 @@
+package com.microservices.smmsb_inventory_service.dto.kafkaEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdateRejectedEvent {
+    private Long userId;
+    private Long productId;
+    private int quantity;
+    private String reason;       // INSUFFICIENT_STOCK, PRODUCT_NOT_FOUND, INVALID_QUANTITY
+}
@@ -11,4 +11,8 @@ public class UpdateProductStockEvent {
     private Long userId;
     private Long productId;
     private int quantity;
+    // Id transaksi asal, dicatat di ledger stock_movement (null untuk event dari producer lama)
+    private Long transactionId;
+    // Id unik per event untuk membuang redelivery (null untuk event dari producer lama, tidak dideduplikasi)
+    private String eventId;
 }
\ No newline at end of file
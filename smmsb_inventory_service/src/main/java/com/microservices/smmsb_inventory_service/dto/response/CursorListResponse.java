@@ -0,0 +1,23 @@
+package com.microservices.smmsb_inventory_service.dto.response;
+
+import java.util.List;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+// ListResponse untuk mode cursor: tanpa total/halaman, hanya cursor untuk halaman berikutnya
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class CursorListResponse<T> extends ListResponse<T> {
+    private String nextCursor;
+    private boolean hasMore;
+
+    public CursorListResponse(List<T> data, String message, int statusCode, String status, String nextCursor,
+            boolean hasMore) {
+        super(data, message, statusCode, status);
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,40 @@
+package com.microservices.smmsb_inventory_service.mapper;
+
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.ProductChangedEvent;
+import com.microservices.smmsb_inventory_service.dto.ProductStockDto;
+import com.microservices.smmsb_inventory_service.dto.request.CreateProductStockRequest;
+import com.microservices.smmsb_inventory_service.model.ProductStock;
+
+// Mapping eksplisit tanpa refleksi; output JSON sama dengan ModelMapper (lihat ProductStockMapperTest)
+public final class ProductStockMapper {
+
+   private ProductStockMapper() {
+   }
+
+   public static ProductStockDto toDto(ProductStock productStock) {
+      ProductStockDto dto = new ProductStockDto();
+      dto.setId(productStock.getId() != null ? productStock.getId().intValue() : 0);
+      dto.setProductName(productStock.getProductName());
+      dto.setDescription(productStock.getDescription());
+      dto.setQuantity(productStock.getQuantity());
+      dto.setPrice(productStock.getPrice());
+      dto.setImageUrl(productStock.getImageUrl());
+      dto.setThumbnailUrl(productStock.getThumbnailUrl());
+      dto.setMediumUrl(productStock.getMediumUrl());
+      return dto;
+   }
+
+   public static ProductChangedEvent toChangedEvent(ProductStock productStock) {
+      return new ProductChangedEvent(productStock.getId(), productStock.getProductName(), productStock.getPrice(),
+            productStock.isDeleted());
+   }
+
+   public static ProductStock toEntity(CreateProductStockRequest request) {
+      ProductStock productStock = new ProductStock();
+      productStock.setProductName(request.getProductName());
+      productStock.setDescription(request.getDescription());
+      productStock.setQuantity(request.getQuantity());
+      productStock.setPrice(request.getPrice());
+      return productStock;
+   }
+}
@@ -0,0 +1,63 @@
+package com.microservices.smmsb_inventory_service.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event Kafka yang ditulis dalam transaksi yang sama dengan perubahan data, lalu dikirim oleh OutboxRelay.
+ *
+ * Urutan pengiriman mengikuti id, jadi id memakai IDENTITY (urutan insert) dan bukan sequence pooled yang
+ * dialokasikan per instance.
+ */
+@Entity
+// Index ada di db/migration
+@Table(name = "outbox_event")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(nullable = true)
+    private String eventKey;
+
+    // Nama class event, dipakai relay untuk membentuk ulang object sebelum dikirim dengan JsonSerializer
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(nullable = true)
+    private LocalDateTime sentAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(nullable = true, length = 1000)
+    private String lastError;
+}
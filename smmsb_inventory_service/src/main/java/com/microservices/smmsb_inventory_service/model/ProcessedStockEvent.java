@@ -0,0 +1,31 @@
+package com.microservices.smmsb_inventory_service.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Id event update-product-stock yang sudah diterapkan. Baris ditulis di transaksi yang sama dengan pengurangan
+ * stok, jadi event yang terkirim ulang setelah rebalance atau retry tidak mengurangi stok dua kali.
+ */
+@Entity
+// Index ada di db/migration
+@Table(name = "processed_stock_event")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedStockEvent {
+
+    @Id
+    @Column(length = 64)
+    private String eventId;
+
+    @Column(nullable = false)
+    private LocalDateTime processedAt;
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.Column;
@@ -11,6 +12,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,15 +20,20 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+// Tabel, sequence dan index dibuat oleh db/migration (lihat SchemaMigrationRunner); Hibernate hanya memvalidasi
 @Table(name = "product_stock")
+@DynamicUpdate // hanya kolom yang berubah yang di-update, agar edit manual tidak menimpa pengurangan stok dari Kafka
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ProductStock {
 
+    // Sequence pooled (bukan IDENTITY) agar Hibernate bisa mengirim INSERT secara batch; allocationSize harus
+    // sama dengan INCREMENT BY pada sequence (V0__base_schema.sql)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_stock_seq")
+    @SequenceGenerator(name = "product_stock_seq", sequenceName = "product_stock_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -44,6 +51,13 @@ public class ProductStock {
     @Column(nullable = true)
     private String imageUrl;
 
+    // Varian gambar yang dibuat di background setelah upload
+    @Column(nullable = true)
+    private String thumbnailUrl;
+
+    @Column(nullable = true)
+    private String mediumUrl;
+
     @Column(nullable = false)
     private Long createdBy;
 
@@ -72,4 +86,8 @@ public class ProductStock {
     @Builder.Default
     @Column(nullable = false)
     private boolean isLowStock = false;
+
+    // Terakhir kali produk masuk digest low stock; null berarti transisi baru yang belum dikirim
+    @Column(nullable = true)
+    private LocalDateTime lowStockAlertedAt;
 }
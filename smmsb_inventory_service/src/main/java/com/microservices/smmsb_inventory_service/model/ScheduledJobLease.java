@@ -0,0 +1,40 @@
+package com.microservices.smmsb_inventory_service.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lease job terjadwal lintas replika. Satu baris per job (atau per shard job); run_key adalah waktu jadwal cron
+ * sehingga satu jadwal hanya dijalankan sekali walaupun replika terlambat memulai.
+ */
+@Entity
+@Table(name = "scheduled_job_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledJobLease {
+
+    @Id
+    @Column(length = 200)
+    private String jobName;
+
+    @Column(nullable = false, length = 40)
+    private String runKey;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    // Lease dianggap hilang (replika mati) setelah waktu ini
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(nullable = true)
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,27 @@
+package com.microservices.smmsb_inventory_service.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Replika inventory yang hidup, diperbarui lewat heartbeat; dipakai untuk membagi titik awal job ber-shard
+@Entity
+@Table(name = "scheduler_instance")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerInstance {
+
+    @Id
+    @Column(length = 100)
+    private String instanceId;
+
+    @Column(nullable = false)
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,11 @@
+package com.microservices.smmsb_inventory_service.model;
+
+// Jenis baris pada ledger stock_movement
+public enum StockMovementType {
+    // Saldo awal produk yang sudah ada sebelum ledger diaktifkan
+    OPENING,
+    CREATE,
+    ADJUST,
+    SALE,
+    RETURN
+}
@@ -0,0 +1,131 @@
+package com.microservices.smmsb_inventory_service.repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.microservices.smmsb_inventory_service.dto.InventorySummaryDto;
+
+/**
+ * Agregat inventory (jumlah produk, total nilai, jumlah low stock / habis) yang dipelihara trigger pada
+ * product_stock.
+ *
+ * Agregat disimpan dalam beberapa baris shard agar update stok yang berjalan bersamaan tidak antre pada satu
+ * baris. Shard dipilih dari id transaksi, sehingga satu transaksi (termasuk batch dari Kafka) hanya mengunci
+ * satu shard dan tidak bisa deadlock dengan transaksi lain di tabel ini. Total = SUM dari semua shard.
+ */
+@Repository
+public class InventorySummaryJdbcRepository {
+
+    // Selisih (lama dikurangi, baru ditambah) dihitung dalam trigger, hanya untuk produk yang belum dihapus.
+    // Threshold dan jumlah shard ditanam sebagai literal karena fungsi trigger tidak bisa membaca properti aplikasi.
+    private static final String TRIGGER_FUNCTION_SQL = "CREATE OR REPLACE FUNCTION inventory_summary_apply() "
+            + "RETURNS trigger LANGUAGE plpgsql AS $fn$ "
+            + "DECLARE "
+            + "d_count BIGINT := 0; d_quantity BIGINT := 0; d_value NUMERIC := 0; d_low BIGINT := 0; d_out BIGINT := 0; "
+            + "BEGIN "
+            + "IF TG_OP IN ('UPDATE', 'DELETE') AND NOT OLD.is_deleted THEN "
+            + "d_count := d_count - 1; d_quantity := d_quantity - OLD.quantity; "
+            + "d_value := d_value - OLD.price * OLD.quantity; "
+            + "IF OLD.quantity <= 0 THEN d_out := d_out - 1; "
+            + "ELSIF OLD.quantity < %1$d THEN d_low := d_low - 1; END IF; "
+            + "END IF; "
+            + "IF TG_OP IN ('INSERT', 'UPDATE') AND NOT NEW.is_deleted THEN "
+            + "d_count := d_count + 1; d_quantity := d_quantity + NEW.quantity; "
+            + "d_value := d_value + NEW.price * NEW.quantity; "
+            + "IF NEW.quantity <= 0 THEN d_out := d_out + 1; "
+            + "ELSIF NEW.quantity < %1$d THEN d_low := d_low + 1; END IF; "
+            + "END IF; "
+            + "IF d_count = 0 AND d_quantity = 0 AND d_value = 0 AND d_low = 0 AND d_out = 0 THEN RETURN NULL; END IF; "
+            + "UPDATE inventory_summary SET product_count = product_count + d_count, "
+            + "total_quantity = total_quantity + d_quantity, total_value = total_value + d_value, "
+            + "low_stock_count = low_stock_count + d_low, out_of_stock_count = out_of_stock_count + d_out, "
+            + "updated_at = now() "
+            + "WHERE shard = (txid_current() %% %2$d)::SMALLINT; "
+            + "RETURN NULL; "
+            + "END $fn$";
+
+    private static final String SUMMARY_SQL = "SELECT COALESCE(SUM(product_count), 0) AS product_count, "
+            + "COALESCE(SUM(total_quantity), 0) AS total_quantity, COALESCE(SUM(total_value), 0) AS total_value, "
+            + "COALESCE(SUM(low_stock_count), 0) AS low_stock_count, "
+            + "COALESCE(SUM(out_of_stock_count), 0) AS out_of_stock_count, MAX(updated_at) AS updated_at "
+            + "FROM inventory_summary";
+
+    private static final String COMPUTE_SQL = "SELECT COUNT(*) AS product_count, "
+            + "COALESCE(SUM(quantity), 0) AS total_quantity, COALESCE(SUM(price * quantity), 0) AS total_value, "
+            + "COUNT(*) FILTER (WHERE quantity > 0 AND quantity < ?) AS low_stock_count, "
+            + "COUNT(*) FILTER (WHERE quantity <= 0) AS out_of_stock_count, now() AS updated_at "
+            + "FROM product_stock WHERE is_deleted = false";
+
+    // Seluruh total dipindah ke shard 0, shard lain dinolkan
+    private static final String OVERWRITE_SQL = "UPDATE inventory_summary SET "
+            + "product_count = CASE WHEN shard = 0 THEN ? ELSE 0 END, "
+            + "total_quantity = CASE WHEN shard = 0 THEN ? ELSE 0 END, "
+            + "total_value = CASE WHEN shard = 0 THEN ? ELSE 0 END, "
+            + "low_stock_count = CASE WHEN shard = 0 THEN ? ELSE 0 END, "
+            + "out_of_stock_count = CASE WHEN shard = 0 THEN ? ELSE 0 END, "
+            + "updated_at = now()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public InventorySummaryJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Memasang baris shard dan trigger sesuai konfigurasi; tabelnya dibuat oleh migration V6. Harus dipanggil di
+     * dalam transaksi; advisory lock mencegah dua instance mengganti fungsi trigger bersamaan.
+     */
+    public void installTrigger(int shards, int lowStockThreshold) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('inventory_summary_schema'))");
+        jdbcTemplate.update("INSERT INTO inventory_summary (shard) SELECT generate_series(0, ? - 1) "
+                + "ON CONFLICT (shard) DO NOTHING", shards);
+        jdbcTemplate.execute(String.format(TRIGGER_FUNCTION_SQL, lowStockThreshold, shards));
+        jdbcTemplate.execute("DO $do$ BEGIN "
+                + "IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_product_stock_summary' "
+                + "AND tgrelid = 'product_stock'::regclass) THEN "
+                + "CREATE TRIGGER trg_product_stock_summary "
+                + "AFTER INSERT OR DELETE OR UPDATE OF quantity, price, is_deleted ON product_stock "
+                + "FOR EACH ROW EXECUTE FUNCTION inventory_summary_apply(); "
+                + "END IF; END $do$");
+    }
+
+    public InventorySummaryDto findSummary() {
+        return jdbcTemplate.queryForObject(SUMMARY_SQL, (rs, rowNum) -> toDto(rs.getLong("product_count"),
+                rs.getLong("total_quantity"), rs.getBigDecimal("total_value"), rs.getLong("low_stock_count"),
+                rs.getLong("out_of_stock_count"), rs.getTimestamp("updated_at")));
+    }
+
+    /**
+     * Mengunci semua shard (urutan tetap) sampai transaksi selesai. Transaksi stok yang sudah menyentuh shard
+     * ditunggu sampai commit; yang belum, menunggu rekonsiliasi selesai lalu menambahkan selisihnya sendiri.
+     */
+    public void lockAllShards() {
+        jdbcTemplate.query("SELECT shard FROM inventory_summary ORDER BY shard FOR UPDATE", rs -> {
+        });
+    }
+
+    // Full scan product_stock; hanya untuk rekonsiliasi
+    public InventorySummaryDto computeFromProducts(int lowStockThreshold) {
+        return jdbcTemplate.queryForObject(COMPUTE_SQL, (rs, rowNum) -> toDto(rs.getLong("product_count"),
+                rs.getLong("total_quantity"), rs.getBigDecimal("total_value"), rs.getLong("low_stock_count"),
+                rs.getLong("out_of_stock_count"), rs.getTimestamp("updated_at")), lowStockThreshold);
+    }
+
+    public void overwrite(InventorySummaryDto summary, int shards) {
+        jdbcTemplate.update(OVERWRITE_SQL, summary.getProductCount(), summary.getTotalQuantity(),
+                summary.getTotalValue(), summary.getLowStockCount(), summary.getOutOfStockCount());
+        // Shard sisa dari konfigurasi jumlah shard sebelumnya
+        jdbcTemplate.update("DELETE FROM inventory_summary WHERE shard >= ?", shards);
+    }
+
+    private InventorySummaryDto toDto(long productCount, long totalQuantity, BigDecimal totalValue,
+            long lowStockCount, long outOfStockCount, Timestamp updatedAt) {
+        return new InventorySummaryDto(productCount, totalQuantity, totalValue, lowStockCount, outOfStockCount, 0,
+                updatedAt != null ? updatedAt.toLocalDateTime() : null);
+    }
+}
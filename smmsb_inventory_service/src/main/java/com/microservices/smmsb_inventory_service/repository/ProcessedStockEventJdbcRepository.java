@@ -0,0 +1,54 @@
+package com.microservices.smmsb_inventory_service.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ProcessedStockEventJdbcRepository {
+
+    private static final String CLAIM_SQL = "INSERT INTO processed_stock_event (event_id, processed_at) "
+            + "VALUES (?, now()) ON CONFLICT (event_id) DO NOTHING";
+
+    // Satu statement untuk seluruh batch; RETURNING hanya berisi id yang baru (belum pernah diproses). Tidak
+    // memakai batchUpdate karena reWriteBatchedInserts membuat jumlah baris per statement tidak terbaca.
+    private static final String CLAIM_ALL_SQL = "INSERT INTO processed_stock_event (event_id, processed_at) "
+            + "SELECT unnest(?), now() ON CONFLICT (event_id) DO NOTHING RETURNING event_id";
+
+    private static final String PURGE_SQL = "DELETE FROM processed_stock_event WHERE event_id IN ("
+            + "SELECT event_id FROM processed_stock_event WHERE processed_at < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProcessedStockEventJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // true jika id belum pernah diproses; harus di transaksi yang sama dengan pengurangan stok
+    public boolean claim(String eventId) {
+        return jdbcTemplate.update(CLAIM_SQL, eventId) == 1;
+    }
+
+    public Set<String> claimAll(Collection<String> eventIds) {
+        Object[] ids = eventIds.toArray();
+        List<String> claimed = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CLAIM_ALL_SQL);
+            ps.setArray(1, con.createArrayOf("varchar", ids));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(claimed);
+    }
+
+    public int deleteProcessedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(cutoff), limit);
+    }
+}
@@ -0,0 +1,159 @@
+package com.microservices.smmsb_inventory_service.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.microservices.smmsb_inventory_service.dto.ProductExportRowDto;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.LowStockAlertEvent;
+
+// Query JDBC untuk jalur stok yang sering dipanggil dan butuh batching (tanpa hidrasi entity)
+@Repository
+public class ProductStockJdbcRepository {
+
+    private static final String DECREMENT_STOCK_SQL = "UPDATE product_stock "
+            + "SET quantity = quantity - ?, updated_at = ? "
+            + "WHERE id = ? AND quantity >= ? AND is_deleted = false";
+
+    // Pengembalian stok tidak bersyarat: reservasi yang dibatalkan selalu boleh dikembalikan
+    private static final String INCREMENT_STOCK_SQL = "UPDATE product_stock "
+            + "SET quantity = quantity + ?, updated_at = ? WHERE id = ?";
+
+    private static final String MARK_LOW_STOCK_SQL = "UPDATE product_stock SET is_low_stock = true "
+            + "WHERE id = ? AND is_low_stock = false AND quantity < ? AND is_deleted = false";
+
+    // Klaim produk untuk digest: transisi yang belum dikirim, atau yang masih low stock setelah cooldown. SKIP LOCKED
+    // agar replika lain yang menjalankan job bersamaan tidak mengirim produk yang sama.
+    private static final String CLAIM_LOW_STOCK_DIGEST_SQL = "UPDATE product_stock p SET low_stock_alerted_at = ? "
+            + "FROM (SELECT id FROM product_stock WHERE is_low_stock = true AND is_deleted = false "
+            + "AND (low_stock_alerted_at IS NULL OR low_stock_alerted_at < ?) "
+            + "ORDER BY quantity, id LIMIT ? FOR UPDATE SKIP LOCKED) c "
+            + "WHERE p.id = c.id RETURNING p.id, p.quantity, p.product_name";
+
+    private static final String QUANTITIES_AFTER_ID_SQL = "SELECT id, quantity FROM product_stock "
+            + "WHERE is_deleted = false AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String QUANTITIES_UPDATED_SINCE_SQL = "SELECT id, quantity, is_deleted FROM product_stock "
+            + "WHERE updated_at >= ?";
+
+    private static final String CATALOG_SQL = "SELECT id, product_name, description, quantity, price, created_at, "
+            + "updated_at FROM product_stock WHERE is_deleted = false ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductStockJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Mengurangi stok beberapa produk dalam satu JDBC batch.
+     *
+     * @param deltas productId -> jumlah yang dikurangi
+     * @return jumlah baris ter-update per entry, dengan urutan yang sama seperti iterasi map
+     */
+    public int[] batchDecrementStock(Map<Long, Integer> deltas) {
+        // updated_at memakai jam aplikasi, sama seperti @UpdateTimestamp pada entity
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, quantity) -> args.add(new Object[] { quantity, now, productId, quantity }));
+        return jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, args);
+    }
+
+    /**
+     * Mengembalikan stok beberapa produk dalam satu JDBC batch.
+     *
+     * @param deltas productId -> jumlah yang dikembalikan
+     */
+    public int[] batchIncrementStock(Map<Long, Integer> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, quantity) -> args.add(new Object[] { quantity, now, productId }));
+        return jdbcTemplate.batchUpdate(INCREMENT_STOCK_SQL, args);
+    }
+
+    /**
+     * Menandai produk yang baru saja turun di bawah ambang dalam satu JDBC batch.
+     *
+     * @return jumlah baris ter-update per id (bukan 0 berarti terjadi transisi)
+     */
+    public int[] batchMarkLowStock(Collection<Long> productIds, int threshold) {
+        List<Object[]> args = new ArrayList<>(productIds.size());
+        productIds.forEach(productId -> args.add(new Object[] { productId, threshold }));
+        return jdbcTemplate.batchUpdate(MARK_LOW_STOCK_SQL, args);
+    }
+
+    /**
+     * Menandai produk yang masuk digest low stock run ini.
+     *
+     * @param cooldownCutoff produk yang terakhir di-alert sebelum waktu ini dikirim ulang
+     * @return produk yang diklaim, quantity terendah lebih dulu
+     */
+    public List<LowStockAlertEvent> claimLowStockDigest(LocalDateTime now, LocalDateTime cooldownCutoff, int limit) {
+        List<LowStockAlertEvent> items = jdbcTemplate.query(CLAIM_LOW_STOCK_DIGEST_SQL,
+                (rs, rowNum) -> new LowStockAlertEvent(rs.getLong("id"), rs.getInt("quantity"),
+                        rs.getString("product_name"), null),
+                Timestamp.valueOf(now), Timestamp.valueOf(cooldownCutoff), limit);
+        // RETURNING tidak menjamin urutan subquery
+        items.sort(Comparator.comparingInt(LowStockAlertEvent::getQuantity)
+                .thenComparing(LowStockAlertEvent::getProductId));
+        return items;
+    }
+
+    /**
+     * Membaca stok per halaman (keyset pada id) untuk produk yang belum dihapus.
+     *
+     * @return id terakhir yang dibaca, atau afterId jika halaman kosong
+     */
+    public long streamQuantitiesAfterId(long afterId, int limit, StockRowConsumer consumer) {
+        long[] lastId = { afterId };
+        jdbcTemplate.query(QUANTITIES_AFTER_ID_SQL, (RowCallbackHandler) rs -> {
+            lastId[0] = rs.getLong("id");
+            consumer.accept(lastId[0], rs.getInt("quantity"), false);
+        }, afterId, limit);
+        return lastId[0];
+    }
+
+    // Membaca produk yang berubah sejak waktu tertentu (termasuk yang baru dihapus)
+    public void streamQuantitiesUpdatedSince(LocalDateTime since, StockRowConsumer consumer) {
+        jdbcTemplate.query(QUANTITIES_UPDATED_SINCE_SQL, (RowCallbackHandler) rs -> consumer.accept(
+                rs.getLong("id"), rs.getInt("quantity"), rs.getBoolean("is_deleted")), Timestamp.valueOf(since));
+    }
+
+    /**
+     * Membaca seluruh katalog dengan cursor forward-only; driver Postgres hanya mengambil fetchSize baris per
+     * round trip jika dipanggil di dalam transaksi (autocommit off), sehingga memori tetap konstan.
+     */
+    public void streamCatalog(int fetchSize, Consumer<ProductExportRowDto> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CATALOG_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(new ProductExportRowDto(
+                rs.getLong("id"),
+                rs.getString("product_name"),
+                rs.getString("description"),
+                rs.getInt("quantity"),
+                rs.getBigDecimal("price"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getTimestamp("updated_at").toLocalDateTime())));
+    }
+
+    @FunctionalInterface
+    public interface StockRowConsumer {
+        void accept(long productId, int quantity, boolean deleted);
+    }
+}
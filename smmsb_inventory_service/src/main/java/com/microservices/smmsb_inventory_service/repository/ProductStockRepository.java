@@ -1,24 +1,116 @@
 package com.microservices.smmsb_inventory_service.repository;
 
+import com.microservices.smmsb_inventory_service.dto.ProductSummaryDto;
 import com.microservices.smmsb_inventory_service.model.ProductStock;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.transaction.annotation.Transactional;
+
 @Repository
 public interface ProductStockRepository extends JpaRepository<ProductStock, Long>,JpaSpecificationExecutor<ProductStock> {
-    // Custom query to find products with low stock
-    List<ProductStock> findByQuantityLessThan(int threshold);
+    // Rekonsiliasi: produk yang melewati ambang tetapi flag-nya belum sesuai
+    List<ProductStock> findByIsDeletedFalseAndIsLowStockFalseAndQuantityLessThanAndIdBetween(int threshold,
+            Long fromId, Long toId);
+
+    List<ProductStock> findByIsDeletedFalseAndIsLowStockTrueAndQuantityGreaterThanEqualAndIdBetween(int threshold,
+            Long fromId, Long toId);
+
+    // Batas id untuk membagi job terjadwal per rentang
+    @Query("SELECT MIN(p.id) FROM ProductStock p")
+    Long findMinId();
+
+    @Query("SELECT MAX(p.id) FROM ProductStock p")
+    Long findMaxId();
 
     boolean findAllByIsDeletedFalse();
 
     Optional<ProductStock> findByIdAndIsDeletedFalse(Long id);
 
+    // Update dan delete produk: baris dikunci sebelum event masuk outbox (lihat OutboxRelay)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ProductStock p WHERE p.id = :id AND p.isDeleted = false")
+    Optional<ProductStock> findByIdAndIsDeletedFalseForUpdate(@Param("id") Long id);
+
+    // Multi-get: seluruh id dalam satu query IN, hanya kolom yang dibutuhkan pemanggil
+    @Query("SELECT new com.microservices.smmsb_inventory_service.dto.ProductSummaryDto("
+            + "p.id, p.productName, p.quantity, p.price) "
+            + "FROM ProductStock p WHERE p.id IN :ids AND p.isDeleted = false")
+    List<ProductSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    boolean existsByIdAndIsDeletedFalse(Long id);
+
     boolean existsByProductNameAndIsDeletedFalse(String productName);
 
     Optional<ProductStock> findByProductNameAndIsDeletedFalse(String productName);
+
+    // Import massal: satu query untuk seluruh nama dalam satu chunk. Termasuk produk yang sudah dihapus karena
+    // kolom product_name unik, sehingga nama tersebut tetap akan ditolak database saat insert
+    @Query("SELECT p.productName FROM ProductStock p WHERE p.productName IN :productNames")
+    List<String> findExistingProductNames(@Param("productNames") Collection<String> productNames);
+
+    // Kurangi stok secara atomik; mengembalikan 0 jika produk tidak ada, sudah dihapus, atau stok tidak cukup
+    @Modifying
+    @Query("UPDATE ProductStock p SET p.quantity = p.quantity - :quantity, p.updatedAt = :updatedAt "
+            + "WHERE p.id = :id AND p.quantity >= :quantity AND p.isDeleted = false")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    default int decrementStock(Long id, int quantity) {
+        return decrementStock(id, quantity, LocalDateTime.now());
+    }
+
+    // Satu-satunya langkah upload gambar yang butuh transaksi DB
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductStock p SET p.imageUrl = :imageUrl, p.thumbnailUrl = null, p.mediumUrl = null, "
+            + "p.updatedAt = :updatedAt WHERE p.id = :id AND p.isDeleted = false")
+    int updateImageUrl(@Param("id") Long id, @Param("imageUrl") String imageUrl,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Simpan varian hanya jika gambar asli belum diganti oleh upload yang lebih baru
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductStock p SET p.thumbnailUrl = :thumbnailUrl, p.mediumUrl = :mediumUrl, "
+            + "p.updatedAt = :updatedAt WHERE p.id = :id AND p.imageUrl = :imageUrl AND p.isDeleted = false")
+    int updateImageVariants(@Param("id") Long id, @Param("imageUrl") String imageUrl,
+            @Param("thumbnailUrl") String thumbnailUrl, @Param("mediumUrl") String mediumUrl,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Set flag low stock hanya saat transisi; mengembalikan 1 tepat satu kali per transisi
+    @Modifying
+    @Query("UPDATE ProductStock p SET p.isLowStock = true "
+            + "WHERE p.id = :id AND p.isLowStock = false AND p.quantity < :threshold AND p.isDeleted = false")
+    int markLowStock(@Param("id") Long id, @Param("threshold") int threshold);
+
+    // Status alert ikut direset, sehingga transisi low stock berikutnya langsung masuk digest tanpa menunggu cooldown
+    @Modifying
+    @Query("UPDATE ProductStock p SET p.isLowStock = false, p.lowStockAlertedAt = null "
+            + "WHERE p.id = :id AND p.isLowStock = true AND p.quantity >= :threshold")
+    int clearLowStock(@Param("id") Long id, @Param("threshold") int threshold);
+
+    // Pencarian nama produk via index trigram: substring (ILIKE) atau mirip (typo), diurutkan berdasarkan relevansi
+    @Query(value = "SELECT * FROM product_stock "
+            + "WHERE is_deleted = false "
+            + "AND (product_name ILIKE :pattern ESCAPE '\\' OR product_name % :search) "
+            + "AND (CAST(:price AS numeric) IS NULL OR price = CAST(:price AS numeric)) "
+            + "AND (CAST(:quantity AS integer) IS NULL OR quantity = CAST(:quantity AS integer)) "
+            + "ORDER BY similarity(product_name, :search) DESC, id "
+            + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<ProductStock> searchByProductName(@Param("search") String search, @Param("pattern") String pattern,
+            @Param("price") BigDecimal price, @Param("quantity") Integer quantity,
+            @Param("limit") int limit, @Param("offset") long offset);
 }
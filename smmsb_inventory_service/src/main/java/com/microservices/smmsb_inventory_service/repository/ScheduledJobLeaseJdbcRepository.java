@@ -0,0 +1,69 @@
+package com.microservices.smmsb_inventory_service.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Lease dan heartbeat memakai jam database (now()), sehingga selisih jam antar replika tidak berpengaruh.
+ */
+@Repository
+public class ScheduledJobLeaseJdbcRepository {
+
+    // Lease diambil jika tidak ada pemegang aktif, dan jadwal ini belum selesai dijalankan. Jadwal yang sama
+    // yang pemegangnya mati (lease habis tanpa completed_at) boleh diambil alih.
+    private static final String ACQUIRE_SQL = "INSERT INTO scheduled_job_lease "
+            + "(job_name, run_key, owner, locked_until, completed_at) "
+            + "VALUES (?, ?, ?, now() + make_interval(secs => ?), NULL) "
+            + "ON CONFLICT (job_name) DO UPDATE SET run_key = EXCLUDED.run_key, owner = EXCLUDED.owner, "
+            + "locked_until = EXCLUDED.locked_until, completed_at = NULL "
+            + "WHERE scheduled_job_lease.locked_until < now() "
+            + "AND (scheduled_job_lease.run_key <> EXCLUDED.run_key OR scheduled_job_lease.completed_at IS NULL)";
+
+    private static final String COMPLETE_SQL = "UPDATE scheduled_job_lease SET completed_at = now(), "
+            + "locked_until = now() WHERE job_name = ? AND run_key = ? AND owner = ?";
+
+    // Gagal: lease dilepas tanpa completed_at, jadi replika lain pada jadwal yang sama masih bisa mencoba
+    private static final String RELEASE_SQL = "UPDATE scheduled_job_lease SET locked_until = now() "
+            + "WHERE job_name = ? AND run_key = ? AND owner = ? AND completed_at IS NULL";
+
+    private static final String HEARTBEAT_SQL = "INSERT INTO scheduler_instance (instance_id, heartbeat_at) "
+            + "VALUES (?, now()) ON CONFLICT (instance_id) DO UPDATE SET heartbeat_at = now()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ScheduledJobLeaseJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean tryAcquire(String jobName, String runKey, String owner, long leaseSeconds) {
+        return jdbcTemplate.update(ACQUIRE_SQL, jobName, runKey, owner, leaseSeconds) == 1;
+    }
+
+    public void complete(String jobName, String runKey, String owner) {
+        jdbcTemplate.update(COMPLETE_SQL, jobName, runKey, owner);
+    }
+
+    public void release(String jobName, String runKey, String owner) {
+        jdbcTemplate.update(RELEASE_SQL, jobName, runKey, owner);
+    }
+
+    public void heartbeat(String instanceId) {
+        jdbcTemplate.update(HEARTBEAT_SQL, instanceId);
+    }
+
+    public void removeInstance(String instanceId) {
+        jdbcTemplate.update("DELETE FROM scheduler_instance WHERE instance_id = ?", instanceId);
+    }
+
+    // Replika yang heartbeat-nya masih dalam batas; instance mati dibersihkan sekalian
+    public List<String> findLiveInstances(long ttlSeconds) {
+        jdbcTemplate.update("DELETE FROM scheduler_instance WHERE heartbeat_at < now() - make_interval(secs => ?)",
+                ttlSeconds);
+        return jdbcTemplate.queryForList("SELECT instance_id FROM scheduler_instance ORDER BY instance_id",
+                String.class);
+    }
+}
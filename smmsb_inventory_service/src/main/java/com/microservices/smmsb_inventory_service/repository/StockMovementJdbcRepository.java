@@ -0,0 +1,146 @@
+package com.microservices.smmsb_inventory_service.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.microservices.smmsb_inventory_service.dto.StockMovementDto;
+import com.microservices.smmsb_inventory_service.model.StockMovementType;
+
+/**
+ * Ledger stock_movement (append-only, dipartisi per bulan pada created_at) dan checkpoint stok per produk.
+ *
+ * Tabel induk dibuat oleh migration V6; partisi bulanan dibuat di sini karena rentangnya bergantung pada tanggal
+ * berjalan. Tabel partisi tidak bisa dipetakan lewat anotasi JPA, jadi seluruh akses memakai JDBC. Query history dan as-of
+ * selalu memakai batas created_at sehingga Postgres hanya membaca partisi bulan yang relevan.
+ */
+@Repository
+public class StockMovementJdbcRepository {
+
+    // Batas bawah untuk rentang tanpa checkpoint
+    private static final Timestamp LEDGER_EPOCH = Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0));
+
+    private static final String INSERT_MOVEMENT_SQL = "INSERT INTO stock_movement "
+            + "(product_id, movement_type, quantity_delta, transaction_id, user_id, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Saldo awal = stok sekarang dikurangi movement yang sudah tercatat, dibaca dalam satu snapshot statement
+    private static final String INSERT_OPENING_SQL = "INSERT INTO stock_movement "
+            + "(product_id, movement_type, quantity_delta, created_at) "
+            + "SELECT p.id, 'OPENING', p.quantity - COALESCE((SELECT SUM(m.quantity_delta) FROM stock_movement m "
+            + "WHERE m.product_id = p.id), 0), ? FROM product_stock p "
+            + "WHERE NOT EXISTS (SELECT 1 FROM stock_movement m WHERE m.product_id = p.id "
+            + "AND m.movement_type IN ('OPENING', 'CREATE'))";
+
+    private static final String HISTORY_SQL = "SELECT id, product_id, movement_type, quantity_delta, transaction_id, "
+            + "user_id, created_at FROM stock_movement "
+            + "WHERE product_id = ? AND created_at >= ? AND created_at < ? "
+            + "ORDER BY created_at DESC, id DESC LIMIT ?";
+
+    private static final String LATEST_CHECKPOINT_SQL = "SELECT checkpoint_at, quantity FROM stock_checkpoint "
+            + "WHERE product_id = ? AND checkpoint_at <= ? ORDER BY checkpoint_at DESC LIMIT 1";
+
+    private static final String SUM_MOVEMENTS_SQL = "SELECT COALESCE(SUM(quantity_delta), 0) AS delta, "
+            + "COUNT(*) AS movements FROM stock_movement "
+            + "WHERE product_id = ? AND created_at > ? AND created_at <= ?";
+
+    // Checkpoint baru = checkpoint terakhir + movement sejak run sebelumnya; produk tanpa movement tidak perlu
+    // checkpoint baru karena checkpoint lamanya masih berlaku
+    private static final String INSERT_CHECKPOINTS_SQL = "INSERT INTO stock_checkpoint "
+            + "(product_id, checkpoint_at, quantity) "
+            + "SELECT d.product_id, ?, COALESCE(l.quantity, 0) + d.delta "
+            + "FROM (SELECT product_id, SUM(quantity_delta) AS delta FROM stock_movement "
+            + "WHERE created_at > ? AND created_at <= ? GROUP BY product_id) d "
+            + "LEFT JOIN LATERAL (SELECT c.quantity FROM stock_checkpoint c WHERE c.product_id = d.product_id "
+            + "ORDER BY c.checkpoint_at DESC LIMIT 1) l ON true "
+            + "ON CONFLICT (product_id, checkpoint_at) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public StockMovementJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createMonthlyPartition(YearMonth month) {
+        String name = String.format("stock_movement_y%dm%02d", month.getYear(), month.getMonthValue());
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF stock_movement "
+                + "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    /**
+     * Mencatat saldo awal untuk produk yang belum punya movement OPENING/CREATE. Harus dipanggil di dalam
+     * transaksi; advisory lock mencegah dua instance mencatat saldo awal yang sama.
+     */
+    public int insertOpeningMovements(LocalDateTime createdAt) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('stock_movement_opening'))");
+        return jdbcTemplate.update(INSERT_OPENING_SQL, Timestamp.valueOf(createdAt));
+    }
+
+    // Semua movement dalam satu JDBC batch, di transaksi yang sama dengan perubahan quantity
+    public int[] batchInsert(Collection<StockMovementDto> movements, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        List<Object[]> args = new ArrayList<>(movements.size());
+        for (StockMovementDto movement : movements) {
+            args.add(new Object[] { movement.getProductId(), movement.getMovementType().name(),
+                    movement.getQuantityDelta(), movement.getTransactionId(), movement.getUserId(), timestamp });
+        }
+        return jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, args);
+    }
+
+    public List<StockMovementDto> findHistory(Long productId, LocalDateTime from, LocalDateTime to, int limit) {
+        return jdbcTemplate.query(HISTORY_SQL, (rs, rowNum) -> new StockMovementDto(
+                rs.getLong("id"),
+                rs.getLong("product_id"),
+                StockMovementType.valueOf(rs.getString("movement_type")),
+                rs.getInt("quantity_delta"),
+                rs.getObject("transaction_id", Long.class),
+                rs.getObject("user_id", Long.class),
+                rs.getTimestamp("created_at").toLocalDateTime()),
+                productId, Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+    }
+
+    public Optional<Checkpoint> findLatestCheckpoint(Long productId, LocalDateTime asOf) {
+        return jdbcTemplate.query(LATEST_CHECKPOINT_SQL, (rs, rowNum) -> new Checkpoint(
+                rs.getTimestamp("checkpoint_at").toLocalDateTime(), rs.getInt("quantity")),
+                productId, Timestamp.valueOf(asOf)).stream().findFirst();
+    }
+
+    // Total movement pada rentang (after, until]; after null berarti sejak awal ledger
+    public MovementSum sumMovements(Long productId, LocalDateTime after, LocalDateTime until) {
+        return jdbcTemplate.queryForObject(SUM_MOVEMENTS_SQL, (rs, rowNum) -> new MovementSum(
+                rs.getInt("delta"), rs.getInt("movements")),
+                productId, after == null ? LEDGER_EPOCH : Timestamp.valueOf(after), Timestamp.valueOf(until));
+    }
+
+    public Optional<LocalDateTime> findLatestCheckpointAt() {
+        Timestamp latest = jdbcTemplate.queryForObject("SELECT MAX(checkpoint_at) FROM stock_checkpoint",
+                Timestamp.class);
+        return Optional.ofNullable(latest).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Membuat checkpoint pada waktu cutoff untuk produk yang bergerak pada rentang (after, cutoff].
+     *
+     * @param after checkpoint global terakhir (null untuk run pertama)
+     */
+    public int insertCheckpoints(LocalDateTime after, LocalDateTime cutoff) {
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        return jdbcTemplate.update(INSERT_CHECKPOINTS_SQL, cutoffTimestamp,
+                after == null ? LEDGER_EPOCH : Timestamp.valueOf(after), cutoffTimestamp);
+    }
+
+    public record Checkpoint(LocalDateTime checkpointAt, int quantity) {
+    }
+
+    public record MovementSum(int quantityDelta, int movements) {
+    }
+}
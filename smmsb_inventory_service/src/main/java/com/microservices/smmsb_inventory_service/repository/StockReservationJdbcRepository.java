@@ -0,0 +1,173 @@
+package com.microservices.smmsb_inventory_service.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reservasi stok (tabel stock_reservation, dibuat oleh migration V4). Setiap transisi status adalah satu UPDATE
+ * bersyarat pada status PENDING, jadi confirm, cancel dan sweep kedaluwarsa yang datang bersamaan hanya
+ * dimenangkan oleh satu pihak tanpa lock selain lock baris. Baris order selalu dikunci dengan urutan
+ * (transaction_id, product_id) sebelum berpindah status.
+ */
+@Repository
+public class StockReservationJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO stock_reservation "
+            + "(transaction_id, product_id, user_id, quantity, order_id, status, expires_at, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, 'PENDING', ?, ?, ?) ON CONFLICT (transaction_id, product_id) DO NOTHING";
+
+    private static final String CONFIRM_SQL = "UPDATE stock_reservation SET status = 'CONFIRMED', updated_at = ? "
+            + "WHERE transaction_id = ? AND product_id = ? AND status = 'PENDING'";
+
+    private static final String CANCEL_SQL = "UPDATE stock_reservation SET status = 'CANCELLED', updated_at = ? "
+            + "WHERE transaction_id = ? AND product_id = ? AND status = 'PENDING' "
+            + "RETURNING transaction_id, product_id, user_id, quantity, order_id";
+
+    // Baris satu order selalu berpindah status bersama dalam satu UPDATE, setelah dikunci lewat lockOrder
+    private static final String CONFIRM_ORDER_SQL = "UPDATE stock_reservation SET status = 'CONFIRMED', "
+            + "updated_at = ? WHERE order_id = ? AND status = 'PENDING'";
+
+    private static final String CANCEL_ORDER_SQL = "UPDATE stock_reservation SET status = 'CANCELLED', "
+            + "updated_at = ? WHERE order_id = ? AND status = 'PENDING' "
+            + "RETURNING transaction_id, product_id, user_id, quantity, order_id";
+
+    // Urutan kunci tetap (transaction_id, product_id), sama untuk confirm, cancel dan sweep, agar tidak deadlock
+    private static final String LOCK_ORDER_SQL = "SELECT transaction_id FROM stock_reservation WHERE order_id = ? "
+            + "ORDER BY transaction_id, product_id FOR UPDATE";
+
+    // Klaim reservasi tunggal yang lewat TTL. Baris dikunci dengan FOR UPDATE SKIP LOCKED dan status PENDING dicek
+    // ulang di bawah kunci: reservasi yang sedang di-confirm (barisnya dikunci UPDATE confirm) dilewati, dan setelah
+    // confirm commit statusnya bukan PENDING lagi
+    private static final String EXPIRE_SQL = "UPDATE stock_reservation r SET status = 'EXPIRED', updated_at = ? "
+            + "FROM (SELECT transaction_id, product_id FROM stock_reservation "
+            + "WHERE status = 'PENDING' AND expires_at <= ? AND order_id IS NULL "
+            + "ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED) e "
+            + "WHERE r.transaction_id = e.transaction_id AND r.product_id = e.product_id AND r.status = 'PENDING' "
+            + "RETURNING r.transaction_id, r.product_id, r.user_id, r.quantity, r.order_id";
+
+    // Order yang punya baris lewat TTL, urut order_id agar beberapa replika mengunci order dengan urutan yang sama
+    private static final String EXPIRED_ORDER_IDS_SQL = "SELECT DISTINCT order_id FROM stock_reservation "
+            + "WHERE status = 'PENDING' AND expires_at <= ? AND order_id IS NOT NULL ORDER BY order_id LIMIT ?";
+
+    // Dijalankan setelah lockOrder; order yang sudah di-confirm atau di-cancel tidak punya baris PENDING lagi
+    private static final String EXPIRE_ORDER_SQL = "UPDATE stock_reservation SET status = 'EXPIRED', "
+            + "updated_at = ? WHERE order_id = ? AND status = 'PENDING' AND expires_at <= ? "
+            + "RETURNING transaction_id, product_id, user_id, quantity, order_id";
+
+    // Confirm yang datang setelah reservasi kedaluwarsa: baris EXPIRED dikunci sebelum stok diambil kembali
+    private static final String LOCK_EXPIRED_SQL = "SELECT transaction_id, product_id, user_id, quantity, order_id "
+            + "FROM stock_reservation WHERE transaction_id = ? AND product_id = ? AND status = 'EXPIRED' FOR UPDATE";
+
+    private static final String LOCK_EXPIRED_ORDER_SQL = "SELECT transaction_id, product_id, user_id, quantity, "
+            + "order_id FROM stock_reservation WHERE order_id = ? AND status = 'EXPIRED' "
+            + "ORDER BY transaction_id, product_id FOR UPDATE";
+
+    private static final String CONFIRM_EXPIRED_SQL = "UPDATE stock_reservation SET status = 'CONFIRMED', "
+            + "updated_at = ? WHERE transaction_id = ? AND product_id = ? AND status = 'EXPIRED'";
+
+    private static final String PURGE_SQL = "DELETE FROM stock_reservation WHERE (transaction_id, product_id) IN ("
+            + "SELECT transaction_id, product_id FROM stock_reservation "
+            + "WHERE status <> 'PENDING' AND updated_at < ? LIMIT ?)";
+
+    private static final RowMapper<Reservation> RESERVATION_MAPPER = (rs, rowNum) -> new Reservation(
+            rs.getLong("transaction_id"),
+            rs.getLong("product_id"),
+            rs.getObject("user_id", Long.class),
+            rs.getInt("quantity"),
+            rs.getObject("order_id", Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public StockReservationJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Semua reservasi dalam satu JDBC batch, di transaksi yang sama dengan pengurangan stok
+    public int[] batchInsert(Collection<Reservation> reservations, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        Timestamp created = Timestamp.valueOf(createdAt);
+        Timestamp expires = Timestamp.valueOf(expiresAt);
+        List<Object[]> args = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            args.add(new Object[] { reservation.transactionId(), reservation.productId(), reservation.userId(),
+                    reservation.quantity(), reservation.orderId(), expires, created, created });
+        }
+        return jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    public int confirm(Long transactionId, Long productId, LocalDateTime now) {
+        return jdbcTemplate.update(CONFIRM_SQL, Timestamp.valueOf(now), transactionId, productId);
+    }
+
+    // Kosong jika reservasi tidak ada atau sudah tidak PENDING
+    public Optional<Reservation> cancel(Long transactionId, Long productId, LocalDateTime now) {
+        return jdbcTemplate.query(CANCEL_SQL, RESERVATION_MAPPER, Timestamp.valueOf(now), transactionId, productId)
+                .stream().findFirst();
+    }
+
+    // Mengunci seluruh baris order sampai transaksi selesai; dipanggil sebelum confirm, cancel atau expire order
+    public void lockOrder(Long orderId) {
+        jdbcTemplate.query(LOCK_ORDER_SQL, rs -> {
+        }, orderId);
+    }
+
+    public int confirmOrder(Long orderId, LocalDateTime now) {
+        return jdbcTemplate.update(CONFIRM_ORDER_SQL, Timestamp.valueOf(now), orderId);
+    }
+
+    // Kosong jika order tidak punya reservasi PENDING
+    public List<Reservation> cancelOrder(Long orderId, LocalDateTime now) {
+        return jdbcTemplate.query(CANCEL_ORDER_SQL, RESERVATION_MAPPER, Timestamp.valueOf(now), orderId);
+    }
+
+    public List<Reservation> claimExpired(LocalDateTime now, int limit) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.query(EXPIRE_SQL, RESERVATION_MAPPER, timestamp, timestamp, limit);
+    }
+
+    public List<Long> findExpiredOrderIds(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList(EXPIRED_ORDER_IDS_SQL, Long.class, Timestamp.valueOf(now), limit);
+    }
+
+    // Kosong jika order sudah tidak punya baris PENDING yang lewat TTL
+    public List<Reservation> expireOrder(Long orderId, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.query(EXPIRE_ORDER_SQL, RESERVATION_MAPPER, timestamp, orderId, timestamp);
+    }
+
+    public Optional<Reservation> lockExpired(Long transactionId, Long productId) {
+        return jdbcTemplate.query(LOCK_EXPIRED_SQL, RESERVATION_MAPPER, transactionId, productId).stream()
+                .findFirst();
+    }
+
+    public List<Reservation> lockExpiredOrder(Long orderId) {
+        return jdbcTemplate.query(LOCK_EXPIRED_ORDER_SQL, RESERVATION_MAPPER, orderId);
+    }
+
+    // Semua baris dalam satu JDBC batch; baris harus sudah dikunci lewat lockExpired/lockExpiredOrder
+    public int[] confirmExpired(Collection<Reservation> reservations, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object[]> args = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            args.add(new Object[] { timestamp, reservation.transactionId(), reservation.productId() });
+        }
+        return jdbcTemplate.batchUpdate(CONFIRM_EXPIRED_SQL, args);
+    }
+
+    public int deleteSettledBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(cutoff), limit);
+    }
+
+    // orderId null untuk reservasi transaksi tunggal
+    public record Reservation(Long transactionId, Long productId, Long userId, int quantity, Long orderId) {
+    }
+}
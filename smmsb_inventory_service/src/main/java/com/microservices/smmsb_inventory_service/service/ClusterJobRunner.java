@@ -0,0 +1,147 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import com.microservices.smmsb_inventory_service.repository.ScheduledJobLeaseJdbcRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Menjalankan job terjadwal sekali per jadwal di seluruh replika, dengan lease di Postgres.
+ *
+ * Job ber-shard dibagi menjadi beberapa lease (satu per shard). Setiap replika mencoba semua shard, dimulai dari
+ * posisi yang berbeda sesuai urutannya di daftar replika hidup, sehingga shard dikerjakan paralel dan tetap
+ * selesai walaupun ada replika yang mati. Lease tidak diperpanjang: lease-seconds harus lebih lama dari durasi
+ * satu shard.
+ */
+@Slf4j
+@Service
+public class ClusterJobRunner {
+
+    // Cukup untuk menemukan jadwal terakhir dari cron harian
+    private static final Duration FIRE_TIME_LOOKBACK = Duration.ofDays(1);
+
+    private final ScheduledJobLeaseJdbcRepository scheduledJobLeaseJdbcRepository;
+
+    @Getter
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${application.scheduler.lease-seconds:1800}")
+    private long leaseSeconds;
+
+    @Value("${application.scheduler.instance-ttl-seconds:30}")
+    private long instanceTtlSeconds;
+
+    @FunctionalInterface
+    public interface ShardTask {
+        void run(int shard, int shardCount);
+    }
+
+    @Autowired
+    public ClusterJobRunner(ScheduledJobLeaseJdbcRepository scheduledJobLeaseJdbcRepository) {
+        this.scheduledJobLeaseJdbcRepository = scheduledJobLeaseJdbcRepository;
+    }
+
+    // Job tunggal: hanya satu replika yang menjalankan jadwal ini
+    public boolean runOnce(String jobName, String cron, Runnable task) {
+        return runSharded(jobName, cron, 1, (shard, shardCount) -> task.run()) == 1;
+    }
+
+    /**
+     * @return jumlah shard yang dikerjakan replika ini
+     */
+    public int runSharded(String jobName, String cron, int shardCount, ShardTask task) {
+        String runKey = previousFireTime(CronExpression.parse(cron), LocalDateTime.now()).toString();
+        int offset = shardCount == 1 ? 0 : startOffset(shardCount);
+        int executed = 0;
+        for (int i = 0; i < shardCount; i++) {
+            int shard = (offset + i) % shardCount;
+            String leaseName = shardCount == 1 ? jobName : jobName + "#" + shard + "/" + shardCount;
+            if (!scheduledJobLeaseJdbcRepository.tryAcquire(leaseName, runKey, instanceId, leaseSeconds)) {
+                continue;
+            }
+            try {
+                task.run(shard, shardCount);
+                scheduledJobLeaseJdbcRepository.complete(leaseName, runKey, instanceId);
+                executed++;
+            } catch (RuntimeException e) {
+                scheduledJobLeaseJdbcRepository.release(leaseName, runKey, instanceId);
+                log.error("Scheduled job {} failed for run {}", leaseName, runKey, e);
+            }
+        }
+        if (executed > 0) {
+            log.info("Scheduled job {} run {}: {} of {} shards executed on this instance", jobName, runKey,
+                    executed, shardCount);
+        }
+        return executed;
+    }
+
+    /**
+     * Jadwal cron terakhir yang tidak melewati now. Dipakai sebagai identitas run, sehingga replika yang mulai
+     * terlambat (scheduler sibuk, jam sedikit berbeda) tetap menganggapnya run yang sama.
+     */
+    static LocalDateTime previousFireTime(CronExpression cron, LocalDateTime now) {
+        LocalDateTime previous = null;
+        LocalDateTime next = cron.next(now.minus(FIRE_TIME_LOOKBACK));
+        while (next != null && !next.isAfter(now)) {
+            previous = next;
+            next = cron.next(next);
+        }
+        return previous != null ? previous : now.truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    /**
+     * Rentang id untuk satu shard (inklusif) dari id terkecil dan terbesar. Shard terakhir menampung sisa
+     * pembagian; id yang dibuat setelah batas dibaca ikut dicek pada run berikutnya.
+     */
+    public static long[] idRange(long minId, long maxId, int shard, int shardCount) {
+        long span = (maxId - minId) / shardCount + 1;
+        long from = minId + span * shard;
+        long to = shard == shardCount - 1 ? maxId : Math.min(maxId, from + span - 1);
+        return new long[] { from, to };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${application.scheduler.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        try {
+            scheduledJobLeaseJdbcRepository.heartbeat(instanceId);
+        } catch (DataAccessException e) {
+            log.warn("Scheduler heartbeat failed - Error: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        try {
+            scheduledJobLeaseJdbcRepository.removeInstance(instanceId);
+        } catch (DataAccessException e) {
+            // Baris akan kedaluwarsa sendiri setelah instance-ttl-seconds
+            log.debug("Failed to remove scheduler instance {} - Error: {}", instanceId, e.getMessage());
+        }
+    }
+
+    private int startOffset(int shardCount) {
+        List<String> live = scheduledJobLeaseJdbcRepository.findLiveInstances(instanceTtlSeconds);
+        int index = live.indexOf(instanceId);
+        if (index < 0 || live.isEmpty()) {
+            return 0;
+        }
+        return index * shardCount / live.size();
+    }
+}
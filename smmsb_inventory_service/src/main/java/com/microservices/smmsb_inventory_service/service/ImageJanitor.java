@@ -0,0 +1,30 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Menghapus object yang sudah tidak dipakai di luar request thread
+@Slf4j
+@Service
+public class ImageJanitor {
+
+    private final MinioService minioService;
+
+    @Autowired
+    public ImageJanitor(MinioService minioService) {
+        this.minioService = minioService;
+    }
+
+    @Async("imageJanitorExecutor")
+    public void removeObject(String bucketName, String objectName) {
+        try {
+            minioService.removeObject(bucketName, objectName);
+            log.info("Successfully deleted old image: {}", objectName);
+        } catch (Exception e) {
+            log.error("Failed to delete old image: {} - Error: {}", objectName, e.getMessage());
+        }
+    }
+}
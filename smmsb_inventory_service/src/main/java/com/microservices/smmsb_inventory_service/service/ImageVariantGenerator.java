@@ -0,0 +1,180 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Membuat varian thumbnail dan medium dari foto produk setelah upload selesai.
+ *
+ * Berjalan di executor terpisah sehingga upload tidak menunggu proses resize. Varian disimpan sebagai JPEG
+ * di folder thumb/ dan medium/ di samping object asli, lalu URL-nya dicatat hanya jika gambar asli
+ * belum diganti oleh upload yang lebih baru.
+ */
+@Slf4j
+@Service
+public class ImageVariantGenerator {
+
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+
+    private final MinioService minioService;
+    private final ProductStockRepository productStockRepository;
+    private final ProductCache productCache;
+    private final ImageJanitor imageJanitor;
+
+    @Value("${application.image-variant.thumbnail-size:200}")
+    private int thumbnailSize;
+
+    @Value("${application.image-variant.medium-size:800}")
+    private int mediumSize;
+
+    @Value("${application.image-variant.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    @Autowired
+    public ImageVariantGenerator(MinioService minioService, ProductStockRepository productStockRepository,
+            ProductCache productCache, ImageJanitor imageJanitor) {
+        this.minioService = minioService;
+        this.productStockRepository = productStockRepository;
+        this.productCache = productCache;
+        this.imageJanitor = imageJanitor;
+    }
+
+    @Async("imageVariantExecutor")
+    public void generateVariants(Long productId, String bucketName, String objectName, String imageUrl) {
+        try {
+            BufferedImage source = readDownsampled(bucketName, objectName, mediumSize);
+            if (source == null) {
+                log.warn("Unsupported image format, skipping variants for {}", objectName);
+                return;
+            }
+
+            String thumbnailObject = variantObjectName(objectName, "thumb");
+            String mediumObject = variantObjectName(objectName, "medium");
+            String thumbnailUrl = upload(resize(source, thumbnailSize), bucketName, thumbnailObject);
+            String mediumUrl = upload(resize(source, mediumSize), bucketName, mediumObject);
+
+            int updated = productStockRepository.updateImageVariants(productId, imageUrl, thumbnailUrl, mediumUrl,
+                    LocalDateTime.now());
+            if (updated == 0) {
+                // Gambar sudah diganti atau produk dihapus selama proses: varian ini tidak dipakai
+                imageJanitor.removeObject(bucketName, thumbnailObject);
+                imageJanitor.removeObject(bucketName, mediumObject);
+                return;
+            }
+            productCache.evictAfterCommit(List.of(productId));
+            log.info("Image variants generated for product {}", productId);
+        } catch (Exception e) {
+            log.error("Failed to generate image variants for {} - Error: {}", objectName, e.getMessage());
+        }
+    }
+
+    // products/12_..._foto.png -> products/thumb/12_..._foto.jpg
+    public static String variantObjectName(String objectName, String variant) {
+        int slash = objectName.lastIndexOf('/');
+        String folder = objectName.substring(0, slash + 1);
+        String fileName = objectName.substring(slash + 1);
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return folder + variant + "/" + baseName + ".jpg";
+    }
+
+    /**
+     * Decode dengan subsampling agar foto besar tidak di-decode penuh ke memori; hasilnya tetap minimal
+     * dua kali ukuran target supaya resize akhir masih tajam.
+     */
+    private BufferedImage readDownsampled(String bucketName, String objectName, int targetSize) throws IOException {
+        try (InputStream stream = minioService.getObject(bucketName, objectName);
+                ImageInputStream input = ImageIO.createImageInputStream(stream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longestSide / (targetSize * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Resize bertahap (setengah per langkah) agar hasil bilinear tidak pecah pada rasio besar
+    private BufferedImage resize(BufferedImage source, int maxSize) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        // TYPE_INT_RGB: JPEG tidak mendukung alpha, area transparan PNG menjadi putih
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private String upload(BufferedImage image, String bucketName, String objectName) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(buffer)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        byte[] bytes = buffer.toByteArray();
+        return minioService.uploadStream(new ByteArrayInputStream(bytes), bytes.length, VARIANT_CONTENT_TYPE,
+                objectName, bucketName);
+    }
+}
@@ -0,0 +1,13 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import com.microservices.smmsb_inventory_service.dto.response.ApiDataResponseBuilder;
+
+public interface InventorySummaryService {
+
+      // Dibaca dari baris shard, tidak men-scan product_stock
+      ApiDataResponseBuilder getSummary();
+
+      // Menghitung ulang dari product_stock dan mengoreksi selisih
+      void reconcile();
+
+}
@@ -0,0 +1,21 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import java.util.Collection;
+
+public interface LowStockAlertService {
+
+      // Setelah stok berkurang: tandai produk yang baru saja melewati ambang (alert dikirim lewat digest)
+      void onStockDecreased(Long productId);
+
+      void onStockDecreased(Collection<Long> productIds);
+
+      // Setelah stok di-set manual (bisa naik atau turun)
+      void onStockChanged(Long productId);
+
+      // Rekonsiliasi berkala untuk transisi yang terlewat, per rentang id (inklusif) agar bisa dibagi antar replika
+      void reconcile(long fromId, long toId);
+
+      // Satu digest untuk transisi yang belum dikirim dan produk yang masih low stock setelah cooldown
+      void sendDigest();
+
+}
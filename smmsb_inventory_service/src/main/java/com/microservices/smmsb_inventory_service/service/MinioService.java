@@ -11,6 +11,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class MinioService {
@@ -23,12 +25,31 @@ public class MinioService {
     @Value("${application.minio.bucketName}")
     private String defaultBucketName;
 
+    // Ukuran part multipart upload (minimal 5 MiB sesuai batas MinIO/S3)
+    @Value("${application.minio.part-size:10485760}")
+    private long partSize;
+
+    private final Set<String> knownBuckets = ConcurrentHashMap.newKeySet();
+
     @Autowired
     public MinioService(MinioClient minioClient) {
         this.minioClient = minioClient;
     }
 
     public String uploadFile(MultipartFile file, String objectName, String bucketName) {
+        try (InputStream stream = file.getInputStream()) {
+            return uploadStream(stream, file.getSize(), file.getContentType(), objectName, bucketName);
+        } catch (IOException e) {
+            throw new RuntimeException("Error uploading file to MinIO", e);
+        }
+    }
+
+    /**
+     * Upload langsung dari stream ke MinIO tanpa buffer di memori. Object diunggah per part berukuran
+     * partSize (multipart upload), sehingga size boleh -1 jika panjang stream tidak diketahui.
+     */
+    public String uploadStream(InputStream stream, long size, String contentType, String objectName,
+            String bucketName) {
         if (bucketName == null || bucketName.isEmpty()) {
             bucketName = defaultBucketName;
         }
@@ -41,8 +62,8 @@ public class MinioService {
                     PutObjectArgs.builder()
                             .bucket(bucketName)
                             .object(objectName)
-                            .stream(file.getInputStream(), file.getSize(), -1)
-                            .contentType(file.getContentType())
+                            .stream(stream, size, partSize)
+                            .contentType(contentType)
                             .build());
 
             // Kembalikan URL
@@ -53,6 +74,13 @@ public class MinioService {
         }
     }
 
+    // Kebalikan dari URL yang dikembalikan uploadStream: ambil nama object di dalam bucket
+    public String objectNameFromUrl(String url, String bucketName) {
+        String prefix = "/" + bucketName + "/";
+        int index = url.indexOf(prefix);
+        return index < 0 ? url.substring(url.lastIndexOf("/") + 1) : url.substring(index + prefix.length());
+    }
+
     public void removeObject(String bucketName, String objectName) throws Exception {
         if (bucketName == null || bucketName.isEmpty()) {
             bucketName = defaultBucketName;
@@ -61,12 +89,23 @@ public class MinioService {
                 RemoveObjectArgs.builder().bucket(bucketName).object(objectName).build());
     }
 
-    // Buat bucket jika tidak ada
+    // Buat bucket jika tidak ada; hasilnya di-cache agar tidak ada round trip bucketExists di setiap upload
     private void createBucketIfNotExists(String bucketName) throws ServerException, InsufficientDataException, ErrorResponseException, IOException, NoSuchAlgorithmException, InvalidKeyException, InvalidResponseException, XmlParserException, InternalException {
+        if (knownBuckets.contains(bucketName)) {
+            return;
+        }
         boolean found = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
         if (!found) {
-            minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            try {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            } catch (ErrorResponseException e) {
+                // Upload paralel bisa membuat bucket yang sama lebih dulu
+                if (!"BucketAlreadyOwnedByYou".equals(e.errorResponse().code())) {
+                    throw e;
+                }
+            }
         }
+        knownBuckets.add(bucketName);
     }
 
     public InputStream getObject(String bucketName, String objectName) {
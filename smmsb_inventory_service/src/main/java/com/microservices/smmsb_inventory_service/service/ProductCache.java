@@ -0,0 +1,149 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.microservices.smmsb_inventory_service.dto.CacheStatsDto;
+import com.microservices.smmsb_inventory_service.dto.ProductStockDto;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.ProductCacheInvalidationEvent;
+import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
+import com.microservices.smmsb_inventory_service.utils.AfterCommit;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache lokal untuk get-by-id, dibatasi jumlah entry (LRU) dan TTL.
+ *
+ * Invalidasi dilakukan setelah commit, lalu di-broadcast lewat Kafka ke replika lain. TTL menjadi batas
+ * atas data basi jika pesan broadcast terlambat atau hilang.
+ */
+@Slf4j
+@Service
+public class ProductCache {
+
+    private final KafkaProducer kafkaProducer;
+
+    @Getter
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${application.product-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${application.product-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // Naik setiap ada invalidasi; put dari pembacaan DB yang dimulai sebelum invalidasi diabaikan
+    private final AtomicLong generation = new AtomicLong();
+
+    // LinkedHashMap access-order: entry paling lama tidak diakses dibuang saat melebihi maxSize
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    @Autowired
+    public ProductCache(KafkaProducer kafkaProducer) {
+        this.kafkaProducer = kafkaProducer;
+    }
+
+    public ProductStockDto get(Long productId) {
+        synchronized (entries) {
+            Entry entry = entries.get(productId);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                entries.remove(productId);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    // Ambil sebelum membaca database, lalu kirim ke put agar hasil pembacaan yang sudah basi tidak disimpan
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public void put(Long productId, ProductStockDto value, long readGeneration) {
+        synchronized (entries) {
+            if (generation.get() != readGeneration) {
+                return;
+            }
+            entries.put(productId, new Entry(value, System.currentTimeMillis() + ttlMs));
+        }
+    }
+
+    // Dipanggil dari jalur tulis; invalidasi lokal dan broadcast dilakukan setelah transaksi commit
+    public void evictAfterCommit(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(productIds);
+        Runnable action = () -> {
+            evictLocal(ids);
+            kafkaProducer.sendProductCacheInvalidationEvent(new ProductCacheInvalidationEvent(instanceId, ids));
+        };
+        AfterCommit.run(action);
+    }
+
+    public void evictFromBroadcast(ProductCacheInvalidationEvent event) {
+        // Pesan dari replika ini sendiri sudah diterapkan saat commit
+        if (instanceId.equals(event.getOriginInstanceId()) || event.getProductIds() == null) {
+            return;
+        }
+        evictLocal(event.getProductIds());
+    }
+
+    public CacheStatsDto stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStatsDto(size, maxSize, hitCount, missCount, total == 0 ? 0.0 : (double) hitCount / total,
+                evictions.sum(), expirations.sum(), invalidations.sum());
+    }
+
+    private void evictLocal(Collection<Long> productIds) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            for (Long productId : productIds) {
+                if (entries.remove(productId) != null) {
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    private record Entry(ProductStockDto value, long expiresAt) {
+    }
+}
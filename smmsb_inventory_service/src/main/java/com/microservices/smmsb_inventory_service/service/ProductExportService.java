@@ -0,0 +1,13 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface ProductExportService {
+
+      String FORMAT_CSV = "csv";
+      String FORMAT_NDJSON = "ndjson";
+
+      // Export seluruh katalog (csv atau ndjson), ditulis langsung ke response tanpa menampung hasil di memori
+      StreamingResponseBody exportProducts(String format);
+
+}
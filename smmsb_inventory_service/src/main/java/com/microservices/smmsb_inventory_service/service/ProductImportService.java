@@ -0,0 +1,12 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import java.io.InputStream;
+
+import com.microservices.smmsb_inventory_service.dto.response.ApiDataResponseBuilder;
+
+public interface ProductImportService {
+
+      // Import massal dari body request (CSV atau NDJSON), dibaca per baris dan disimpan per chunk
+      ApiDataResponseBuilder importProducts(InputStream stream, String contentType);
+
+}
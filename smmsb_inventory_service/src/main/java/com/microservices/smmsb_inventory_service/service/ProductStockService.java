@@ -6,10 +6,13 @@ import com.microservices.smmsb_inventory_service.dto.response.MessageResponse;
 import com.microservices.smmsb_inventory_service.dto.request.CreateProductStockRequest;
 import com.microservices.smmsb_inventory_service.dto.request.UpdateProductStockRequest;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.microservices.smmsb_inventory_service.dto.ProductStockDto;
@@ -24,15 +27,33 @@ public interface ProductStockService {
 
       ApiDataResponseBuilder getProductStockById(Long id);
 
+      // Multi-get: data dikembalikan sebagai map id -> produk, id yang tidak ditemukan tidak disertakan
+      ApiDataResponseBuilder getProductStocksByIds(List<Long> ids);
+
+      ApiDataResponseBuilder checkStockAvailability(Long id, int quantity);
+
+      ApiDataResponseBuilder getProductCacheStats();
+
       MessageResponse deleteProductStock(Long id);
 
       ListResponse<ProductStockDto> getAllProductStocks(Pageable pageable, String productName,
                   BigDecimal price,
                   Integer quantity);
 
+      // Mode search: cocok sebagian/mirip pada nama produk, diurutkan berdasarkan relevansi
+      ListResponse<ProductStockDto> searchProductStocks(String search, Pageable pageable, BigDecimal price,
+                  Integer quantity);
+
+      // Mode keyset: tanpa COUNT(*), after kosong berarti halaman pertama
+      ListResponse<ProductStockDto> getAllProductStocksAfter(String after, Sort sort, int size, String productName,
+                  BigDecimal price,
+                  Integer quantity);
+
       ListResponse<Map<String, String>> uploadImage(MultipartFile file, Long id);
 
-      void checkAndNotifyLowStockProducts();
+      // Upload dari body request mentah (tanpa multipart), di-stream langsung ke MinIO
+      ListResponse<Map<String, String>> uploadImageStream(InputStream stream, long size, String contentType,
+                  String fileName, Long id);
 
 
 
@@ -0,0 +1,182 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.microservices.smmsb_inventory_service.dto.DedupStatsDto;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
+import com.microservices.smmsb_inventory_service.repository.ProcessedStockEventJdbcRepository;
+import com.microservices.smmsb_inventory_service.utils.AfterCommit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Membuang event update-product-stock yang terkirim ulang (rebalance, retry, restart sebelum offset commit).
+ *
+ * Sumber kebenaran adalah tabel processed_stock_event: id diklaim dengan INSERT ... ON CONFLICT DO NOTHING di
+ * transaksi yang sama dengan pengurangan stok, jadi klaim dan pengurangan commit atau rollback bersama. Di
+ * depannya ada daftar id terbaru (LRU, diisi setelah commit) sehingga redelivery yang paling sering terjadi,
+ * yaitu ulangan poll terakhir pada instance yang sama, dibuang tanpa query.
+ */
+@Slf4j
+@Service
+public class StockEventDeduplicator {
+
+    private static final int PURGE_BATCH_SIZE = 5000;
+
+    private final ProcessedStockEventJdbcRepository processedStockEventJdbcRepository;
+
+    @Value("${application.stock-event-dedup.recent-max-size:50000}")
+    private int recentMaxSize;
+
+    // Harus lebih lama dari retensi topic update-product-stock, karena event bisa dibaca ulang selama masih ada
+    @Value("${application.stock-event-dedup.retention-hours:168}")
+    private int retentionHours;
+
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder duplicatesInMemory = new LongAdder();
+    private final LongAdder duplicatesInDatabase = new LongAdder();
+    private final LongAdder withoutEventId = new LongAdder();
+    private final LongAdder elapsedNanos = new LongAdder();
+
+    private final Map<String, Boolean> recent = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > recentMaxSize;
+        }
+    };
+
+    @Autowired
+    public StockEventDeduplicator(ProcessedStockEventJdbcRepository processedStockEventJdbcRepository) {
+        this.processedStockEventJdbcRepository = processedStockEventJdbcRepository;
+    }
+
+    /**
+     * @return true jika event belum pernah diproses dan boleh diterapkan
+     */
+    public boolean claim(UpdateProductStockEvent event) {
+        return claimId(event.getEventId());
+    }
+
+    // Untuk event selain UpdateProductStockEvent (misalnya OrderStockEvent)
+    public boolean claimId(String eventId) {
+        if (eventId == null) {
+            withoutEventId.increment();
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            checked.increment();
+            if (isRecent(eventId)) {
+                duplicatesInMemory.increment();
+                return false;
+            }
+            if (!processedStockEventJdbcRepository.claim(eventId)) {
+                duplicatesInDatabase.increment();
+                return false;
+            }
+            rememberAfterCommit(List.of(eventId));
+            return true;
+        } finally {
+            elapsedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Versi batch: satu query untuk seluruh poll. Urutan event dipertahankan, duplikat di dalam batch yang sama
+     * ikut dibuang.
+     *
+     * @return event yang boleh diterapkan
+     */
+    public List<UpdateProductStockEvent> claimAll(List<UpdateProductStockEvent> events) {
+        long start = System.nanoTime();
+        List<UpdateProductStockEvent> candidates = new ArrayList<>(events.size());
+        Set<String> candidateIds = new LinkedHashSet<>();
+        for (UpdateProductStockEvent event : events) {
+            String eventId = event.getEventId();
+            if (eventId == null) {
+                withoutEventId.increment();
+                candidates.add(event);
+                continue;
+            }
+            checked.increment();
+            if (isRecent(eventId) || !candidateIds.add(eventId)) {
+                duplicatesInMemory.increment();
+                continue;
+            }
+            candidates.add(event);
+        }
+
+        Set<String> claimed = candidateIds.isEmpty() ? Set.of()
+                : processedStockEventJdbcRepository.claimAll(candidateIds);
+        duplicatesInDatabase.add(candidateIds.size() - claimed.size());
+        rememberAfterCommit(claimed);
+
+        List<UpdateProductStockEvent> fresh = candidates;
+        if (claimed.size() < candidateIds.size()) {
+            fresh = new ArrayList<>(candidates.size());
+            for (UpdateProductStockEvent event : candidates) {
+                if (event.getEventId() == null || claimed.contains(event.getEventId())) {
+                    fresh.add(event);
+                }
+            }
+        }
+        elapsedNanos.add(System.nanoTime() - start);
+        return fresh;
+    }
+
+    public DedupStatsDto stats() {
+        long checkedCount = checked.sum();
+        int size;
+        synchronized (recent) {
+            size = recent.size();
+        }
+        double avgMicros = checkedCount == 0 ? 0 : elapsedNanos.sum() / 1000.0 / checkedCount;
+        return new DedupStatsDto(size, recentMaxSize, checkedCount, duplicatesInMemory.sum(),
+                duplicatesInDatabase.sum(), withoutEventId.sum(), avgMicros);
+    }
+
+    // Hapus bertahap agar tidak ada satu DELETE besar yang menahan lock lama
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = processedStockEventJdbcRepository.deleteProcessedBefore(cutoff, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("Purged {} processed stock event ids older than {}", total, cutoff);
+        }
+    }
+
+    private boolean isRecent(String eventId) {
+        synchronized (recent) {
+            return recent.containsKey(eventId);
+        }
+    }
+
+    // Hanya id yang klaimnya sudah commit yang boleh dibuang tanpa cek database
+    private void rememberAfterCommit(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        Runnable action = () -> {
+            synchronized (recent) {
+                eventIds.forEach(eventId -> recent.put(eventId, Boolean.TRUE));
+            }
+        };
+        AfterCommit.run(action);
+    }
+}
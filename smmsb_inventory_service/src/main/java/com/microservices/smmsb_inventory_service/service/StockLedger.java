@@ -0,0 +1,140 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import java.time.LocalDateTime;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository;
+import com.microservices.smmsb_inventory_service.utils.AfterCommit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cermin stok di memori untuk cek ketersediaan tanpa query ke database.
+ *
+ * Postgres tetap menjadi sumber kebenaran: setiap pengurangan stok diputuskan oleh UPDATE bersyarat di DB, ledger
+ * hanya dipakai untuk bacaan dan perkiraan. Ledger diperbarui setelah commit oleh replika ini dan disinkronkan
+ * berkala dari baris yang berubah, sehingga perubahan dari replika lain ikut terbaca dalam satu interval refresh.
+ *
+ * Delta yang callback after-commit-nya datang setelah baris yang sama dibaca ulang bisa terhitung dua kali; nilai
+ * absolut dari refresh berikutnya memperbaikinya. Perubahan yang commit selama reloadAll dibaca ulang dari DB
+ * setelah snapshot dipasang, bukan diputar ulang sebagai delta.
+ */
+@Slf4j
+@Service
+public class StockLedger {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final ProductStockJdbcRepository productStockJdbcRepository;
+    private final ConcurrentMap<Long, AtomicInteger> quantities = new ConcurrentHashMap<>();
+
+    // Overlap agar commit yang terjadi sedikit sebelum watermark tetap terbaca
+    @Value("${application.stock-ledger.refresh-overlap-ms:5000}")
+    private long refreshOverlapMs;
+
+    private volatile LocalDateTime lastRefreshAt;
+    private volatile boolean loaded;
+
+    @Autowired
+    public StockLedger(ProductStockJdbcRepository productStockJdbcRepository) {
+        this.productStockJdbcRepository = productStockJdbcRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadAll();
+    }
+
+    @Scheduled(fixedDelayString = "${application.stock-ledger.full-reload-interval-ms:3600000}",
+            initialDelayString = "${application.stock-ledger.full-reload-interval-ms:3600000}")
+    public synchronized void reloadAll() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        ConcurrentMap<Long, AtomicInteger> fresh = new ConcurrentHashMap<>();
+        long lastId = 0;
+        while (true) {
+            long next = productStockJdbcRepository.streamQuantitiesAfterId(lastId, LOAD_PAGE_SIZE,
+                    (productId, quantity, deleted) -> fresh.put(productId, new AtomicInteger(quantity)));
+            if (next == lastId) {
+                break;
+            }
+            lastId = next;
+        }
+
+        quantities.keySet().retainAll(fresh.keySet());
+        fresh.forEach((productId, quantity) -> set(productId, quantity.get()));
+        // Baris yang berubah selama snapshot dibaca (termasuk perubahan replika ini) diambil ulang dengan nilai
+        // terbarunya, sehingga tidak ada perubahan yang hilang atau terhitung dua kali oleh snapshot
+        refreshSince(startedAt);
+        loaded = true;
+        log.info("Stock ledger loaded with {} products", quantities.size());
+    }
+
+    @Scheduled(fixedDelayString = "${application.stock-ledger.refresh-interval-ms:5000}")
+    public void refreshChanged() {
+        if (!loaded) {
+            return;
+        }
+        refreshSince(lastRefreshAt);
+    }
+
+    public OptionalInt getQuantity(Long productId) {
+        AtomicInteger quantity = quantities.get(productId);
+        return quantity == null ? OptionalInt.empty() : OptionalInt.of(quantity.get());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Dipanggil setelah perubahan stok berhasil; diterapkan setelah transaksi commit
+    public void applyDelta(Long productId, int delta) {
+        AfterCommit.run(() -> {
+            AtomicInteger quantity = quantities.get(productId);
+            if (quantity != null) {
+                quantity.addAndGet(delta);
+            }
+        });
+    }
+
+    // Dipanggil saat produk dibuat atau quantity di-set manual
+    public void setQuantity(Long productId, int quantity) {
+        AfterCommit.run(() -> set(productId, quantity));
+    }
+
+    public void remove(Long productId) {
+        AfterCommit.run(() -> quantities.remove(productId));
+    }
+
+    private synchronized void refreshSince(LocalDateTime watermark) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = watermark.minusNanos(refreshOverlapMs * 1_000_000);
+        productStockJdbcRepository.streamQuantitiesUpdatedSince(since, (productId, quantity, deleted) -> {
+            if (deleted) {
+                quantities.remove(productId);
+            } else {
+                set(productId, quantity);
+            }
+        });
+        lastRefreshAt = startedAt;
+    }
+
+    private void set(Long productId, int quantity) {
+        quantities.compute(productId, (id, current) -> {
+            if (current == null) {
+                return new AtomicInteger(quantity);
+            }
+            current.set(quantity);
+            return current;
+        });
+    }
+}
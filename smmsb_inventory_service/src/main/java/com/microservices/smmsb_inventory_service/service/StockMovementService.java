@@ -0,0 +1,25 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import com.microservices.smmsb_inventory_service.dto.StockMovementDto;
+import com.microservices.smmsb_inventory_service.dto.response.ApiDataResponseBuilder;
+import com.microservices.smmsb_inventory_service.dto.response.ListResponse;
+
+public interface StockMovementService {
+
+      // Dipanggil di transaksi yang sama dengan perubahan quantity; semua baris dikirim dalam satu batch
+      void record(Collection<StockMovementDto> movements);
+
+      ListResponse<StockMovementDto> getMovementHistory(Long productId, LocalDateTime from, LocalDateTime to,
+                  int size);
+
+      // Stok pada waktu tertentu: checkpoint terakhir sebelum asOf ditambah movement sesudahnya
+      ApiDataResponseBuilder getStockAsOf(Long productId, LocalDateTime asOf);
+
+      void createCheckpoints();
+
+      void maintainPartitions();
+
+}
@@ -0,0 +1,64 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import java.util.List;
+
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
+
+/**
+ * Reservasi stok untuk saga transaksi: stok dikurangi saat reserve, lalu dikonfirmasi atau dikembalikan.
+ * Reservasi yang tidak dikonfirmasi sampai TTL habis dikembalikan otomatis.
+ */
+public interface StockReservationService {
+
+      /**
+       * Mencatat reservasi PENDING untuk event yang stoknya sudah berhasil dikurangi (di transaksi pemanggil)
+       * dan mengirim hasil RESERVED. Event tanpa transactionId (producer lama) tetap dianggap penjualan langsung.
+       */
+      void hold(List<UpdateProductStockEvent> events);
+
+      // Mengirim hasil REJECTED untuk event yang ditolak (hanya jika event punya transactionId)
+      void reject(UpdateProductStockEvent event, String reason);
+
+      /**
+       * Mencatat reservasi PENDING untuk seluruh baris order yang stoknya sudah dikurangi (di transaksi pemanggil)
+       * dan mengirim satu hasil RESERVED untuk order tersebut.
+       */
+      void holdOrder(OrderStockEvent event);
+
+      // Mengirim satu hasil REJECTED untuk order; productId adalah produk pertama yang gagal
+      void rejectOrder(OrderStockEvent event, Long productId, String reason);
+
+      /**
+       * Reservasi PENDING menjadi CONFIRMED. Jika reservasi sudah kedaluwarsa (confirm tertahan lebih lama dari
+       * TTL), stoknya diambil kembali dan reservasi tetap dikonfirmasi selama stok masih tersedia.
+       *
+       * @return false jika reservasi sudah dibatalkan, atau kedaluwarsa dan stoknya tidak bisa diambil kembali
+       */
+      boolean confirm(Long transactionId, Long productId);
+
+      /**
+       * Membatalkan reservasi PENDING dan mengembalikan stoknya (movement RETURN).
+       *
+       * @return false jika reservasi tidak ada atau sudah tidak PENDING
+       */
+      boolean cancel(Long transactionId, Long productId);
+
+      // Confirm seluruh baris order dalam satu UPDATE; order yang sudah kedaluwarsa diperlakukan seperti confirm
+      boolean confirmOrder(Long orderId);
+
+      // Membatalkan seluruh baris order yang masih PENDING dan mengembalikan stoknya
+      boolean cancelOrder(Long orderId);
+
+      /**
+       * Mengembalikan stok reservasi PENDING yang lewat TTL dan mengirim hasil EXPIRED (satu per order untuk baris
+       * order; seluruh baris order kedaluwarsa bersama). Reservasi yang sedang di-confirm tidak ikut kedaluwarsa.
+       *
+       * @return jumlah reservasi yang kedaluwarsa
+       */
+      int expireDue();
+
+      // Menghapus reservasi yang sudah selesai dan melewati masa retensi
+      void purgeSettled();
+
+}
@@ -0,0 +1,38 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import java.util.List;
+
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
+import com.microservices.smmsb_inventory_service.dto.response.ApiDataResponseBuilder;
+
+public interface StockUpdateService {
+
+      /**
+       * Mengurangi stok produk sesuai event penjualan. Event dengan transactionId dicatat sebagai reservasi
+       * yang menunggu confirm/cancel dari Transaction Service (lihat StockReservationService).
+       *
+       * @return true jika stok berhasil dikurangi, false jika event ditolak
+       */
+      boolean applyStockUpdate(UpdateProductStockEvent event);
+
+      /**
+       * Menerapkan satu batch event (hasil satu poll) dalam satu transaksi.
+       * Event dengan productId yang sama digabung menjadi satu pengurangan.
+       *
+       * @return jumlah event yang berhasil diterapkan
+       */
+      int applyStockUpdates(List<UpdateProductStockEvent> events);
+
+      /**
+       * Mengurangi stok seluruh baris order dalam satu transaksi: jika satu baris gagal, tidak ada stok yang
+       * berkurang dan order ditolak. Hasilnya dikirim sebagai satu StockReservationResultEvent.
+       *
+       * @return true jika seluruh baris berhasil direservasi
+       */
+      boolean applyOrderStockUpdate(OrderStockEvent event);
+
+      // Statistik deduplikasi event di instance ini, termasuk waktu rata-rata per event
+      ApiDataResponseBuilder getDedupStats();
+
+}
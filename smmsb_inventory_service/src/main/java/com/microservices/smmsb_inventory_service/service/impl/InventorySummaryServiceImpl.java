@@ -0,0 +1,80 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.microservices.smmsb_inventory_service.dto.InventorySummaryDto;
+import com.microservices.smmsb_inventory_service.dto.response.ApiDataResponseBuilder;
+import com.microservices.smmsb_inventory_service.repository.InventorySummaryJdbcRepository;
+import com.microservices.smmsb_inventory_service.service.InventorySummaryService;
+import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ringkasan inventory untuk dashboard.
+ *
+ * Agregat dipelihara trigger product_stock di transaksi yang sama dengan perubahan stok (create, update,
+ * delete, pengurangan dari Kafka, import), sehingga pembacaan cukup menjumlahkan beberapa baris shard.
+ * Rekonsiliasi berkala menghitung ulang dari product_stock untuk menutup perubahan yang lolos dari trigger
+ * (mis. perubahan threshold atau SQL manual dengan trigger dimatikan).
+ */
+@Slf4j
+@Service
+public class InventorySummaryServiceImpl implements InventorySummaryService {
+
+        private final InventorySummaryJdbcRepository inventorySummaryJdbcRepository;
+        private final MessageUtils messageUtils;
+
+        @Value("${application.low-stock.threshold:10}")
+        private int lowStockThreshold;
+
+        @Value("${application.inventory-summary.shards:16}")
+        private int shards;
+
+        @Autowired
+        public InventorySummaryServiceImpl(InventorySummaryJdbcRepository inventorySummaryJdbcRepository,
+                        MessageUtils messageUtils) {
+                this.inventorySummaryJdbcRepository = inventorySummaryJdbcRepository;
+                this.messageUtils = messageUtils;
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public ApiDataResponseBuilder getSummary() {
+                InventorySummaryDto summary = inventorySummaryJdbcRepository.findSummary();
+                summary.setLowStockThreshold(lowStockThreshold);
+
+                return ApiDataResponseBuilder.builder()
+                                .data(summary)
+                                .message(messageUtils.getMessage("success.inventory.summary.retrieved"))
+                                .status(HttpStatus.OK)
+                                .statusCode(HttpStatus.OK.value())
+                                .build();
+        }
+
+        @Override
+        @Transactional
+        public void reconcile() {
+                inventorySummaryJdbcRepository.lockAllShards();
+                InventorySummaryDto current = inventorySummaryJdbcRepository.findSummary();
+                InventorySummaryDto actual = inventorySummaryJdbcRepository.computeFromProducts(lowStockThreshold);
+
+                if (hasDrift(current, actual)) {
+                        log.warn("Inventory summary drift corrected - stored: {}, actual: {}", current, actual);
+                }
+                // Tetap ditulis walau tidak ada selisih, untuk melipat shard ke shard 0
+                inventorySummaryJdbcRepository.overwrite(actual, shards);
+        }
+
+        private boolean hasDrift(InventorySummaryDto current, InventorySummaryDto actual) {
+                return current.getProductCount() != actual.getProductCount()
+                                || current.getTotalQuantity() != actual.getTotalQuantity()
+                                || current.getTotalValue().compareTo(actual.getTotalValue()) != 0
+                                || current.getLowStockCount() != actual.getLowStockCount()
+                                || current.getOutOfStockCount() != actual.getOutOfStockCount();
+        }
+}
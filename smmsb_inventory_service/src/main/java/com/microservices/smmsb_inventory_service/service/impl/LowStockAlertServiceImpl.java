@@ -0,0 +1,154 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.LowStockAlertEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.LowStockDigestEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_inventory_service.model.ProductStock;
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.service.LowStockAlertService;
+import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deteksi low stock berbasis transisi, dikirim sebagai digest.
+ *
+ * Flag is_low_stock di-set dengan UPDATE bersyarat (is_low_stock = false AND quantity < ambang) di jalur stok,
+ * tanpa mengirim pesan. Job digest mengumpulkan transisi yang belum dikirim (low_stock_alerted_at null) dan
+ * produk yang masih low stock setelah cooldown, lalu mengirim satu LowStockDigestEvent dan satu notifikasi
+ * untuk seluruh run.
+ */
+@Slf4j
+@Service
+public class LowStockAlertServiceImpl implements LowStockAlertService {
+
+        // Jumlah nama produk yang ditulis di pesan notifikasi; daftar lengkap ada di LowStockDigestEvent
+        private static final int NOTIFICATION_ITEM_LIMIT = 20;
+
+        private final ProductStockRepository productStockRepository;
+        private final ProductStockJdbcRepository productStockJdbcRepository;
+        private final KafkaProducer kafkaProducer;
+
+        @Value("${application.low-stock.threshold:10}")
+        private int threshold;
+
+        @Value("${application.low-stock.alert-cooldown-hours:24}")
+        private int alertCooldownHours;
+
+        @Value("${application.low-stock.digest-max-items:500}")
+        private int digestMaxItems;
+
+        @Autowired
+        public LowStockAlertServiceImpl(ProductStockRepository productStockRepository,
+                        ProductStockJdbcRepository productStockJdbcRepository, KafkaProducer kafkaProducer) {
+                this.productStockRepository = productStockRepository;
+                this.productStockJdbcRepository = productStockJdbcRepository;
+                this.kafkaProducer = kafkaProducer;
+        }
+
+        @Override
+        @Transactional
+        public void onStockDecreased(Long productId) {
+                // Stok hanya turun, jadi cukup cek transisi ke low stock
+                if (productStockRepository.markLowStock(productId, threshold) == 1) {
+                        log.info("Product {} is low on stock, queued for the next digest", productId);
+                }
+        }
+
+        @Override
+        @Transactional
+        public void onStockDecreased(Collection<Long> productIds) {
+                if (productIds.isEmpty()) {
+                        return;
+                }
+                List<Long> ids = new ArrayList<>(productIds);
+                int[] results = productStockJdbcRepository.batchMarkLowStock(ids, threshold);
+                int flagged = 0;
+                for (int result : results) {
+                        // != 0 karena driver boleh mengembalikan SUCCESS_NO_INFO (-2)
+                        if (result != 0) {
+                                flagged++;
+                        }
+                }
+                if (flagged > 0) {
+                        log.info("{} products became low on stock, queued for the next digest", flagged);
+                }
+        }
+
+        @Override
+        @Transactional
+        public void onStockChanged(Long productId) {
+                if (productStockRepository.markLowStock(productId, threshold) == 1) {
+                        log.info("Product {} is low on stock, queued for the next digest", productId);
+                } else if (productStockRepository.clearLowStock(productId, threshold) == 1) {
+                        log.info("Product {} is no longer low on stock", productId);
+                }
+        }
+
+        @Override
+        @Transactional
+        public void reconcile(long fromId, long toId) {
+                // Hanya baris yang flag-nya tidak sesuai; alert untuk yang baru ditandai dikirim lewat digest
+                List<ProductStock> missed = productStockRepository
+                                .findByIsDeletedFalseAndIsLowStockFalseAndQuantityLessThanAndIdBetween(threshold,
+                                                fromId, toId);
+                for (ProductStock product : missed) {
+                        productStockRepository.markLowStock(product.getId(), threshold);
+                }
+
+                List<ProductStock> restocked = productStockRepository
+                                .findByIsDeletedFalseAndIsLowStockTrueAndQuantityGreaterThanEqualAndIdBetween(
+                                                threshold, fromId, toId);
+                for (ProductStock product : restocked) {
+                        productStockRepository.clearLowStock(product.getId(), threshold);
+                }
+
+                if (!missed.isEmpty() || !restocked.isEmpty()) {
+                        log.info("Low stock reconciliation for ids {}-{}: {} flagged, {} cleared", fromId, toId,
+                                        missed.size(), restocked.size());
+                }
+        }
+
+        @Override
+        @Transactional
+        public void sendDigest() {
+                LocalDateTime now = LocalDateTime.now();
+                // Klaim dan pesan outbox ada di transaksi yang sama: jika gagal, produk tetap menunggu run berikutnya
+                List<LowStockAlertEvent> items = productStockJdbcRepository.claimLowStockDigest(now,
+                                now.minusHours(alertCooldownHours), digestMaxItems);
+                if (items.isEmpty()) {
+                        return;
+                }
+                items.forEach(item -> item.setMessage("Stok produk " + item.getProductName() + " kurang dari "
+                                + threshold));
+
+                String message = digestMessage(items);
+                kafkaProducer.sendLowStockDigestEvent(new LowStockDigestEvent(threshold, items, message));
+                kafkaProducer.sendNotificationEvent(new NotificationEvent(null, message, "LOW_STOCK_DIGEST"));
+                log.info("Low stock digest sent for {} products", items.size());
+        }
+
+        private String digestMessage(List<LowStockAlertEvent> items) {
+                String listed = items.stream()
+                                .limit(NOTIFICATION_ITEM_LIMIT)
+                                .map(item -> item.getProductName() + " (" + item.getQuantity() + ")")
+                                .collect(Collectors.joining(", "));
+                String message = items.size() + " produk dengan stok kurang dari " + threshold + ": " + listed;
+                if (items.size() > NOTIFICATION_ITEM_LIMIT) {
+                        message += ", dan " + (items.size() - NOTIFICATION_ITEM_LIMIT) + " produk lainnya";
+                }
+                return message;
+        }
+}
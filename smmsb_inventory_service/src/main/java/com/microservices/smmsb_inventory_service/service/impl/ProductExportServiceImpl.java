@@ -0,0 +1,178 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_inventory_service.dto.ProductExportRowDto;
+import com.microservices.smmsb_inventory_service.exception.BadRequestException;
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository;
+import com.microservices.smmsb_inventory_service.service.ProductExportService;
+import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Export katalog untuk akuntansi.
+ *
+ * Baris dibaca dengan cursor JDBC forward-only (fetch size tetap) di dalam transaksi read-only dan langsung
+ * ditulis ke output stream, sehingga pemakaian memori tidak bergantung pada jumlah produk.
+ */
+@Slf4j
+@Service
+public class ProductExportServiceImpl implements ProductExportService {
+
+        private static final String CSV_HEADER = "id,productName,description,quantity,price,createdAt,updatedAt";
+
+        private final ProductStockJdbcRepository productStockJdbcRepository;
+        private final ObjectMapper objectMapper;
+        private final MessageUtils messageUtils;
+        private final TransactionTemplate readOnlyTransaction;
+
+        @Value("${application.product-export.fetch-size:1000}")
+        private int fetchSize;
+
+        @Value("${application.product-export.timeout-ms:600000}")
+        private long timeoutMs;
+
+        @Autowired
+        public ProductExportServiceImpl(ProductStockJdbcRepository productStockJdbcRepository,
+                        ObjectMapper objectMapper, MessageUtils messageUtils,
+                        PlatformTransactionManager transactionManager) {
+                this.productStockJdbcRepository = productStockJdbcRepository;
+                this.objectMapper = objectMapper;
+                this.messageUtils = messageUtils;
+                // Cursor Postgres butuh autocommit off; read-only agar tidak ada flush/lock yang tidak perlu
+                this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+                this.readOnlyTransaction.setReadOnly(true);
+        }
+
+        @Override
+        public StreamingResponseBody exportProducts(String format) {
+                if (!FORMAT_CSV.equalsIgnoreCase(format) && !FORMAT_NDJSON.equalsIgnoreCase(format)) {
+                        throw new BadRequestException(messageUtils.getMessage("error.invalid.export.format"));
+                }
+                boolean csv = FORMAT_CSV.equalsIgnoreCase(format);
+                // Diambil di thread request; body ditulis di thread async MVC
+                HttpServletRequest request = currentRequest();
+
+                return output -> {
+                        extendAsyncTimeout(request);
+                        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                        JsonGenerator json = csv ? null : createGenerator(writer);
+                        long[] rows = { 0 };
+
+                        if (csv) {
+                                writer.write(CSV_HEADER);
+                                writer.write('\n');
+                        }
+                        try {
+                                readOnlyTransaction.executeWithoutResult(status -> productStockJdbcRepository
+                                                .streamCatalog(fetchSize, row -> {
+                                                        try {
+                                                                if (csv) {
+                                                                        writeCsvRow(writer, row);
+                                                                } else {
+                                                                        writeJsonRow(json, row);
+                                                                }
+                                                        } catch (IOException e) {
+                                                                // Biasanya client memutus koneksi: hentikan cursor
+                                                                throw new UncheckedIOException(e);
+                                                        }
+                                                        rows[0]++;
+                                                }));
+                        } catch (UncheckedIOException e) {
+                                log.warn("Catalog export aborted after {} rows - Error: {}", rows[0],
+                                                e.getCause().getMessage());
+                                throw e.getCause();
+                        }
+
+                        if (json != null) {
+                                json.flush();
+                        }
+                        writer.flush();
+                        log.info("Catalog export finished: {} rows ({})", rows[0], csv ? FORMAT_CSV : FORMAT_NDJSON);
+                };
+        }
+
+        private JsonGenerator createGenerator(Writer writer) throws IOException {
+                JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+                // Satu objek per baris: pemisah antar objek ditulis manual sebagai newline
+                json.setRootValueSeparator(null);
+                return json;
+        }
+
+        private void writeJsonRow(JsonGenerator json, ProductExportRowDto row) throws IOException {
+                json.writeStartObject();
+                json.writeNumberField("id", row.getId());
+                json.writeStringField("productName", row.getProductName());
+                json.writeStringField("description", row.getDescription());
+                json.writeNumberField("quantity", row.getQuantity());
+                // toPlainString: hindari notasi ilmiah (1E+3) untuk harga
+                json.writeFieldName("price");
+                json.writeNumber(row.getPrice().toPlainString());
+                json.writeStringField("createdAt", row.getCreatedAt().toString());
+                json.writeStringField("updatedAt", row.getUpdatedAt().toString());
+                json.writeEndObject();
+                json.writeRaw('\n');
+        }
+
+        private void writeCsvRow(Writer writer, ProductExportRowDto row) throws IOException {
+                writer.write(String.valueOf(row.getId()));
+                writer.write(',');
+                writer.write(csvValue(row.getProductName()));
+                writer.write(',');
+                writer.write(csvValue(row.getDescription()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getQuantity()));
+                writer.write(',');
+                writer.write(row.getPrice().toPlainString());
+                writer.write(',');
+                writer.write(row.getCreatedAt().toString());
+                writer.write(',');
+                writer.write(row.getUpdatedAt().toString());
+                writer.write('\n');
+        }
+
+        // Escaping RFC 4180, sama dengan yang dibaca endpoint import
+        static String csvValue(String value) {
+                if (value == null) {
+                        return "";
+                }
+                if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                                && value.indexOf('\r') < 0) {
+                        return value;
+                }
+                return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        private HttpServletRequest currentRequest() {
+                RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+                return attributes instanceof ServletRequestAttributes servletAttributes
+                                ? servletAttributes.getRequest()
+                                : null;
+        }
+
+        // spring.mvc.async.request-timeout berlaku untuk semua request async; export katalog butuh waktu lebih lama
+        private void extendAsyncTimeout(HttpServletRequest request) {
+                if (request != null && request.isAsyncStarted()) {
+                        request.getAsyncContext().setTimeout(timeoutMs);
+                }
+        }
+}
@@ -0,0 +1,346 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_inventory_service.dto.ImportErrorDto;
+import com.microservices.smmsb_inventory_service.dto.ImportResultDto;
+import com.microservices.smmsb_inventory_service.dto.StockMovementDto;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_inventory_service.dto.request.CreateProductStockRequest;
+import com.microservices.smmsb_inventory_service.dto.response.ApiDataResponseBuilder;
+import com.microservices.smmsb_inventory_service.exception.AuthenticationFailedException;
+import com.microservices.smmsb_inventory_service.exception.BadRequestException;
+import com.microservices.smmsb_inventory_service.exception.InternalServerErrorException;
+import com.microservices.smmsb_inventory_service.mapper.ProductStockMapper;
+import com.microservices.smmsb_inventory_service.model.ProductStock;
+import com.microservices.smmsb_inventory_service.model.StockMovementType;
+import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.service.LowStockAlertService;
+import com.microservices.smmsb_inventory_service.service.ProductImportService;
+import com.microservices.smmsb_inventory_service.service.StockLedger;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
+import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
+import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Import produk massal dari CSV atau NDJSON.
+ *
+ * Body dibaca per baris tanpa dimuat penuh ke memori. Baris yang valid dikumpulkan per chunk; untuk tiap chunk
+ * nama produk dicek ke database dengan satu query, lalu sisanya disimpan dalam satu transaksi sehingga Hibernate
+ * mengirim INSERT secara batch (id dari sequence pooled). Setiap chunk commit sendiri: jika koneksi putus di
+ * tengah file, chunk yang sudah tersimpan akan dilewati saat file yang sama di-import ulang.
+ */
+@Slf4j
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+        private static final String CSV_CONTENT_TYPE = "text/csv";
+        private static final List<String> CSV_COLUMNS = List.of("productName", "description", "quantity", "price");
+        private static final int MAX_REPORTED_ERRORS = 100;
+
+        private final ProductStockRepository productStockRepository;
+        private final StockLedger stockLedger;
+        private final LowStockAlertService lowStockAlertService;
+        private final KafkaProducer kafkaProducer;
+        private final MessageUtils messageUtils;
+        private final Validator validator;
+        private final ObjectMapper objectMapper;
+        private final TransactionTemplate transactionTemplate;
+        private final StockMovementService stockMovementService;
+
+        @Value("${application.product-import.chunk-size:500}")
+        private int chunkSize;
+
+        @Autowired
+        public ProductImportServiceImpl(ProductStockRepository productStockRepository, StockLedger stockLedger,
+                        LowStockAlertService lowStockAlertService, KafkaProducer kafkaProducer,
+                        MessageUtils messageUtils, Validator validator, ObjectMapper objectMapper,
+                        TransactionTemplate transactionTemplate, StockMovementService stockMovementService) {
+                this.productStockRepository = productStockRepository;
+                this.stockLedger = stockLedger;
+                this.lowStockAlertService = lowStockAlertService;
+                this.kafkaProducer = kafkaProducer;
+                this.messageUtils = messageUtils;
+                this.validator = validator;
+                this.objectMapper = objectMapper;
+                this.transactionTemplate = transactionTemplate;
+                this.stockMovementService = stockMovementService;
+        }
+
+        @Override
+        public ApiDataResponseBuilder importProducts(InputStream stream, String contentType) {
+                Long userId = resolveUserId();
+
+                boolean csv;
+                if (contentType != null && contentType.startsWith(CSV_CONTENT_TYPE)) {
+                        csv = true;
+                } else if (contentType != null && contentType.startsWith(MediaType.APPLICATION_NDJSON_VALUE)) {
+                        csv = false;
+                } else {
+                        throw new BadRequestException(messageUtils.getMessage("error.invalid.import.format"));
+                }
+
+                ImportResultDto result = new ImportResultDto();
+                // Nama yang sudah dibaca dari file, untuk menolak duplikat di dalam file yang sama
+                Set<String> seenNames = new HashSet<>();
+                List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+                try (BufferedReader reader = new BufferedReader(
+                                new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                        Map<String, Integer> columns = csv ? readCsvHeader(reader.readLine()) : null;
+                        long lineNumber = csv ? 1 : 0;
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                                lineNumber++;
+                                if (line.isBlank()) {
+                                        continue;
+                                }
+                                result.setTotalRows(result.getTotalRows() + 1);
+
+                                CreateProductStockRequest request;
+                                try {
+                                        request = csv ? parseCsvRow(line, columns)
+                                                        : objectMapper.readValue(line, CreateProductStockRequest.class);
+                                } catch (IllegalArgumentException | JsonProcessingException e) {
+                                        fail(result, lineNumber, null,
+                                                        messageUtils.getMessage("error.import.row.malformed"));
+                                        continue;
+                                }
+
+                                Set<ConstraintViolation<CreateProductStockRequest>> violations = validator
+                                                .validate(request);
+                                if (!violations.isEmpty()) {
+                                        fail(result, lineNumber, request.getProductName(), violations.stream()
+                                                        .map(ConstraintViolation::getMessage)
+                                                        .sorted()
+                                                        .collect(Collectors.joining(", ")));
+                                        continue;
+                                }
+
+                                if (!seenNames.add(request.getProductName())) {
+                                        skip(result, lineNumber, request.getProductName(),
+                                                        messageUtils.getMessage("error.import.row.duplicate"));
+                                        continue;
+                                }
+
+                                chunk.add(new ImportRow(lineNumber, request));
+                                if (chunk.size() >= chunkSize) {
+                                        saveChunk(chunk, userId, result);
+                                        chunk.clear();
+                                }
+                        }
+                        saveChunk(chunk, userId, result);
+                } catch (IOException e) {
+                        log.error("Product import aborted after {} rows - Error: {}", result.getTotalRows(),
+                                        e.getMessage());
+                        throw new InternalServerErrorException(messageUtils.getMessage("error.import.failed"));
+                }
+
+                // Satu notifikasi ringkasan untuk seluruh file, bukan satu per produk
+                NotificationEvent notificationEvent = new NotificationEvent(
+                                userId,
+                                "Import produk selesai: " + result.getImported() + " ditambahkan, "
+                                                + result.getSkipped() + " dilewati, " + result.getFailed() + " gagal",
+                                "Import");
+                kafkaProducer.sendNotificationEvent(notificationEvent);
+                log.info("Product import finished: {} rows, {} imported, {} skipped, {} failed",
+                                result.getTotalRows(), result.getImported(), result.getSkipped(), result.getFailed());
+
+                return ApiDataResponseBuilder.builder()
+                                .data(result)
+                                .message(messageUtils.getMessage("success.products.imported", result.getImported(),
+                                                result.getSkipped(), result.getFailed()))
+                                .status(HttpStatus.OK)
+                                .statusCode(HttpStatus.OK.value())
+                                .build();
+        }
+
+        private void saveChunk(List<ImportRow> chunk, Long userId, ImportResultDto result) {
+                if (chunk.isEmpty()) {
+                        return;
+                }
+
+                List<String> names = chunk.stream().map(row -> row.request().getProductName()).toList();
+                Set<String> existing = new HashSet<>(productStockRepository.findExistingProductNames(names));
+
+                List<ImportRow> accepted = new ArrayList<>(chunk.size());
+                List<ProductStock> products = new ArrayList<>(chunk.size());
+                for (ImportRow row : chunk) {
+                        String productName = row.request().getProductName();
+                        if (existing.contains(productName)) {
+                                skip(result, row.line(), productName, messageUtils
+                                                .getMessage("error.product.name.already.exists", productName));
+                                continue;
+                        }
+                        ProductStock productStock = ProductStockMapper.toEntity(row.request());
+                        productStock.setCreatedBy(userId);
+                        accepted.add(row);
+                        products.add(productStock);
+                }
+                if (products.isEmpty()) {
+                        return;
+                }
+
+                try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                                // Id sudah terisi dari sequence saat persist, sehingga movement CREATE bisa
+                                // ditulis di transaksi yang sama sebelum insert produk di-flush
+                                productStockRepository.saveAll(products);
+                                stockMovementService.record(products.stream()
+                                                .map(product -> StockMovementDto.of(product.getId(),
+                                                                StockMovementType.CREATE, product.getQuantity(), null,
+                                                                userId))
+                                                .toList());
+                                products.forEach(product -> kafkaProducer
+                                                .sendProductChangedEvent(ProductStockMapper.toChangedEvent(product)));
+                        });
+                } catch (DataIntegrityViolationException e) {
+                        // Nama yang sama dibuat bersamaan lewat endpoint lain: seluruh chunk di-rollback
+                        log.warn("Product import chunk rejected by database - Error: {}", e.getMessage());
+                        for (ImportRow row : accepted) {
+                                fail(result, row.line(), row.request().getProductName(),
+                                                messageUtils.getMessage("error.import.chunk.rejected"));
+                        }
+                        return;
+                }
+
+                result.setImported(result.getImported() + products.size());
+                List<Long> productIds = new ArrayList<>(products.size());
+                for (ProductStock product : products) {
+                        stockLedger.setQuantity(product.getId(), product.getQuantity());
+                        productIds.add(product.getId());
+                }
+                // Produk baru yang langsung di bawah ambang ditandai & di-alert dalam satu JDBC batch
+                lowStockAlertService.onStockDecreased(productIds);
+        }
+
+        private Map<String, Integer> readCsvHeader(String headerLine) {
+                if (headerLine == null) {
+                        throw new BadRequestException(messageUtils.getMessage("error.invalid.import.header"));
+                }
+                // Lewati BOM yang biasa ditambahkan Excel
+                if (headerLine.startsWith("\uFEFF")) {
+                        headerLine = headerLine.substring(1);
+                }
+                List<String> header = splitCsvLine(headerLine);
+                Map<String, Integer> columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                        columns.put(header.get(i), i);
+                }
+                if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+                        throw new BadRequestException(messageUtils.getMessage("error.invalid.import.header"));
+                }
+                return columns;
+        }
+
+        private CreateProductStockRequest parseCsvRow(String line, Map<String, Integer> columns) {
+                List<String> values = splitCsvLine(line);
+                if (values.size() < columns.size()) {
+                        throw new IllegalArgumentException("Expected " + columns.size() + " columns");
+                }
+                CreateProductStockRequest request = new CreateProductStockRequest();
+                request.setProductName(values.get(columns.get("productName")));
+                request.setDescription(values.get(columns.get("description")));
+                request.setQuantity(Integer.parseInt(values.get(columns.get("quantity"))));
+                request.setPrice(new BigDecimal(values.get(columns.get("price"))));
+                return request;
+        }
+
+        /**
+         * Memecah satu baris CSV (RFC 4180): nilai boleh diapit tanda kutip dan "" berarti satu tanda kutip.
+         * Nilai multi-baris tidak didukung karena file dibaca per baris.
+         */
+        static List<String> splitCsvLine(String line) {
+                List<String> values = new ArrayList<>();
+                StringBuilder current = new StringBuilder();
+                boolean quoted = false;
+                for (int i = 0; i < line.length(); i++) {
+                        char c = line.charAt(i);
+                        if (quoted) {
+                                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                                        current.append('"');
+                                        i++;
+                                } else if (c == '"') {
+                                        quoted = false;
+                                } else {
+                                        current.append(c);
+                                }
+                        } else if (c == '"') {
+                                quoted = true;
+                        } else if (c == ',') {
+                                values.add(current.toString().trim());
+                                current.setLength(0);
+                        } else {
+                                current.append(c);
+                        }
+                }
+                if (quoted) {
+                        throw new IllegalArgumentException("Unterminated quoted value");
+                }
+                values.add(current.toString().trim());
+                return values;
+        }
+
+        private void skip(ImportResultDto result, long line, String productName, String message) {
+                result.setSkipped(result.getSkipped() + 1);
+                addError(result, line, productName, message);
+        }
+
+        private void fail(ImportResultDto result, long line, String productName, String message) {
+                result.setFailed(result.getFailed() + 1);
+                addError(result, line, productName, message);
+        }
+
+        private void addError(ImportResultDto result, long line, String productName, String message) {
+                if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                        result.getErrors().add(new ImportErrorDto(line, productName, message));
+                }
+        }
+
+        private Long resolveUserId() {
+                HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes())
+                                .getRequest();
+                String userIdHeader = request.getHeader("X-User-Id");
+                if (userIdHeader == null) {
+                        throw new AuthenticationFailedException(messageUtils.getMessage("error.user.not.found"));
+                }
+
+                try {
+                        return Long.parseLong(userIdHeader);
+                } catch (NumberFormatException e) {
+                        throw new BadRequestException(messageUtils.getMessage("error.invalid.user.id"));
+                }
+        }
+
+        private record ImportRow(long line, CreateProductStockRequest request) {
+        }
+}
@@ -1,33 +1,46 @@
 package com.microservices.smmsb_inventory_service.service.impl;
 
 import com.microservices.smmsb_inventory_service.dto.ProductStockDto;
-import com.microservices.smmsb_inventory_service.dto.kafkaEvent.LowStockAlertEvent;
+import com.microservices.smmsb_inventory_service.dto.ProductSummaryDto;
+import com.microservices.smmsb_inventory_service.dto.StockAvailabilityDto;
+import com.microservices.smmsb_inventory_service.dto.StockMovementDto;
 import com.microservices.smmsb_inventory_service.dto.kafkaEvent.NotificationEvent;
 import com.microservices.smmsb_inventory_service.dto.request.CreateProductStockRequest;
 import com.microservices.smmsb_inventory_service.dto.request.UpdateProductStockRequest;
 import com.microservices.smmsb_inventory_service.dto.response.ApiDataResponseBuilder;
+import com.microservices.smmsb_inventory_service.dto.response.CursorListResponse;
 import com.microservices.smmsb_inventory_service.dto.response.ListResponse;
 import com.microservices.smmsb_inventory_service.dto.response.MessageResponse;
 import com.microservices.smmsb_inventory_service.exception.AuthenticationFailedException;
 import com.microservices.smmsb_inventory_service.exception.BadRequestException;
 import com.microservices.smmsb_inventory_service.exception.DuplicateResourceException;
+import com.microservices.smmsb_inventory_service.exception.InternalServerErrorException;
 import com.microservices.smmsb_inventory_service.exception.ResourceNotFoundException;
+import com.microservices.smmsb_inventory_service.mapper.ProductStockMapper;
 import com.microservices.smmsb_inventory_service.model.ProductStock;
+import com.microservices.smmsb_inventory_service.model.StockMovementType;
 import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.service.ImageJanitor;
+import com.microservices.smmsb_inventory_service.service.ImageVariantGenerator;
+import com.microservices.smmsb_inventory_service.service.LowStockAlertService;
 import com.microservices.smmsb_inventory_service.service.MinioService;
+import com.microservices.smmsb_inventory_service.service.ProductCache;
 import com.microservices.smmsb_inventory_service.service.ProductStockService;
+import com.microservices.smmsb_inventory_service.service.StockLedger;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
 import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
 import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+import com.microservices.smmsb_inventory_service.utils.ProductStockCursor;
 import com.microservices.smmsb_inventory_service.utils.ProductStockSpesification;
 
 import jakarta.servlet.http.HttpServletRequest;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -35,10 +48,19 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.OptionalInt;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -46,23 +68,42 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class ProductStockServiceImpl implements ProductStockService {
 
-        private static final int LOW_STOCK_THRESHOLD = 10;
+        private static final String PRODUCT_BUCKET = "smmsbproducts";
+        private static final List<String> ALLOWED_IMAGE_TYPES = List.of("image/jpeg", "image/jpg", "image/png");
 
         private final ProductStockRepository productStockRepository;
-        private final ModelMapper modelMapper;
         private final MessageUtils messageUtils;
         private final MinioService minioService;
         private final KafkaProducer kafkaProducer;
+        private final StockLedger stockLedger;
+        private final LowStockAlertService lowStockAlertService;
+        private final ProductCache productCache;
+        private final ImageJanitor imageJanitor;
+        private final ImageVariantGenerator imageVariantGenerator;
+        private final StockMovementService stockMovementService;
+
+        @Value("${application.minio.max-upload-size:10485760}")
+        private long maxUploadSize;
+
+        @Value("${application.product-bulk-get.max-ids:200}")
+        private int maxBulkGetIds;
 
         @Autowired
-        public ProductStockServiceImpl(ProductStockRepository productStockRepository, ModelMapper modelMapper,
-                        MessageUtils messageUtils, MinioService minioService, KafkaProducer kafkaProducer) {
+        public ProductStockServiceImpl(ProductStockRepository productStockRepository,
+                        MessageUtils messageUtils, MinioService minioService, KafkaProducer kafkaProducer,
+                        StockLedger stockLedger, LowStockAlertService lowStockAlertService,
+                        ProductCache productCache, ImageJanitor imageJanitor,
+                        ImageVariantGenerator imageVariantGenerator, StockMovementService stockMovementService) {
                 this.productStockRepository = productStockRepository;
-                this.modelMapper = modelMapper;
                 this.messageUtils = messageUtils;
                 this.minioService = minioService;
                 this.kafkaProducer = kafkaProducer;
-
+                this.stockLedger = stockLedger;
+                this.lowStockAlertService = lowStockAlertService;
+                this.productCache = productCache;
+                this.imageJanitor = imageJanitor;
+                this.imageVariantGenerator = imageVariantGenerator;
+                this.stockMovementService = stockMovementService;
         }
 
         @Override
@@ -90,9 +131,14 @@ public class ProductStockServiceImpl implements ProductStockService {
                                                         createProductStockRequest.getProductName()));
                 }
 
-                ProductStock productStock = modelMapper.map(createProductStockRequest, ProductStock.class);
+                ProductStock productStock = ProductStockMapper.toEntity(createProductStockRequest);
                 productStock.setCreatedBy(userId);
                 productStock = productStockRepository.save(productStock);
+                stockMovementService.record(List.of(StockMovementDto.of(productStock.getId(),
+                                StockMovementType.CREATE, productStock.getQuantity(), null, userId)));
+                stockLedger.setQuantity(productStock.getId(), productStock.getQuantity());
+                lowStockAlertService.onStockChanged(productStock.getId());
+                kafkaProducer.sendProductChangedEvent(ProductStockMapper.toChangedEvent(productStock));
 
                 NotificationEvent notificationEvent = new NotificationEvent(
                                 userId,
@@ -124,10 +170,13 @@ public class ProductStockServiceImpl implements ProductStockService {
                         throw new BadRequestException(messageUtils.getMessage("error.invalid.user.id"));
                 }
 
-                // Cek apakah produk ada di database
-                ProductStock productStock = productStockRepository.findByIdAndIsDeletedFalse(id)
+                // Cek apakah produk ada di database. Baris dikunci: selisih quantity di ledger sesuai dengan stok yang
+                // ditimpa, dan event productChanged per produk masuk outbox sesuai urutan commit
+                boolean quantityChanged = updateProductStockRequest.getQuantity() > 0;
+                ProductStock productStock = productStockRepository.findByIdAndIsDeletedFalseForUpdate(id)
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 messageUtils.getMessage("error.product.not.found")));
+                int previousQuantity = productStock.getQuantity();
 
                 // Jika productName dikirim dalam request, cek apakah sudah ada di database
                 if (updateProductStockRequest.getProductName() != null
@@ -148,7 +197,7 @@ public class ProductStockServiceImpl implements ProductStockService {
                 }
 
                 // Update quantity jika ada di request
-                if (updateProductStockRequest.getQuantity() > 0) {
+                if (quantityChanged) {
                         productStock.setQuantity(updateProductStockRequest.getQuantity());
                 }
 
@@ -163,6 +212,17 @@ public class ProductStockServiceImpl implements ProductStockService {
 
                 // Simpan perubahan
                 productStockRepository.save(productStock);
+                if (quantityChanged) {
+                        int delta = productStock.getQuantity() - previousQuantity;
+                        if (delta != 0) {
+                                stockMovementService.record(List.of(StockMovementDto.of(productStock.getId(),
+                                                StockMovementType.ADJUST, delta, null, userId)));
+                        }
+                        stockLedger.setQuantity(productStock.getId(), productStock.getQuantity());
+                        lowStockAlertService.onStockChanged(productStock.getId());
+                }
+                productCache.evictAfterCommit(List.of(productStock.getId()));
+                kafkaProducer.sendProductChangedEvent(ProductStockMapper.toChangedEvent(productStock));
 
                 // Kirim event Kafka untuk memberi tahu layanan notifikasi
                 NotificationEvent notificationEvent = new NotificationEvent(
@@ -179,11 +239,16 @@ public class ProductStockServiceImpl implements ProductStockService {
 
         @Override
         public ApiDataResponseBuilder getProductStockById(Long id) {
-                ProductStock productStock = productStockRepository.findByIdAndIsDeletedFalse(id)
-                                .orElseThrow(() -> new ResourceNotFoundException(
-                                                messageUtils.getMessage("error.product.not.found")));
-
-                ProductStockDto productStockDto = modelMapper.map(productStock, ProductStockDto.class);
+                // Dipanggil transaction service di setiap transaksi, jadi dilayani dari cache lokal jika ada
+                ProductStockDto productStockDto = productCache.get(id);
+                if (productStockDto == null) {
+                        long generation = productCache.currentGeneration();
+                        ProductStock productStock = productStockRepository.findByIdAndIsDeletedFalse(id)
+                                        .orElseThrow(() -> new ResourceNotFoundException(
+                                                        messageUtils.getMessage("error.product.not.found")));
+                        productStockDto = ProductStockMapper.toDto(productStock);
+                        productCache.put(id, productStockDto, generation);
+                }
 
                 return ApiDataResponseBuilder.builder()
                                 .data(productStockDto)
@@ -193,6 +258,87 @@ public class ProductStockServiceImpl implements ProductStockService {
                                 .build();
         }
 
+        @Override
+        public ApiDataResponseBuilder getProductStocksByIds(List<Long> ids) {
+                Set<Long> uniqueIds = new LinkedHashSet<>();
+                if (ids != null) {
+                        ids.stream().filter(id -> id != null).forEach(uniqueIds::add);
+                }
+                if (uniqueIds.isEmpty() || uniqueIds.size() > maxBulkGetIds) {
+                        throw new BadRequestException(
+                                        messageUtils.getMessage("error.invalid.product.ids", maxBulkGetIds));
+                }
+
+                // Produk yang sudah ada di cache lokal tidak ikut di-query; sisanya diambil dengan satu query IN
+                Map<Long, ProductSummaryDto> found = new LinkedHashMap<>();
+                List<Long> missing = new ArrayList<>();
+                for (Long id : uniqueIds) {
+                        ProductStockDto cached = productCache.get(id);
+                        if (cached != null) {
+                                found.put(id, new ProductSummaryDto(id, cached.getProductName(),
+                                                cached.getQuantity(), cached.getPrice()));
+                        } else {
+                                missing.add(id);
+                        }
+                }
+                if (!missing.isEmpty()) {
+                        for (ProductSummaryDto summary : productStockRepository.findSummariesByIdIn(missing)) {
+                                found.put(summary.getId(), summary);
+                        }
+                }
+
+                // Urutan mengikuti request; id yang tidak ada atau sudah dihapus tidak disertakan
+                Map<Long, ProductSummaryDto> products = new LinkedHashMap<>();
+                for (Long id : uniqueIds) {
+                        ProductSummaryDto summary = found.get(id);
+                        if (summary != null) {
+                                products.put(id, summary);
+                        }
+                }
+
+                return ApiDataResponseBuilder.builder()
+                                .data(products)
+                                .message(messageUtils.getMessage("success.products.retrieved"))
+                                .status(HttpStatus.OK)
+                                .statusCode(HttpStatus.OK.value())
+                                .build();
+        }
+
+        @Override
+        public ApiDataResponseBuilder getProductCacheStats() {
+                return ApiDataResponseBuilder.builder()
+                                .data(productCache.stats())
+                                .message(messageUtils.getMessage("success.cache.stats.retrieved"))
+                                .status(HttpStatus.OK)
+                                .statusCode(HttpStatus.OK.value())
+                                .build();
+        }
+
+        @Override
+        public ApiDataResponseBuilder checkStockAvailability(Long id, int quantity) {
+                // Dilayani dari ledger di memori; fallback ke database jika produk belum ada di ledger
+                OptionalInt cached = stockLedger.getQuantity(id);
+                int availableQuantity;
+                if (cached.isPresent()) {
+                        availableQuantity = cached.getAsInt();
+                } else {
+                        ProductStock productStock = productStockRepository.findByIdAndIsDeletedFalse(id)
+                                        .orElseThrow(() -> new ResourceNotFoundException(
+                                                        messageUtils.getMessage("error.product.not.found")));
+                        availableQuantity = productStock.getQuantity();
+                }
+
+                StockAvailabilityDto availability = new StockAvailabilityDto(id, availableQuantity, quantity,
+                                availableQuantity >= quantity);
+
+                return ApiDataResponseBuilder.builder()
+                                .data(availability)
+                                .message(messageUtils.getMessage("success.product.availability.checked"))
+                                .status(HttpStatus.OK)
+                                .statusCode(HttpStatus.OK.value())
+                                .build();
+        }
+
         @Override
         @Transactional
         public MessageResponse deleteProductStock(Long id) {
@@ -210,7 +356,8 @@ public class ProductStockServiceImpl implements ProductStockService {
                         throw new BadRequestException(messageUtils.getMessage("error.invalid.user.id"));
                 }
 
-                ProductStock productStock = productStockRepository.findByIdAndIsDeletedFalse(id)
+                // Dikunci seperti update agar event productChanged per produk tetap berurutan
+                ProductStock productStock = productStockRepository.findByIdAndIsDeletedFalseForUpdate(id)
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 messageUtils.getMessage("error.product.not.found")));
 
@@ -219,6 +366,9 @@ public class ProductStockServiceImpl implements ProductStockService {
                 productStock.setDeletedBy(userId);
 
                 productStockRepository.save(productStock);
+                stockLedger.remove(productStock.getId());
+                productCache.evictAfterCommit(List.of(productStock.getId()));
+                kafkaProducer.sendProductChangedEvent(ProductStockMapper.toChangedEvent(productStock));
 
                 /// Send a Kafka event to notify the notification service
                 NotificationEvent notificationEvent = new NotificationEvent(
@@ -234,40 +384,59 @@ public class ProductStockServiceImpl implements ProductStockService {
         }
 
         @Override
-        @Transactional
         public ListResponse<Map<String, String>> uploadImage(MultipartFile file, Long id) {
-                ProductStock product = productStockRepository.findByIdAndIsDeletedFalse(id)
-                                .orElseThrow(() -> new ResourceNotFoundException(
-                                                messageUtils.getMessage("error.product.not.found")));
+                try (InputStream stream = file.getInputStream()) {
+                        return storeImage(id, stream, file.getSize(), file.getContentType(), file.getOriginalFilename());
+                } catch (IOException e) {
+                        throw new InternalServerErrorException(messageUtils.getMessage("error.upload.failed"));
+                }
+        }
 
-                // 🔹 Validasi format file yang diperbolehkan
-                String contentType = file.getContentType();
-                List<String> allowedTypes = List.of("image/jpeg", "image/jpg", "image/png");
+        @Override
+        public ListResponse<Map<String, String>> uploadImageStream(InputStream stream, long size, String contentType,
+                        String fileName, Long id) {
+                // Panjang body wajib diketahui agar batas ukuran upload tetap berlaku tanpa buffer
+                if (size <= 0 || size > maxUploadSize) {
+                        throw new BadRequestException(messageUtils.getMessage("error.invalid.file.size",
+                                        maxUploadSize / (1024 * 1024)));
+                }
+                return storeImage(id, stream, size, contentType, fileName);
+        }
 
-                if (contentType == null || !allowedTypes.contains(contentType)) {
+        // Tidak @Transactional: upload ke MinIO tidak boleh menahan koneksi database
+        private ListResponse<Map<String, String>> storeImage(Long id, InputStream stream, long size,
+                        String contentType, String fileName) {
+                // 🔹 Validasi format file yang diperbolehkan
+                if (contentType == null || !ALLOWED_IMAGE_TYPES.contains(contentType)) {
                         throw new BadRequestException(messageUtils.getMessage("error.invalid.file.type"));
                 }
 
-                // 🔹 Hapus gambar lama jika ada
-                if (product.getImageUrl() != null && !product.getImageUrl().isEmpty()) {
-                        String oldFileName = getFileNameFromUrl(product.getImageUrl());
-                        try {
-                                minioService.removeObject("smmsbproducts", "products/" + oldFileName);
-                                log.info("Successfully deleted old image: {}", oldFileName);
-                        } catch (Exception e) {
-                                log.error("Failed to delete old image: {} - Error: {}", oldFileName, e.getMessage());
-                        }
+                ProductStock product = productStockRepository.findByIdAndIsDeletedFalse(id)
+                                .orElseThrow(() -> new ResourceNotFoundException(
+                                                messageUtils.getMessage("error.product.not.found")));
+                List<String> oldImageUrls = Stream.of(product.getImageUrl(), product.getThumbnailUrl(), product.getMediumUrl())
+                                .filter(url -> url != null && !url.isEmpty())
+                                .toList();
+
+                // 🔹 Upload gambar baru, di-stream langsung ke MinIO
+                String objectName = String.format("products/%d_%d_%s", id, System.currentTimeMillis(), fileName);
+                String imageUrl = minioService.uploadStream(stream, size, contentType, objectName, PRODUCT_BUCKET);
+
+                // 🔹 Simpan URL ke database (transaksi singkat hanya untuk UPDATE ini)
+                if (productStockRepository.updateImageUrl(id, imageUrl, LocalDateTime.now()) == 0) {
+                        // Produk dihapus selama upload: buang object yang baru diunggah
+                        imageJanitor.removeObject(PRODUCT_BUCKET, objectName);
+                        throw new ResourceNotFoundException(messageUtils.getMessage("error.product.not.found"));
                 }
+                productCache.evictAfterCommit(List.of(id));
+                log.info("Product updated successfully with new image: {}", imageUrl);
 
-                // 🔹 Upload gambar baru
-                String objectName = String.format("products/%d_%d_%s", id, System.currentTimeMillis(),
-                                file.getOriginalFilename());
-                String imageUrl = minioService.uploadFile(file, objectName, "smmsbproducts");
+                // 🔹 Buat thumbnail & varian medium di background
+                imageVariantGenerator.generateVariants(id, PRODUCT_BUCKET, objectName, imageUrl);
 
-                // 🔹 Simpan URL ke database
-                product.setImageUrl(imageUrl);
-                productStockRepository.save(product);
-                log.info("Product updated successfully with new image: {}", imageUrl);
+                // 🔹 Hapus gambar lama beserta variannya di background setelah URL baru tersimpan
+                oldImageUrls.forEach(url -> imageJanitor.removeObject(PRODUCT_BUCKET,
+                                minioService.objectNameFromUrl(url, PRODUCT_BUCKET)));
 
                 // 🔹 Build response
                 Map<String, String> responseData = Map.of("url", imageUrl);
@@ -282,59 +451,75 @@ public class ProductStockServiceImpl implements ProductStockService {
         public ListResponse<ProductStockDto> getAllProductStocks(Pageable pageable, String productName,
                         BigDecimal price,
                                         Integer quantity) {
-                Specification<ProductStock> spec = Specification.where(null);
-                if (productName != null) {
-                        spec = spec.and(ProductStockSpesification.hasProductName(productName));
-                }
-                if (price != null) {
-                        spec = spec.and(ProductStockSpesification.hasPrice(price));
-                }
-                if (quantity != null) {
-                        spec = spec.and(ProductStockSpesification.hasQuantity(quantity));
-                }
+                Specification<ProductStock> spec = buildFilter(productName, price, quantity);
 
                 Page<ProductStock> productStocks = productStockRepository.findAll(spec, pageable);
                 List<ProductStockDto> productStockDtos = productStocks.getContent().stream()
-                                .map(product -> modelMapper.map(product, ProductStockDto.class))
+                                .map(ProductStockMapper::toDto)
                                 .collect(Collectors.toList());
 
                 return new ListResponse<>(productStockDtos, messageUtils.getMessage("success.product.retrieved"),
                                 HttpStatus.OK.value(), HttpStatus.OK.name());
         }
 
-        private String getFileNameFromUrl(String url) {
-                return url.substring(url.lastIndexOf("/") + 1);
+        @Override
+        public ListResponse<ProductStockDto> getAllProductStocksAfter(String after, Sort sort, int size,
+                        String productName, BigDecimal price, Integer quantity) {
+                ProductStockCursor cursor;
+                try {
+                        // Sort diambil dari cursor agar tetap konsisten di semua halaman
+                        cursor = after.isBlank() ? ProductStockCursor.first(sort) : ProductStockCursor.decode(after);
+                } catch (IllegalArgumentException e) {
+                        throw new BadRequestException(messageUtils.getMessage("error.invalid.cursor"));
+                }
+
+                Specification<ProductStock> spec = buildFilter(productName, price, quantity)
+                                .and(ProductStockSpesification.isAfter(cursor));
+
+                // Ambil satu baris lebih untuk mengetahui ada halaman berikutnya tanpa COUNT(*)
+                List<ProductStock> rows = productStockRepository.findBy(spec,
+                                query -> query.sortBy(cursor.toSort()).limit(size + 1).all());
+                boolean hasMore = rows.size() > size;
+                List<ProductStock> page = hasMore ? rows.subList(0, size) : rows;
+
+                List<ProductStockDto> productStockDtos = page.stream()
+                                .map(ProductStockMapper::toDto)
+                                .collect(Collectors.toList());
+                String nextCursor = hasMore ? cursor.next(page.get(page.size() - 1)).encode() : null;
+
+                return new CursorListResponse<>(productStockDtos, messageUtils.getMessage("success.product.retrieved"),
+                                HttpStatus.OK.value(), HttpStatus.OK.name(), nextCursor, hasMore);
         }
 
         @Override
-        @Scheduled(fixedRate = 3600000) // 1 jam
-        public void checkAndNotifyLowStockProducts() {
-                List<ProductStock> lowStockProducts = productStockRepository
-                                .findByQuantityLessThan(LOW_STOCK_THRESHOLD);
-
-                for (ProductStock product : lowStockProducts) {
-                        // Membuat event low stock
-                        LowStockAlertEvent lowStockAlertEvent = new LowStockAlertEvent(
-                                        product.getId(),
-                                        product.getQuantity(),
-                                        product.getProductName(),
-                                        "Stok produk " + product.getProductName() + " kurang dari "
-                                                        + LOW_STOCK_THRESHOLD);
-
-                        // Kirim event ke Kafka untuk low stock alert
-                        kafkaProducer.sendLowStockAlertEvent(lowStockAlertEvent);
-                        log.info("Low stock alert event sent for product: {}", product.getProductName());
-
-                        // Membuat event notifikasi untuk user (misalnya admin gudang)
-                        NotificationEvent notificationEvent = new NotificationEvent(
-                                        null, // userId bisa di-set null jika tidak spesifik ke user tertentu
-                                        lowStockAlertEvent.getMessage(), // Ambil message dari event low stock alert
-                                        "LOW_STOCK_ALERT");
-
-                        // Kirim event ke Kafka untuk notifikasi
-                        kafkaProducer.sendNotificationEvent(notificationEvent);
-                        log.info("Notification event sent for low stock product: {}", product.getProductName());
+        public ListResponse<ProductStockDto> searchProductStocks(String search, Pageable pageable, BigDecimal price,
+                        Integer quantity) {
+                String keyword = search.trim();
+                // Escape wildcard LIKE agar input seperti "10%" dicari apa adanya
+                String pattern = "%" + keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+
+                List<ProductStock> productStocks = productStockRepository.searchByProductName(keyword, pattern, price,
+                                quantity, pageable.getPageSize(), pageable.getOffset());
+                List<ProductStockDto> productStockDtos = productStocks.stream()
+                                .map(ProductStockMapper::toDto)
+                                .collect(Collectors.toList());
+
+                return new ListResponse<>(productStockDtos, messageUtils.getMessage("success.product.retrieved"),
+                                HttpStatus.OK.value(), HttpStatus.OK.name());
+        }
+
+        private Specification<ProductStock> buildFilter(String productName, BigDecimal price, Integer quantity) {
+                Specification<ProductStock> spec = Specification.where(null);
+                if (productName != null) {
+                        spec = spec.and(ProductStockSpesification.hasProductName(productName));
+                }
+                if (price != null) {
+                        spec = spec.and(ProductStockSpesification.hasPrice(price));
+                }
+                if (quantity != null) {
+                        spec = spec.and(ProductStockSpesification.hasQuantity(quantity));
                 }
+                return spec;
         }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,141 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.microservices.smmsb_inventory_service.dto.StockAsOfDto;
+import com.microservices.smmsb_inventory_service.dto.StockMovementDto;
+import com.microservices.smmsb_inventory_service.dto.response.ApiDataResponseBuilder;
+import com.microservices.smmsb_inventory_service.dto.response.ListResponse;
+import com.microservices.smmsb_inventory_service.exception.BadRequestException;
+import com.microservices.smmsb_inventory_service.exception.ResourceNotFoundException;
+import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.repository.StockMovementJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.StockMovementJdbcRepository.Checkpoint;
+import com.microservices.smmsb_inventory_service.repository.StockMovementJdbcRepository.MovementSum;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
+import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ledger pergerakan stok.
+ *
+ * Checkpoint dibuat harian pada tengah malam (cutoff) setelah jeda settle-minutes, sehingga semua transaksi
+ * dengan created_at sebelum cutoff sudah commit. Query as-of hanya membaca movement sejak checkpoint terakhir,
+ * paling banyak satu hari.
+ */
+@Slf4j
+@Service
+public class StockMovementServiceImpl implements StockMovementService {
+
+        private static final int MAX_HISTORY_SIZE = 500;
+
+        private final StockMovementJdbcRepository stockMovementJdbcRepository;
+        private final ProductStockRepository productStockRepository;
+        private final MessageUtils messageUtils;
+
+        @Value("${application.stock-movement.partitions-ahead:3}")
+        private int partitionsAhead;
+
+        @Value("${application.stock-movement.checkpoint-settle-minutes:10}")
+        private int checkpointSettleMinutes;
+
+        @Autowired
+        public StockMovementServiceImpl(StockMovementJdbcRepository stockMovementJdbcRepository,
+                        ProductStockRepository productStockRepository, MessageUtils messageUtils) {
+                this.stockMovementJdbcRepository = stockMovementJdbcRepository;
+                this.productStockRepository = productStockRepository;
+                this.messageUtils = messageUtils;
+        }
+
+        @Override
+        @Transactional
+        public void record(Collection<StockMovementDto> movements) {
+                if (movements.isEmpty()) {
+                        return;
+                }
+                stockMovementJdbcRepository.batchInsert(movements, LocalDateTime.now());
+        }
+
+        @Override
+        public ListResponse<StockMovementDto> getMovementHistory(Long productId, LocalDateTime from,
+                        LocalDateTime to, int size) {
+                LocalDateTime end = to != null ? to : LocalDateTime.now();
+                LocalDateTime start = from != null ? from : end.minusDays(30);
+                if (!start.isBefore(end)) {
+                        throw new BadRequestException(messageUtils.getMessage("error.invalid.date.range"));
+                }
+                int limit = Math.min(Math.max(size, 1), MAX_HISTORY_SIZE);
+
+                List<StockMovementDto> movements = stockMovementJdbcRepository.findHistory(productId, start, end,
+                                limit);
+                return new ListResponse<>(
+                                movements,
+                                messageUtils.getMessage("success.stock.movements.retrieved"),
+                                HttpStatus.OK.value(),
+                                HttpStatus.OK.name());
+        }
+
+        @Override
+        public ApiDataResponseBuilder getStockAsOf(Long productId, LocalDateTime asOf) {
+                if (asOf == null || asOf.isAfter(LocalDateTime.now())) {
+                        throw new BadRequestException(messageUtils.getMessage("error.invalid.as.of"));
+                }
+                // Produk yang sudah dihapus tetap punya history
+                if (!productStockRepository.existsById(productId)) {
+                        throw new ResourceNotFoundException(messageUtils.getMessage("error.product.not.found"));
+                }
+
+                Optional<Checkpoint> checkpoint = stockMovementJdbcRepository.findLatestCheckpoint(productId, asOf);
+                LocalDateTime checkpointAt = checkpoint.map(Checkpoint::checkpointAt).orElse(null);
+                MovementSum sum = stockMovementJdbcRepository.sumMovements(productId, checkpointAt, asOf);
+                int quantity = checkpoint.map(Checkpoint::quantity).orElse(0) + sum.quantityDelta();
+
+                return ApiDataResponseBuilder.builder()
+                                .data(new StockAsOfDto(productId, asOf, quantity, checkpointAt, sum.movements()))
+                                .message(messageUtils.getMessage("success.stock.as.of.retrieved"))
+                                .status(HttpStatus.OK)
+                                .statusCode(HttpStatus.OK.value())
+                                .build();
+        }
+
+        @Override
+        @Transactional
+        public void createCheckpoints() {
+                LocalDateTime cutoff = LocalDateTime.now().minusMinutes(checkpointSettleMinutes)
+                                .truncatedTo(ChronoUnit.DAYS);
+                Optional<LocalDateTime> latest = stockMovementJdbcRepository.findLatestCheckpointAt();
+                if (latest.isPresent() && !latest.get().isBefore(cutoff)) {
+                        return;
+                }
+                int created = stockMovementJdbcRepository.insertCheckpoints(latest.orElse(null), cutoff);
+                log.info("Stock checkpoints at {}: {} products", cutoff, created);
+        }
+
+        @Override
+        public void maintainPartitions() {
+                YearMonth current = YearMonth.now();
+                for (int i = 0; i <= partitionsAhead; i++) {
+                        YearMonth month = current.plusMonths(i);
+                        try {
+                                stockMovementJdbcRepository.createMonthlyPartition(month);
+                        } catch (DataAccessException e) {
+                                // Instance lain membuat partisi yang sama di saat bersamaan
+                                log.warn("Failed to create stock_movement partition for {} - Error: {}", month,
+                                                e.getMessage());
+                        }
+                }
+        }
+}
@@ -0,0 +1,313 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.microservices.smmsb_inventory_service.dto.StockMovementDto;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockLine;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.StockReservationResultEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
+import com.microservices.smmsb_inventory_service.model.StockMovementType;
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.StockReservationJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.StockReservationJdbcRepository.Reservation;
+import com.microservices.smmsb_inventory_service.service.LowStockAlertService;
+import com.microservices.smmsb_inventory_service.service.ProductCache;
+import com.microservices.smmsb_inventory_service.service.StockLedger;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
+import com.microservices.smmsb_inventory_service.service.StockReservationService;
+import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+      private static final int PURGE_BATCH_SIZE = 5000;
+
+      private final StockReservationJdbcRepository stockReservationJdbcRepository;
+      private final ProductStockJdbcRepository productStockJdbcRepository;
+      private final StockMovementService stockMovementService;
+      private final StockLedger stockLedger;
+      private final LowStockAlertService lowStockAlertService;
+      private final ProductCache productCache;
+      private final KafkaProducer kafkaProducer;
+      private final TransactionTemplate transactionTemplate;
+
+      // Harus lebih lama dari batas PENDING di Transaction Service, agar transaksi yang masih menunggu tidak
+      // kehilangan reservasinya
+      @Value("${application.stock-reservation.ttl-seconds:120}")
+      private long ttlSeconds;
+
+      @Value("${application.stock-reservation.expire-batch-size:500}")
+      private int expireBatchSize;
+
+      @Value("${application.stock-reservation.retention-hours:72}")
+      private int retentionHours;
+
+      @Autowired
+      public StockReservationServiceImpl(StockReservationJdbcRepository stockReservationJdbcRepository,
+                  ProductStockJdbcRepository productStockJdbcRepository, StockMovementService stockMovementService,
+                  StockLedger stockLedger, LowStockAlertService lowStockAlertService, ProductCache productCache,
+                  KafkaProducer kafkaProducer, TransactionTemplate transactionTemplate) {
+            this.stockReservationJdbcRepository = stockReservationJdbcRepository;
+            this.productStockJdbcRepository = productStockJdbcRepository;
+            this.stockMovementService = stockMovementService;
+            this.stockLedger = stockLedger;
+            this.lowStockAlertService = lowStockAlertService;
+            this.productCache = productCache;
+            this.kafkaProducer = kafkaProducer;
+            this.transactionTemplate = transactionTemplate;
+      }
+
+      @Override
+      public void hold(List<UpdateProductStockEvent> events) {
+            List<Reservation> reservations = new ArrayList<>(events.size());
+            for (UpdateProductStockEvent event : events) {
+                  if (event.getTransactionId() != null) {
+                        reservations.add(new Reservation(event.getTransactionId(), event.getProductId(),
+                                    event.getUserId(), event.getQuantity(), null));
+                  }
+            }
+            if (reservations.isEmpty()) {
+                  return;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            stockReservationJdbcRepository.batchInsert(reservations, now, now.plusSeconds(ttlSeconds));
+            for (Reservation reservation : reservations) {
+                  kafkaProducer.sendStockReservationResultEvent(new StockReservationResultEvent(
+                              reservation.transactionId(), reservation.productId(), reservation.quantity(),
+                              StockReservationResultEvent.RESERVED, null, null));
+            }
+      }
+
+      @Override
+      public void holdOrder(OrderStockEvent event) {
+            List<Reservation> reservations = new ArrayList<>(event.getLines().size());
+            int quantity = 0;
+            for (OrderStockLine line : event.getLines()) {
+                  reservations.add(new Reservation(line.getTransactionId(), line.getProductId(), event.getUserId(),
+                              line.getQuantity(), event.getOrderId()));
+                  quantity += line.getQuantity();
+            }
+            LocalDateTime now = LocalDateTime.now();
+            stockReservationJdbcRepository.batchInsert(reservations, now, now.plusSeconds(ttlSeconds));
+            // Satu hasil untuk seluruh baris
+            kafkaProducer.sendStockReservationResultEvent(new StockReservationResultEvent(null, null, quantity,
+                        StockReservationResultEvent.RESERVED, null, event.getOrderId()));
+      }
+
+      @Override
+      public void reject(UpdateProductStockEvent event, String reason) {
+            if (event.getTransactionId() == null) {
+                  return;
+            }
+            kafkaProducer.sendStockReservationResultEvent(new StockReservationResultEvent(event.getTransactionId(),
+                        event.getProductId(), event.getQuantity(), StockReservationResultEvent.REJECTED, reason, null));
+      }
+
+      @Override
+      public void rejectOrder(OrderStockEvent event, Long productId, String reason) {
+            kafkaProducer.sendStockReservationResultEvent(new StockReservationResultEvent(null, productId, 0,
+                        StockReservationResultEvent.REJECTED, reason, event.getOrderId()));
+      }
+
+      @Override
+      @Transactional
+      public boolean confirm(Long transactionId, Long productId) {
+            if (stockReservationJdbcRepository.confirm(transactionId, productId, LocalDateTime.now()) == 1) {
+                  return true;
+            }
+            // Confirm tertahan lebih lama dari TTL: Transaction Service sudah menganggap penjualan berhasil, jadi
+            // stok yang dikembalikan saat kedaluwarsa diambil lagi
+            Optional<Reservation> expired = stockReservationJdbcRepository.lockExpired(transactionId, productId);
+            if (expired.isEmpty()) {
+                  log.warn("Stock reservation for transaction {} product {} is no longer pending, confirm ignored",
+                              transactionId, productId);
+                  return false;
+            }
+            return reacquire(List.of(expired.get()), "transaction " + transactionId);
+      }
+
+      @Override
+      @Transactional
+      public boolean cancel(Long transactionId, Long productId) {
+            return stockReservationJdbcRepository.cancel(transactionId, productId, LocalDateTime.now())
+                        .map(reservation -> {
+                              release(List.of(reservation));
+                              return true;
+                        })
+                        .orElse(false);
+      }
+
+      @Override
+      @Transactional
+      public boolean confirmOrder(Long orderId) {
+            stockReservationJdbcRepository.lockOrder(orderId);
+            if (stockReservationJdbcRepository.confirmOrder(orderId, LocalDateTime.now()) > 0) {
+                  return true;
+            }
+            List<Reservation> expired = stockReservationJdbcRepository.lockExpiredOrder(orderId);
+            if (expired.isEmpty()) {
+                  log.warn("Stock reservations for order {} are no longer pending, confirm ignored", orderId);
+                  return false;
+            }
+            return reacquire(expired, "order " + orderId);
+      }
+
+      @Override
+      @Transactional
+      public boolean cancelOrder(Long orderId) {
+            stockReservationJdbcRepository.lockOrder(orderId);
+            List<Reservation> reservations = stockReservationJdbcRepository.cancelOrder(orderId, LocalDateTime.now());
+            if (reservations.isEmpty()) {
+                  return false;
+            }
+            release(reservations);
+            return true;
+      }
+
+      // Dijalankan di setiap replika; SKIP LOCKED membagi reservasi tunggal tanpa lock global, order kedaluwarsa
+      // diproses satu per satu dalam transaksinya sendiri
+      @Override
+      @Scheduled(fixedDelayString = "${application.stock-reservation.expire-interval-ms:5000}")
+      public int expireDue() {
+            int total = 0;
+            int expired;
+            do {
+                  expired = transactionTemplate.execute(status -> {
+                        List<Reservation> claimed = stockReservationJdbcRepository.claimExpired(LocalDateTime.now(),
+                                    expireBatchSize);
+                        if (claimed.isEmpty()) {
+                              return 0;
+                        }
+                        release(claimed);
+                        for (Reservation reservation : claimed) {
+                              kafkaProducer.sendStockReservationResultEvent(new StockReservationResultEvent(
+                                          reservation.transactionId(), reservation.productId(),
+                                          reservation.quantity(), StockReservationResultEvent.EXPIRED, null, null));
+                        }
+                        return claimed.size();
+                  });
+                  total += expired;
+            } while (expired == expireBatchSize);
+
+            List<Long> orderIds;
+            do {
+                  orderIds = stockReservationJdbcRepository.findExpiredOrderIds(LocalDateTime.now(), expireBatchSize);
+                  for (Long orderId : orderIds) {
+                        total += transactionTemplate.execute(status -> expireOrder(orderId));
+                  }
+            } while (orderIds.size() == expireBatchSize);
+
+            if (total > 0) {
+                  log.info("Released {} expired stock reservations", total);
+            }
+            return total;
+      }
+
+      // Order kedaluwarsa utuh, dengan satu hasil EXPIRED. Baris dikunci dulu: jika confirm atau cancel sedang
+      // berjalan, sweep menunggu lalu tidak menemukan baris PENDING lagi
+      private int expireOrder(Long orderId) {
+            stockReservationJdbcRepository.lockOrder(orderId);
+            List<Reservation> reservations = stockReservationJdbcRepository.expireOrder(orderId, LocalDateTime.now());
+            if (reservations.isEmpty()) {
+                  return 0;
+            }
+            release(reservations);
+            kafkaProducer.sendStockReservationResultEvent(new StockReservationResultEvent(null, null, 0,
+                        StockReservationResultEvent.EXPIRED, null, orderId));
+            return reservations.size();
+      }
+
+      @Override
+      public void purgeSettled() {
+            LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+            int total = 0;
+            int deleted;
+            do {
+                  deleted = stockReservationJdbcRepository.deleteSettledBefore(cutoff, PURGE_BATCH_SIZE);
+                  total += deleted;
+            } while (deleted == PURGE_BATCH_SIZE);
+            if (total > 0) {
+                  log.info("Purged {} settled stock reservations older than {}", total, cutoff);
+            }
+      }
+
+      // Kompensasi: stok dikembalikan dalam satu batch dan dicatat sebagai RETURN per reservasi
+      private void release(List<Reservation> reservations) {
+            Map<Long, Integer> deltas = new LinkedHashMap<>();
+            List<StockMovementDto> movements = new ArrayList<>(reservations.size());
+            for (Reservation reservation : reservations) {
+                  deltas.merge(reservation.productId(), reservation.quantity(), Integer::sum);
+                  movements.add(StockMovementDto.of(reservation.productId(), StockMovementType.RETURN,
+                              reservation.quantity(), reservation.transactionId(), reservation.userId()));
+            }
+            productStockJdbcRepository.batchIncrementStock(deltas);
+            // Stok yang kembali masuk ke ledger setelah commit, sama seperti jalur pengurangan
+            deltas.forEach(stockLedger::applyDelta);
+            stockMovementService.record(movements);
+            // Stok naik: flag low stock dilepas jika sudah di atas ambang, seperti saat stok di-set manual
+            deltas.keySet().forEach(lowStockAlertService::onStockChanged);
+            productCache.evictAfterCommit(deltas.keySet());
+      }
+
+      /**
+       * Mengambil kembali stok reservasi EXPIRED (baris sudah dikunci) untuk confirm yang datang terlambat, semua
+       * atau tidak sama sekali. Jika stok sudah terjual ke transaksi lain, reservasi tetap EXPIRED dan penjualan
+       * di Transaction Service perlu ditindaklanjuti manual.
+       */
+      private boolean reacquire(List<Reservation> reservations, String owner) {
+            // Urut productId seperti pengurangan stok order, agar tidak deadlock dengan order lain
+            Map<Long, Integer> deltas = new TreeMap<>();
+            for (Reservation reservation : reservations) {
+                  deltas.merge(reservation.productId(), reservation.quantity(), Integer::sum);
+            }
+            int[] results = productStockJdbcRepository.batchDecrementStock(deltas);
+            Map<Long, Integer> decreased = new LinkedHashMap<>();
+            int index = 0;
+            for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+                  // != 0 karena driver boleh mengembalikan SUCCESS_NO_INFO (-2) untuk baris yang berhasil
+                  if (results[index++] != 0) {
+                        decreased.put(entry.getKey(), entry.getValue());
+                  }
+            }
+            if (decreased.size() < deltas.size()) {
+                  if (!decreased.isEmpty()) {
+                        productStockJdbcRepository.batchIncrementStock(decreased);
+                  }
+                  log.error("Late confirm for {} after its stock reservation expired, but the stock is no longer "
+                              + "available; the confirmed sale needs manual follow-up", owner);
+                  return false;
+            }
+
+            stockReservationJdbcRepository.confirmExpired(reservations, LocalDateTime.now());
+            List<StockMovementDto> movements = new ArrayList<>(reservations.size());
+            for (Reservation reservation : reservations) {
+                  movements.add(StockMovementDto.of(reservation.productId(), StockMovementType.SALE,
+                              -reservation.quantity(), reservation.transactionId(), reservation.userId()));
+            }
+            stockMovementService.record(movements);
+            deltas.forEach((productId, quantity) -> stockLedger.applyDelta(productId, -quantity));
+            List<Long> productIds = new ArrayList<>(deltas.keySet());
+            lowStockAlertService.onStockDecreased(productIds);
+            productCache.evictAfterCommit(productIds);
+            log.warn("Stock re-acquired for late confirm of {} after its reservation expired", owner);
+            return true;
+      }
+}
@@ -0,0 +1,277 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.microservices.smmsb_inventory_service.dto.StockMovementDto;
+import com.microservices.smmsb_inventory_service.dto.response.ApiDataResponseBuilder;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockLine;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.StockUpdateRejectedEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
+import com.microservices.smmsb_inventory_service.model.StockMovementType;
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.service.LowStockAlertService;
+import com.microservices.smmsb_inventory_service.service.ProductCache;
+import com.microservices.smmsb_inventory_service.service.StockEventDeduplicator;
+import com.microservices.smmsb_inventory_service.service.StockLedger;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
+import com.microservices.smmsb_inventory_service.service.StockReservationService;
+import com.microservices.smmsb_inventory_service.service.StockUpdateService;
+import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
+import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class StockUpdateServiceImpl implements StockUpdateService {
+
+        public static final String REASON_INSUFFICIENT_STOCK = "INSUFFICIENT_STOCK";
+        public static final String REASON_PRODUCT_NOT_FOUND = "PRODUCT_NOT_FOUND";
+        public static final String REASON_INVALID_QUANTITY = "INVALID_QUANTITY";
+
+        private final ProductStockRepository productStockRepository;
+        private final ProductStockJdbcRepository productStockJdbcRepository;
+        private final KafkaProducer kafkaProducer;
+        private final StockLedger stockLedger;
+        private final LowStockAlertService lowStockAlertService;
+        private final ProductCache productCache;
+        private final StockMovementService stockMovementService;
+        private final StockEventDeduplicator stockEventDeduplicator;
+        private final StockReservationService stockReservationService;
+        private final MessageUtils messageUtils;
+
+        @Autowired
+        public StockUpdateServiceImpl(ProductStockRepository productStockRepository,
+                        ProductStockJdbcRepository productStockJdbcRepository, KafkaProducer kafkaProducer,
+                        StockLedger stockLedger, LowStockAlertService lowStockAlertService,
+                        ProductCache productCache, StockMovementService stockMovementService,
+                        StockEventDeduplicator stockEventDeduplicator, StockReservationService stockReservationService,
+                        MessageUtils messageUtils) {
+                this.productStockRepository = productStockRepository;
+                this.productStockJdbcRepository = productStockJdbcRepository;
+                this.kafkaProducer = kafkaProducer;
+                this.stockLedger = stockLedger;
+                this.lowStockAlertService = lowStockAlertService;
+                this.productCache = productCache;
+                this.stockMovementService = stockMovementService;
+                this.stockEventDeduplicator = stockEventDeduplicator;
+                this.stockReservationService = stockReservationService;
+                this.messageUtils = messageUtils;
+        }
+
+        @Override
+        @Transactional
+        public boolean applyStockUpdate(UpdateProductStockEvent event) {
+                // Klaim id di transaksi ini: redelivery dibuang sebelum menyentuh stok
+                if (!stockEventDeduplicator.claim(event)) {
+                        log.info("Duplicate stock event {} for product {} skipped", event.getEventId(),
+                                        event.getProductId());
+                        return false;
+                }
+                return decrement(event);
+        }
+
+        private boolean decrement(UpdateProductStockEvent event) {
+                if (event.getProductId() == null || event.getQuantity() <= 0) {
+                        reject(event, REASON_INVALID_QUANTITY);
+                        return false;
+                }
+
+                // Satu UPDATE bersyarat: tidak ada read-modify-write sehingga aman untuk consumer paralel
+                int updated = productStockRepository.decrementStock(event.getProductId(), event.getQuantity());
+                if (updated == 1) {
+                        stockMovementService.record(List.of(saleMovement(event)));
+                        stockLedger.applyDelta(event.getProductId(), -event.getQuantity());
+                        lowStockAlertService.onStockDecreased(event.getProductId());
+                        productCache.evictAfterCommit(List.of(event.getProductId()));
+                        stockReservationService.hold(List.of(event));
+                        return true;
+                }
+
+                // Jalur gagal: cek penyebabnya (jarang terjadi, jadi query tambahan tidak masalah)
+                String reason = productStockRepository.existsByIdAndIsDeletedFalse(event.getProductId())
+                                ? REASON_INSUFFICIENT_STOCK
+                                : REASON_PRODUCT_NOT_FOUND;
+                reject(event, reason);
+                return false;
+        }
+
+        @Override
+        @Transactional
+        public int applyStockUpdates(List<UpdateProductStockEvent> events) {
+                // Satu klaim untuk seluruh poll; event yang sudah pernah diterapkan tidak ikut digabung
+                List<UpdateProductStockEvent> freshEvents = stockEventDeduplicator.claimAll(events);
+                if (freshEvents.size() < events.size()) {
+                        log.info("Skipped {} duplicate stock events", events.size() - freshEvents.size());
+                }
+
+                // Gabungkan event per produk, urutan kedatangan tetap dipertahankan
+                Map<Long, Integer> deltas = new LinkedHashMap<>();
+                Map<Long, List<UpdateProductStockEvent>> eventsByProduct = new LinkedHashMap<>();
+                for (UpdateProductStockEvent event : freshEvents) {
+                        if (event.getProductId() == null || event.getQuantity() <= 0) {
+                                reject(event, REASON_INVALID_QUANTITY);
+                                continue;
+                        }
+                        deltas.merge(event.getProductId(), event.getQuantity(), Integer::sum);
+                        eventsByProduct.computeIfAbsent(event.getProductId(), key -> new ArrayList<>()).add(event);
+                }
+                if (deltas.isEmpty()) {
+                        return 0;
+                }
+
+                int applied = 0;
+                List<Long> decreasedProductIds = new ArrayList<>(deltas.size());
+                List<StockMovementDto> movements = new ArrayList<>(events.size());
+                List<UpdateProductStockEvent> heldEvents = new ArrayList<>(events.size());
+                int[] results = productStockJdbcRepository.batchDecrementStock(deltas);
+                int index = 0;
+                for (Map.Entry<Long, List<UpdateProductStockEvent>> entry : eventsByProduct.entrySet()) {
+                        // != 0 karena driver boleh mengembalikan SUCCESS_NO_INFO (-2) untuk baris yang berhasil
+                        if (results[index++] != 0) {
+                                stockLedger.applyDelta(entry.getKey(), -deltas.get(entry.getKey()));
+                                decreasedProductIds.add(entry.getKey());
+                                // Ledger tetap satu baris per event agar tiap transaksi bisa ditelusuri
+                                entry.getValue().forEach(event -> movements.add(saleMovement(event)));
+                                heldEvents.addAll(entry.getValue());
+                                applied += entry.getValue().size();
+                                continue;
+                        }
+                        // Total gabungan melebihi stok: terapkan satu per satu agar event yang masih muat tetap diproses
+                        for (UpdateProductStockEvent event : entry.getValue()) {
+                                // Id sudah diklaim di atas
+                                if (decrement(event)) {
+                                        applied++;
+                                }
+                        }
+                }
+                stockMovementService.record(movements);
+                // Reservasi untuk seluruh event yang digabung, satu batch insert
+                stockReservationService.hold(heldEvents);
+                // Transisi low stock untuk semua produk yang berhasil dikurangi, dalam satu batch
+                lowStockAlertService.onStockDecreased(decreasedProductIds);
+                // Satu pesan invalidasi untuk seluruh batch
+                productCache.evictAfterCommit(decreasedProductIds);
+
+                log.debug("Applied {} of {} stock events across {} products", applied, events.size(), deltas.size());
+                return applied;
+        }
+
+        @Override
+        @Transactional
+        public boolean applyOrderStockUpdate(OrderStockEvent event) {
+                if (!stockEventDeduplicator.claimId(event.getEventId())) {
+                        log.info("Duplicate order stock event {} for order {} skipped", event.getEventId(),
+                                        event.getOrderId());
+                        return false;
+                }
+
+                List<OrderStockLine> lines = event.getLines() == null ? List.of() : event.getLines();
+                // Urut productId: order yang berjalan bersamaan mengunci baris produk dengan urutan yang sama,
+                // sehingga tidak saling deadlock
+                Map<Long, Integer> deltas = new TreeMap<>();
+                for (OrderStockLine line : lines) {
+                        if (line.getTransactionId() == null || line.getProductId() == null
+                                        || line.getQuantity() <= 0) {
+                                rejectOrder(event, line.getProductId(), REASON_INVALID_QUANTITY);
+                                return false;
+                        }
+                        deltas.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+                }
+                if (deltas.isEmpty()) {
+                        rejectOrder(event, null, REASON_INVALID_QUANTITY);
+                        return false;
+                }
+
+                // Semua baris dalam satu JDBC batch
+                int[] results = productStockJdbcRepository.batchDecrementStock(deltas);
+                Map<Long, Integer> decreased = new LinkedHashMap<>();
+                Long failedProductId = null;
+                int index = 0;
+                for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+                        // != 0 karena driver boleh mengembalikan SUCCESS_NO_INFO (-2) untuk baris yang berhasil
+                        if (results[index++] != 0) {
+                                decreased.put(entry.getKey(), entry.getValue());
+                        } else if (failedProductId == null) {
+                                failedProductId = entry.getKey();
+                        }
+                }
+
+                if (failedProductId != null) {
+                        // Semua atau tidak sama sekali: kembalikan baris yang sudah dikurangi di transaksi yang sama
+                        if (!decreased.isEmpty()) {
+                                productStockJdbcRepository.batchIncrementStock(decreased);
+                        }
+                        String reason = productStockRepository.existsByIdAndIsDeletedFalse(failedProductId)
+                                        ? REASON_INSUFFICIENT_STOCK
+                                        : REASON_PRODUCT_NOT_FOUND;
+                        rejectOrder(event, failedProductId, reason);
+                        return false;
+                }
+
+                List<StockMovementDto> movements = new ArrayList<>(lines.size());
+                for (OrderStockLine line : lines) {
+                        movements.add(StockMovementDto.of(line.getProductId(), StockMovementType.SALE,
+                                        -line.getQuantity(), line.getTransactionId(), event.getUserId()));
+                }
+                stockMovementService.record(movements);
+                decreased.forEach((productId, quantity) -> stockLedger.applyDelta(productId, -quantity));
+                List<Long> productIds = new ArrayList<>(decreased.keySet());
+                lowStockAlertService.onStockDecreased(productIds);
+                productCache.evictAfterCommit(productIds);
+                stockReservationService.holdOrder(event);
+                return true;
+        }
+
+        @Override
+        public ApiDataResponseBuilder getDedupStats() {
+                return ApiDataResponseBuilder.builder()
+                                .data(stockEventDeduplicator.stats())
+                                .message(messageUtils.getMessage("success.dedup.stats.retrieved"))
+                                .status(HttpStatus.OK)
+                                .statusCode(HttpStatus.OK.value())
+                                .build();
+        }
+
+        private StockMovementDto saleMovement(UpdateProductStockEvent event) {
+                return StockMovementDto.of(event.getProductId(), StockMovementType.SALE, -event.getQuantity(),
+                                event.getTransactionId(), event.getUserId());
+        }
+
+        private void reject(UpdateProductStockEvent event, String reason) {
+                log.warn("Stock update rejected for product {} (quantity {}): {}",
+                                event.getProductId(), event.getQuantity(), reason);
+
+                kafkaProducer.sendStockUpdateRejectedEvent(new StockUpdateRejectedEvent(
+                                event.getUserId(),
+                                event.getProductId(),
+                                event.getQuantity(),
+                                reason));
+
+                NotificationEvent notificationEvent = new NotificationEvent(
+                                event.getUserId(),
+                                "Pengurangan stok produk " + event.getProductId() + " sejumlah "
+                                                + event.getQuantity() + " ditolak: " + reason,
+                                "STOCK_UPDATE_REJECTED");
+                kafkaProducer.sendNotificationEvent(notificationEvent);
+                stockReservationService.reject(event, reason);
+        }
+
+        private void rejectOrder(OrderStockEvent event, Long productId, String reason) {
+                log.warn("Stock reservation rejected for order {} (product {}): {}", event.getOrderId(), productId,
+                                reason);
+                stockReservationService.rejectOrder(event, productId, reason);
+        }
+}
@@ -0,0 +1,63 @@
+package com.microservices.smmsb_inventory_service.service.kafka;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Service;
+
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
+import com.microservices.smmsb_inventory_service.service.StockUpdateService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "application.kafka.stock-listener.batch-enabled", havingValue = "true")
+public class KafkaBatchConsumer {
+
+    private final StockUpdateService stockUpdateService;
+
+    @Autowired
+    public KafkaBatchConsumer(StockUpdateService stockUpdateService) {
+        this.stockUpdateService = stockUpdateService;
+    }
+
+    @KafkaListener(topics = "update-product-stock", groupId = "inventory-group", containerFactory = "batchKafkaListenerContainerFactory")
+    public void listenUpdateStockEvents(List<UpdateProductStockEvent> events) {
+        int applied;
+        try {
+            // Satu transaksi per poll
+            applied = stockUpdateService.applyStockUpdates(events);
+        } catch (RuntimeException e) {
+            log.warn("Stock batch of {} events failed, applying them one by one - Error: {}", events.size(),
+                    e.getMessage());
+            applied = applyOneByOne(events);
+        }
+        log.info("Processed stock batch: {} events received, {} applied", events.size(), applied);
+    }
+
+    // Tiap event di transaksinya sendiri, sehingga event sebelum yang rusak tetap commit. Index event yang gagal
+    // diteruskan ke error handler: offset sebelumnya di-commit, event itu dicoba ulang lalu masuk DLT
+    private int applyOneByOne(List<UpdateProductStockEvent> events) {
+        int applied = 0;
+        for (int index = 0; index < events.size(); index++) {
+            UpdateProductStockEvent event = events.get(index);
+            // null: payload gagal dibaca ErrorHandlingDeserializer
+            if (event == null) {
+                throw new BatchListenerFailedException("Stock event could not be deserialized", index);
+            }
+            try {
+                if (stockUpdateService.applyStockUpdate(event)) {
+                    applied++;
+                }
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("Failed to apply stock event " + event.getEventId(), e,
+                        index);
+            }
+        }
+        return applied;
+    }
+}
@@ -1,30 +1,27 @@
 package com.microservices.smmsb_inventory_service.service.kafka;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
-import com.microservices.smmsb_inventory_service.model.ProductStock;
-import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.service.StockUpdateService;
 
 @Service
+@ConditionalOnProperty(name = "application.kafka.stock-listener.batch-enabled", havingValue = "false", matchIfMissing = true)
 public class KafkaConsumer {
- 
-    private final ProductStockRepository productStockRepository;
+
+    private final StockUpdateService stockUpdateService;
 
     @Autowired
-    public KafkaConsumer(ProductStockRepository productStockRepository) {
-        this.productStockRepository = productStockRepository;
+    public KafkaConsumer(StockUpdateService stockUpdateService) {
+        this.stockUpdateService = stockUpdateService;
     }
 
     @KafkaListener(topics = "update-product-stock", groupId = "inventory-group")
     public void listenUpdateStockEvent(UpdateProductStockEvent event) {
-        ProductStock productStock = productStockRepository.findById(event.getProductId())
-                .orElseThrow(() -> new IllegalArgumentException("Product not found"));
-
-        // Kurangi stok produk
-        productStock.setQuantity(productStock.getQuantity() - event.getQuantity());
-        productStockRepository.save(productStock);
+        // Kurangi stok produk (atomik, event ditolak jika stok tidak cukup)
+        stockUpdateService.applyStockUpdate(event);
     }
 }
@@ -1,29 +1,83 @@
 package com.microservices.smmsb_inventory_service.service.kafka;
 
+import java.util.Objects;
+
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.smmsb_inventory_service.dto.kafkaEvent.NotificationEvent;
-import com.microservices.smmsb_inventory_service.dto.kafkaEvent.LowStockAlertEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.LowStockDigestEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.ProductCacheInvalidationEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.ProductChangedEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.StockReservationResultEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.StockUpdateRejectedEvent;
+import com.microservices.smmsb_inventory_service.model.OutboxEvent;
+import com.microservices.smmsb_inventory_service.repository.OutboxEventRepository;
 
 import lombok.RequiredArgsConstructor;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Event domain tidak langsung dikirim ke Kafka, tetapi ditulis ke tabel outbox dalam transaksi pemanggil.
+ * Jika transaksi rollback, event ikut batal; setelah commit, OutboxRelay yang mengirimnya ke Kafka.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KafkaProducer {
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
     public void sendNotificationEvent(NotificationEvent event) {
-        log.info("Sending event to Kafka: {}", event);
-        kafkaTemplate.send("notificationTopic", event);
+        enqueue("notificationTopic", Objects.toString(event.getUserId(), null), event);
+    }
+
+    // Satu pesan per run digest, tidak perlu key
+    public void sendLowStockDigestEvent(LowStockDigestEvent event) {
+        enqueue("lowStockDigest", null, event);
+    }
+
+    public void sendStockUpdateRejectedEvent(StockUpdateRejectedEvent event) {
+        enqueue("update-product-stock-rejected", Objects.toString(event.getProductId(), null), event);
+    }
+
+    // Key transactionId (orderId untuk hasil order): hasil untuk transaksi yang sama diproses berurutan oleh
+    // Transaction Service
+    public void sendStockReservationResultEvent(StockReservationResultEvent event) {
+        Long key = event.getOrderId() != null ? event.getOrderId() : event.getTransactionId();
+        enqueue("stock-reservation-result", Objects.toString(key, null), event);
+    }
+
+    // Topic compacted di-key dengan productId: pesan terakhir per key adalah data katalog terbaru produk tersebut
+    public void sendProductChangedEvent(ProductChangedEvent event) {
+        enqueue("productChanged", Objects.toString(event.getProductId(), null), event);
+    }
+
+    // Broadcast invalidasi dikirim langsung: dipanggil setelah commit dan TTL cache menutup pesan yang hilang
+    public void sendProductCacheInvalidationEvent(ProductCacheInvalidationEvent event) {
+        log.debug("Sending event to Kafka: {}", event);
+        kafkaTemplate.send("product-cache-invalidation", event);
     }
 
-    public void sendLowStockAlertEvent(LowStockAlertEvent event) {
-        log.info("Sending event to Kafka: {}", event);
-        kafkaTemplate.send("lowStockAlert", event);
+    private void enqueue(String topic, String key, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            // Gagal serialisasi berarti bug; transaksi pemanggil ikut rollback agar data dan event tetap sejalan
+            throw new IllegalStateException("Failed to serialize event for topic " + topic, e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .eventKey(key)
+                .eventType(event.getClass().getName())
+                .payload(payload)
+                .build());
+        log.info("Event queued in outbox for {}: {}", topic, event);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.microservices.smmsb_inventory_service.service.kafka;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_inventory_service.service.StockUpdateService;
+
+@Service
+public class OrderStockConsumer {
+
+    private final StockUpdateService stockUpdateService;
+
+    @Autowired
+    public OrderStockConsumer(StockUpdateService stockUpdateService) {
+        this.stockUpdateService = stockUpdateService;
+    }
+
+    // Satu event per order; redelivery dibuang lewat eventId
+    @KafkaListener(topics = "order-stock-reservation", groupId = "inventory-order-group",
+            containerFactory = "orderStockListenerContainerFactory")
+    public void listenOrderStockEvent(OrderStockEvent event) {
+        stockUpdateService.applyOrderStockUpdate(event);
+    }
+}
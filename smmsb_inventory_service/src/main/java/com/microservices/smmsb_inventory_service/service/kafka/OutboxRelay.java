@@ -0,0 +1,177 @@
+package com.microservices.smmsb_inventory_service.service.kafka;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.common.errors.RetriableException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_inventory_service.model.OutboxEvent;
+import com.microservices.smmsb_inventory_service.repository.OutboxEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mengirim baris outbox ke Kafka per batch, diurutkan berdasarkan id.
+ *
+ * Hanya satu relay yang aktif di seluruh replika (advisory lock per batch); replika lain melewati putarannya.
+ * Semua event dalam batch dikirim sekaligus lalu ditunggu. Baris hanya ditandai terkirim sampai kegagalan pertama,
+ * sehingga event setelahnya dikirim ulang pada putaran berikutnya (at-least-once; consumer harus idempoten
+ * terhadap duplikat). Kegagalan karena broker tidak tersedia tidak dihitung; event yang gagal permanen dilewati
+ * setelah max-attempts agar antrean tidak macet.
+ *
+ * Urutan hanya dijamin per key (productId), bukan global: id IDENTITY dibagikan saat insert, bukan saat commit,
+ * sehingga baris dengan id lebih kecil bisa commit setelah baris berikutnya terkirim. Update dan delete produk
+ * mengunci baris produknya sebelum event ditulis, jadi id event untuk produk yang sama mengikuti urutan commit.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    // Hanya class event milik service ini yang boleh dibentuk ulang dari kolom event_type
+    private static final String EVENT_PACKAGE = NotificationEvent.class.getPackageName() + ".";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${application.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${application.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${application.outbox.retention-hours:24}")
+    private int retentionHours;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper, TransactionTemplate transactionTemplate) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.relay-interval-ms:500}")
+    public void relay() {
+        // Batch penuh berarti kemungkinan masih ada antrean, langsung lanjut tanpa menunggu interval
+        boolean more;
+        do {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()));
+        } while (more);
+    }
+
+    /**
+     * @return true jika batch penuh dan seluruhnya terkirim
+     */
+    boolean relayBatch() {
+        if (!outboxEventRepository.tryLockRelay()) {
+            log.debug("Outbox relay is running on another instance, skipping");
+            return false;
+        }
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(maxAttempts, batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            CompletableFuture<SendResult<String, Object>> future = send(event);
+            futures.add(future);
+            // Gagal langsung (misalnya broker tidak bisa dihubungi): sisa batch tidak perlu dicoba
+            if (future.isCompletedExceptionally()) {
+                break;
+            }
+        }
+
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < futures.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                futures.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                sentIds.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                if (isTransient(cause)) {
+                    // Broker sedang bermasalah: tidak dihitung sebagai percobaan, dicoba lagi putaran berikutnya
+                    log.warn("Kafka unavailable, outbox relay paused at event {} - Error: {}", event.getId(),
+                            cause.getMessage());
+                    break;
+                }
+                outboxEventRepository.markFailed(event.getId(), truncate(cause.getMessage()));
+                if (event.getAttempts() + 1 >= maxAttempts) {
+                    log.error("Outbox event {} for {} dropped after {} attempts - Error: {}", event.getId(),
+                            event.getTopic(), maxAttempts, cause.getMessage());
+                } else {
+                    log.warn("Failed to relay outbox event {} for {} - Error: {}", event.getId(),
+                            event.getTopic(), cause.getMessage());
+                }
+                break;
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.markSent(sentIds, LocalDateTime.now());
+        }
+        return sentIds.size() == batchSize;
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent event) {
+        try {
+            if (!event.getEventType().startsWith(EVENT_PACKAGE)) {
+                throw new IllegalArgumentException("Unexpected event type " + event.getEventType());
+            }
+            Object payload = objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+            return kafkaTemplate.send(event.getTopic(), event.getEventKey(), payload);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean isTransient(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof RetriableException || current instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Baris terkirim disimpan sebentar untuk penelusuran, lalu dihapus agar tabel tetap kecil
+    public void cleanup() {
+        int deleted = transactionTemplate.execute(status -> outboxEventRepository
+                .deleteSentBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted > 0) {
+            log.info("Outbox cleanup removed {} sent events", deleted);
+        }
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -0,0 +1,27 @@
+package com.microservices.smmsb_inventory_service.service.kafka;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.ProductCacheInvalidationEvent;
+import com.microservices.smmsb_inventory_service.service.ProductCache;
+
+@Service
+public class ProductCacheInvalidationListener {
+
+    private final ProductCache productCache;
+
+    @Autowired
+    public ProductCacheInvalidationListener(ProductCache productCache) {
+        this.productCache = productCache;
+    }
+
+    // Group id unik per replika agar setiap replika menerima semua pesan invalidasi (broadcast)
+    @KafkaListener(topics = "product-cache-invalidation",
+            groupId = "#{'inventory-cache-' + @productCache.instanceId}",
+            containerFactory = "productCacheInvalidationListenerContainerFactory")
+    public void listenProductCacheInvalidation(ProductCacheInvalidationEvent event) {
+        productCache.evictFromBroadcast(event);
+    }
+}
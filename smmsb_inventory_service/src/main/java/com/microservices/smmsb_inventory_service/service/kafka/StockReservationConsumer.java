@@ -0,0 +1,50 @@
+package com.microservices.smmsb_inventory_service.service.kafka;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.StockReservationDecisionEvent;
+import com.microservices.smmsb_inventory_service.service.StockReservationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class StockReservationConsumer {
+
+    private final StockReservationService stockReservationService;
+
+    @Autowired
+    public StockReservationConsumer(StockReservationService stockReservationService) {
+        this.stockReservationService = stockReservationService;
+    }
+
+    // Confirm dan cancel hanya berlaku untuk reservasi PENDING, jadi redelivery aman diproses ulang
+    @KafkaListener(topics = "stock-reservation-decision", groupId = "inventory-reservation-group",
+            containerFactory = "stockReservationDecisionListenerContainerFactory")
+    public void listenDecisionEvent(StockReservationDecisionEvent event) {
+        if (event.getOrderId() != null) {
+            applyOrderDecision(event);
+            return;
+        }
+        if (StockReservationDecisionEvent.CONFIRM.equals(event.getDecision())) {
+            stockReservationService.confirm(event.getTransactionId(), event.getProductId());
+        } else if (StockReservationDecisionEvent.CANCEL.equals(event.getDecision())) {
+            stockReservationService.cancel(event.getTransactionId(), event.getProductId());
+        } else {
+            log.warn("Unknown stock reservation decision {} for transaction {}", event.getDecision(),
+                    event.getTransactionId());
+        }
+    }
+
+    private void applyOrderDecision(StockReservationDecisionEvent event) {
+        if (StockReservationDecisionEvent.CONFIRM.equals(event.getDecision())) {
+            stockReservationService.confirmOrder(event.getOrderId());
+        } else if (StockReservationDecisionEvent.CANCEL.equals(event.getDecision())) {
+            stockReservationService.cancelOrder(event.getOrderId());
+        } else {
+            log.warn("Unknown stock reservation decision {} for order {}", event.getDecision(), event.getOrderId());
+        }
+    }
+}
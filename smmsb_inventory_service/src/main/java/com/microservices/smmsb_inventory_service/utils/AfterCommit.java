@@ -0,0 +1,27 @@
+package com.microservices.smmsb_inventory_service.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Menunda efek di luar database (Kafka, cache lokal) sampai transaksi yang sedang berjalan commit, agar tidak
+ * terlihat jika transaksi di-rollback. Tanpa transaksi aktif, action langsung dijalankan.
+ */
+public final class AfterCommit {
+
+   private AfterCommit() {
+   }
+
+   public static void run(Runnable action) {
+      if (TransactionSynchronizationManager.isSynchronizationActive()) {
+         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+               action.run();
+            }
+         });
+      } else {
+         action.run();
+      }
+   }
+}
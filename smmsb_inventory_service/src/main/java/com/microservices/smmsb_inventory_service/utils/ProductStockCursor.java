@@ -0,0 +1,103 @@
+package com.microservices.smmsb_inventory_service.utils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Sort;
+
+import com.microservices.smmsb_inventory_service.model.ProductStock;
+
+import lombok.Getter;
+
+/**
+ * Cursor keyset untuk get-all: menyimpan kolom sort, arah sort, nilai kolom sort dan id baris terakhir.
+ *
+ * Dikirim ke client sebagai string Base64 (URL-safe) yang tidak perlu dipahami client.
+ * Id dipakai sebagai tie-breaker agar urutan tetap stabil walaupun nilai kolom sort sama.
+ */
+@Getter
+public final class ProductStockCursor {
+
+   private static final String SEPARATOR = "|";
+
+   // Kolom yang boleh dipakai untuk sort beserta cara membaca nilainya dari cursor
+   private static final Map<String, Function<String, Comparable<?>>> SORTABLE = Map.of(
+         "id", Long::valueOf,
+         "productName", value -> value,
+         "price", BigDecimal::new,
+         "quantity", Integer::valueOf,
+         "createdAt", LocalDateTime::parse,
+         "updatedAt", LocalDateTime::parse);
+
+   private final String property;
+   private final Sort.Direction direction;
+   private final Long lastId;
+   private final Comparable<?> lastValue;
+
+   private ProductStockCursor(String property, Sort.Direction direction, Long lastId, Comparable<?> lastValue) {
+      this.property = property;
+      this.direction = direction;
+      this.lastId = lastId;
+      this.lastValue = lastValue;
+   }
+
+   // Halaman pertama: belum ada posisi terakhir, hanya sort yang diambil dari request
+   public static ProductStockCursor first(Sort sort) {
+      Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+      if (!SORTABLE.containsKey(order.getProperty())) {
+         throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+      }
+      return new ProductStockCursor(order.getProperty(), order.getDirection(), null, null);
+   }
+
+   public static ProductStockCursor decode(String token) {
+      String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      // Nilai ditaruh paling akhir dan split dibatasi 4 bagian, sehingga nama produk boleh mengandung '|'
+      String[] parts = decoded.split("\\" + SEPARATOR, 4);
+      if (parts.length != 4 || !SORTABLE.containsKey(parts[0])) {
+         throw new IllegalArgumentException("Malformed cursor");
+      }
+      try {
+         return new ProductStockCursor(parts[0], Sort.Direction.fromString(parts[1]), Long.valueOf(parts[2]),
+               SORTABLE.get(parts[0]).apply(parts[3]));
+      } catch (DateTimeParseException e) {
+         throw new IllegalArgumentException("Malformed cursor", e);
+      }
+   }
+
+   public ProductStockCursor next(ProductStock last) {
+      return new ProductStockCursor(property, direction, last.getId(), valueOf(last));
+   }
+
+   public String encode() {
+      String value = lastValue instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(lastValue);
+      String raw = property + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + value;
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+   }
+
+   public boolean isFirstPage() {
+      return lastId == null;
+   }
+
+   public Sort toSort() {
+      Sort sort = Sort.by(direction, property);
+      return "id".equals(property) ? sort : sort.and(Sort.by(direction, "id"));
+   }
+
+   private Comparable<?> valueOf(ProductStock product) {
+      return switch (property) {
+         case "id" -> product.getId();
+         case "productName" -> product.getProductName();
+         case "price" -> product.getPrice();
+         case "quantity" -> product.getQuantity();
+         case "createdAt" -> product.getCreatedAt();
+         case "updatedAt" -> product.getUpdatedAt();
+         default -> throw new IllegalStateException("Unsupported sort property: " + property);
+      };
+   }
+}
@@ -4,6 +4,9 @@ package com.microservices.smmsb_inventory_service.utils;
 import java.math.BigDecimal;
 
 import org.springframework.data.jpa.domain.Specification;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
 import com.microservices.smmsb_inventory_service.model.ProductStock;
 
 public class ProductStockSpesification {
@@ -19,5 +22,28 @@ public class ProductStockSpesification {
    public static Specification<ProductStock> hasQuantity(Integer quantity) {
       return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("quantity"), quantity);
    }
-   
+
+   // Predicate keyset: baris setelah posisi cursor, (kolom, id) dibandingkan sesuai arah sort
+   @SuppressWarnings({ "rawtypes", "unchecked" })
+   public static Specification<ProductStock> isAfter(ProductStockCursor cursor) {
+      return (root, query, criteriaBuilder) -> {
+         if (cursor.isFirstPage()) {
+            return null;
+         }
+         boolean ascending = cursor.getDirection().isAscending();
+         Predicate idAfter = ascending
+               ? criteriaBuilder.greaterThan(root.get("id"), cursor.getLastId())
+               : criteriaBuilder.lessThan(root.get("id"), cursor.getLastId());
+         if ("id".equals(cursor.getProperty())) {
+            return idAfter;
+         }
+         Expression<Comparable> key = root.get(cursor.getProperty());
+         Comparable value = cursor.getLastValue();
+         Predicate keyAfter = ascending
+               ? criteriaBuilder.greaterThan(key, value)
+               : criteriaBuilder.lessThan(key, value);
+         return criteriaBuilder.or(keyAfter, criteriaBuilder.and(criteriaBuilder.equal(key, value), idAfter));
+      };
+   }
+
 }
@@ -0,0 +1,47 @@
+-- Skema dasar yang sebelumnya dibuat Hibernate (ddl-auto). Diberi versi 0 agar di database baru berjalan sebelum
+-- V1 (index product_stock) serta V2/V3 (outbox_event). Database yang sudah menjalankan V1..V5 ikut menjalankan
+-- file ini sekali tanpa efek karena semua statement memakai IF NOT EXISTS.
+CREATE TABLE IF NOT EXISTS product_stock (
+    id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    quantity INTEGER NOT NULL,
+    price NUMERIC(38, 2) NOT NULL,
+    image_url VARCHAR(255),
+    created_by BIGINT NOT NULL,
+    updated_by BIGINT,
+    deleted_by BIGINT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    is_deleted BOOLEAN NOT NULL,
+    is_low_stock BOOLEAN NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_product_stock_product_name UNIQUE (product_name)
+);
+
+-- Id produk dari sequence pooled (INCREMENT BY harus sama dengan allocationSize pada ProductStock). Di database
+-- lama id sudah terisi oleh kolom identity, jadi sequence dimajukan melewati id terbesar; optimizer pooled
+-- memakai id (nilai - 49) s/d nilai, sehingga nilainya id terbesar + 50.
+CREATE SEQUENCE IF NOT EXISTS product_stock_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('product_stock_seq', m.max_id + 50)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM product_stock) m, product_stock_seq s
+WHERE s.last_value < m.max_id;
+
+-- Outbox event Kafka (OutboxRelay). Id IDENTITY mengikuti urutan insert.
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    topic VARCHAR(255) NOT NULL,
+    event_key VARCHAR(255),
+    event_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    sent_at TIMESTAMP(6),
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(1000),
+    PRIMARY KEY (id)
+);
+
+-- Pembersihan baris terkirim berdasarkan sent_at
+CREATE INDEX IF NOT EXISTS idx_outbox_event_sent_at_id ON outbox_event (sent_at, id);
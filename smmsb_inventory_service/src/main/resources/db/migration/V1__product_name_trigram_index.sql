@@ -0,0 +1,7 @@
+-- Pencarian nama produk (LIKE '%nama%', ILIKE dan operator similarity %) butuh index GIN trigram;
+-- ddl-auto hanya membuat index btree dari anotasi entity.
+-- Jika user database tidak boleh membuat extension, minta DBA menjalankan statement pertama sebelum deploy.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_product_stock_product_name_trgm
+    ON product_stock USING gin (product_name gin_trgm_ops);
@@ -0,0 +1,21 @@
+-- findByIdAndIsDeletedFalse, existsByIdAndIsDeletedFalse dan existsByProductNameAndIsDeletedFalse sudah
+-- dilayani primary key dan unique index product_name; is_deleted cukup dicek pada satu baris hasilnya.
+
+-- Filter hasQuantity / hasPrice get-all dan keyset cursor (nilai sort, id), juga findByQuantityLessThan
+CREATE INDEX IF NOT EXISTS idx_product_stock_quantity_id ON product_stock (quantity, id);
+CREATE INDEX IF NOT EXISTS idx_product_stock_price_id ON product_stock (price, id);
+CREATE INDEX IF NOT EXISTS idx_product_stock_created_at_id ON product_stock (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_product_stock_updated_at_id ON product_stock (updated_at, id);
+
+-- Rekonsiliasi low stock: produk aktif yang belum ditandai tetapi quantity-nya di bawah ambang
+CREATE INDEX IF NOT EXISTS idx_product_stock_unflagged_quantity ON product_stock (quantity, id)
+    WHERE is_deleted = false AND is_low_stock = false;
+
+-- Digest low stock (ORDER BY quantity, id) dan rekonsiliasi restock. Menggantikan index boolean
+-- is_low_stock yang mencakup seluruh tabel padahal hanya sebagian kecil produk yang low stock.
+CREATE INDEX IF NOT EXISTS idx_product_stock_low_stock_quantity ON product_stock (quantity, id)
+    WHERE is_deleted = false AND is_low_stock = true;
+DROP INDEX IF EXISTS idx_product_stock_is_low_stock;
+
+-- OutboxRelay hanya membaca baris yang belum terkirim, urut id
+CREATE INDEX IF NOT EXISTS idx_outbox_event_pending_id ON outbox_event (id) WHERE sent_at IS NULL;
@@ -0,0 +1,12 @@
+-- Replika katalog di transaction service hanya dibangun dari topic productChanged. Produk yang dibuat sebelum
+-- event ini ada diantrekan sekali lewat outbox, dengan payload yang sama seperti ProductStockMapper.toChangedEvent.
+INSERT INTO outbox_event (topic, event_key, event_type, payload, created_at, attempts)
+SELECT 'productChanged',
+       p.id::text,
+       'com.microservices.smmsb_inventory_service.dto.kafkaEvent.ProductChangedEvent',
+       json_build_object('productId', p.id, 'productName', p.product_name, 'price', p.price,
+                         'deleted', p.is_deleted)::text,
+       now(),
+       0
+FROM product_stock p
+ORDER BY p.id;
@@ -0,0 +1,22 @@
+-- Reservasi stok per transaksi (saga reserve -> confirm/cancel dengan Transaction Service). Stok sudah
+-- dikurangi saat reservasi dibuat; CANCELLED dan EXPIRED mengembalikan stok lewat movement RETURN.
+CREATE TABLE IF NOT EXISTS stock_reservation (
+    transaction_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    user_id BIGINT,
+    quantity INTEGER NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (transaction_id, product_id)
+);
+
+-- Sweep kedaluwarsa hanya membaca reservasi PENDING urut expires_at, sehingga ukurannya sebanding dengan
+-- reservasi yang sedang berjalan, bukan dengan riwayat
+CREATE INDEX IF NOT EXISTS idx_stock_reservation_pending_expires_at ON stock_reservation (expires_at)
+    WHERE status = 'PENDING';
+
+-- Purge reservasi yang sudah selesai
+CREATE INDEX IF NOT EXISTS idx_stock_reservation_settled_updated_at ON stock_reservation (updated_at)
+    WHERE status <> 'PENDING';
@@ -0,0 +1,5 @@
+-- Reservasi untuk baris order: semua baris satu order dikonfirmasi, dibatalkan dan kedaluwarsa bersama
+ALTER TABLE stock_reservation ADD COLUMN IF NOT EXISTS order_id BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_stock_reservation_order_id ON stock_reservation (order_id)
+    WHERE order_id IS NOT NULL;
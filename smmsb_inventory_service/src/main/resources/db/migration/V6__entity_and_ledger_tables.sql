@@ -0,0 +1,72 @@
+-- Tabel dan kolom yang sebelumnya dibuat oleh ddl-auto atau initializer JDBC. Sejak versi ini seluruh skema
+-- dikelola lewat migration dan Hibernate hanya memvalidasi (ddl-auto=validate).
+
+-- Varian gambar produk
+ALTER TABLE product_stock ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(255);
+ALTER TABLE product_stock ADD COLUMN IF NOT EXISTS medium_url VARCHAR(255);
+
+-- Terakhir kali produk masuk digest low stock
+ALTER TABLE product_stock ADD COLUMN IF NOT EXISTS low_stock_alerted_at TIMESTAMP(6);
+
+-- Id event update-product-stock yang sudah diterapkan
+CREATE TABLE IF NOT EXISTS processed_stock_event (
+    event_id VARCHAR(64) NOT NULL,
+    processed_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_stock_event_processed_at ON processed_stock_event (processed_at);
+
+-- Lease job terjadwal dan heartbeat replika
+CREATE TABLE IF NOT EXISTS scheduled_job_lease (
+    job_name VARCHAR(200) NOT NULL,
+    run_key VARCHAR(40) NOT NULL,
+    owner VARCHAR(100) NOT NULL,
+    locked_until TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6),
+    PRIMARY KEY (job_name)
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_instance (
+    instance_id VARCHAR(100) NOT NULL,
+    heartbeat_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (instance_id)
+);
+
+-- Ledger stock_movement dipartisi per bulan pada created_at. Partisi bulanan dibuat oleh
+-- StockMovementService.maintainPartitions karena rentangnya bergantung pada tanggal berjalan.
+CREATE TABLE IF NOT EXISTS stock_movement (
+    id BIGSERIAL NOT NULL,
+    product_id BIGINT NOT NULL,
+    movement_type VARCHAR(20) NOT NULL,
+    quantity_delta INTEGER NOT NULL,
+    transaction_id BIGINT,
+    user_id BIGINT,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Index pada tabel induk otomatis dibuat di setiap partisi
+CREATE INDEX IF NOT EXISTS idx_stock_movement_product_created ON stock_movement (product_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_stock_movement_transaction_id ON stock_movement (transaction_id)
+    WHERE transaction_id IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS stock_checkpoint (
+    product_id BIGINT NOT NULL,
+    checkpoint_at TIMESTAMP(6) NOT NULL,
+    quantity INTEGER NOT NULL,
+    PRIMARY KEY (product_id, checkpoint_at)
+);
+
+-- Agregat inventory per shard. Baris shard dan fungsi trigger bergantung pada konfigurasi (jumlah shard,
+-- ambang low stock), jadi dipasang ulang oleh InventorySummarySchemaInitializer di setiap startup.
+CREATE TABLE IF NOT EXISTS inventory_summary (
+    shard SMALLINT NOT NULL,
+    product_count BIGINT NOT NULL DEFAULT 0,
+    total_quantity BIGINT NOT NULL DEFAULT 0,
+    total_value NUMERIC(24, 2) NOT NULL DEFAULT 0,
+    low_stock_count BIGINT NOT NULL DEFAULT 0,
+    out_of_stock_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (shard)
+);
@@ -0,0 +1,4 @@
+-- findByQuantityLessThan (disebut di V2) sudah dihapus; rekonsiliasi low stock memakai partial index
+-- idx_product_stock_unflagged_quantity. Index (quantity, id) tetap dipakai filter hasQuantity dan keyset
+-- cursor sort quantity di get-all, jadi tidak di-drop. V2 tidak diubah karena checksum-nya sudah tercatat.
+COMMENT ON INDEX idx_product_stock_quantity_id IS 'get-all: filter hasQuantity dan keyset cursor sort (quantity, id)';
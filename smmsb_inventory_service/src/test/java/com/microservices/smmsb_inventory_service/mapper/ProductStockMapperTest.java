@@ -0,0 +1,59 @@
+package com.microservices.smmsb_inventory_service.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_inventory_service.dto.ProductStockDto;
+import com.microservices.smmsb_inventory_service.dto.request.CreateProductStockRequest;
+import com.microservices.smmsb_inventory_service.model.ProductStock;
+
+// Memastikan mapper eksplisit menghasilkan JSON yang sama dengan ModelMapper sebelumnya
+public class ProductStockMapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void toDto_ProducesSameJsonAsModelMapper() throws Exception {
+        ProductStock productStock = ProductStock.builder()
+                .id(7L)
+                .productName("Kampas Rem")
+                .description("Kampas rem depan")
+                .quantity(25)
+                .price(new BigDecimal("45000.00"))
+                .imageUrl("http://localhost:9090/smmsbproducts/products/7.png")
+                .createdBy(1L)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 8, 0))
+                .isLowStock(false)
+                .build();
+
+        assertEquals(objectMapper.writeValueAsString(modelMapper.map(productStock, ProductStockDto.class)),
+                objectMapper.writeValueAsString(ProductStockMapper.toDto(productStock)));
+    }
+
+    @Test
+    void toDto_HandlesNullOptionalFields() throws Exception {
+        ProductStock productStock = ProductStock.builder().id(8L).productName("Busi").quantity(0)
+                .price(BigDecimal.ONE).build();
+
+        assertEquals(objectMapper.writeValueAsString(modelMapper.map(productStock, ProductStockDto.class)),
+                objectMapper.writeValueAsString(ProductStockMapper.toDto(productStock)));
+    }
+
+    @Test
+    void toEntity_MatchesModelMapper() {
+        CreateProductStockRequest request = new CreateProductStockRequest();
+        request.setProductName("Oli Mesin");
+        request.setDescription("Oli 1 liter");
+        request.setQuantity(12);
+        request.setPrice(new BigDecimal("60000"));
+
+        assertEquals(modelMapper.map(request, ProductStock.class), ProductStockMapper.toEntity(request));
+    }
+}
@@ -0,0 +1,98 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.microservices.smmsb_inventory_service.repository.ScheduledJobLeaseJdbcRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ClusterJobRunnerTest {
+
+    private static final String DAILY = "0 0 2 * * *";
+
+    @Mock
+    private ScheduledJobLeaseJdbcRepository scheduledJobLeaseJdbcRepository;
+
+    @InjectMocks
+    private ClusterJobRunner clusterJobRunner;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(clusterJobRunner, "leaseSeconds", 1800L);
+        ReflectionTestUtils.setField(clusterJobRunner, "instanceTtlSeconds", 30L);
+    }
+
+    @Test
+    void runOnce_LeaseHeldElsewhere_SkipsTask() {
+        when(scheduledJobLeaseJdbcRepository.tryAcquire(eq("outbox-cleanup"), anyString(), anyString(), eq(1800L)))
+                .thenReturn(false);
+        Runnable task = mock(Runnable.class);
+
+        assertFalse(clusterJobRunner.runOnce("outbox-cleanup", DAILY, task));
+
+        verifyNoInteractions(task);
+        verify(scheduledJobLeaseJdbcRepository, never()).complete(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void runOnce_TaskFails_ReleasesLease() {
+        when(scheduledJobLeaseJdbcRepository.tryAcquire(anyString(), anyString(), anyString(), anyLong()))
+                .thenReturn(true);
+
+        assertFalse(clusterJobRunner.runOnce("outbox-cleanup", DAILY, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        verify(scheduledJobLeaseJdbcRepository).release(eq("outbox-cleanup"), anyString(),
+                eq(clusterJobRunner.getInstanceId()));
+        verify(scheduledJobLeaseJdbcRepository, never()).complete(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void runSharded_StartsAtOwnPositionAndRunsFreeShards() {
+        when(scheduledJobLeaseJdbcRepository.findLiveInstances(30L))
+                .thenReturn(List.of("a", clusterJobRunner.getInstanceId()));
+        // Shard 0 sudah diambil replika lain
+        when(scheduledJobLeaseJdbcRepository.tryAcquire(anyString(), anyString(), anyString(), anyLong()))
+                .thenAnswer(invocation -> !"low-stock-reconcile#0/4".equals(invocation.getArgument(0)));
+        List<Integer> shards = new ArrayList<>();
+
+        int executed = clusterJobRunner.runSharded("low-stock-reconcile", DAILY, 4,
+                (shard, shardCount) -> shards.add(shard));
+
+        assertEquals(3, executed);
+        assertEquals(List.of(2, 3, 1), shards);
+    }
+
+    @Test
+    void previousFireTime_LateTriggerKeepsScheduledSlot() {
+        CronExpression cron = CronExpression.parse(DAILY);
+
+        assertEquals(LocalDateTime.of(2025, 3, 10, 2, 0),
+                ClusterJobRunner.previousFireTime(cron, LocalDateTime.of(2025, 3, 10, 2, 0, 7)));
+        assertEquals(LocalDateTime.of(2025, 3, 9, 2, 0),
+                ClusterJobRunner.previousFireTime(cron, LocalDateTime.of(2025, 3, 10, 1, 59)));
+    }
+
+    @Test
+    void idRange_CoversAllIdsWithoutOverlap() {
+        assertArrayEquals(new long[] { 1, 3 }, ClusterJobRunner.idRange(1, 10, 0, 4));
+        assertArrayEquals(new long[] { 4, 6 }, ClusterJobRunner.idRange(1, 10, 1, 4));
+        assertArrayEquals(new long[] { 7, 9 }, ClusterJobRunner.idRange(1, 10, 2, 4));
+        assertArrayEquals(new long[] { 10, 10 }, ClusterJobRunner.idRange(1, 10, 3, 4));
+    }
+}
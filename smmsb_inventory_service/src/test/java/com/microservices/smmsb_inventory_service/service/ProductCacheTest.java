@@ -0,0 +1,101 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.microservices.smmsb_inventory_service.dto.CacheStatsDto;
+import com.microservices.smmsb_inventory_service.dto.ProductStockDto;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.ProductCacheInvalidationEvent;
+import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductCacheTest {
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @InjectMocks
+    private ProductCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productCache, "maxSize", 2);
+        ReflectionTestUtils.setField(productCache, "ttlMs", 60000L);
+    }
+
+    @Test
+    void get_ReturnsCachedValueAndCountsHits() {
+        ProductStockDto dto = new ProductStockDto();
+        productCache.put(1L, dto, productCache.currentGeneration());
+
+        assertSame(dto, productCache.get(1L));
+        assertNull(productCache.get(2L));
+
+        CacheStatsDto stats = productCache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsedWhenFull() {
+        long generation = productCache.currentGeneration();
+        productCache.put(1L, new ProductStockDto(), generation);
+        productCache.put(2L, new ProductStockDto(), generation);
+        productCache.get(1L);
+        productCache.put(3L, new ProductStockDto(), generation);
+
+        assertNotNull(productCache.get(1L));
+        assertNull(productCache.get(2L));
+        assertEquals(1, productCache.stats().getEvictions());
+    }
+
+    @Test
+    void get_ExpiresEntriesAfterTtl() {
+        ReflectionTestUtils.setField(productCache, "ttlMs", -1L);
+        productCache.put(1L, new ProductStockDto(), productCache.currentGeneration());
+
+        assertNull(productCache.get(1L));
+        assertEquals(1, productCache.stats().getExpirations());
+    }
+
+    @Test
+    void put_IgnoresReadStartedBeforeInvalidation() {
+        long generation = productCache.currentGeneration();
+        productCache.evictAfterCommit(List.of(1L));
+        productCache.put(1L, new ProductStockDto(), generation);
+
+        assertNull(productCache.get(1L));
+    }
+
+    @Test
+    void evictAfterCommit_BroadcastsToOtherReplicas() {
+        productCache.put(1L, new ProductStockDto(), productCache.currentGeneration());
+
+        productCache.evictAfterCommit(List.of(1L));
+
+        assertNull(productCache.get(1L));
+        verify(kafkaProducer).sendProductCacheInvalidationEvent(any(ProductCacheInvalidationEvent.class));
+    }
+
+    @Test
+    void evictFromBroadcast_IgnoresOwnMessages() {
+        productCache.put(1L, new ProductStockDto(), productCache.currentGeneration());
+
+        productCache.evictFromBroadcast(new ProductCacheInvalidationEvent(productCache.getInstanceId(), List.of(1L)));
+        assertNotNull(productCache.get(1L));
+
+        productCache.evictFromBroadcast(new ProductCacheInvalidationEvent("other-replica", List.of(1L)));
+        assertNull(productCache.get(1L));
+    }
+}
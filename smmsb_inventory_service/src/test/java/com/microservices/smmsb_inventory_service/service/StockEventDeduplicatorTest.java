@@ -0,0 +1,81 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.microservices.smmsb_inventory_service.dto.DedupStatsDto;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
+import com.microservices.smmsb_inventory_service.repository.ProcessedStockEventJdbcRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class StockEventDeduplicatorTest {
+
+    @Mock
+    private ProcessedStockEventJdbcRepository processedStockEventJdbcRepository;
+
+    @InjectMocks
+    private StockEventDeduplicator stockEventDeduplicator;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockEventDeduplicator, "recentMaxSize", 100);
+    }
+
+    @Test
+    void claim_SecondDeliveryIsDroppedWithoutQuery() {
+        UpdateProductStockEvent event = event("evt-1");
+        when(processedStockEventJdbcRepository.claim("evt-1")).thenReturn(true);
+
+        assertTrue(stockEventDeduplicator.claim(event));
+        assertFalse(stockEventDeduplicator.claim(event));
+
+        verify(processedStockEventJdbcRepository, times(1)).claim("evt-1");
+        DedupStatsDto stats = stockEventDeduplicator.stats();
+        assertEquals(2, stats.getChecked());
+        assertEquals(1, stats.getDuplicatesInMemory());
+    }
+
+    @Test
+    void claim_IdAlreadyInDatabase_IsDropped() {
+        when(processedStockEventJdbcRepository.claim("evt-1")).thenReturn(false);
+
+        assertFalse(stockEventDeduplicator.claim(event("evt-1")));
+        assertEquals(1, stockEventDeduplicator.stats().getDuplicatesInDatabase());
+    }
+
+    @Test
+    void claim_WithoutEventId_IsAlwaysApplied() {
+        assertTrue(stockEventDeduplicator.claim(event(null)));
+        verifyNoInteractions(processedStockEventJdbcRepository);
+    }
+
+    @Test
+    void claimAll_KeepsOrderAndDropsDuplicates() {
+        when(processedStockEventJdbcRepository.claimAll(anyCollection())).thenReturn(Set.of("evt-1", "evt-3"));
+        UpdateProductStockEvent first = event("evt-1");
+        UpdateProductStockEvent legacy = event(null);
+        UpdateProductStockEvent third = event("evt-3");
+
+        List<UpdateProductStockEvent> fresh = stockEventDeduplicator.claimAll(
+                List.of(first, event("evt-1"), event("evt-2"), legacy, third));
+
+        assertEquals(List.of(first, legacy, third), fresh);
+        verify(processedStockEventJdbcRepository).claimAll(Set.of("evt-1", "evt-2", "evt-3"));
+    }
+
+    private UpdateProductStockEvent event(String eventId) {
+        return new UpdateProductStockEvent(10L, 1L, 1, 500L, eventId);
+    }
+}
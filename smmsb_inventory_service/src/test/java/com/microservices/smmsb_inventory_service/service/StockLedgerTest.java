@@ -0,0 +1,76 @@
+package com.microservices.smmsb_inventory_service.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository.StockRowConsumer;
+
+@ExtendWith(MockitoExtension.class)
+public class StockLedgerTest {
+
+    @Mock
+    private ProductStockJdbcRepository productStockJdbcRepository;
+
+    @InjectMocks
+    private StockLedger stockLedger;
+
+    @Test
+    void reloadAll_RereadsRowChangedWhileSnapshotWasRead() {
+        when(productStockJdbcRepository.streamQuantitiesAfterId(eq(0L), anyInt(), any())).thenAnswer(invocation -> {
+            StockRowConsumer consumer = invocation.getArgument(2);
+            consumer.accept(1L, 10, false);
+            return 1L;
+        });
+        doReturn(1L).when(productStockJdbcRepository).streamQuantitiesAfterId(eq(1L), anyInt(), any());
+        // Pengurangan commit setelah halaman dibaca: nilai terbarunya diambil ulang setelah snapshot dipasang
+        stubUpdatedSince(1L, 7);
+
+        stockLedger.reloadAll();
+
+        assertEquals(7, stockLedger.getQuantity(1L).getAsInt());
+    }
+
+    @Test
+    void reloadAll_DoesNotCountLocalDeltaTwice() {
+        stockLedger.setQuantity(1L, 10);
+        when(productStockJdbcRepository.streamQuantitiesAfterId(eq(0L), anyInt(), any())).thenAnswer(invocation -> {
+            // Commit sudah terlihat oleh query, callback after-commit-nya datang saat snapshot dibaca
+            stockLedger.applyDelta(1L, -3);
+            StockRowConsumer consumer = invocation.getArgument(2);
+            consumer.accept(1L, 7, false);
+            return 1L;
+        });
+        doReturn(1L).when(productStockJdbcRepository).streamQuantitiesAfterId(eq(1L), anyInt(), any());
+        stubUpdatedSince(1L, 7);
+
+        stockLedger.reloadAll();
+
+        assertEquals(7, stockLedger.getQuantity(1L).getAsInt());
+    }
+
+    @Test
+    void reloadAll_KeepsProductCreatedAfterLastPage() {
+        when(productStockJdbcRepository.streamQuantitiesAfterId(eq(0L), anyInt(), any())).thenReturn(0L);
+        stubUpdatedSince(5L, 4);
+
+        stockLedger.reloadAll();
+
+        assertEquals(4, stockLedger.getQuantity(5L).getAsInt());
+    }
+
+    private void stubUpdatedSince(long productId, int quantity) {
+        doAnswer(invocation -> {
+            StockRowConsumer consumer = invocation.getArgument(1);
+            consumer.accept(productId, quantity, false);
+            return null;
+        }).when(productStockJdbcRepository).streamQuantitiesUpdatedSince(any(), any());
+    }
+}
@@ -0,0 +1,68 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.microservices.smmsb_inventory_service.dto.InventorySummaryDto;
+import com.microservices.smmsb_inventory_service.repository.InventorySummaryJdbcRepository;
+import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class InventorySummaryServiceImplTest {
+
+    @Mock
+    private InventorySummaryJdbcRepository inventorySummaryJdbcRepository;
+
+    @Mock
+    private MessageUtils messageUtils;
+
+    @InjectMocks
+    private InventorySummaryServiceImpl inventorySummaryService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventorySummaryService, "lowStockThreshold", 10);
+        ReflectionTestUtils.setField(inventorySummaryService, "shards", 16);
+    }
+
+    @Test
+    void getSummary_ReadsShardTotals() {
+        when(inventorySummaryJdbcRepository.findSummary()).thenReturn(summary(3, new BigDecimal("150000.00"), 1));
+
+        InventorySummaryDto result = (InventorySummaryDto) inventorySummaryService.getSummary().getData();
+
+        assertEquals(3, result.getProductCount());
+        assertEquals(10, result.getLowStockThreshold());
+        verify(inventorySummaryJdbcRepository, never()).computeFromProducts(anyInt());
+    }
+
+    @Test
+    void reconcile_LocksShardsBeforeRecomputing() {
+        InventorySummaryDto actual = summary(4, new BigDecimal("175000.00"), 2);
+        when(inventorySummaryJdbcRepository.findSummary()).thenReturn(summary(3, new BigDecimal("150000.00"), 1));
+        when(inventorySummaryJdbcRepository.computeFromProducts(10)).thenReturn(actual);
+
+        inventorySummaryService.reconcile();
+
+        InOrder inOrder = inOrder(inventorySummaryJdbcRepository);
+        inOrder.verify(inventorySummaryJdbcRepository).lockAllShards();
+        inOrder.verify(inventorySummaryJdbcRepository).computeFromProducts(10);
+        inOrder.verify(inventorySummaryJdbcRepository).overwrite(actual, 16);
+    }
+
+    private InventorySummaryDto summary(long products, BigDecimal value, long lowStock) {
+        return new InventorySummaryDto(products, products * 10, value, lowStock, 0, 0, null);
+    }
+}
@@ -0,0 +1,127 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.LowStockAlertEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.LowStockDigestEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_inventory_service.model.ProductStock;
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
+
+@ExtendWith(MockitoExtension.class)
+public class LowStockAlertServiceImplTest {
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    @Mock
+    private ProductStockJdbcRepository productStockJdbcRepository;
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @InjectMocks
+    private LowStockAlertServiceImpl lowStockAlertService;
+
+    private ProductStock product;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lowStockAlertService, "threshold", 10);
+        ReflectionTestUtils.setField(lowStockAlertService, "alertCooldownHours", 24);
+        ReflectionTestUtils.setField(lowStockAlertService, "digestMaxItems", 500);
+        product = ProductStock.builder().id(1L).productName("Oli Mesin").quantity(4).build();
+    }
+
+    @Test
+    void onStockDecreased_OnlyFlagsTransition() {
+        when(productStockRepository.markLowStock(1L, 10)).thenReturn(1);
+
+        lowStockAlertService.onStockDecreased(1L);
+
+        // Alert tidak dikirim langsung, transisi menunggu digest berikutnya
+        verifyNoInteractions(kafkaProducer);
+    }
+
+    @Test
+    void onStockDecreased_BatchFlagsInOneCall() {
+        when(productStockJdbcRepository.batchMarkLowStock(List.of(1L, 2L), 10)).thenReturn(new int[] { 1, 0 });
+
+        lowStockAlertService.onStockDecreased(List.of(1L, 2L));
+
+        verify(productStockJdbcRepository).batchMarkLowStock(List.of(1L, 2L), 10);
+        verifyNoInteractions(kafkaProducer);
+    }
+
+    @Test
+    void onStockChanged_ClearsFlagWhenRestocked() {
+        when(productStockRepository.markLowStock(1L, 10)).thenReturn(0);
+        when(productStockRepository.clearLowStock(1L, 10)).thenReturn(1);
+
+        lowStockAlertService.onStockChanged(1L);
+
+        verifyNoInteractions(kafkaProducer);
+    }
+
+    @Test
+    void reconcile_FlagsMissedTransitionsWithoutSending() {
+        when(productStockRepository.findByIsDeletedFalseAndIsLowStockFalseAndQuantityLessThanAndIdBetween(10, 1L, 50L))
+                .thenReturn(List.of(product));
+        when(productStockRepository.findByIsDeletedFalseAndIsLowStockTrueAndQuantityGreaterThanEqualAndIdBetween(10, 1L, 50L))
+                .thenReturn(List.of());
+
+        lowStockAlertService.reconcile(1L, 50L);
+
+        verify(productStockRepository).markLowStock(1L, 10);
+        verifyNoInteractions(kafkaProducer);
+    }
+
+    @Test
+    void sendDigest_CollapsesRunIntoOneEvent() {
+        when(productStockJdbcRepository.claimLowStockDigest(any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(500))).thenReturn(new ArrayList<>(List.of(
+                        new LowStockAlertEvent(1L, 0, "Oli Mesin", null),
+                        new LowStockAlertEvent(2L, 4, "Busi", null))));
+
+        lowStockAlertService.sendDigest();
+
+        ArgumentCaptor<LowStockDigestEvent> digest = ArgumentCaptor.forClass(LowStockDigestEvent.class);
+        verify(kafkaProducer, times(1)).sendLowStockDigestEvent(digest.capture());
+        assertEquals(2, digest.getValue().getItems().size());
+        assertEquals(10, digest.getValue().getThreshold());
+        ArgumentCaptor<NotificationEvent> notification = ArgumentCaptor.forClass(NotificationEvent.class);
+        verify(kafkaProducer, times(1)).sendNotificationEvent(notification.capture());
+        assertTrue(notification.getValue().getMessage().contains("Oli Mesin (0), Busi (4)"));
+    }
+
+    @Test
+    void sendDigest_AppliesCooldownWindow() {
+        when(productStockJdbcRepository.claimLowStockDigest(any(LocalDateTime.class), any(LocalDateTime.class),
+                anyInt())).thenReturn(new ArrayList<>());
+
+        lowStockAlertService.sendDigest();
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(productStockJdbcRepository).claimLowStockDigest(now.capture(), cutoff.capture(), eq(500));
+        assertEquals(now.getValue().minusHours(24), cutoff.getValue());
+        verifyNoInteractions(kafkaProducer);
+    }
+}
@@ -0,0 +1,99 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_inventory_service.dto.ProductExportRowDto;
+import com.microservices.smmsb_inventory_service.exception.BadRequestException;
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository;
+import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductExportServiceImplTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+
+    @Mock
+    private ProductStockJdbcRepository productStockJdbcRepository;
+
+    @Mock
+    private MessageUtils messageUtils;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductExportServiceImpl productExportService;
+
+    @BeforeEach
+    void setUp() {
+        productExportService = new ProductExportServiceImpl(productStockJdbcRepository, new ObjectMapper(),
+                messageUtils, transactionManager);
+        ReflectionTestUtils.setField(productExportService, "fetchSize", 250);
+    }
+
+    @Test
+    void exportProducts_Csv_StreamsEscapedRows() throws Exception {
+        stubCatalog(new ProductExportRowDto(1L, "Oli \"Super\", 1L", null, 5, new BigDecimal("55000.00"), TIME, TIME));
+
+        String output = export("csv");
+
+        assertEquals("id,productName,description,quantity,price,createdAt,updatedAt\n"
+                + "1,\"Oli \"\"Super\"\", 1L\",,5,55000.00,2025-01-02T03:04:05,2025-01-02T03:04:05\n", output);
+        verify(productStockJdbcRepository).streamCatalog(eq(250), any());
+        // Cursor dibaca di dalam transaksi read-only
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void exportProducts_Ndjson_WritesOneObjectPerLine() throws Exception {
+        stubCatalog(new ProductExportRowDto(1L, "Busi", "Busi standar", 7, new BigDecimal("1E+3"), TIME, TIME),
+                new ProductExportRowDto(2L, "Rantai", "Rantai motor", 3, new BigDecimal("90000"), TIME, TIME));
+
+        String[] lines = export("ndjson").split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"productName\":\"Busi\""));
+        assertTrue(lines[0].contains("\"price\":1000"));
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+    }
+
+    @Test
+    void exportProducts_UnsupportedFormat_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> productExportService.exportProducts("xlsx"));
+        verifyNoInteractions(productStockJdbcRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCatalog(ProductExportRowDto... rows) {
+        doAnswer(invocation -> {
+            Consumer<ProductExportRowDto> consumer = invocation.getArgument(1);
+            for (ProductExportRowDto row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(productStockJdbcRepository).streamCatalog(anyInt(), any(Consumer.class));
+    }
+
+    private String export(String format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        productExportService.exportProducts(format).writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
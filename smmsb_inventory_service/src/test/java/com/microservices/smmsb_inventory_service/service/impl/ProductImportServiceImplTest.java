@@ -0,0 +1,169 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_inventory_service.dto.ImportResultDto;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_inventory_service.exception.BadRequestException;
+import com.microservices.smmsb_inventory_service.model.ProductStock;
+import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.service.LowStockAlertService;
+import com.microservices.smmsb_inventory_service.service.StockLedger;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
+import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
+import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductImportServiceImplTest {
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private LowStockAlertService lowStockAlertService;
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @Mock
+    private MessageUtils messageUtils;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StockMovementService stockMovementService;
+
+    private ProductImportServiceImpl productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productImportService = new ProductImportServiceImpl(productStockRepository, stockLedger,
+                lowStockAlertService, kafkaProducer, messageUtils,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), transactionTemplate,
+                stockMovementService);
+        ReflectionTestUtils.setField(productImportService, "chunkSize", 500);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Id", "7");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(productStockRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ProductStock> products = invocation.getArgument(0);
+            long id = 100;
+            for (ProductStock product : products) {
+                product.setId(id++);
+            }
+            return products;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void importProducts_Csv_InsertsNewRowsAndReportsTheRest() {
+        when(productStockRepository.findExistingProductNames(anyList())).thenReturn(List.of("Busi"));
+        String csv = "productName,description,quantity,price\n"
+                + "\"Oli Mesin, 1L\",Oli,20,55000\n"
+                + "Busi,Busi standar,10,15000\n"
+                + "\"Oli Mesin, 1L\",Duplikat,5,55000\n"
+                + "Kampas Rem,,3,40000\n"
+                + "Rantai,Rantai motor,abc,90000\n";
+
+        ImportResultDto result = (ImportResultDto) productImportService
+                .importProducts(stream(csv), "text/csv").getData();
+
+        assertEquals(5, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getSkipped());
+        assertEquals(2, result.getFailed());
+        assertEquals(4, result.getErrors().size());
+
+        ArgumentCaptor<List<ProductStock>> saved = ArgumentCaptor.forClass(List.class);
+        verify(productStockRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals("Oli Mesin, 1L", saved.getValue().get(0).getProductName());
+        assertEquals(7L, saved.getValue().get(0).getCreatedBy());
+        verify(stockLedger).setQuantity(100L, 20);
+        verify(stockMovementService).record(anyList());
+        verify(lowStockAlertService).onStockDecreased(List.of(100L));
+        verify(kafkaProducer, times(1)).sendNotificationEvent(any(NotificationEvent.class));
+    }
+
+    @Test
+    void importProducts_Ndjson_LooksUpNamesOncePerChunk() {
+        ReflectionTestUtils.setField(productImportService, "chunkSize", 2);
+        when(productStockRepository.findExistingProductNames(anyList())).thenReturn(List.of());
+        String ndjson = "{\"productName\":\"A\",\"description\":\"a\",\"quantity\":1,\"price\":100}\n"
+                + "{\"productName\":\"B\",\"description\":\"b\",\"quantity\":2,\"price\":200}\n"
+                + "\n"
+                + "{\"productName\":\"C\",\"description\":\"c\",\"quantity\":3,\"price\":300}\n";
+
+        ImportResultDto result = (ImportResultDto) productImportService
+                .importProducts(stream(ndjson), "application/x-ndjson").getData();
+
+        assertEquals(3, result.getImported());
+        verify(productStockRepository, times(2)).findExistingProductNames(anyList());
+        verify(productStockRepository, times(2)).saveAll(anyList());
+        verify(kafkaProducer, times(1)).sendNotificationEvent(any(NotificationEvent.class));
+    }
+
+    @Test
+    void importProducts_UnsupportedFormat_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> productImportService.importProducts(stream("[]"), "application/json"));
+        verifyNoInteractions(productStockRepository, kafkaProducer);
+    }
+
+    @Test
+    void importProducts_MissingCsvColumn_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> productImportService.importProducts(stream("productName,price\nA,1\n"), "text/csv"));
+        verifyNoInteractions(productStockRepository);
+    }
+
+    @Test
+    void splitCsvLine_HandlesQuotedValues() {
+        assertEquals(List.of("Oli \"Super\"", "a,b", ""),
+                ProductImportServiceImpl.splitCsvLine("\"Oli \"\"Super\"\"\",\"a,b\","));
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,103 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.microservices.smmsb_inventory_service.dto.StockAsOfDto;
+import com.microservices.smmsb_inventory_service.exception.BadRequestException;
+import com.microservices.smmsb_inventory_service.exception.ResourceNotFoundException;
+import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.repository.StockMovementJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.StockMovementJdbcRepository.Checkpoint;
+import com.microservices.smmsb_inventory_service.repository.StockMovementJdbcRepository.MovementSum;
+import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class StockMovementServiceImplTest {
+
+    @Mock
+    private StockMovementJdbcRepository stockMovementJdbcRepository;
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    @Mock
+    private MessageUtils messageUtils;
+
+    @InjectMocks
+    private StockMovementServiceImpl stockMovementService;
+
+    @Test
+    void getStockAsOf_AddsMovementsSinceLatestCheckpoint() {
+        LocalDateTime asOf = LocalDateTime.of(2025, 3, 10, 14, 0);
+        LocalDateTime checkpointAt = LocalDateTime.of(2025, 3, 10, 0, 0);
+        when(productStockRepository.existsById(1L)).thenReturn(true);
+        when(stockMovementJdbcRepository.findLatestCheckpoint(1L, asOf))
+                .thenReturn(Optional.of(new Checkpoint(checkpointAt, 40)));
+        when(stockMovementJdbcRepository.sumMovements(1L, checkpointAt, asOf)).thenReturn(new MovementSum(-7, 3));
+
+        StockAsOfDto result = (StockAsOfDto) stockMovementService.getStockAsOf(1L, asOf).getData();
+
+        assertEquals(33, result.getQuantity());
+        assertEquals(checkpointAt, result.getCheckpointAt());
+        assertEquals(3, result.getMovementsApplied());
+    }
+
+    @Test
+    void getStockAsOf_WithoutCheckpoint_SumsWholeLedger() {
+        LocalDateTime asOf = LocalDateTime.of(2025, 3, 10, 14, 0);
+        when(productStockRepository.existsById(1L)).thenReturn(true);
+        when(stockMovementJdbcRepository.findLatestCheckpoint(1L, asOf)).thenReturn(Optional.empty());
+        when(stockMovementJdbcRepository.sumMovements(1L, null, asOf)).thenReturn(new MovementSum(12, 2));
+
+        StockAsOfDto result = (StockAsOfDto) stockMovementService.getStockAsOf(1L, asOf).getData();
+
+        assertEquals(12, result.getQuantity());
+        assertNull(result.getCheckpointAt());
+    }
+
+    @Test
+    void getStockAsOf_FutureTimestamp_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> stockMovementService.getStockAsOf(1L, LocalDateTime.now().plusDays(1)));
+        verifyNoInteractions(stockMovementJdbcRepository);
+    }
+
+    @Test
+    void getStockAsOf_UnknownProduct_ThrowsNotFound() {
+        when(productStockRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> stockMovementService.getStockAsOf(99L, LocalDateTime.of(2025, 1, 1, 0, 0)));
+    }
+
+    @Test
+    void getMovementHistory_InvertedRange_ThrowsBadRequest() {
+        LocalDateTime from = LocalDateTime.of(2025, 3, 10, 0, 0);
+
+        assertThrows(BadRequestException.class,
+                () -> stockMovementService.getMovementHistory(1L, from, from.minusDays(1), 100));
+    }
+
+    @Test
+    void getMovementHistory_CapsPageSize() {
+        LocalDateTime from = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 3, 10, 0, 0);
+        when(stockMovementJdbcRepository.findHistory(1L, from, to, 500)).thenReturn(List.of());
+
+        stockMovementService.getMovementHistory(1L, from, to, 10_000);
+
+        verify(stockMovementJdbcRepository).findHistory(eq(1L), eq(from), eq(to), eq(500));
+    }
+}
@@ -0,0 +1,305 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.microservices.smmsb_inventory_service.dto.StockMovementDto;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockLine;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.StockReservationResultEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
+import com.microservices.smmsb_inventory_service.model.StockMovementType;
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.StockReservationJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.StockReservationJdbcRepository.Reservation;
+import com.microservices.smmsb_inventory_service.service.LowStockAlertService;
+import com.microservices.smmsb_inventory_service.service.ProductCache;
+import com.microservices.smmsb_inventory_service.service.StockLedger;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
+import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
+
+@ExtendWith(MockitoExtension.class)
+public class StockReservationServiceImplTest {
+
+    @Mock
+    private StockReservationJdbcRepository stockReservationJdbcRepository;
+
+    @Mock
+    private ProductStockJdbcRepository productStockJdbcRepository;
+
+    @Mock
+    private StockMovementService stockMovementService;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private LowStockAlertService lowStockAlertService;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private StockReservationServiceImpl stockReservationService;
+
+    @BeforeEach
+    void setUp() {
+        stockReservationService = new StockReservationServiceImpl(stockReservationJdbcRepository,
+                productStockJdbcRepository, stockMovementService, stockLedger, lowStockAlertService, productCache,
+                kafkaProducer, transactionTemplate);
+        ReflectionTestUtils.setField(stockReservationService, "ttlSeconds", 120L);
+        ReflectionTestUtils.setField(stockReservationService, "expireBatchSize", 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void hold_InsertsReservationsAndReportsReserved() {
+        stockReservationService.hold(List.of(
+                new UpdateProductStockEvent(10L, 1L, 3, 501L, "evt-1"),
+                // Producer lama tanpa transactionId: penjualan langsung, tanpa reservasi
+                new UpdateProductStockEvent(11L, 2L, 1, null, null)));
+
+        ArgumentCaptor<Collection<Reservation>> reservations = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<LocalDateTime> createdAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(stockReservationJdbcRepository).batchInsert(reservations.capture(), createdAt.capture(),
+                expiresAt.capture());
+        assertEquals(List.of(new Reservation(501L, 1L, 10L, 3, null)), List.copyOf(reservations.getValue()));
+        assertEquals(createdAt.getValue().plusSeconds(120), expiresAt.getValue());
+        verify(kafkaProducer).sendStockReservationResultEvent(argThat(event -> event.getTransactionId() == 501L
+                && StockReservationResultEvent.RESERVED.equals(event.getStatus())));
+    }
+
+    @Test
+    void hold_WithoutTransactionIds_DoesNothing() {
+        stockReservationService.hold(List.of(new UpdateProductStockEvent(11L, 2L, 1, null, null)));
+
+        verifyNoInteractions(stockReservationJdbcRepository, kafkaProducer);
+    }
+
+    @Test
+    void reject_ReportsReasonToTransactionService() {
+        stockReservationService.reject(new UpdateProductStockEvent(10L, 1L, 50, 502L, "evt-2"),
+                StockUpdateServiceImpl.REASON_INSUFFICIENT_STOCK);
+
+        verify(kafkaProducer).sendStockReservationResultEvent(argThat(event ->
+                StockReservationResultEvent.REJECTED.equals(event.getStatus())
+                        && StockUpdateServiceImpl.REASON_INSUFFICIENT_STOCK.equals(event.getReason())));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void cancel_ReturnsStockWithReturnMovement() {
+        when(stockReservationJdbcRepository.cancel(eq(501L), eq(1L), any()))
+                .thenReturn(Optional.of(new Reservation(501L, 1L, 10L, 3, null)));
+
+        assertTrue(stockReservationService.cancel(501L, 1L));
+
+        verify(productStockJdbcRepository).batchIncrementStock(Map.of(1L, 3));
+        verify(stockLedger).applyDelta(1L, 3);
+        verify(lowStockAlertService).onStockChanged(1L);
+        ArgumentCaptor<List<StockMovementDto>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockMovementService).record(movements.capture());
+        assertEquals(StockMovementType.RETURN, movements.getValue().get(0).getMovementType());
+        assertEquals(3, movements.getValue().get(0).getQuantityDelta());
+        assertEquals(501L, movements.getValue().get(0).getTransactionId());
+        verify(productCache).evictAfterCommit(argThat(ids -> ids.contains(1L)));
+        verifyNoInteractions(kafkaProducer);
+    }
+
+    @Test
+    void cancel_NotPending_ReturnsNothing() {
+        when(stockReservationJdbcRepository.cancel(eq(501L), eq(1L), any())).thenReturn(Optional.empty());
+
+        assertFalse(stockReservationService.cancel(501L, 1L));
+
+        verifyNoInteractions(productStockJdbcRepository, stockMovementService, stockLedger);
+    }
+
+    @Test
+    void confirm_NotPendingOrExpired_ReturnsFalse() {
+        when(stockReservationJdbcRepository.confirm(eq(501L), eq(1L), any())).thenReturn(0);
+        when(stockReservationJdbcRepository.lockExpired(501L, 1L)).thenReturn(Optional.empty());
+
+        assertFalse(stockReservationService.confirm(501L, 1L));
+
+        verifyNoInteractions(productStockJdbcRepository, stockMovementService, stockLedger);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void confirm_AfterExpiry_ReacquiresStock() {
+        Reservation reservation = new Reservation(501L, 1L, 10L, 3, null);
+        when(stockReservationJdbcRepository.confirm(eq(501L), eq(1L), any())).thenReturn(0);
+        when(stockReservationJdbcRepository.lockExpired(501L, 1L)).thenReturn(Optional.of(reservation));
+        when(productStockJdbcRepository.batchDecrementStock(Map.of(1L, 3))).thenReturn(new int[] { 1 });
+
+        assertTrue(stockReservationService.confirm(501L, 1L));
+
+        verify(stockReservationJdbcRepository).confirmExpired(eq(List.of(reservation)), any());
+        ArgumentCaptor<List<StockMovementDto>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockMovementService).record(movements.capture());
+        assertEquals(StockMovementType.SALE, movements.getValue().get(0).getMovementType());
+        assertEquals(-3, movements.getValue().get(0).getQuantityDelta());
+        verify(stockLedger).applyDelta(1L, -3);
+        verify(lowStockAlertService).onStockDecreased(List.of(1L));
+        verify(productCache).evictAfterCommit(argThat(ids -> ids.contains(1L)));
+    }
+
+    @Test
+    void confirm_AfterExpiryWithoutStock_StaysExpired() {
+        when(stockReservationJdbcRepository.confirm(eq(501L), eq(1L), any())).thenReturn(0);
+        when(stockReservationJdbcRepository.lockExpired(501L, 1L))
+                .thenReturn(Optional.of(new Reservation(501L, 1L, 10L, 3, null)));
+        when(productStockJdbcRepository.batchDecrementStock(Map.of(1L, 3))).thenReturn(new int[] { 0 });
+
+        assertFalse(stockReservationService.confirm(501L, 1L));
+
+        verify(stockReservationJdbcRepository, never()).confirmExpired(any(), any());
+        verify(productStockJdbcRepository, never()).batchIncrementStock(any());
+        verifyNoInteractions(stockMovementService, stockLedger);
+    }
+
+    @Test
+    void expireDue_DrainsFullBatchesAndReportsExpired() {
+        when(stockReservationJdbcRepository.claimExpired(any(), eq(2)))
+                .thenReturn(List.of(new Reservation(501L, 1L, 10L, 3, null), new Reservation(502L, 1L, 11L, 2, null)))
+                .thenReturn(List.of());
+
+        int expired = stockReservationService.expireDue();
+
+        assertEquals(2, expired);
+        verify(stockReservationJdbcRepository, times(2)).claimExpired(any(), eq(2));
+        // Stok satu produk dikembalikan sekaligus, ledger tetap satu RETURN per reservasi
+        verify(productStockJdbcRepository).batchIncrementStock(Map.of(1L, 5));
+        verify(stockLedger).applyDelta(1L, 5);
+        verify(lowStockAlertService).onStockChanged(1L);
+        verify(kafkaProducer, times(2)).sendStockReservationResultEvent(argThat(event ->
+                StockReservationResultEvent.EXPIRED.equals(event.getStatus())));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void holdOrder_InsertsAllLinesAndReportsOneResult() {
+        stockReservationService.holdOrder(new OrderStockEvent(900L, 10L, "evt-3", List.of(
+                new OrderStockLine(601L, 1L, 2), new OrderStockLine(602L, 2L, 4))));
+
+        ArgumentCaptor<Collection<Reservation>> reservations = ArgumentCaptor.forClass(Collection.class);
+        verify(stockReservationJdbcRepository).batchInsert(reservations.capture(), any(), any());
+        assertEquals(List.of(new Reservation(601L, 1L, 10L, 2, 900L), new Reservation(602L, 2L, 10L, 4, 900L)),
+                List.copyOf(reservations.getValue()));
+        verify(kafkaProducer, times(1)).sendStockReservationResultEvent(argThat(event ->
+                event.getOrderId() == 900L && event.getTransactionId() == null
+                        && StockReservationResultEvent.RESERVED.equals(event.getStatus())));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void expireDue_OrderLines_ExpireWholeOrderWithOneResult() {
+        when(stockReservationJdbcRepository.claimExpired(any(), eq(2))).thenReturn(List.of());
+        when(stockReservationJdbcRepository.findExpiredOrderIds(any(), eq(2))).thenReturn(List.of(900L));
+        when(stockReservationJdbcRepository.expireOrder(eq(900L), any())).thenReturn(List.of(
+                new Reservation(601L, 1L, 10L, 2, 900L), new Reservation(602L, 2L, 10L, 4, 900L)));
+
+        assertEquals(2, stockReservationService.expireDue());
+
+        // Baris order dikunci sebelum kedaluwarsa agar tidak balapan dengan confirm
+        InOrder inOrder = inOrder(stockReservationJdbcRepository);
+        inOrder.verify(stockReservationJdbcRepository).lockOrder(900L);
+        inOrder.verify(stockReservationJdbcRepository).expireOrder(eq(900L), any());
+        verify(productStockJdbcRepository).batchIncrementStock(Map.of(1L, 2, 2L, 4));
+        verify(stockLedger).applyDelta(1L, 2);
+        verify(stockLedger).applyDelta(2L, 4);
+        ArgumentCaptor<List<StockMovementDto>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockMovementService).record(movements.capture());
+        assertTrue(movements.getValue().stream()
+                .allMatch(movement -> movement.getMovementType() == StockMovementType.RETURN));
+        verify(kafkaProducer, times(1)).sendStockReservationResultEvent(argThat(event ->
+                event.getOrderId() == 900L && StockReservationResultEvent.EXPIRED.equals(event.getStatus())));
+    }
+
+    @Test
+    void expireDue_OrderConfirmedWhileLocking_ReportsNothing() {
+        when(stockReservationJdbcRepository.claimExpired(any(), eq(2))).thenReturn(List.of());
+        when(stockReservationJdbcRepository.findExpiredOrderIds(any(), eq(2))).thenReturn(List.of(900L));
+        // Confirm memegang lock lebih dulu; setelah lock dilepas tidak ada baris PENDING lagi
+        when(stockReservationJdbcRepository.expireOrder(eq(900L), any())).thenReturn(List.of());
+
+        assertEquals(0, stockReservationService.expireDue());
+
+        verifyNoInteractions(productStockJdbcRepository, stockLedger, kafkaProducer);
+    }
+
+    @Test
+    void confirmOrder_AfterExpiry_ReacquiresStockOfAllLines() {
+        List<Reservation> lines = List.of(new Reservation(601L, 1L, 10L, 2, 900L),
+                new Reservation(602L, 2L, 10L, 4, 900L));
+        when(stockReservationJdbcRepository.confirmOrder(eq(900L), any())).thenReturn(0);
+        when(stockReservationJdbcRepository.lockExpiredOrder(900L)).thenReturn(lines);
+        when(productStockJdbcRepository.batchDecrementStock(Map.of(1L, 2, 2L, 4))).thenReturn(new int[] { 1, 1 });
+
+        assertTrue(stockReservationService.confirmOrder(900L));
+
+        verify(stockReservationJdbcRepository).lockOrder(900L);
+        verify(stockReservationJdbcRepository).confirmExpired(eq(lines), any());
+        verify(stockLedger).applyDelta(1L, -2);
+        verify(stockLedger).applyDelta(2L, -4);
+    }
+
+    @Test
+    void confirmOrder_AfterExpiryPartialStock_RestoresAndStaysExpired() {
+        when(stockReservationJdbcRepository.confirmOrder(eq(900L), any())).thenReturn(0);
+        when(stockReservationJdbcRepository.lockExpiredOrder(900L)).thenReturn(List.of(
+                new Reservation(601L, 1L, 10L, 2, 900L), new Reservation(602L, 2L, 10L, 4, 900L)));
+        when(productStockJdbcRepository.batchDecrementStock(Map.of(1L, 2, 2L, 4))).thenReturn(new int[] { 1, 0 });
+
+        assertFalse(stockReservationService.confirmOrder(900L));
+
+        // Produk yang sempat berkurang dikembalikan, reservasi tetap EXPIRED
+        verify(productStockJdbcRepository).batchIncrementStock(Map.of(1L, 2));
+        verify(stockReservationJdbcRepository, never()).confirmExpired(any(), any());
+        verifyNoInteractions(stockLedger, stockMovementService);
+    }
+
+    @Test
+    void cancelOrder_ReturnsStockOfAllPendingLines() {
+        when(stockReservationJdbcRepository.cancelOrder(eq(900L), any())).thenReturn(List.of(
+                new Reservation(601L, 1L, 10L, 2, 900L), new Reservation(602L, 2L, 10L, 4, 900L)));
+
+        assertTrue(stockReservationService.cancelOrder(900L));
+
+        verify(stockReservationJdbcRepository).lockOrder(900L);
+        verify(productStockJdbcRepository).batchIncrementStock(Map.of(1L, 2, 2L, 4));
+        verify(stockLedger).applyDelta(1L, 2);
+        verify(stockLedger).applyDelta(2L, 4);
+        verify(lowStockAlertService).onStockChanged(1L);
+        verify(lowStockAlertService).onStockChanged(2L);
+    }
+}
@@ -0,0 +1,266 @@
+package com.microservices.smmsb_inventory_service.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.microservices.smmsb_inventory_service.dto.StockMovementDto;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.OrderStockLine;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.StockUpdateRejectedEvent;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
+import com.microservices.smmsb_inventory_service.model.StockMovementType;
+import com.microservices.smmsb_inventory_service.repository.ProductStockJdbcRepository;
+import com.microservices.smmsb_inventory_service.repository.ProductStockRepository;
+import com.microservices.smmsb_inventory_service.service.LowStockAlertService;
+import com.microservices.smmsb_inventory_service.service.ProductCache;
+import com.microservices.smmsb_inventory_service.service.StockEventDeduplicator;
+import com.microservices.smmsb_inventory_service.service.StockLedger;
+import com.microservices.smmsb_inventory_service.service.StockMovementService;
+import com.microservices.smmsb_inventory_service.service.StockReservationService;
+import com.microservices.smmsb_inventory_service.service.kafka.KafkaProducer;
+import com.microservices.smmsb_inventory_service.utils.MessageUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class StockUpdateServiceImplTest {
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    @Mock
+    private ProductStockJdbcRepository productStockJdbcRepository;
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private LowStockAlertService lowStockAlertService;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private StockMovementService stockMovementService;
+
+    @Mock
+    private StockEventDeduplicator stockEventDeduplicator;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private MessageUtils messageUtils;
+
+    @InjectMocks
+    private StockUpdateServiceImpl stockUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(stockEventDeduplicator.claim(any())).thenReturn(true);
+        lenient().when(stockEventDeduplicator.claimId(any())).thenReturn(true);
+        lenient().when(stockEventDeduplicator.claimAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void applyStockUpdate_Success() {
+        when(productStockRepository.decrementStock(1L, 3)).thenReturn(1);
+
+        UpdateProductStockEvent event = new UpdateProductStockEvent(10L, 1L, 3, 501L, null);
+        boolean result = stockUpdateService.applyStockUpdate(event);
+
+        assertTrue(result);
+        // Stok yang sudah dikurangi ditahan sebagai reservasi sampai Transaction Service mengonfirmasi
+        verify(stockReservationService).hold(List.of(event));
+        verify(stockLedger).applyDelta(1L, -3);
+        verify(lowStockAlertService).onStockDecreased(1L);
+        verify(productCache).evictAfterCommit(List.of(1L));
+        ArgumentCaptor<List<StockMovementDto>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockMovementService).record(movements.capture());
+        StockMovementDto movement = movements.getValue().get(0);
+        assertEquals(StockMovementType.SALE, movement.getMovementType());
+        assertEquals(-3, movement.getQuantityDelta());
+        assertEquals(501L, movement.getTransactionId());
+        verify(productStockRepository, never()).findById(anyLong());
+        verify(productStockRepository, never()).save(any());
+        verifyNoInteractions(kafkaProducer);
+    }
+
+    @Test
+    void applyStockUpdate_InsufficientStock() {
+        when(productStockRepository.decrementStock(1L, 50)).thenReturn(0);
+        when(productStockRepository.existsByIdAndIsDeletedFalse(1L)).thenReturn(true);
+
+        boolean result = stockUpdateService.applyStockUpdate(new UpdateProductStockEvent(10L, 1L, 50, 502L, null));
+
+        assertFalse(result);
+        verify(stockLedger, never()).applyDelta(anyLong(), anyInt());
+        verifyNoInteractions(stockMovementService);
+        ArgumentCaptor<StockUpdateRejectedEvent> captor = ArgumentCaptor.forClass(StockUpdateRejectedEvent.class);
+        verify(kafkaProducer).sendStockUpdateRejectedEvent(captor.capture());
+        assertEquals(StockUpdateServiceImpl.REASON_INSUFFICIENT_STOCK, captor.getValue().getReason());
+        verify(kafkaProducer).sendNotificationEvent(any(NotificationEvent.class));
+        verify(stockReservationService).reject(any(UpdateProductStockEvent.class),
+                eq(StockUpdateServiceImpl.REASON_INSUFFICIENT_STOCK));
+        verify(stockReservationService, never()).hold(anyList());
+    }
+
+    @Test
+    void applyStockUpdate_ProductNotFound() {
+        when(productStockRepository.decrementStock(99L, 1)).thenReturn(0);
+        when(productStockRepository.existsByIdAndIsDeletedFalse(99L)).thenReturn(false);
+
+        boolean result = stockUpdateService.applyStockUpdate(new UpdateProductStockEvent(10L, 99L, 1, 503L, null));
+
+        assertFalse(result);
+        ArgumentCaptor<StockUpdateRejectedEvent> captor = ArgumentCaptor.forClass(StockUpdateRejectedEvent.class);
+        verify(kafkaProducer).sendStockUpdateRejectedEvent(captor.capture());
+        assertEquals(StockUpdateServiceImpl.REASON_PRODUCT_NOT_FOUND, captor.getValue().getReason());
+    }
+
+    @Test
+    void applyStockUpdate_InvalidQuantity() {
+        boolean result = stockUpdateService.applyStockUpdate(new UpdateProductStockEvent(10L, 1L, 0, 504L, null));
+
+        assertFalse(result);
+        verify(productStockRepository, never()).decrementStock(anyLong(), anyInt());
+        verify(kafkaProducer).sendStockUpdateRejectedEvent(any(StockUpdateRejectedEvent.class));
+    }
+
+    @Test
+    void applyStockUpdates_CoalescesPerProduct() {
+        when(productStockJdbcRepository.batchDecrementStock(Map.of(1L, 5, 2L, 1))).thenReturn(new int[] { 1, 1 });
+
+        int applied = stockUpdateService.applyStockUpdates(List.of(
+                new UpdateProductStockEvent(10L, 1L, 2, 505L, null),
+                new UpdateProductStockEvent(11L, 2L, 1, 506L, null),
+                new UpdateProductStockEvent(12L, 1L, 3, 507L, null)));
+
+        assertEquals(3, applied);
+        verify(stockLedger).applyDelta(1L, -5);
+        verify(stockLedger).applyDelta(2L, -1);
+        // Satu baris SALE per event, bukan per produk, agar tiap transaksi tetap bisa ditelusuri
+        ArgumentCaptor<List<StockMovementDto>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockMovementService).record(movements.capture());
+        assertEquals(3, movements.getValue().size());
+        verify(lowStockAlertService).onStockDecreased(List.of(1L, 2L));
+        verify(productCache).evictAfterCommit(List.of(1L, 2L));
+        ArgumentCaptor<List<UpdateProductStockEvent>> held = ArgumentCaptor.forClass(List.class);
+        verify(stockReservationService).hold(held.capture());
+        assertEquals(3, held.getValue().size());
+        verify(productStockRepository, never()).decrementStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void applyStockUpdates_FallsBackPerEventWhenTotalExceedsStock() {
+        when(productStockJdbcRepository.batchDecrementStock(Map.of(1L, 8))).thenReturn(new int[] { 0 });
+        when(productStockRepository.decrementStock(1L, 5)).thenReturn(1);
+        when(productStockRepository.decrementStock(1L, 3)).thenReturn(0);
+        when(productStockRepository.existsByIdAndIsDeletedFalse(1L)).thenReturn(true);
+
+        int applied = stockUpdateService.applyStockUpdates(List.of(
+                new UpdateProductStockEvent(10L, 1L, 5, 508L, null),
+                new UpdateProductStockEvent(11L, 1L, 3, 509L, null)));
+
+        assertEquals(1, applied);
+        verify(kafkaProducer).sendStockUpdateRejectedEvent(any(StockUpdateRejectedEvent.class));
+    }
+
+    @Test
+    void applyStockUpdate_DuplicateEvent_IsSkipped() {
+        UpdateProductStockEvent event = new UpdateProductStockEvent(10L, 1L, 3, 500L, "evt-1");
+        when(stockEventDeduplicator.claim(event)).thenReturn(false);
+
+        boolean result = stockUpdateService.applyStockUpdate(event);
+
+        assertFalse(result);
+        verifyNoInteractions(productStockRepository, stockLedger, stockMovementService, kafkaProducer);
+    }
+
+    @Test
+    void applyStockUpdates_AppliesOnlyClaimedEvents() {
+        UpdateProductStockEvent fresh = new UpdateProductStockEvent(11L, 2L, 1, 501L, "evt-2");
+        when(stockEventDeduplicator.claimAll(anyList())).thenReturn(List.of(fresh));
+        when(productStockJdbcRepository.batchDecrementStock(Map.of(2L, 1))).thenReturn(new int[] { 1 });
+
+        int applied = stockUpdateService.applyStockUpdates(List.of(
+                new UpdateProductStockEvent(10L, 1L, 2, 500L, "evt-1"), fresh));
+
+        assertEquals(1, applied);
+        verify(stockLedger).applyDelta(2L, -1);
+        verify(stockLedger, never()).applyDelta(eq(1L), anyInt());
+    }
+
+    @Test
+    void applyStockUpdates_FallbackDoesNotClaimAgain() {
+        when(productStockJdbcRepository.batchDecrementStock(Map.of(1L, 8))).thenReturn(new int[] { 0 });
+        when(productStockRepository.decrementStock(1L, 5)).thenReturn(1);
+        when(productStockRepository.decrementStock(1L, 3)).thenReturn(1);
+
+        int applied = stockUpdateService.applyStockUpdates(List.of(
+                new UpdateProductStockEvent(10L, 1L, 5, 500L, "evt-1"),
+                new UpdateProductStockEvent(11L, 1L, 3, 501L, "evt-2")));
+
+        assertEquals(2, applied);
+        verify(stockEventDeduplicator, never()).claim(any());
+    }
+
+    @Test
+    void applyOrderStockUpdate_ReservesAllLinesInOneBatch() {
+        OrderStockEvent event = new OrderStockEvent(900L, 10L, "evt-9", List.of(
+                new OrderStockLine(601L, 2L, 1), new OrderStockLine(602L, 1L, 4)));
+        when(productStockJdbcRepository.batchDecrementStock(Map.of(1L, 4, 2L, 1))).thenReturn(new int[] { 1, 1 });
+
+        assertTrue(stockUpdateService.applyOrderStockUpdate(event));
+
+        verify(stockLedger).applyDelta(1L, -4);
+        verify(stockLedger).applyDelta(2L, -1);
+        ArgumentCaptor<List<StockMovementDto>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockMovementService).record(movements.capture());
+        assertEquals(2, movements.getValue().size());
+        assertEquals(601L, movements.getValue().get(0).getTransactionId());
+        verify(stockReservationService).holdOrder(event);
+        verify(productStockJdbcRepository, never()).batchIncrementStock(any());
+        verify(productStockRepository, never()).decrementStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void applyOrderStockUpdate_OneLineShort_RestoresOthersAndRejectsOrder() {
+        OrderStockEvent event = new OrderStockEvent(900L, 10L, "evt-9", List.of(
+                new OrderStockLine(601L, 1L, 2), new OrderStockLine(602L, 2L, 50)));
+        when(productStockJdbcRepository.batchDecrementStock(Map.of(1L, 2, 2L, 50))).thenReturn(new int[] { 1, 0 });
+        when(productStockRepository.existsByIdAndIsDeletedFalse(2L)).thenReturn(true);
+
+        assertFalse(stockUpdateService.applyOrderStockUpdate(event));
+
+        // Baris yang sempat dikurangi dikembalikan di transaksi yang sama
+        verify(productStockJdbcRepository).batchIncrementStock(Map.of(1L, 2));
+        verify(stockReservationService).rejectOrder(event, 2L, StockUpdateServiceImpl.REASON_INSUFFICIENT_STOCK);
+        verify(stockReservationService, never()).holdOrder(any());
+        verifyNoInteractions(stockLedger, stockMovementService);
+    }
+
+    @Test
+    void applyOrderStockUpdate_DuplicateEvent_IsSkipped() {
+        when(stockEventDeduplicator.claimId("evt-9")).thenReturn(false);
+
+        assertFalse(stockUpdateService.applyOrderStockUpdate(new OrderStockEvent(900L, 10L, "evt-9",
+                List.of(new OrderStockLine(601L, 1L, 2)))));
+
+        verifyNoInteractions(productStockJdbcRepository, stockReservationService);
+    }
+}
@@ -0,0 +1,111 @@
+package com.microservices.smmsb_inventory_service.service.kafka;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.microservices.smmsb_inventory_service.config.KafkaConsumerConfig;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.UpdateProductStockEvent;
+import com.microservices.smmsb_inventory_service.service.StockUpdateService;
+
+@ExtendWith(MockitoExtension.class)
+public class KafkaBatchConsumerTest {
+
+    private static final String TOPIC = "update-product-stock";
+
+    @Mock
+    private StockUpdateService stockUpdateService;
+
+    @InjectMocks
+    private KafkaBatchConsumer kafkaBatchConsumer;
+
+    private final UpdateProductStockEvent first = new UpdateProductStockEvent(10L, 1L, 2, 501L, "evt-1");
+    private final UpdateProductStockEvent broken = new UpdateProductStockEvent(10L, 2L, 1, 502L, "evt-2");
+    private final UpdateProductStockEvent last = new UpdateProductStockEvent(10L, 3L, 1, 503L, "evt-3");
+
+    @Test
+    void listenUpdateStockEvents_BatchFails_AppliesEventsBeforeFailureAndReportsIndex() {
+        List<UpdateProductStockEvent> events = List.of(first, broken, last);
+        when(stockUpdateService.applyStockUpdates(events)).thenThrow(new IllegalStateException("bad row"));
+        when(stockUpdateService.applyStockUpdate(first)).thenReturn(true);
+        when(stockUpdateService.applyStockUpdate(broken)).thenThrow(new IllegalStateException("bad row"));
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> kafkaBatchConsumer.listenUpdateStockEvents(events));
+
+        assertEquals(1, exception.getIndex());
+        verify(stockUpdateService).applyStockUpdate(first);
+        // Event setelah yang gagal dikirim ulang oleh error handler, bukan diproses di sini
+        verify(stockUpdateService, never()).applyStockUpdate(last);
+    }
+
+    @Test
+    void listenUpdateStockEvents_UndeserializableEvent_ReportsItsIndex() {
+        List<UpdateProductStockEvent> events = Arrays.asList(first, null);
+        when(stockUpdateService.applyStockUpdates(events)).thenThrow(new NullPointerException());
+        when(stockUpdateService.applyStockUpdate(first)).thenReturn(true);
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> kafkaBatchConsumer.listenUpdateStockEvents(events));
+
+        assertEquals(1, exception.getIndex());
+    }
+
+    @Test
+    void batchErrorHandler_CommitsEventsBeforeFailedIndexAndRedeliversTheRest() {
+        KafkaConsumerConfig config = new KafkaConsumerConfig();
+        ReflectionTestUtils.setField(config, "maxPollRecords", 500);
+        ReflectionTestUtils.setField(config, "stockListenerConcurrency", 1);
+        ReflectionTestUtils.setField(config, "stockRetryIntervalMs", 0L);
+        ReflectionTestUtils.setField(config, "stockRetryAttempts", 2L);
+        @SuppressWarnings("unchecked")
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        CommonErrorHandler errorHandler = (CommonErrorHandler) ReflectionTestUtils.getField(
+                config.batchKafkaListenerContainerFactory(kafkaTemplate), "commonErrorHandler");
+
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        ConsumerRecords<?, ?> records = new ConsumerRecords<>(Map.of(partition, List.of(
+                new ConsumerRecord<>(TOPIC, 0, 10L, "1", first),
+                new ConsumerRecord<>(TOPIC, 0, 11L, "2", broken),
+                new ConsumerRecord<>(TOPIC, 0, 12L, "3", last))));
+        @SuppressWarnings("unchecked")
+        Consumer<String, Object> consumer = mock(Consumer.class);
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        ContainerProperties containerProperties = new ContainerProperties(TOPIC);
+        containerProperties.setAckMode(ContainerProperties.AckMode.BATCH);
+        when(container.getContainerProperties()).thenReturn(containerProperties);
+
+        // Handler melempar ulang agar container tahu batch belum selesai
+        assertThrows(RuntimeException.class, () -> errorHandler.handleBatch(
+                new BatchListenerFailedException("bad row", 1), records, consumer, container, () -> {
+                }));
+
+        // Event pertama sudah commit di transaksinya sendiri: offset-nya ikut di-commit
+        verify(consumer).commitSync(eq(Map.of(partition, new OffsetAndMetadata(11L))), any());
+        // Event yang gagal dan sesudahnya dibaca ulang pada poll berikutnya
+        verify(consumer).seek(partition, 11L);
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+    }
+}
@@ -0,0 +1,125 @@
+package com.microservices.smmsb_inventory_service.service.kafka;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_inventory_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_inventory_service.model.OutboxEvent;
+import com.microservices.smmsb_inventory_service.repository.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate, new ObjectMapper(), transactionTemplate);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 3);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 10);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMs", 1000L);
+        lenient().when(outboxEventRepository.tryLockRelay()).thenReturn(true);
+    }
+
+    @Test
+    void relayBatch_AnotherRelayHoldsLock_SendsNothing() {
+        when(outboxEventRepository.tryLockRelay()).thenReturn(false);
+
+        assertFalse(outboxRelay.relayBatch());
+
+        verify(outboxEventRepository, never()).lockNextBatch(anyInt(), anyInt());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void relayBatch_SendsInOrderAndMarksAllSent() {
+        when(outboxEventRepository.lockNextBatch(10, 3)).thenReturn(List.of(event(1L), event(2L)));
+        when(kafkaTemplate.send(eq("notificationTopic"), isNull(), any(NotificationEvent.class)))
+                .thenReturn(sent());
+
+        boolean more = outboxRelay.relayBatch();
+
+        assertFalse(more);
+        verify(kafkaTemplate, times(2)).send(eq("notificationTopic"), isNull(), any(NotificationEvent.class));
+        verify(outboxEventRepository).markSent(eq(List.of(1L, 2L)), any());
+        verify(outboxEventRepository, never()).markFailed(anyLong(), any());
+    }
+
+    @Test
+    void relayBatch_PermanentFailure_MarksOnlyPrefixSent() {
+        when(outboxEventRepository.lockNextBatch(10, 3)).thenReturn(List.of(event(1L), event(2L), event(3L)));
+        when(kafkaTemplate.send(eq("notificationTopic"), isNull(), any(NotificationEvent.class)))
+                .thenReturn(sent(), CompletableFuture.failedFuture(new RecordTooLargeException("too large")), sent());
+
+        outboxRelay.relayBatch();
+
+        // Event 3 dikirim ulang pada putaran berikutnya agar tidak mendahului event 2
+        verify(outboxEventRepository).markSent(eq(List.of(1L)), any());
+        verify(outboxEventRepository).markFailed(2L, "too large");
+    }
+
+    @Test
+    void relayBatch_BrokerUnavailable_DoesNotCountAttempt() {
+        when(outboxEventRepository.lockNextBatch(10, 3)).thenReturn(List.of(event(1L), event(2L)));
+        when(kafkaTemplate.send(eq("notificationTopic"), isNull(), any(NotificationEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("metadata timeout")));
+
+        outboxRelay.relayBatch();
+
+        // Gagal langsung: event kedua tidak dicoba
+        verify(kafkaTemplate, times(1)).send(anyString(), any(), any());
+        verify(outboxEventRepository, never()).markFailed(anyLong(), any());
+        verify(outboxEventRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void relayBatch_UnknownEventType_IsNotDeserialized() {
+        OutboxEvent event = event(1L);
+        event.setEventType("java.lang.ProcessBuilder");
+        when(outboxEventRepository.lockNextBatch(10, 3)).thenReturn(List.of(event));
+
+        outboxRelay.relayBatch();
+
+        verifyNoInteractions(kafkaTemplate);
+        verify(outboxEventRepository).markFailed(eq(1L), contains("Unexpected event type"));
+    }
+
+    private OutboxEvent event(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("notificationTopic")
+                .eventType(NotificationEvent.class.getName())
+                .payload("{\"userId\":1,\"message\":\"Produk " + id + "\",\"type\":\"Create\"}")
+                .build();
+    }
+
+    private CompletableFuture<SendResult<String, Object>> sent() {
+        return CompletableFuture.completedFuture(new SendResult<>(null, null));
+    }
+}
@@ -0,0 +1,39 @@
+package com.microservices.smmsb_inventory_service.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.microservices.smmsb_inventory_service.model.ProductStock;
+
+public class ProductStockCursorTest {
+
+    @Test
+    void encodeDecode_RoundTripsSortKeyAndId() {
+        ProductStock last = ProductStock.builder().id(42L).productName("Ban | Tubeless").price(new BigDecimal("150000.50"))
+                .build();
+
+        String token = ProductStockCursor.first(Sort.by(Sort.Direction.DESC, "productName")).next(last).encode();
+        ProductStockCursor decoded = ProductStockCursor.decode(token);
+
+        assertEquals("productName", decoded.getProperty());
+        assertEquals(Sort.Direction.DESC, decoded.getDirection());
+        assertEquals(42L, decoded.getLastId());
+        assertEquals("Ban | Tubeless", decoded.getLastValue());
+        assertEquals(Sort.by(Sort.Direction.DESC, "productName").and(Sort.by(Sort.Direction.DESC, "id")),
+                decoded.toSort());
+    }
+
+    @Test
+    void first_RejectsUnsupportedSortProperty() {
+        assertThrows(IllegalArgumentException.class, () -> ProductStockCursor.first(Sort.by("description")));
+    }
+
+    @Test
+    void decode_RejectsMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> ProductStockCursor.decode("bm90LWEtY3Vyc29y"));
+    }
+}
@@ -3,6 +3,7 @@ package com.microservices.smmsb_notofication_service.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
@@ -19,6 +20,11 @@ import java.util.Map;
 @Configuration
 public class KafkaConsumerConfig {
 
+    // notificationTopic di-key dengan userId: notifikasi satu user tetap berurutan, user berbeda diproses paralel.
+    // Samakan dengan jumlah partisi notificationTopic.
+    @Value("${application.kafka.notification-listener.concurrency:6}")
+    private int notificationListenerConcurrency;
+
     @Bean
     public ConsumerFactory<String, NotificationEvent> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
@@ -47,6 +53,7 @@ public class KafkaConsumerConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         factory.setBatchListener(false); // Sesuaikan jika ingin menggunakan batch processing
+        factory.setConcurrency(notificationListenerConcurrency);
         return factory;
     }
 }
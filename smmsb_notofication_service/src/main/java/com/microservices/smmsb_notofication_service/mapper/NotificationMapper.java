@@ -0,0 +1,20 @@
+package com.microservices.smmsb_notofication_service.mapper;
+
+import com.microservices.smmsb_notofication_service.dto.NotificationDto;
+import com.microservices.smmsb_notofication_service.model.Notification;
+
+// Mapping eksplisit tanpa refleksi; output JSON sama dengan ModelMapper (lihat NotificationMapperTest)
+public final class NotificationMapper {
+
+   private NotificationMapper() {
+   }
+
+   public static NotificationDto toDto(Notification notification) {
+      NotificationDto dto = new NotificationDto();
+      dto.setId(notification.getId());
+      dto.setUserId(notification.getUserId());
+      dto.setMessage(notification.getMessage());
+      dto.setType(notification.getType());
+      return dto;
+   }
+}
@@ -3,7 +3,6 @@ package com.microservices.smmsb_notofication_service.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +13,7 @@ import org.springframework.stereotype.Service;
 import com.microservices.smmsb_notofication_service.dto.NotificationDto;
 import com.microservices.smmsb_notofication_service.dto.response.ApiDataResponseBuilder;
 import com.microservices.smmsb_notofication_service.dto.response.ListResponse;
+import com.microservices.smmsb_notofication_service.mapper.NotificationMapper;
 import com.microservices.smmsb_notofication_service.model.Notification;
 import com.microservices.smmsb_notofication_service.repository.NotificationRepository;
 import com.microservices.smmsb_notofication_service.service.NotificationService;
@@ -24,14 +24,12 @@ import com.microservices.smmsb_notofication_service.utils.NotificationSpecificat
 public class NotificationServiceImpl implements NotificationService {
 
    private final NotificationRepository notificationRepository;
-   private final ModelMapper modelMapper;
    private final MessageUtils messageUtils;
 
    @Autowired
-   public NotificationServiceImpl(NotificationRepository notificationRepository, ModelMapper modelMapper,
+   public NotificationServiceImpl(NotificationRepository notificationRepository,
          MessageUtils messageUtils) {
       this.notificationRepository = notificationRepository;
-      this.modelMapper = modelMapper;
       this.messageUtils = messageUtils;
    }
 
@@ -39,7 +37,7 @@ public class NotificationServiceImpl implements NotificationService {
    public ApiDataResponseBuilder getNotificationById(Long id) {
       Notification notification = notificationRepository.findById(id)
               .orElseThrow(() -> new RuntimeException(messageUtils.getMessage("notification.not.found")));
-      NotificationDto notificationDto = modelMapper.map(notification, NotificationDto.class);
+      NotificationDto notificationDto = NotificationMapper.toDto(notification);
       return ApiDataResponseBuilder.builder()
               .data(notificationDto)
               .message(messageUtils.getMessage("notification.retrive.success"))
@@ -65,8 +63,8 @@ public class NotificationServiceImpl implements NotificationService {
 
          Page<Notification> notifications = notificationRepository.findAll(spec, pageable);
 
-         List<NotificationDto> notificationDtos = notifications.getContent().stream().map(
-               notification -> modelMapper.map(notification, NotificationDto.class)).collect(Collectors.toList());
+         List<NotificationDto> notificationDtos = notifications.getContent().stream()
+               .map(NotificationMapper::toDto).collect(Collectors.toList());
 
          return new ListResponse<>(
                notificationDtos, messageUtils.getMessage("notification.retrive.success"), HttpStatus.OK.value(),
@@ -0,0 +1,6 @@
+-- Filter message get-all (LIKE '%teks%') butuh index GIN trigram; ddl-auto hanya membuat index btree.
+-- Jika user database tidak boleh membuat extension, minta DBA menjalankan statement pertama sebelum deploy.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_message_trgm
+    ON notifications USING gin (message gin_trgm_ops);
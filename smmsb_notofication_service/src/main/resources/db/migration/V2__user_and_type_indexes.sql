@@ -0,0 +1,5 @@
+-- Filter hasUserId; notifikasi broadcast (user_id null) tidak pernah dicari per user, jadi tidak diindex
+CREATE INDEX IF NOT EXISTS idx_notifications_user_id ON notifications (user_id, id) WHERE user_id IS NOT NULL;
+
+-- Filter hasType
+CREATE INDEX IF NOT EXISTS idx_notifications_type ON notifications (type, id);
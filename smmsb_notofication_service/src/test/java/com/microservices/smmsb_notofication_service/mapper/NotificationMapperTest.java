@@ -0,0 +1,42 @@
+package com.microservices.smmsb_notofication_service.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_notofication_service.dto.NotificationDto;
+import com.microservices.smmsb_notofication_service.model.Notification;
+
+// Memastikan mapper eksplisit menghasilkan JSON yang sama dengan ModelMapper sebelumnya
+public class NotificationMapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void toDto_ProducesSameJsonAsModelMapper() throws Exception {
+        Notification notification = Notification.builder()
+                .id(3L)
+                .userId(200L)
+                .message("Produk Kampas Rem berhasil ditambahkan")
+                .type("Create")
+                .createdAt(LocalDateTime.of(2025, 1, 1, 8, 0))
+                .build();
+
+        assertEquals(objectMapper.writeValueAsString(modelMapper.map(notification, NotificationDto.class)),
+                objectMapper.writeValueAsString(NotificationMapper.toDto(notification)));
+    }
+
+    @Test
+    void toDto_HandlesNullUserId() throws Exception {
+        Notification notification = Notification.builder().id(4L).message("Stok rendah").type("LOW_STOCK_ALERT")
+                .build();
+
+        assertEquals(objectMapper.writeValueAsString(modelMapper.map(notification, NotificationDto.class)),
+                objectMapper.writeValueAsString(NotificationMapper.toDto(notification)));
+    }
+}
@@ -13,7 +13,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -37,9 +36,6 @@ public class NotificationServiceImplTest {
     @Mock
     private NotificationRepository notificationRepository;
 
-    @Mock
-    private ModelMapper modelMapper;
-
     @Mock
     private MessageUtils messageUtils;
 
@@ -80,7 +76,6 @@ public class NotificationServiceImplTest {
         when(messageUtils.getMessage("notification.retrive.success")).thenReturn(successMessage);
 
         when(notificationRepository.findById(notificationId)).thenReturn(Optional.of(notification));
-        when(modelMapper.map(notification, NotificationDto.class)).thenReturn(notificationDto);
 
         // When
         ApiDataResponseBuilder response = notificationService.getNotificationById(notificationId);
@@ -92,7 +87,6 @@ public class NotificationServiceImplTest {
         assertEquals(notificationDto, response.getData());
         
         verify(notificationRepository).findById(notificationId);
-        verify(modelMapper).map(notification, NotificationDto.class);
     }
 
     @Test
@@ -108,7 +102,6 @@ public class NotificationServiceImplTest {
         
         assertEquals(notFoundMessage, exception.getMessage());
         verify(notificationRepository).findById(notificationId);
-        verify(modelMapper, never()).map(any(), any());
     }
 
     @SuppressWarnings("unchecked")
@@ -121,7 +114,6 @@ public class NotificationServiceImplTest {
         Page<Notification> page = new PageImpl<>(notifications, pageable, notifications.size());
         
         when(notificationRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
-        when(modelMapper.map(notification, NotificationDto.class)).thenReturn(notificationDto);
 
         // When
         ListResponse<NotificationDto> response = notificationService.getAllNotifications(pageable, null, null, null);
@@ -134,7 +126,6 @@ public class NotificationServiceImplTest {
         assertEquals(notificationDto, response.getData().get(0));
         
         verify(notificationRepository).findAll(any(Specification.class), eq(pageable));
-        verify(modelMapper).map(notification, NotificationDto.class);
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -147,7 +138,6 @@ public class NotificationServiceImplTest {
         Page<Notification> page = new PageImpl<>(notifications, pageable, notifications.size());
         
         when(notificationRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
-        when(modelMapper.map(notification, NotificationDto.class)).thenReturn(notificationDto);
 
         // When
         ListResponse<NotificationDto> response = notificationService.getAllNotifications(pageable, userId, type, message);
@@ -165,7 +155,6 @@ public class NotificationServiceImplTest {
         
         // We can't easily test the exact specification content, but we can verify it was called
         assertNotNull(specCaptor.getValue());
-        verify(modelMapper).map(notification, NotificationDto.class);
     }
 
     @SuppressWarnings("unchecked")
@@ -188,6 +177,5 @@ public class NotificationServiceImplTest {
         assertTrue(response.getData().isEmpty());
         
         verify(notificationRepository).findAll(any(Specification.class), eq(pageable));
-        verify(modelMapper, never()).map(any(), any()); // ModelMapper should not be called for empty list
     }
 }
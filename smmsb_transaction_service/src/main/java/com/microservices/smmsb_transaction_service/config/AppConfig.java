@@ -1,14 +1,66 @@
 package com.microservices.smmsb_transaction_service.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
-    
+
+    // Batas koneksi per host; panggilan yang melebihi pool menunggu paling lama pool-wait-ms
+    @Value("${application.http-client.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${application.http-client.max-connections-total:50}")
+    private int maxConnectionsTotal;
+
+    @Value("${application.http-client.connect-timeout-ms:1000}")
+    private long connectTimeoutMs;
+
+    @Value("${application.http-client.read-timeout-ms:2000}")
+    private long readTimeoutMs;
+
+    @Value("${application.http-client.pool-wait-ms:500}")
+    private long poolWaitMs;
+
+    // Koneksi keep-alive yang menganggur lebih lama dari ini ditutup, sebelum sempat diputus oleh server/LB
+    @Value("${application.http-client.idle-timeout-seconds:30}")
+    private long idleTimeoutSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnPerRoute(maxConnectionsPerRoute)
+                        .setMaxConnTotal(maxConnectionsTotal)
+                        .setDefaultConnectionConfig(connectionConfig)
+                        .build())
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleTimeoutSeconds))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
 }
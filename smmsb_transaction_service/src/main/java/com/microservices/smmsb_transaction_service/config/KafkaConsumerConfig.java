@@ -0,0 +1,90 @@
+package com.microservices.smmsb_transaction_service.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.ProductChangedEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationResultEvent;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    // Thread consumer stock-reservation-result per instance (total semua replika <= jumlah partisi topic)
+    @Value("${application.kafka.stock-reservation-listener.concurrency:3}")
+    private int stockReservationConcurrency;
+
+    // Setiap instance butuh seluruh katalog, jadi masing-masing memakai consumer group sendiri (bukan berbagi
+    // partisi dengan instance lain). Offset group tidak dipakai; posisi baca diatur oleh ProductChangedConsumer.
+    @Bean
+    public ConsumerFactory<String, ProductChangedEvent> productChangedConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9082");
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, "transaction-product-catalog-" + UUID.randomUUID());
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+
+        config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.microservices.smmsb_transaction_service.dto.kafkaEvent");
+        config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(),
+                new JsonDeserializer<>(ProductChangedEvent.class));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductChangedEvent>
+    productChangedListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ProductChangedEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(productChangedConsumerFactory());
+        factory.setBatchListener(false);
+        return factory;
+    }
+
+    // Hasil reservasi stok: satu group untuk semua instance, partisi dibagi (key transactionId)
+    @Bean
+    public ConsumerFactory<String, StockReservationResultEvent> stockReservationResultConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9082");
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, "transaction-group");
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+
+        config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.microservices.smmsb_transaction_service.dto.kafkaEvent");
+        config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(),
+                new JsonDeserializer<>(StockReservationResultEvent.class));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, StockReservationResultEvent>
+    stockReservationResultListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, StockReservationResultEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(stockReservationResultConsumerFactory());
+        factory.setConcurrency(stockReservationConcurrency);
+        return factory;
+    }
+}
@@ -4,6 +4,7 @@ import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
@@ -22,6 +23,23 @@ public class KafkaProducerConfig {
     private static final String KAFKA_BROKER = "localhost:9082";
     private static final String UPDATE_PRODUCT_STOCK = "update-product-stock";
     private static final String NOTIFICATION_EVENT = "notificationTopic";
+    private static final String STOCK_RESERVATION_DECISION = "stock-reservation-decision";
+    private static final String ORDER_STOCK_RESERVATION = "order-stock-reservation";
+
+    // Pesan dikirim dengan key (productId / userId), jadi urutan per key tetap terjaga di satu partisi sementara
+    // consumer bisa berjalan paralel sebanyak jumlah partisi. Partisi hanya bisa ditambah: KafkaAdmin menambah
+    // partisi topic lama saat startup, dan sejak itu sebagian key pindah partisi.
+    @Value("${application.kafka.topics.update-product-stock.partitions:6}")
+    private int updateProductStockPartitions;
+
+    @Value("${application.kafka.topics.notification.partitions:6}")
+    private int notificationPartitions;
+
+    @Value("${application.kafka.topics.stock-reservation.partitions:6}")
+    private int stockReservationPartitions;
+
+    @Value("${application.kafka.topics.replication-factor:1}")
+    private short replicationFactor;
 
     // Konfigurasi Producer
     @Bean
@@ -54,11 +72,21 @@ public class KafkaProducerConfig {
 
     @Bean
     public NewTopic createTopic() {
-       return new NewTopic(UPDATE_PRODUCT_STOCK, 1, (short) 1); // 1 partition, 1 replication factor
+       return new NewTopic(UPDATE_PRODUCT_STOCK, updateProductStockPartitions, replicationFactor);
     }
     
     @Bean
     public NewTopic createNotificationTopic() {
-       return new NewTopic(NOTIFICATION_EVENT, 1, (short) 1); // 1 partition, 1 replication factor
+       return new NewTopic(NOTIFICATION_EVENT, notificationPartitions, replicationFactor);
+    }
+
+    @Bean
+    public NewTopic createStockReservationDecisionTopic() {
+       return new NewTopic(STOCK_RESERVATION_DECISION, stockReservationPartitions, replicationFactor);
+    }
+
+    @Bean
+    public NewTopic createOrderStockReservationTopic() {
+       return new NewTopic(ORDER_STOCK_RESERVATION, stockReservationPartitions, replicationFactor);
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.microservices.smmsb_transaction_service.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pemeriksaan plan query repository yang paling sering dipanggil, hanya untuk dev
+ * (application.query-plan-check.enabled).
+ *
+ * Setiap query di-EXPLAIN dengan enable_seqscan=off, sehingga planner selalu memilih index jika ada index yang
+ * bisa dipakai; Seq Scan yang tetap muncul berarti query tersebut tidak punya index dan akan scan seluruh tabel
+ * di data produksi, walaupun tabel dev masih kecil. Hasilnya hanya di-log. Nilai literal di bawah hanya contoh,
+ * bentuk WHERE/ORDER BY harus mengikuti query aslinya.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.query-plan-check.enabled", havingValue = "true")
+public class QueryPlanChecker implements ApplicationRunner {
+
+   private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+   static {
+      QUERIES.put("TransactionSpesification.filterProductName",
+            "SELECT * FROM transactions WHERE product_name LIKE '%oli%' LIMIT 10");
+      QUERIES.put("Transactions by productId",
+            "SELECT * FROM transactions WHERE product_id = 1 ORDER BY created_at DESC LIMIT 10");
+      QUERIES.put("Transactions by userId",
+            "SELECT * FROM transactions WHERE user_id = 1 ORDER BY created_at DESC LIMIT 10");
+      QUERIES.put("TransactionRepository.findByOrderIdOrderByIdAsc",
+            "SELECT * FROM transactions WHERE order_id = 1 ORDER BY id");
+      QUERIES.put("OutboxEventRepository.lockNextBatch",
+            "SELECT * FROM outbox_event WHERE sent_at IS NULL AND attempts < 10 ORDER BY id LIMIT 100");
+   }
+
+   private final JdbcTemplate jdbcTemplate;
+   private final TransactionTemplate transactionTemplate;
+
+   @Autowired
+   public QueryPlanChecker(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+      this.jdbcTemplate = jdbcTemplate;
+      this.transactionTemplate = transactionTemplate;
+   }
+
+   @Override
+   public void run(ApplicationArguments args) {
+      List<String> seqScans = new ArrayList<>();
+      QUERIES.forEach((name, sql) -> {
+         try {
+            List<String> plan = explain(sql);
+            plan.stream().filter(line -> line.contains("Seq Scan"))
+                  .forEach(line -> seqScans.add(name + ": " + line.trim()));
+         } catch (DataAccessException e) {
+            log.warn("Query plan check failed for {} - Error: {}", name, e.getMessage());
+         }
+      });
+      if (seqScans.isEmpty()) {
+         log.info("Query plan check: {} repository queries use an index", QUERIES.size());
+      } else {
+         seqScans.forEach(scan -> log.warn("Query plan check: sequential scan in {}", scan));
+      }
+   }
+
+   private List<String> explain(String sql) {
+      return transactionTemplate.execute(status -> {
+         jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+         return jdbcTemplate.queryForList("EXPLAIN (COSTS OFF) " + sql, String.class);
+      });
+   }
+}
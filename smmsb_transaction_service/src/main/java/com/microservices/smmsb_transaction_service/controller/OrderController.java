@@ -0,0 +1,64 @@
+package com.microservices.smmsb_transaction_service.controller;
+
+import com.microservices.smmsb_transaction_service.dto.request.CreateOrderRequest;
+import com.microservices.smmsb_transaction_service.dto.response.ApiDataResponseBuilder;
+import com.microservices.smmsb_transaction_service.dto.response.MessageResponse;
+import com.microservices.smmsb_transaction_service.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Di bawah /api/v1/transactions agar ikut route Transaction Service di API Gateway
+@RestController
+@RequestMapping("/api/v1/transactions/orders")
+@Tag(name = "Order", description = "Endpoints for managing multi-product orders")
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @Autowired
+    public OrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @PostMapping("/create")
+    @Operation(summary = "Create a new order with multiple products", security = {
+            @SecurityRequirement(name = "Bearer Authentication"),
+            @SecurityRequirement(name = "X-Session-Id")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Order created successfully", content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    public ResponseEntity<MessageResponse> createOrder(@RequestBody CreateOrderRequest request,
+            HttpServletRequest httpServletRequest) {
+        MessageResponse response = orderService.createOrder(request, httpServletRequest);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/get-by-id/{id}")
+    @Operation(summary = "Get order with its lines by ID", security = {
+            @SecurityRequirement(name = "Bearer Authentication"),
+            @SecurityRequirement(name = "X-Session-Id")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order found", content = @Content(schema = @Schema(implementation = ApiDataResponseBuilder.class))),
+            @ApiResponse(responseCode = "404", description = "Order not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<ApiDataResponseBuilder> getOrderById(@PathVariable Long id) {
+        ApiDataResponseBuilder response = orderService.getOrderById(id);
+        return ResponseEntity.ok(response);
+    }
+}
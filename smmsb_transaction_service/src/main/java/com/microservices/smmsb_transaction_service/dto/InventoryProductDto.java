@@ -0,0 +1,21 @@
+package com.microservices.smmsb_transaction_service.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Data produk dari Inventory Service (get-by-id); field lain di response diabaikan
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class InventoryProductDto {
+   private Long id;
+   private String productName;
+   private Integer quantity;
+   private BigDecimal price;
+}
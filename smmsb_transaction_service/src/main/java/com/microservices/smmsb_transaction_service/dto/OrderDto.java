@@ -0,0 +1,20 @@
+package com.microservices.smmsb_transaction_service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.microservices.smmsb_transaction_service.model.TransactionStatus;
+
+import lombok.Data;
+
+@Data
+public class OrderDto {
+    private Long id;
+    private Long userId;
+    private TransactionStatus status;
+    private String cancelReason;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+    private List<TransactionDto> lines;
+}
@@ -3,6 +3,8 @@ package com.microservices.smmsb_transaction_service.dto;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.microservices.smmsb_transaction_service.model.TransactionStatus;
+
 import lombok.Data;
 
 @Data
@@ -14,6 +16,9 @@ public class TransactionDto {
     private BigDecimal price;
     private Integer quantity;
     private BigDecimal totalAmount;
+    private TransactionStatus status;
+    private String cancelReason;
+    private Long orderId;
     private LocalDateTime createdAt;
    
 }
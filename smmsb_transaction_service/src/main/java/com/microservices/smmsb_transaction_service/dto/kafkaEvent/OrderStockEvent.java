@@ -0,0 +1,20 @@
+package com.microservices.smmsb_transaction_service.dto.kafkaEvent;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Satu permintaan reservasi stok untuk seluruh baris order (topic order-stock-reservation); Inventory Service
+// mereservasi semua baris atau tidak sama sekali dan membalas satu StockReservationResultEvent dengan orderId
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStockEvent {
+    private Long orderId;
+    private Long userId;
+    // Id unik per event, dipakai inventory service untuk membuang event yang terkirim ulang
+    private String eventId;
+    private List<OrderStockLine> lines;
+}
@@ -0,0 +1,15 @@
+package com.microservices.smmsb_transaction_service.dto.kafkaEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Satu baris order pada OrderStockEvent; transactionId adalah id baris di tabel transactions
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStockLine {
+    private Long transactionId;
+    private Long productId;
+    private int quantity;
+}
@@ -0,0 +1,18 @@
+package com.microservices.smmsb_transaction_service.dto.kafkaEvent;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Data katalog terbaru satu produk dari Inventory Service (topic productChanged)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangedEvent {
+   private Long productId;
+   private String productName;
+   private BigDecimal price;
+   private boolean deleted;
+}
@@ -0,0 +1,21 @@
+package com.microservices.smmsb_transaction_service.dto.kafkaEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Keputusan atas reservasi stok di Inventory Service (topic stock-reservation-decision)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationDecisionEvent {
+
+    public static final String CONFIRM = "CONFIRM";
+    public static final String CANCEL = "CANCEL";
+
+    private Long transactionId;
+    private Long productId;
+    private String decision;     // CONFIRM, CANCEL
+    // Terisi untuk keputusan atas seluruh baris order; transactionId dan productId kosong
+    private Long orderId;
+}
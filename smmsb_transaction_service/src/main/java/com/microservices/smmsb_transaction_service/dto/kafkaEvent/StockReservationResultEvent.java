@@ -0,0 +1,24 @@
+package com.microservices.smmsb_transaction_service.dto.kafkaEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Hasil reservasi stok dari Inventory Service (topic stock-reservation-result)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResultEvent {
+
+    public static final String RESERVED = "RESERVED";
+    public static final String REJECTED = "REJECTED";
+    public static final String EXPIRED = "EXPIRED";
+
+    private Long transactionId;
+    private Long productId;
+    private int quantity;
+    private String status;       // RESERVED, REJECTED, EXPIRED
+    private String reason;       // Alasan penolakan (REJECTED), selain itu null
+    // Terisi untuk hasil reservasi order; transactionId kosong dan productId adalah produk yang gagal (REJECTED)
+    private Long orderId;
+}
@@ -8,6 +8,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class UpdateProductStockEvent {
+    private Long userId;
     private Long productId;
     private int quantity;
+    // Dicatat inventory service pada ledger stock_movement
+    private Long transactionId;
+    // Id unik per event, dipakai inventory service untuk membuang event yang terkirim ulang
+    private String eventId;
 }
\ No newline at end of file
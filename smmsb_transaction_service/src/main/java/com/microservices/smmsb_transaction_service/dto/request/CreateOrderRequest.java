@@ -0,0 +1,18 @@
+package com.microservices.smmsb_transaction_service.dto.request;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateOrderRequest {
+    @NotEmpty(message = "Order lines are required")
+    @Valid
+    private List<OrderLineRequest> lines;
+}
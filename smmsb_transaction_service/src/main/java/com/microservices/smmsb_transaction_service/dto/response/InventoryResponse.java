@@ -0,0 +1,18 @@
+package com.microservices.smmsb_transaction_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Bentuk response ApiDataResponseBuilder dari Inventory Service
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class InventoryResponse<T> {
+   private T data;
+   private String message;
+   private int statusCode;
+}
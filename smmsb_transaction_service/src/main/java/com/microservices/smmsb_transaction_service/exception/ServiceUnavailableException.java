@@ -0,0 +1,7 @@
+package com.microservices.smmsb_transaction_service.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+   public ServiceUnavailableException(String message) {
+       super(message);
+   }
+}
@@ -0,0 +1,25 @@
+package com.microservices.smmsb_transaction_service.mapper;
+
+import java.util.List;
+
+import com.microservices.smmsb_transaction_service.dto.OrderDto;
+import com.microservices.smmsb_transaction_service.model.Order;
+import com.microservices.smmsb_transaction_service.model.Transaction;
+
+public final class OrderMapper {
+
+   private OrderMapper() {
+   }
+
+   public static OrderDto toDto(Order order, List<Transaction> lines) {
+      OrderDto dto = new OrderDto();
+      dto.setId(order.getId());
+      dto.setUserId(order.getUserId());
+      dto.setStatus(order.getStatus());
+      dto.setCancelReason(order.getCancelReason());
+      dto.setTotalAmount(order.getTotalAmount());
+      dto.setCreatedAt(order.getCreatedAt());
+      dto.setLines(lines.stream().map(TransactionMapper::toDto).toList());
+      return dto;
+   }
+}
@@ -0,0 +1,27 @@
+package com.microservices.smmsb_transaction_service.mapper;
+
+import com.microservices.smmsb_transaction_service.dto.TransactionDto;
+import com.microservices.smmsb_transaction_service.model.Transaction;
+
+// Mapping eksplisit tanpa refleksi; output JSON sama dengan ModelMapper (lihat TransactionMapperTest)
+public final class TransactionMapper {
+
+   private TransactionMapper() {
+   }
+
+   public static TransactionDto toDto(Transaction transaction) {
+      TransactionDto dto = new TransactionDto();
+      dto.setId(transaction.getId());
+      dto.setUserId(transaction.getUserId());
+      dto.setProductId(transaction.getProductId());
+      dto.setProductName(transaction.getProductName());
+      dto.setPrice(transaction.getPrice());
+      dto.setQuantity(transaction.getQuantity());
+      dto.setTotalAmount(transaction.getTotalAmount());
+      dto.setStatus(transaction.getStatus());
+      dto.setCancelReason(transaction.getCancelReason());
+      dto.setOrderId(transaction.getOrderId());
+      dto.setCreatedAt(transaction.getCreatedAt());
+      return dto;
+   }
+}
@@ -6,7 +6,9 @@ import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
 @Table(name = "transactions")
@@ -37,7 +39,23 @@ public class Transaction {
 
     @Column(nullable = false)
     private BigDecimal totalAmount;
+
+    // Default kolom untuk baris lama saat ddl-auto menambah kolom ini: transaksi sebelum saga sudah final
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'CONFIRMED'")
+    @Column(nullable = false, length = 16)
+    private TransactionStatus status;
+
+    // STOCK_TIMEOUT atau alasan dari Inventory Service (INSUFFICIENT_STOCK, RESERVATION_EXPIRED, ...)
+    @Column(length = 64)
+    private String cancelReason;
+
+    // Terisi jika transaksi adalah baris dari order multi-produk (lihat Order)
+    private Long orderId;
     
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.microservices.smmsb_transaction_service.model;
+
+// Status saga transaksi terhadap reservasi stok di Inventory Service
+public enum TransactionStatus {
+    // Menunggu hasil reservasi stok
+    PENDING,
+    CONFIRMED,
+    // Stok ditolak, reservasi kedaluwarsa, atau tidak ada hasil sampai batas waktu
+    CANCELLED
+}
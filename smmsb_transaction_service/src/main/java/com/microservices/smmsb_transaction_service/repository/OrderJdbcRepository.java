@@ -0,0 +1,82 @@
+package com.microservices.smmsb_transaction_service.repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.microservices.smmsb_transaction_service.model.Transaction;
+
+/**
+ * Insert order beserta seluruh barisnya dalam satu statement.
+ *
+ * Id Order dan Transaction memakai IDENTITY sehingga Hibernate tidak bisa mem-batch insert-nya (satu round trip
+ * per baris). Di sini header dan baris ditulis lewat satu CTE: INSERT ke orders, lalu satu INSERT multi-row ke
+ * transactions yang memakai id order tersebut.
+ */
+@Repository
+public class OrderJdbcRepository {
+
+    private static final String INSERT_ORDER_SQL = "WITH new_order AS ("
+            + "INSERT INTO orders (user_id, status, total_amount, created_at, updated_at) "
+            + "VALUES (?, 'PENDING', ?, ?, ?) RETURNING id) "
+            + "INSERT INTO transactions (order_id, user_id, product_id, product_name, price, quantity, total_amount, "
+            + "status, created_at, updated_at) "
+            + "SELECT new_order.id, ?, l.product_id, l.product_name, l.price, l.quantity, l.total_amount, "
+            + "'PENDING', ?, ? FROM new_order, (VALUES %s) "
+            + "AS l(product_id, product_name, price, quantity, total_amount) "
+            + "RETURNING order_id, id, product_id";
+
+    // Cast eksplisit: tipe kolom VALUES tidak bisa disimpulkan dari parameter
+    private static final String LINE_VALUES = "(?::bigint, ?::varchar, ?::numeric, ?::integer, ?::numeric)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OrderJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Menyimpan order PENDING dan barisnya. Produk dalam satu order harus unik (baris digabung per productId).
+     */
+    public CreatedOrder insert(Long userId, BigDecimal totalAmount, List<Transaction> lines, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object> args = new ArrayList<>(7 + lines.size() * 5);
+        args.add(userId);
+        args.add(totalAmount);
+        args.add(timestamp);
+        args.add(timestamp);
+        args.add(userId);
+        args.add(timestamp);
+        args.add(timestamp);
+        List<String> values = new ArrayList<>(lines.size());
+        for (Transaction line : lines) {
+            values.add(LINE_VALUES);
+            args.add(line.getProductId());
+            args.add(line.getProductName());
+            args.add(line.getPrice());
+            args.add(line.getQuantity());
+            args.add(line.getTotalAmount());
+        }
+
+        Long[] orderId = new Long[1];
+        Map<Long, Long> transactionIds = new HashMap<>();
+        jdbcTemplate.query(String.format(INSERT_ORDER_SQL, String.join(", ", values)), rs -> {
+            orderId[0] = rs.getLong("order_id");
+            transactionIds.put(rs.getLong("product_id"), rs.getLong("id"));
+        }, args.toArray());
+        return new CreatedOrder(orderId[0], transactionIds);
+    }
+
+    // transactionIds: id baris transactions per productId
+    public record CreatedOrder(Long orderId, Map<Long, Long> transactionIds) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.microservices.smmsb_transaction_service.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.microservices.smmsb_transaction_service.model.Order;
+import com.microservices.smmsb_transaction_service.model.TransactionStatus;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    // Transisi status bersyarat, sama seperti TransactionRepository.updateStatus
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.cancelReason = :cancelReason, o.updatedAt = :updatedAt "
+            + "WHERE o.id = :id AND o.status = :currentStatus")
+    int updateStatus(@Param("id") Long id, @Param("currentStatus") TransactionStatus currentStatus,
+            @Param("status") TransactionStatus status, @Param("cancelReason") String cancelReason,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    List<Order> findByStatusAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(TransactionStatus status,
+            LocalDateTime cutoff, Pageable pageable);
+}
@@ -0,0 +1,43 @@
+package com.microservices.smmsb_transaction_service.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.microservices.smmsb_transaction_service.model.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Hanya satu relay di seluruh replika yang boleh mengirim; lock dilepas saat transaksi batch selesai.
+     *
+     * @return false jika relay di instance lain sedang berjalan
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('outbox_relay'))", nativeQuery = true)
+    boolean tryLockRelay();
+
+    // Dipanggil setelah tryLockRelay; relay berjalan sendiri sehingga tidak perlu SKIP LOCKED
+    @Query(value = "SELECT * FROM outbox_event "
+            + "WHERE sent_at IS NULL AND attempts < :maxAttempts "
+            + "ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.sentAt = :sentAt WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.attempts = o.attempts + 1, o.lastError = :lastError WHERE o.id = :id")
+    int markFailed(@Param("id") Long id, @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
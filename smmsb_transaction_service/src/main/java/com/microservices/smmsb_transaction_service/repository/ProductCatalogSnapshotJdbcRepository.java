@@ -0,0 +1,74 @@
+package com.microservices.smmsb_transaction_service.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Snapshot replika katalog produk: isi katalog dan offset berikutnya per partisi topic productChanged.
+ *
+ * Snapshot selalu ditulis utuh dalam satu transaksi (hapus lalu insert), jadi isi tabel selalu sama dengan
+ * keadaan replika tepat pada offset yang tersimpan. Produk yang dihapus disimpan sebagai tombstone (deleted).
+ */
+@Repository
+public class ProductCatalogSnapshotJdbcRepository {
+
+    private static final String INSERT_PRODUCT_SQL = "INSERT INTO product_catalog_snapshot "
+            + "(product_id, product_name, price, deleted) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_OFFSET_SQL = "INSERT INTO product_catalog_offset "
+            + "(topic_partition, next_offset, saved_at) VALUES (?, ?, now())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductCatalogSnapshotJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<SnapshotProduct> findProducts() {
+        return jdbcTemplate.query("SELECT product_id, product_name, price, deleted FROM product_catalog_snapshot",
+                (rs, rowNum) -> new SnapshotProduct(rs.getLong("product_id"), rs.getString("product_name"),
+                        rs.getBigDecimal("price"), rs.getBoolean("deleted")));
+    }
+
+    public Map<Integer, Long> findOffsets() {
+        Map<Integer, Long> offsets = new HashMap<>();
+        jdbcTemplate.query("SELECT topic_partition, next_offset FROM product_catalog_offset",
+                rs -> {
+                    offsets.put(rs.getInt("topic_partition"), rs.getLong("next_offset"));
+                });
+        return offsets;
+    }
+
+    // Harus dipanggil di dalam transaksi; advisory lock agar snapshot dari beberapa instance tidak bercampur
+    public void lockSnapshot() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('product_catalog_snapshot'))");
+    }
+
+    public void replace(Collection<SnapshotProduct> products, Map<Integer, Long> offsets) {
+        jdbcTemplate.update("DELETE FROM product_catalog_snapshot");
+        jdbcTemplate.update("DELETE FROM product_catalog_offset");
+
+        List<Object[]> productArgs = new ArrayList<>(products.size());
+        for (SnapshotProduct product : products) {
+            productArgs.add(new Object[] { product.productId(), product.productName(), product.price(),
+                    product.deleted() });
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, productArgs);
+
+        List<Object[]> offsetArgs = new ArrayList<>(offsets.size());
+        offsets.forEach((partition, offset) -> offsetArgs.add(new Object[] { partition, offset }));
+        jdbcTemplate.batchUpdate(INSERT_OFFSET_SQL, offsetArgs);
+    }
+
+    public record SnapshotProduct(Long productId, String productName, BigDecimal price, boolean deleted) {
+    }
+}
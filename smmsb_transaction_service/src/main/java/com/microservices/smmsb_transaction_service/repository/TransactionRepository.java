@@ -1,10 +1,40 @@
 package com.microservices.smmsb_transaction_service.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;  
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.microservices.smmsb_transaction_service.model.Transaction;
+import com.microservices.smmsb_transaction_service.model.TransactionStatus;
+
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
-}
\ No newline at end of file
+
+    // Transisi status bersyarat: hasil reservasi, redelivery dan sweep batas waktu hanya dimenangkan satu pihak
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :status, t.cancelReason = :cancelReason, t.updatedAt = :updatedAt "
+            + "WHERE t.id = :id AND t.status = :currentStatus")
+    int updateStatus(@Param("id") Long id, @Param("currentStatus") TransactionStatus currentStatus,
+            @Param("status") TransactionStatus status, @Param("cancelReason") String cancelReason,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Status baris order selalu mengikuti header-nya (transisi bersyarat ada di OrderRepository)
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :status, t.cancelReason = :cancelReason, t.updatedAt = :updatedAt "
+            + "WHERE t.orderId = :orderId")
+    int updateStatusByOrderId(@Param("orderId") Long orderId, @Param("status") TransactionStatus status,
+            @Param("cancelReason") String cancelReason, @Param("updatedAt") LocalDateTime updatedAt);
+
+    List<Transaction> findByOrderIdOrderByIdAsc(Long orderId);
+
+    // Baris order tidak ikut: batas waktunya diatur per order oleh OrderService
+    List<Transaction> findByStatusAndOrderIdIsNullAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(
+            TransactionStatus status, LocalDateTime cutoff, Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.microservices.smmsb_transaction_service.service;
+
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationResultEvent;
+import com.microservices.smmsb_transaction_service.dto.request.CreateOrderRequest;
+import com.microservices.smmsb_transaction_service.dto.response.ApiDataResponseBuilder;
+import com.microservices.smmsb_transaction_service.dto.response.MessageResponse;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Order multi-produk: produk seluruh baris di-resolve dengan satu multi-get, order dan barisnya disimpan dengan
+ * satu insert, lalu stok seluruh baris direservasi lewat satu event. Status order dan barisnya selalu sama.
+ */
+public interface OrderService {
+
+   MessageResponse createOrder(CreateOrderRequest createOrderRequest, HttpServletRequest httpServletRequest);
+
+   ApiDataResponseBuilder getOrderById(Long orderId);
+
+   // Menerapkan hasil reservasi stok order (event dengan orderId) dari Inventory Service
+   void handleStockReservationResult(StockReservationResultEvent event);
+
+   /**
+    * Membatalkan order PENDING yang belum mendapat hasil reservasi sampai batas waktu.
+    *
+    * @return jumlah order yang dibatalkan
+    */
+   int cancelStalePendingOrders();
+
+}
@@ -0,0 +1,161 @@
+package com.microservices.smmsb_transaction_service.service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.ProductChangedEvent;
+import com.microservices.smmsb_transaction_service.repository.ProductCatalogSnapshotJdbcRepository;
+import com.microservices.smmsb_transaction_service.repository.ProductCatalogSnapshotJdbcRepository.SnapshotProduct;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replika katalog produk (nama dan harga) di memori, dibangun dari topic compacted productChanged.
+ *
+ * Setiap instance membaca seluruh partisi topic (consumer group sendiri), sehingga createTransaction cukup membaca
+ * map ini dan hanya memanggil Inventory Service saat produk belum ada di replika. Produk yang dihapus disimpan
+ * sebagai tombstone agar hasil fallback HTTP yang datang terlambat tidak menghidupkannya lagi.
+ *
+ * Snapshot (opsional) menyimpan isi replika, termasuk tombstone, beserta offset berikutnya per partisi ke database.
+ * Saat restart, replika dimuat dari snapshot dan consumer melanjutkan dari offset tersebut, bukan dari awal topic.
+ */
+@Slf4j
+@Component
+@DependsOn("schemaMigrationRunner")
+public class ProductCatalogReplica implements InitializingBean {
+
+   public record CatalogProduct(Long productId, String productName, BigDecimal price, boolean deleted) {
+   }
+
+   private final ProductCatalogSnapshotJdbcRepository productCatalogSnapshotJdbcRepository;
+   private final TransactionTemplate transactionTemplate;
+
+   private final Map<Long, CatalogProduct> products = new ConcurrentHashMap<>();
+
+   // Offset berikutnya per partisi productChanged; dijaga oleh lock replika ini bersama isi map
+   private final Map<Integer, Long> nextOffsets = new HashMap<>();
+   private boolean dirty;
+
+   @Value("${application.product-catalog.snapshot-enabled:true}")
+   private boolean snapshotEnabled;
+
+   @Autowired
+   public ProductCatalogReplica(ProductCatalogSnapshotJdbcRepository productCatalogSnapshotJdbcRepository,
+         TransactionTemplate transactionTemplate) {
+      this.productCatalogSnapshotJdbcRepository = productCatalogSnapshotJdbcRepository;
+      this.transactionTemplate = transactionTemplate;
+   }
+
+   @Override
+   public void afterPropertiesSet() {
+      if (!snapshotEnabled) {
+         return;
+      }
+      try {
+         Map<Integer, Long> offsets = productCatalogSnapshotJdbcRepository.findOffsets();
+         if (offsets.isEmpty()) {
+            return;
+         }
+         List<SnapshotProduct> snapshot = productCatalogSnapshotJdbcRepository.findProducts();
+         synchronized (this) {
+            for (SnapshotProduct product : snapshot) {
+               products.put(product.productId(), new CatalogProduct(product.productId(), product.productName(),
+                     product.price(), product.deleted()));
+            }
+            nextOffsets.putAll(offsets);
+         }
+         log.info("Product catalog replica restored {} products from snapshot", snapshot.size());
+      } catch (DataAccessException e) {
+         // Replika dibangun ulang dari awal topic
+         log.warn("Failed to restore product catalog snapshot - Error: {}", e.getMessage());
+      }
+   }
+
+   public Optional<CatalogProduct> find(Long productId) {
+      CatalogProduct product = products.get(productId);
+      return product == null || product.deleted() ? Optional.empty() : Optional.of(product);
+   }
+
+   // Hasil fallback HTTP tidak pernah menimpa data yang sudah datang dari event
+   public void putIfAbsent(Long productId, String productName, BigDecimal price) {
+      products.putIfAbsent(productId, new CatalogProduct(productId, productName, price, false));
+   }
+
+   public synchronized void apply(ProductChangedEvent event, int partition, long offset) {
+      products.put(event.getProductId(), new CatalogProduct(event.getProductId(), event.getProductName(),
+            event.getPrice(), event.isDeleted()));
+      nextOffsets.put(partition, offset + 1);
+      dirty = true;
+   }
+
+   // Posisi lanjutan consumer untuk satu partisi; null berarti baca dari awal
+   public synchronized Long nextOffset(int partition) {
+      return nextOffsets.get(partition);
+   }
+
+   public int size() {
+      return products.size();
+   }
+
+   @Scheduled(fixedDelayString = "${application.product-catalog.snapshot-interval-ms:300000}")
+   public void snapshot() {
+      if (!snapshotEnabled) {
+         return;
+      }
+      List<SnapshotProduct> copy;
+      Map<Integer, Long> offsets;
+      synchronized (this) {
+         if (!dirty) {
+            return;
+         }
+         offsets = new HashMap<>(nextOffsets);
+         // Tombstone ikut disimpan: tanpa itu produk yang dihapus hidup lagi dari fallback HTTP setelah restart,
+         // karena event penghapusannya berada sebelum offset snapshot
+         copy = products.values().stream()
+               .map(product -> new SnapshotProduct(product.productId(), product.productName(), product.price(),
+                     product.deleted()))
+               .toList();
+         dirty = false;
+      }
+
+      try {
+         Boolean written = transactionTemplate.execute(status -> {
+            productCatalogSnapshotJdbcRepository.lockSnapshot();
+            // Instance lain sudah menyimpan snapshot yang sama baru atau lebih baru
+            if (covers(productCatalogSnapshotJdbcRepository.findOffsets(), offsets)) {
+               return false;
+            }
+            productCatalogSnapshotJdbcRepository.replace(copy, offsets);
+            return true;
+         });
+         if (Boolean.TRUE.equals(written)) {
+            log.info("Product catalog snapshot saved: {} products", copy.size());
+         }
+      } catch (DataAccessException e) {
+         synchronized (this) {
+            dirty = true;
+         }
+         log.warn("Failed to save product catalog snapshot - Error: {}", e.getMessage());
+      }
+   }
+
+   static boolean covers(Map<Integer, Long> stored, Map<Integer, Long> offsets) {
+      if (stored.isEmpty() || !stored.keySet().containsAll(offsets.keySet())) {
+         return false;
+      }
+      return offsets.entrySet().stream().allMatch(entry -> stored.get(entry.getKey()) >= entry.getValue());
+   }
+}
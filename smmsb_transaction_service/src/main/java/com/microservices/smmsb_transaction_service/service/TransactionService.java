@@ -8,6 +8,7 @@ import com.microservices.smmsb_transaction_service.dto.response.ListResponse;
 
 import org.springframework.data.domain.Pageable;
 import com.microservices.smmsb_transaction_service.dto.TransactionDto;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationResultEvent;
 import com.microservices.smmsb_transaction_service.dto.request.CreateTransactionRequest;
 import com.microservices.smmsb_transaction_service.dto.response.ApiDataResponseBuilder;
 
@@ -22,6 +23,17 @@ public interface TransactionService {
          String status,
          Integer quantity
    );
+
+   // Menerapkan hasil reservasi stok dari Inventory Service (RESERVED, REJECTED, EXPIRED)
+   void handleStockReservationResult(StockReservationResultEvent event);
+
+   /**
+    * Membatalkan transaksi PENDING yang belum mendapat hasil reservasi sampai batas waktu, lalu meminta
+    * Inventory Service mengembalikan reservasinya.
+    *
+    * @return jumlah transaksi yang dibatalkan
+    */
+   int cancelStalePendingTransactions();
    
 
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.microservices.smmsb_transaction_service.service.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker sederhana berbasis kegagalan beruntun.
+ *
+ * CLOSED: semua panggilan diteruskan. Setelah failureThreshold kegagalan beruntun menjadi OPEN: panggilan langsung
+ * ditolak selama openDurationMs. Setelah itu HALF_OPEN: tepat satu panggilan percobaan diteruskan; sukses menutup
+ * circuit, gagal membukanya lagi. Setiap izin yang diberikan harus diakhiri dengan onSuccess atau onFailure.
+ */
+public class CircuitBreaker {
+
+   public enum State {
+      CLOSED, OPEN, HALF_OPEN
+   }
+
+   private final int failureThreshold;
+   private final long openDurationMs;
+   private final LongSupplier clock;
+
+   private State state = State.CLOSED;
+   private int consecutiveFailures;
+   private long openedAt;
+
+   public CircuitBreaker(int failureThreshold, long openDurationMs) {
+      this(failureThreshold, openDurationMs, System::currentTimeMillis);
+   }
+
+   CircuitBreaker(int failureThreshold, long openDurationMs, LongSupplier clock) {
+      this.failureThreshold = failureThreshold;
+      this.openDurationMs = openDurationMs;
+      this.clock = clock;
+   }
+
+   public synchronized boolean tryAcquirePermission() {
+      switch (state) {
+         case CLOSED:
+            return true;
+         case OPEN:
+            if (clock.getAsLong() - openedAt < openDurationMs) {
+               return false;
+            }
+            state = State.HALF_OPEN;
+            return true;
+         default:
+            // Panggilan percobaan sedang berjalan
+            return false;
+      }
+   }
+
+   public synchronized void onSuccess() {
+      consecutiveFailures = 0;
+      state = State.CLOSED;
+   }
+
+   public synchronized void onFailure() {
+      consecutiveFailures++;
+      if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+         state = State.OPEN;
+         openedAt = clock.getAsLong();
+         consecutiveFailures = 0;
+      }
+   }
+
+   public synchronized State getState() {
+      return state;
+   }
+}
@@ -0,0 +1,152 @@
+package com.microservices.smmsb_transaction_service.service.client;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.microservices.smmsb_transaction_service.dto.InventoryProductDto;
+import com.microservices.smmsb_transaction_service.dto.response.InventoryResponse;
+import com.microservices.smmsb_transaction_service.exception.ResourceNotFoundException;
+import com.microservices.smmsb_transaction_service.exception.ServiceUnavailableException;
+import com.microservices.smmsb_transaction_service.utils.MessageUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Client HTTP ke Inventory Service.
+ *
+ * Bulkhead (semaphore) membatasi jumlah panggilan bersamaan, sehingga Inventory Service yang lambat hanya menahan
+ * sebagian kecil thread Tomcat; sisanya langsung mendapat 503. Circuit breaker menghentikan panggilan sementara
+ * setelah kegagalan beruntun (timeout, koneksi ditolak, 5xx). Response 4xx berarti service sehat dan tidak dihitung
+ * sebagai kegagalan.
+ */
+@Slf4j
+@Component
+public class InventoryClient {
+
+   private static final String PRODUCT_PATH = "/api/v1/inventory/get-by-id/{id}";
+
+   // Multi-get: id dipisah koma, response berupa map id -> produk
+   private static final String PRODUCTS_PATH = "/api/v1/inventory/get-by-ids?ids={ids}";
+
+   private static final ParameterizedTypeReference<InventoryResponse<InventoryProductDto>> PRODUCT_RESPONSE =
+         new ParameterizedTypeReference<>() {
+         };
+
+   private static final ParameterizedTypeReference<InventoryResponse<Map<Long, InventoryProductDto>>>
+         PRODUCTS_RESPONSE = new ParameterizedTypeReference<>() {
+         };
+
+   private final RestTemplate restTemplate;
+   private final MessageUtils messageUtils;
+   private final String baseUrl;
+   private final Semaphore bulkhead;
+   private final long bulkheadWaitMs;
+   private final CircuitBreaker circuitBreaker;
+
+   @Autowired
+   public InventoryClient(RestTemplate restTemplate, MessageUtils messageUtils,
+         @Value("${application.inventory-client.base-url:http://localhost:8080}") String baseUrl,
+         @Value("${application.inventory-client.max-concurrent-calls:20}") int maxConcurrentCalls,
+         @Value("${application.inventory-client.bulkhead-wait-ms:100}") long bulkheadWaitMs,
+         @Value("${application.inventory-client.circuit-breaker.failure-threshold:5}") int failureThreshold,
+         @Value("${application.inventory-client.circuit-breaker.open-duration-ms:10000}") long openDurationMs) {
+      this.restTemplate = restTemplate;
+      this.messageUtils = messageUtils;
+      this.baseUrl = baseUrl;
+      this.bulkhead = new Semaphore(maxConcurrentCalls);
+      this.bulkheadWaitMs = bulkheadWaitMs;
+      this.circuitBreaker = new CircuitBreaker(failureThreshold, openDurationMs);
+   }
+
+   public InventoryProductDto getProduct(Long productId, HttpHeaders headers) {
+      acquireBulkhead();
+      try {
+         if (!circuitBreaker.tryAcquirePermission()) {
+            throw new ServiceUnavailableException(messageUtils.getMessage("inventory.unavailable"));
+         }
+         InventoryResponse<InventoryProductDto> body = exchange(() -> restTemplate.exchange(baseUrl + PRODUCT_PATH,
+               HttpMethod.GET, new HttpEntity<>(headers), PRODUCT_RESPONSE, productId).getBody(), productId);
+         if (body == null || body.getData() == null) {
+            throw new ResourceNotFoundException(messageUtils.getMessage("inventory.product.not.found", productId));
+         }
+         return body.getData();
+      } finally {
+         bulkhead.release();
+      }
+   }
+
+   /**
+    * Mengambil banyak produk dalam satu panggilan (satu izin bulkhead dan circuit breaker untuk seluruh id).
+    *
+    * @return produk per id; id yang tidak ditemukan atau sudah dihapus tidak ada di map
+    */
+   public Map<Long, InventoryProductDto> getProducts(Collection<Long> productIds, HttpHeaders headers) {
+      if (productIds.isEmpty()) {
+         return Map.of();
+      }
+      String ids = productIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+      acquireBulkhead();
+      try {
+         if (!circuitBreaker.tryAcquirePermission()) {
+            throw new ServiceUnavailableException(messageUtils.getMessage("inventory.unavailable"));
+         }
+         InventoryResponse<Map<Long, InventoryProductDto>> body = exchange(() -> restTemplate.exchange(
+               baseUrl + PRODUCTS_PATH, HttpMethod.GET, new HttpEntity<>(headers), PRODUCTS_RESPONSE, ids)
+               .getBody(), ids);
+         return body == null || body.getData() == null ? Map.of() : body.getData();
+      } finally {
+         bulkhead.release();
+      }
+   }
+
+   public CircuitBreaker.State getCircuitState() {
+      return circuitBreaker.getState();
+   }
+
+   private <T> T exchange(Supplier<T> call, Object productId) {
+      try {
+         T body = call.get();
+         circuitBreaker.onSuccess();
+         return body;
+      } catch (HttpClientErrorException e) {
+         circuitBreaker.onSuccess();
+         if (e.getStatusCode().value() == 404) {
+            throw new ResourceNotFoundException(messageUtils.getMessage("inventory.product.not.found", productId));
+         }
+         throw e;
+      } catch (RestClientException e) {
+         circuitBreaker.onFailure();
+         log.warn("Inventory Service call failed for product {} - Error: {}", productId, e.getMessage());
+         throw new ServiceUnavailableException(messageUtils.getMessage("inventory.unavailable"));
+      } catch (RuntimeException e) {
+         circuitBreaker.onFailure();
+         throw e;
+      }
+   }
+
+   private void acquireBulkhead() {
+      try {
+         if (bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS)) {
+            return;
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+      throw new ServiceUnavailableException(messageUtils.getMessage("inventory.busy"));
+   }
+}
@@ -0,0 +1,280 @@
+package com.microservices.smmsb_transaction_service.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.microservices.smmsb_transaction_service.dto.InventoryProductDto;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.OrderStockLine;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationDecisionEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationResultEvent;
+import com.microservices.smmsb_transaction_service.dto.request.CreateOrderRequest;
+import com.microservices.smmsb_transaction_service.dto.request.OrderLineRequest;
+import com.microservices.smmsb_transaction_service.dto.response.ApiDataResponseBuilder;
+import com.microservices.smmsb_transaction_service.dto.response.MessageResponse;
+import com.microservices.smmsb_transaction_service.exception.BadRequestException;
+import com.microservices.smmsb_transaction_service.exception.ResourceNotFoundException;
+import com.microservices.smmsb_transaction_service.mapper.OrderMapper;
+import com.microservices.smmsb_transaction_service.model.Order;
+import com.microservices.smmsb_transaction_service.model.Transaction;
+import com.microservices.smmsb_transaction_service.model.TransactionStatus;
+import com.microservices.smmsb_transaction_service.repository.OrderJdbcRepository;
+import com.microservices.smmsb_transaction_service.repository.OrderJdbcRepository.CreatedOrder;
+import com.microservices.smmsb_transaction_service.repository.OrderRepository;
+import com.microservices.smmsb_transaction_service.repository.TransactionRepository;
+import com.microservices.smmsb_transaction_service.service.OrderService;
+import com.microservices.smmsb_transaction_service.service.ProductCatalogReplica;
+import com.microservices.smmsb_transaction_service.service.ProductCatalogReplica.CatalogProduct;
+import com.microservices.smmsb_transaction_service.service.client.InventoryClient;
+import com.microservices.smmsb_transaction_service.service.kafka.KafkaProducer;
+import com.microservices.smmsb_transaction_service.utils.MessageUtils;
+import com.microservices.smmsb_transaction_service.utils.RequestHeaders;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class OrderServiceImpl implements OrderService {
+
+   private final OrderRepository orderRepository;
+   private final OrderJdbcRepository orderJdbcRepository;
+   private final TransactionRepository transactionRepository;
+   private final MessageUtils messageUtils;
+   private final InventoryClient inventoryClient;
+   private final ProductCatalogReplica productCatalogReplica;
+   private final KafkaProducer kafkaProducer;
+   private final TransactionTemplate transactionTemplate;
+   private final StockReservationSaga stockReservationSaga;
+
+   // Membatasi ukuran insert multi-row, event stok dan query string multi-get ke Inventory Service
+   @Value("${application.order.max-lines:50}")
+   private int maxLines;
+
+   // Batas waktu PENDING sama dengan transaksi tunggal (lihat TransactionServiceImpl)
+   @Value("${application.transaction.pending-timeout-seconds:60}")
+   private long pendingTimeoutSeconds;
+
+   @Value("${application.transaction.pending-batch-size:200}")
+   private int pendingBatchSize;
+
+   @Autowired
+   public OrderServiceImpl(OrderRepository orderRepository, OrderJdbcRepository orderJdbcRepository,
+         TransactionRepository transactionRepository, MessageUtils messageUtils, InventoryClient inventoryClient,
+         ProductCatalogReplica productCatalogReplica, KafkaProducer kafkaProducer,
+         TransactionTemplate transactionTemplate, StockReservationSaga stockReservationSaga) {
+      this.orderRepository = orderRepository;
+      this.orderJdbcRepository = orderJdbcRepository;
+      this.transactionRepository = transactionRepository;
+      this.messageUtils = messageUtils;
+      this.inventoryClient = inventoryClient;
+      this.productCatalogReplica = productCatalogReplica;
+      this.kafkaProducer = kafkaProducer;
+      this.transactionTemplate = transactionTemplate;
+      this.stockReservationSaga = stockReservationSaga;
+   }
+
+   @Override
+   @Transactional
+   public MessageResponse createOrder(CreateOrderRequest createOrderRequest, HttpServletRequest httpServletRequest) {
+
+      // Mengambil User Id
+      Long userId = RequestHeaders.userId(httpServletRequest);
+      if (userId == null) {
+         return RequestHeaders.invalidUserId(httpServletRequest, messageUtils);
+      }
+
+      // Baris dengan produk yang sama digabung: satu baris transaksi dan satu reservasi per produk
+      Map<Long, Integer> quantities = mergeLines(createOrderRequest.getLines());
+
+      // Replika katalog dulu, sisanya diambil dengan satu multi-get ke Inventory Service
+      Map<Long, CatalogProduct> products = resolveProducts(quantities.keySet(), httpServletRequest);
+
+      List<Transaction> lines = new ArrayList<>(quantities.size());
+      BigDecimal totalAmount = BigDecimal.ZERO;
+      for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+         CatalogProduct product = products.get(entry.getKey());
+         BigDecimal lineAmount = product.price().multiply(BigDecimal.valueOf(entry.getValue()));
+         lines.add(Transaction.builder()
+               .userId(userId)
+               .productId(entry.getKey())
+               .productName(product.productName())
+               .price(product.price())
+               .quantity(entry.getValue())
+               .totalAmount(lineAmount)
+               .status(TransactionStatus.PENDING)
+               .build());
+         totalAmount = totalAmount.add(lineAmount);
+      }
+
+      // Header dan seluruh baris dalam satu statement
+      CreatedOrder created = orderJdbcRepository.insert(userId, totalAmount, lines, LocalDateTime.now());
+
+      // Satu event reservasi untuk seluruh baris, lewat outbox di transaksi yang sama
+      List<OrderStockLine> stockLines = lines.stream()
+            .map(line -> new OrderStockLine(created.transactionIds().get(line.getProductId()), line.getProductId(),
+                  line.getQuantity()))
+            .toList();
+      OrderStockEvent event = new OrderStockEvent(created.orderId(), userId, UUID.randomUUID().toString(),
+            stockLines);
+      kafkaProducer.sendOrderStockEvent(event);
+
+      return new MessageResponse(
+            messageUtils.getMessage("order.created", created.orderId()),
+            HttpStatus.CREATED.value(),
+            HttpStatus.CREATED.name());
+   }
+
+   @Override
+   public ApiDataResponseBuilder getOrderById(Long orderId) {
+      Order order = orderRepository.findById(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException(messageUtils.getMessage("order.not.found", orderId)));
+      List<Transaction> lines = transactionRepository.findByOrderIdOrderByIdAsc(orderId);
+      return ApiDataResponseBuilder.builder()
+            .data(OrderMapper.toDto(order, lines))
+            .message(messageUtils.getMessage("order.found"))
+            .status(HttpStatus.OK)
+            .statusCode(HttpStatus.OK.value())
+            .build();
+   }
+
+   @Override
+   @Transactional
+   public void handleStockReservationResult(StockReservationResultEvent event) {
+      stockReservationSaga.handleResult(event, new OrderParticipant(event.getOrderId(), null));
+   }
+
+   // Dijalankan di setiap instance; transisi bersyarat mencegah order dibatalkan dua kali
+   @Override
+   @Scheduled(fixedDelayString = "${application.transaction.pending-check-interval-ms:10000}")
+   public int cancelStalePendingOrders() {
+      Integer cancelled = transactionTemplate.execute(status -> {
+         LocalDateTime now = LocalDateTime.now();
+         List<Order> stale = orderRepository.findByStatusAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(
+               TransactionStatus.PENDING, now.minusSeconds(pendingTimeoutSeconds),
+               PageRequest.of(0, pendingBatchSize));
+         int count = 0;
+         for (Order order : stale) {
+            if (stockReservationSaga.cancelStale(new OrderParticipant(order.getId(), order), now)) {
+               count++;
+            }
+         }
+         return count;
+      });
+      if (cancelled != null && cancelled > 0) {
+         log.info("Cancelled {} orders without stock reservation result", cancelled);
+      }
+      return cancelled == null ? 0 : cancelled;
+   }
+
+   private Map<Long, Integer> mergeLines(List<OrderLineRequest> requestLines) {
+      if (requestLines == null || requestLines.isEmpty() || requestLines.size() > maxLines) {
+         throw new BadRequestException(messageUtils.getMessage("order.lines.invalid", maxLines));
+      }
+      Map<Long, Integer> quantities = new LinkedHashMap<>();
+      for (OrderLineRequest line : requestLines) {
+         if (line == null || line.getProductId() == null || line.getQuantity() == null || line.getQuantity() <= 0) {
+            throw new BadRequestException(messageUtils.getMessage("order.lines.invalid", maxLines));
+         }
+         quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+      }
+      return quantities;
+   }
+
+   private Map<Long, CatalogProduct> resolveProducts(Collection<Long> productIds,
+         HttpServletRequest httpServletRequest) {
+      Map<Long, CatalogProduct> products = new HashMap<>();
+      List<Long> missing = new ArrayList<>();
+      for (Long productId : productIds) {
+         productCatalogReplica.find(productId).ifPresentOrElse(product -> products.put(productId, product),
+               () -> missing.add(productId));
+      }
+      if (missing.isEmpty()) {
+         return products;
+      }
+
+      Map<Long, InventoryProductDto> loaded = inventoryClient.getProducts(missing,
+            RequestHeaders.forInventory(httpServletRequest));
+      for (Long productId : missing) {
+         InventoryProductDto product = loaded.get(productId);
+         if (product == null) {
+            throw new ResourceNotFoundException(messageUtils.getMessage("inventory.product.not.found", productId));
+         }
+         productCatalogReplica.putIfAbsent(productId, product.getProductName(), product.getPrice());
+         products.put(productId, new CatalogProduct(productId, product.getProductName(), product.getPrice(), false));
+      }
+      return products;
+   }
+
+   // Order sebagai peserta saga reservasi stok; status baris transaksi mengikuti header order
+   private final class OrderParticipant implements StockReservationSaga.Participant {
+
+      private final Long orderId;
+      private Order order;
+
+      private OrderParticipant(Long orderId, Order order) {
+         this.orderId = orderId;
+         this.order = order;
+      }
+
+      @Override
+      public String describe() {
+         return "order " + orderId;
+      }
+
+      @Override
+      public boolean updateStatus(TransactionStatus from, TransactionStatus to, String reason, LocalDateTime now) {
+         if (orderRepository.updateStatus(orderId, from, to, reason, now) != 1) {
+            return false;
+         }
+         transactionRepository.updateStatusByOrderId(orderId, to, reason, now);
+         return true;
+      }
+
+      @Override
+      public Optional<TransactionStatus> currentStatus() {
+         return orderRepository.findById(orderId).map(Order::getStatus);
+      }
+
+      @Override
+      public StockReservationDecisionEvent decision(String decision) {
+         return new StockReservationDecisionEvent(null, null, decision, orderId);
+      }
+
+      @Override
+      public void notifyConfirmed() {
+         find().ifPresent(current -> stockReservationSaga.notify(current.getUserId(),
+               "Order " + current.getId() + " berhasil dengan total: " + current.getTotalAmount()));
+      }
+
+      @Override
+      public void notifyCancelled(String reason) {
+         find().ifPresent(current -> stockReservationSaga.notify(current.getUserId(),
+               "Order " + current.getId() + " dibatalkan (" + reason + ")"));
+      }
+
+      private Optional<Order> find() {
+         if (order == null) {
+            order = orderRepository.findById(orderId).orElse(null);
+         }
+         return Optional.ofNullable(order);
+      }
+   }
+}
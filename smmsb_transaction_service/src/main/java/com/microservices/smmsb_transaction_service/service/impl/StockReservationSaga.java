@@ -0,0 +1,108 @@
+package com.microservices.smmsb_transaction_service.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationDecisionEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationResultEvent;
+import com.microservices.smmsb_transaction_service.model.TransactionStatus;
+import com.microservices.smmsb_transaction_service.service.kafka.KafkaProducer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Alur reservasi stok yang sama untuk transaksi tunggal dan order: transisi status bersyarat, keputusan
+ * CONFIRM/CANCEL ke Inventory Service dan notifikasi. Event masuk outbox di transaksi yang sama dengan perubahan
+ * status, jadi hanya dikirim jika perubahan itu commit dan tetap terkirim meskipun instance mati setelah commit.
+ */
+@Slf4j
+@Component
+class StockReservationSaga {
+
+   static final String REASON_STOCK_TIMEOUT = "STOCK_TIMEOUT";
+   static final String REASON_RESERVATION_EXPIRED = "RESERVATION_EXPIRED";
+
+   // Transaksi tunggal atau order yang menunggu hasil reservasi stok
+   interface Participant {
+
+      // Untuk log, mis. "transaction 5"
+      String describe();
+
+      // Transisi bersyarat; true jika status benar-benar berubah
+      boolean updateStatus(TransactionStatus from, TransactionStatus to, String reason, LocalDateTime now);
+
+      Optional<TransactionStatus> currentStatus();
+
+      StockReservationDecisionEvent decision(String decision);
+
+      void notifyConfirmed();
+
+      void notifyCancelled(String reason);
+   }
+
+   private final KafkaProducer kafkaProducer;
+
+   @Autowired
+   StockReservationSaga(KafkaProducer kafkaProducer) {
+      this.kafkaProducer = kafkaProducer;
+   }
+
+   void handleResult(StockReservationResultEvent event, Participant participant) {
+      LocalDateTime now = LocalDateTime.now();
+
+      if (StockReservationResultEvent.RESERVED.equals(event.getStatus())) {
+         if (participant.updateStatus(TransactionStatus.PENDING, TransactionStatus.CONFIRMED, null, now)) {
+            sendDecision(participant, StockReservationDecisionEvent.CONFIRM);
+            participant.notifyConfirmed();
+            return;
+         }
+         // Reservasi datang setelah dibatalkan (batas waktu): kompensasi, stok dikembalikan
+         if (participant.currentStatus().map(status -> status != TransactionStatus.CONFIRMED).orElse(true)) {
+            log.warn("Stock reserved for {} that is no longer pending, cancelling reservation",
+                  participant.describe());
+            sendDecision(participant, StockReservationDecisionEvent.CANCEL);
+         }
+         return;
+      }
+
+      // REJECTED: stok tidak pernah dikurangi (order: semua atau tidak sama sekali). EXPIRED: stok sudah
+      // dikembalikan Inventory Service
+      boolean expired = StockReservationResultEvent.EXPIRED.equals(event.getStatus());
+      String reason = expired ? REASON_RESERVATION_EXPIRED : event.getReason();
+      if (participant.updateStatus(TransactionStatus.PENDING, TransactionStatus.CANCELLED, reason, now)) {
+         participant.notifyCancelled(reason);
+         return;
+      }
+      // EXPIRED yang menyusul CONFIRM bukan perubahan status: confirm yang terlambat mengambil kembali stoknya
+      // di Inventory Service, jadi cukup dicatat sebagai konflik
+      if (expired && participant.currentStatus().map(status -> status == TransactionStatus.CONFIRMED)
+            .orElse(false)) {
+         log.warn("Conflict: stock reservation expired for confirmed {}, keeping it confirmed",
+               participant.describe());
+      }
+   }
+
+   // Untuk transaksi/order PENDING yang melewati batas waktu tanpa hasil reservasi
+   boolean cancelStale(Participant participant, LocalDateTime now) {
+      if (!participant.updateStatus(TransactionStatus.PENDING, TransactionStatus.CANCELLED, REASON_STOCK_TIMEOUT,
+            now)) {
+         return false;
+      }
+      // Reservasi mungkin sudah dibuat tetapi hasilnya belum sampai
+      sendDecision(participant, StockReservationDecisionEvent.CANCEL);
+      participant.notifyCancelled(REASON_STOCK_TIMEOUT);
+      return true;
+   }
+
+   void notify(Long userId, String message) {
+      kafkaProducer.sendNotificationEvent(new NotificationEvent(userId, message, "Email"));
+   }
+
+   private void sendDecision(Participant participant, String decision) {
+      kafkaProducer.sendStockReservationDecisionEvent(participant.decision(decision));
+   }
+}
@@ -1,59 +1,82 @@
 package com.microservices.smmsb_transaction_service.service.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.microservices.smmsb_transaction_service.dto.InventoryProductDto;
 import com.microservices.smmsb_transaction_service.dto.TransactionDto;
 import com.microservices.smmsb_transaction_service.dto.kafkaEvent.UpdateProductStockEvent;
-import com.microservices.smmsb_transaction_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationDecisionEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationResultEvent;
 import com.microservices.smmsb_transaction_service.dto.request.CreateTransactionRequest;
 import com.microservices.smmsb_transaction_service.dto.response.ApiDataResponseBuilder;
 import com.microservices.smmsb_transaction_service.dto.response.ListResponse;
 import com.microservices.smmsb_transaction_service.dto.response.MessageResponse;
+import com.microservices.smmsb_transaction_service.mapper.TransactionMapper;
 import com.microservices.smmsb_transaction_service.model.Transaction;
+import com.microservices.smmsb_transaction_service.model.TransactionStatus;
 import com.microservices.smmsb_transaction_service.repository.TransactionRepository;
+import com.microservices.smmsb_transaction_service.service.ProductCatalogReplica;
+import com.microservices.smmsb_transaction_service.service.ProductCatalogReplica.CatalogProduct;
 import com.microservices.smmsb_transaction_service.service.TransactionService;
+import com.microservices.smmsb_transaction_service.service.client.InventoryClient;
 import com.microservices.smmsb_transaction_service.service.kafka.KafkaProducer;
 import com.microservices.smmsb_transaction_service.utils.MessageUtils;
+import com.microservices.smmsb_transaction_service.utils.RequestHeaders;
 import com.microservices.smmsb_transaction_service.utils.TransactionSpesification;
 
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.Map;
+import java.util.UUID;
 
+@Slf4j
 @Service
 public class TransactionServiceImpl implements TransactionService {
 
-   private final ModelMapper modelMapper;
    private final TransactionRepository transactionRepository;
    private final MessageUtils messageUtils;
-   private final RestTemplate restTemplate;
+   private final InventoryClient inventoryClient;
+   private final ProductCatalogReplica productCatalogReplica;
    private final KafkaProducer kafkaProducer;
+   private final TransactionTemplate transactionTemplate;
+   private final StockReservationSaga stockReservationSaga;
+
+   // Harus lebih pendek dari TTL reservasi di Inventory Service (application.stock-reservation.ttl-seconds)
+   @Value("${application.transaction.pending-timeout-seconds:60}")
+   private long pendingTimeoutSeconds;
+
+   @Value("${application.transaction.pending-batch-size:200}")
+   private int pendingBatchSize;
 
    @Autowired
-   public TransactionServiceImpl(ModelMapper modelMapper, TransactionRepository transactionRepository,
-         MessageUtils messageUtils, RestTemplate restTemplate, KafkaProducer kafkaProducer) {
+   public TransactionServiceImpl(TransactionRepository transactionRepository,
+         MessageUtils messageUtils, InventoryClient inventoryClient, ProductCatalogReplica productCatalogReplica,
+         KafkaProducer kafkaProducer, TransactionTemplate transactionTemplate,
+         StockReservationSaga stockReservationSaga) {
 
-      this.modelMapper = modelMapper;
       this.transactionRepository = transactionRepository;
       this.messageUtils = messageUtils;
-      this.restTemplate = restTemplate;
+      this.inventoryClient = inventoryClient;
+      this.productCatalogReplica = productCatalogReplica;
       this.kafkaProducer = kafkaProducer;
+      this.transactionTemplate = transactionTemplate;
+      this.stockReservationSaga = stockReservationSaga;
    }
 
    @Override
@@ -62,24 +85,9 @@ public class TransactionServiceImpl implements TransactionService {
          HttpServletRequest httpServletRequest) {
 
       // Mengambil User Id
-      String userIdHeader = httpServletRequest.getHeader("X-User-Id");
-      if (userIdHeader == null) {
-         return new MessageResponse(
-               messageUtils.getMessage("user.not.found"),
-               HttpStatus.UNAUTHORIZED.value(),
-               HttpStatus.UNAUTHORIZED.name()
-
-         );
-      }
-
-      Long userId;
-      try {
-         userId = Long.parseLong(userIdHeader);
-      } catch (NumberFormatException e) {
-         return new MessageResponse(
-               messageUtils.getMessage("invalid.user.id"),
-               HttpStatus.BAD_REQUEST.value(),
-               HttpStatus.BAD_REQUEST.name());
+      Long userId = RequestHeaders.userId(httpServletRequest);
+      if (userId == null) {
+         return RequestHeaders.invalidUserId(httpServletRequest, messageUtils);
       }
 
       // Membuat objek transaksi
@@ -87,56 +95,23 @@ public class TransactionServiceImpl implements TransactionService {
       transaction.setProductId(createTransactionRequest.getProductId());
       transaction.setUserId(userId);
       transaction.setQuantity(createTransactionRequest.getQuantity());
-      // URL untuk memanggil Inventory Service
-      String inventoryUrl = "http://localhost:8080/api/v1/product-stock/get-by-id/"
-            + createTransactionRequest.getProductId();
-      
-      HttpHeaders headers = new HttpHeaders();
-      headers.set("Authorization", "Bearer " + httpServletRequest.getHeader("Authorization"));
-      headers.set("X-Session-Id", httpServletRequest.getHeader("X-Session-Id"));
-
-      HttpEntity<String> requestEntity = new HttpEntity<>(headers);
-
-      // Panggil Inventory Service menggunakan RestTemplate
-      @SuppressWarnings("rawtypes")
-      ResponseEntity<Map> response = restTemplate.exchange(inventoryUrl,HttpMethod.GET,requestEntity,Map.class);
-
-      // Periksa jika respons sukses
-      if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-         @SuppressWarnings("unchecked")
-         Map<String, Object> responseData = (Map<String, Object>) response.getBody().get("data");
-
-         if (responseData != null) {
-            // Ambil data produk dari response
-            String productName = (String) responseData.get("productName");
-            BigDecimal price = new BigDecimal(responseData.get("price").toString());
-
-            // Set nilai ke transaksi
-            transaction.setProductName(productName);
-            transaction.setPrice(price);
-            transaction.setTotalAmount(price.multiply(BigDecimal.valueOf(transaction.getQuantity())));
-         } else {
-            throw new RuntimeException("Product data not found in Inventory Service response");
-         }
-      } else {
-         throw new RuntimeException("Failed to fetch product details from Inventory Service");
-      }
+      // Menunggu reservasi stok; status final ditentukan oleh hasil dari Inventory Service
+      transaction.setStatus(TransactionStatus.PENDING);
+      // Nama dan harga dari replika katalog lokal; Inventory Service hanya dipanggil jika produk belum ada
+      CatalogProduct product = productCatalogReplica.find(createTransactionRequest.getProductId())
+            .orElseGet(() -> loadProduct(createTransactionRequest.getProductId(), httpServletRequest));
+      transaction.setProductName(product.productName());
+      transaction.setPrice(product.price());
+      transaction.setTotalAmount(product.price().multiply(BigDecimal.valueOf(transaction.getQuantity())));
 
       // Simpan transaksi ke database
       transaction = transactionRepository.save(transaction);
 
-      // Kirim pesan ke Kafka
-      UpdateProductStockEvent event = new UpdateProductStockEvent(transaction.getProductId(),
-            transaction.getQuantity());
-      kafkaProducer.sendUpdateStockEvent(event);
-
-      // Kirim pesan ke Kafka untuk notifikasi
-      NotificationEvent notificationEvent = new NotificationEvent(
-            transaction.getUserId(),
-            "Transaksi berhasil untuk produk: " + transaction.getProductName() + " sejumlah: "
-                  + transaction.getQuantity(),
-            "Email");
-      kafkaProducer.sendNotificationEvent(notificationEvent);
+      // Permintaan reservasi masuk outbox di transaksi yang sama: dikirim setelah commit, sehingga hasilnya tidak
+      // datang sebelum transaksi terlihat di database, dan tidak hilang jika instance mati setelah commit
+      kafkaProducer.sendUpdateStockEvent(new UpdateProductStockEvent(transaction.getUserId(),
+            transaction.getProductId(), transaction.getQuantity(), transaction.getId(),
+            UUID.randomUUID().toString()));
       // Return response
       return new MessageResponse(
             messageUtils.getMessage("transaction.created", transaction.getId()),
@@ -148,7 +123,7 @@ public class TransactionServiceImpl implements TransactionService {
    public ApiDataResponseBuilder getTransactionById(Long transactionId) {
       Transaction transaction = transactionRepository.findById(transactionId)
             .orElseThrow(() -> new IllegalArgumentException("Transaction not found with id: " + transactionId));
-      TransactionDto transactionDto = modelMapper.map(transaction, TransactionDto.class);
+      TransactionDto transactionDto = TransactionMapper.toDto(transaction);
       return ApiDataResponseBuilder.builder()
             .data(transactionDto)
             .message(messageUtils.getMessage("transactions.found", transaction.getId()))
@@ -175,11 +150,105 @@ public class TransactionServiceImpl implements TransactionService {
       Page<Transaction> transactions = transactionRepository.findAll(spec, pageable);
       List<TransactionDto> transactionDtos = transactions.getContent()
             .stream()
-            .map(transaction -> modelMapper.map(transaction, TransactionDto.class))
+            .map(TransactionMapper::toDto)
             .collect(Collectors.toList());
 
       return new ListResponse<>(transactionDtos, messageUtils.getMessage("transactions.found"), HttpStatus.OK.value(),
             HttpStatus.OK.name());
    }
 
-}
\ No newline at end of file
+   @Override
+   @Transactional
+   public void handleStockReservationResult(StockReservationResultEvent event) {
+      stockReservationSaga.handleResult(event, new TransactionParticipant(event.getTransactionId(),
+            event.getProductId(), null));
+   }
+
+   // Dijalankan di setiap instance; transisi bersyarat mencegah transaksi dibatalkan dua kali
+   @Override
+   @Scheduled(fixedDelayString = "${application.transaction.pending-check-interval-ms:10000}")
+   public int cancelStalePendingTransactions() {
+      Integer cancelled = transactionTemplate.execute(status -> {
+         LocalDateTime now = LocalDateTime.now();
+         List<Transaction> stale = transactionRepository
+               .findByStatusAndOrderIdIsNullAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(TransactionStatus.PENDING,
+                     now.minusSeconds(pendingTimeoutSeconds), PageRequest.of(0, pendingBatchSize));
+         int count = 0;
+         for (Transaction transaction : stale) {
+            if (stockReservationSaga.cancelStale(new TransactionParticipant(transaction.getId(),
+                  transaction.getProductId(), transaction), now)) {
+               count++;
+            }
+         }
+         return count;
+      });
+      if (cancelled != null && cancelled > 0) {
+         log.info("Cancelled {} transactions without stock reservation result", cancelled);
+      }
+      return cancelled == null ? 0 : cancelled;
+   }
+
+   // Fallback saat produk belum ada di replika (pool koneksi, timeout, bulkhead dan circuit breaker)
+   private CatalogProduct loadProduct(Long productId, HttpServletRequest httpServletRequest) {
+      InventoryProductDto product = inventoryClient.getProduct(productId,
+            RequestHeaders.forInventory(httpServletRequest));
+      productCatalogReplica.putIfAbsent(productId, product.getProductName(), product.getPrice());
+      return new CatalogProduct(productId, product.getProductName(), product.getPrice(), false);
+   }
+
+   // Transaksi tunggal sebagai peserta saga reservasi stok
+   private final class TransactionParticipant implements StockReservationSaga.Participant {
+
+      private final Long transactionId;
+      private final Long productId;
+      private Transaction transaction;
+
+      private TransactionParticipant(Long transactionId, Long productId, Transaction transaction) {
+         this.transactionId = transactionId;
+         this.productId = productId;
+         this.transaction = transaction;
+      }
+
+      @Override
+      public String describe() {
+         return "transaction " + transactionId;
+      }
+
+      @Override
+      public boolean updateStatus(TransactionStatus from, TransactionStatus to, String reason, LocalDateTime now) {
+         return transactionRepository.updateStatus(transactionId, from, to, reason, now) == 1;
+      }
+
+      @Override
+      public Optional<TransactionStatus> currentStatus() {
+         return transactionRepository.findById(transactionId).map(Transaction::getStatus);
+      }
+
+      @Override
+      public StockReservationDecisionEvent decision(String decision) {
+         return new StockReservationDecisionEvent(transactionId, productId, decision, null);
+      }
+
+      @Override
+      public void notifyConfirmed() {
+         find().ifPresent(current -> stockReservationSaga.notify(current.getUserId(),
+               "Transaksi berhasil untuk produk: " + current.getProductName() + " sejumlah: "
+                     + current.getQuantity()));
+      }
+
+      @Override
+      public void notifyCancelled(String reason) {
+         find().ifPresent(current -> stockReservationSaga.notify(current.getUserId(),
+               "Transaksi dibatalkan untuk produk: " + current.getProductName() + " sejumlah: "
+                     + current.getQuantity() + " (" + reason + ")"));
+      }
+
+      private Optional<Transaction> find() {
+         if (transaction == null) {
+            transaction = transactionRepository.findById(transactionId).orElse(null);
+         }
+         return Optional.ofNullable(transaction);
+      }
+   }
+
+}
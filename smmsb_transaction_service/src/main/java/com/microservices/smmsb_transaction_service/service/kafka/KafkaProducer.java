@@ -1,28 +1,67 @@
 package com.microservices.smmsb_transaction_service.service.kafka;
 
-import org.springframework.kafka.core.KafkaTemplate;
+import java.util.Objects;
+
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.smmsb_transaction_service.dto.kafkaEvent.UpdateProductStockEvent;
 import com.microservices.smmsb_transaction_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationDecisionEvent;
+import com.microservices.smmsb_transaction_service.model.OutboxEvent;
+import com.microservices.smmsb_transaction_service.repository.OutboxEventRepository;
 
 import lombok.RequiredArgsConstructor;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Event tidak langsung dikirim ke Kafka, tetapi ditulis ke tabel outbox dalam transaksi pemanggil. Jika transaksi
+ * rollback, event ikut batal; setelah commit, OutboxRelay yang mengirimnya ke Kafka, termasuk setelah restart.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KafkaProducer {
-   private final KafkaTemplate<String, Object> kafkaTemplate;
+   private final OutboxEventRepository outboxEventRepository;
+   private final ObjectMapper objectMapper;
 
    public void sendUpdateStockEvent(UpdateProductStockEvent event) {
-       log.info("Sending event to Kafka: {}", event);
-       kafkaTemplate.send("update-product-stock", event);
+       // Key productId: event untuk produk yang sama diproses berurutan oleh satu consumer
+       enqueue("update-product-stock", Objects.toString(event.getProductId(), null), event);
    }
 
+    // Satu event untuk seluruh baris order, key orderId
+    public void sendOrderStockEvent(OrderStockEvent event) {
+        enqueue("order-stock-reservation", Objects.toString(event.getOrderId(), null), event);
+    }
+
+    // Key transactionId (orderId untuk keputusan order), sama seperti hasil reservasi dari Inventory Service
+    public void sendStockReservationDecisionEvent(StockReservationDecisionEvent event) {
+        Long key = event.getOrderId() != null ? event.getOrderId() : event.getTransactionId();
+        enqueue("stock-reservation-decision", Objects.toString(key, null), event);
+    }
+
     public void sendNotificationEvent(NotificationEvent event) {
-        log.info("Sending event to Kafka: {}", event); 
-        kafkaTemplate.send("notificationTopic", event);
+        enqueue("notificationTopic", Objects.toString(event.getUserId(), null), event);
+    }
+
+    private void enqueue(String topic, String key, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            // Gagal serialisasi berarti bug; transaksi pemanggil ikut rollback agar status dan event tetap sejalan
+            throw new IllegalStateException("Failed to serialize event for topic " + topic, e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .eventKey(key)
+                .eventType(event.getClass().getName())
+                .payload(payload)
+                .build());
+        log.info("Event queued in outbox for {}: {}", topic, event);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.microservices.smmsb_transaction_service.service.kafka;
+
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.ProductChangedEvent;
+import com.microservices.smmsb_transaction_service.service.ProductCatalogReplica;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Menerapkan event productChanged ke replika katalog. Posisi baca tidak diambil dari offset consumer group,
+ * tetapi dari replika: lanjut dari snapshot jika ada, selain itu dari awal topic.
+ */
+@Slf4j
+@Component
+public class ProductChangedConsumer implements ConsumerSeekAware {
+
+    private final ProductCatalogReplica productCatalogReplica;
+
+    @Autowired
+    public ProductChangedConsumer(ProductCatalogReplica productCatalogReplica) {
+        this.productCatalogReplica = productCatalogReplica;
+    }
+
+    @KafkaListener(topics = "productChanged", containerFactory = "productChangedListenerContainerFactory")
+    public void consume(ConsumerRecord<String, ProductChangedEvent> record) {
+        // Tombstone Kafka (value null) tidak dikirim oleh Inventory Service, tetapi tidak perlu diproses
+        if (record.value() == null) {
+            return;
+        }
+        productCatalogReplica.apply(record.value(), record.partition(), record.offset());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        for (TopicPartition partition : assignments.keySet()) {
+            Long nextOffset = productCatalogReplica.nextOffset(partition.partition());
+            if (nextOffset != null) {
+                callback.seek(partition.topic(), partition.partition(), nextOffset);
+            } else {
+                callback.seekToBeginning(partition.topic(), partition.partition());
+            }
+        }
+        log.info("Product catalog replica reading {} partitions, {} products loaded", assignments.size(),
+                productCatalogReplica.size());
+    }
+}
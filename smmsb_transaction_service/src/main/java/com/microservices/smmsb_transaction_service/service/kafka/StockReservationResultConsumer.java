@@ -0,0 +1,33 @@
+package com.microservices.smmsb_transaction_service.service.kafka;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationResultEvent;
+import com.microservices.smmsb_transaction_service.service.OrderService;
+import com.microservices.smmsb_transaction_service.service.TransactionService;
+
+@Service
+public class StockReservationResultConsumer {
+
+    private final TransactionService transactionService;
+    private final OrderService orderService;
+
+    @Autowired
+    public StockReservationResultConsumer(TransactionService transactionService, OrderService orderService) {
+        this.transactionService = transactionService;
+        this.orderService = orderService;
+    }
+
+    // Transisi status bersyarat, jadi redelivery tidak mengubah transaksi dua kali
+    @KafkaListener(topics = "stock-reservation-result", groupId = "transaction-group",
+            containerFactory = "stockReservationResultListenerContainerFactory")
+    public void listenStockReservationResult(StockReservationResultEvent event) {
+        if (event.getOrderId() != null) {
+            orderService.handleStockReservationResult(event);
+            return;
+        }
+        transactionService.handleStockReservationResult(event);
+    }
+}
@@ -0,0 +1,54 @@
+package com.microservices.smmsb_transaction_service.utils;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import com.microservices.smmsb_transaction_service.dto.response.MessageResponse;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Header yang diisi API Gateway: identitas user untuk request ini dan kredensial yang diteruskan ke Inventory
+ * Service.
+ */
+public final class RequestHeaders {
+
+   public static final String USER_ID = "X-User-Id";
+
+   private RequestHeaders() {
+   }
+
+   // null jika header tidak ada atau bukan angka; respons error-nya dari invalidUserId
+   public static Long userId(HttpServletRequest request) {
+      String userIdHeader = request.getHeader(USER_ID);
+      if (userIdHeader == null) {
+         return null;
+      }
+      try {
+         return Long.parseLong(userIdHeader);
+      } catch (NumberFormatException e) {
+         return null;
+      }
+   }
+
+   // 401 jika header tidak ada, 400 jika bukan angka
+   public static MessageResponse invalidUserId(HttpServletRequest request, MessageUtils messageUtils) {
+      if (request.getHeader(USER_ID) == null) {
+         return new MessageResponse(
+               messageUtils.getMessage("user.not.found"),
+               HttpStatus.UNAUTHORIZED.value(),
+               HttpStatus.UNAUTHORIZED.name());
+      }
+      return new MessageResponse(
+            messageUtils.getMessage("invalid.user.id"),
+            HttpStatus.BAD_REQUEST.value(),
+            HttpStatus.BAD_REQUEST.name());
+   }
+
+   public static HttpHeaders forInventory(HttpServletRequest request) {
+      HttpHeaders headers = new HttpHeaders();
+      headers.set("Authorization", "Bearer " + request.getHeader("Authorization"));
+      headers.set("X-Session-Id", request.getHeader("X-Session-Id"));
+      return headers;
+   }
+}
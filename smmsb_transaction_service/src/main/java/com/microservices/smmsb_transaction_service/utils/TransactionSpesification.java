@@ -2,6 +2,7 @@ package com.microservices.smmsb_transaction_service.utils;
 
 import org.springframework.data.jpa.domain.Specification;
 import com.microservices.smmsb_transaction_service.model.Transaction;
+import com.microservices.smmsb_transaction_service.model.TransactionStatus;
 
 public class TransactionSpesification {
 
@@ -10,7 +11,8 @@ public class TransactionSpesification {
    }
 
    public static Specification<Transaction> filterByStatus(String status) {
-      return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("status"), status);
+      return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("status"),
+            TransactionStatus.valueOf(status.toUpperCase()));
    }
 
    public static Specification<Transaction> filterProductName(String productName) {
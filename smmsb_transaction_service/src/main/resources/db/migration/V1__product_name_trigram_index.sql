@@ -0,0 +1,6 @@
+-- Filter productName get-all (LIKE '%nama%') butuh index GIN trigram; ddl-auto hanya membuat index btree.
+-- Jika user database tidak boleh membuat extension, minta DBA menjalankan statement pertama sebelum deploy.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_product_name_trgm
+    ON transactions USING gin (product_name gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Riwayat transaksi per produk dan per user, terbaru lebih dulu
+CREATE INDEX IF NOT EXISTS idx_transactions_product_id_created_at ON transactions (product_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_transactions_user_id_created_at ON transactions (user_id, created_at);
@@ -0,0 +1,13 @@
+-- Snapshot replika katalog (ProductCatalogReplica) beserta posisi topic productChanged yang sudah diterapkan,
+-- sehingga instance yang restart cukup membaca event setelah snapshot
+CREATE TABLE IF NOT EXISTS product_catalog_snapshot (
+    product_id BIGINT PRIMARY KEY,
+    product_name VARCHAR(255) NOT NULL,
+    price NUMERIC(38, 2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS product_catalog_offset (
+    topic_partition INTEGER PRIMARY KEY,
+    next_offset BIGINT NOT NULL,
+    saved_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Sweep batas waktu hanya membaca transaksi PENDING urut created_at; kolom status ditambahkan Hibernate
+-- (ddl-auto) dengan default CONFIRMED untuk transaksi lama yang dibuat sebelum saga reservasi
+CREATE INDEX IF NOT EXISTS idx_transactions_pending_created_at ON transactions (created_at, id)
+    WHERE status = 'PENDING';
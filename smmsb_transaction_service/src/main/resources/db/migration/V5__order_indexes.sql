@@ -0,0 +1,8 @@
+-- Baris order disimpan di transactions dengan order_id (kolom dan tabel orders dibuat Hibernate lewat ddl-auto).
+-- Index parsial: transaksi tunggal (order_id NULL) tidak ikut mengisi index
+CREATE INDEX IF NOT EXISTS idx_transactions_order_id ON transactions (order_id, id)
+    WHERE order_id IS NOT NULL;
+
+-- Sweep batas waktu order PENDING, sama seperti idx_transactions_pending_created_at
+CREATE INDEX IF NOT EXISTS idx_orders_pending_created_at ON orders (created_at, id)
+    WHERE status = 'PENDING';
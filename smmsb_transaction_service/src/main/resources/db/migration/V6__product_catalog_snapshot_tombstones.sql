@@ -0,0 +1,9 @@
+-- Produk yang dihapus ikut disimpan di snapshot sebagai tombstone, agar replika yang restart tidak melayani harga
+-- produk yang sudah dihapus. Tombstone tidak perlu nama dan harga
+ALTER TABLE product_catalog_snapshot ADD COLUMN IF NOT EXISTS deleted BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE product_catalog_snapshot ALTER COLUMN product_name DROP NOT NULL;
+ALTER TABLE product_catalog_snapshot ALTER COLUMN price DROP NOT NULL;
+
+-- Snapshot lama tidak punya tombstone: dibuang agar replika dibangun ulang sekali dari awal topic
+DELETE FROM product_catalog_offset;
+DELETE FROM product_catalog_snapshot;
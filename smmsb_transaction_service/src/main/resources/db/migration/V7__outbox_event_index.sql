@@ -0,0 +1,3 @@
+-- Outbox event Kafka (OutboxRelay); tabelnya dibuat Hibernate. Relay mencari baris yang belum terkirim urut id,
+-- cleanup menghapus baris terkirim berdasarkan sent_at
+CREATE INDEX IF NOT EXISTS idx_outbox_event_sent_at_id ON outbox_event (sent_at, id);
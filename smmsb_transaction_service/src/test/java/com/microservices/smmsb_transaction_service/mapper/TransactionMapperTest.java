@@ -0,0 +1,45 @@
+package com.microservices.smmsb_transaction_service.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_transaction_service.dto.TransactionDto;
+import com.microservices.smmsb_transaction_service.model.Transaction;
+
+// Memastikan mapper eksplisit menghasilkan JSON yang sama dengan ModelMapper sebelumnya
+public class TransactionMapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void toDto_ProducesSameJsonAsModelMapper() throws Exception {
+        Transaction transaction = Transaction.builder()
+                .id(1L)
+                .userId(200L)
+                .productId(100L)
+                .productName("Kampas Rem")
+                .price(new BigDecimal("45000.00"))
+                .quantity(2)
+                .totalAmount(new BigDecimal("90000.00"))
+                .createdAt(LocalDateTime.of(2025, 1, 1, 8, 30))
+                .build();
+
+        assertEquals(objectMapper.writeValueAsString(modelMapper.map(transaction, TransactionDto.class)),
+                objectMapper.writeValueAsString(TransactionMapper.toDto(transaction)));
+    }
+
+    @Test
+    void toDto_HandlesNullFields() throws Exception {
+        Transaction transaction = Transaction.builder().id(2L).build();
+
+        assertEquals(objectMapper.writeValueAsString(modelMapper.map(transaction, TransactionDto.class)),
+                objectMapper.writeValueAsString(TransactionMapper.toDto(transaction)));
+    }
+}
@@ -0,0 +1,123 @@
+package com.microservices.smmsb_transaction_service.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.ProductChangedEvent;
+import com.microservices.smmsb_transaction_service.repository.ProductCatalogSnapshotJdbcRepository;
+import com.microservices.smmsb_transaction_service.repository.ProductCatalogSnapshotJdbcRepository.SnapshotProduct;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductCatalogReplicaTest {
+
+    @Mock
+    private ProductCatalogSnapshotJdbcRepository productCatalogSnapshotJdbcRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ProductCatalogReplica productCatalogReplica;
+
+    @BeforeEach
+    void setUp() {
+        productCatalogReplica = new ProductCatalogReplica(productCatalogSnapshotJdbcRepository, transactionTemplate);
+        ReflectionTestUtils.setField(productCatalogReplica, "snapshotEnabled", true);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    void apply_UpdatesProductAndNextOffset() {
+        productCatalogReplica.apply(event(1L, "Busi", "15000", false), 2, 40L);
+        productCatalogReplica.apply(event(1L, "Busi Iridium", "45000", false), 2, 41L);
+
+        assertEquals("Busi Iridium", productCatalogReplica.find(1L).orElseThrow().productName());
+        assertEquals(42L, productCatalogReplica.nextOffset(2));
+        assertNull(productCatalogReplica.nextOffset(0));
+    }
+
+    @Test
+    void apply_DeletedProduct_KeepsTombstoneAgainstLateFallback() {
+        productCatalogReplica.apply(event(1L, "Busi", "15000", true), 0, 5L);
+        productCatalogReplica.putIfAbsent(1L, "Busi", new BigDecimal("15000"));
+
+        assertTrue(productCatalogReplica.find(1L).isEmpty());
+    }
+
+    @Test
+    void putIfAbsent_DoesNotOverrideEventData() {
+        productCatalogReplica.apply(event(1L, "Busi", "20000", false), 0, 5L);
+        productCatalogReplica.putIfAbsent(1L, "Busi", new BigDecimal("15000"));
+        productCatalogReplica.putIfAbsent(2L, "Rantai", new BigDecimal("90000"));
+
+        assertEquals(new BigDecimal("20000"), productCatalogReplica.find(1L).orElseThrow().price());
+        assertEquals(new BigDecimal("90000"), productCatalogReplica.find(2L).orElseThrow().price());
+    }
+
+    @Test
+    void afterPropertiesSet_RestoresSnapshotAndOffsets() {
+        when(productCatalogSnapshotJdbcRepository.findOffsets()).thenReturn(Map.of(0, 12L));
+        when(productCatalogSnapshotJdbcRepository.findProducts()).thenReturn(List.of(
+                new SnapshotProduct(1L, "Busi", new BigDecimal("15000"), false),
+                new SnapshotProduct(2L, "Rantai", new BigDecimal("90000"), true)));
+
+        productCatalogReplica.afterPropertiesSet();
+
+        assertEquals("Busi", productCatalogReplica.find(1L).orElseThrow().productName());
+        assertEquals(12L, productCatalogReplica.nextOffset(0));
+        // Tombstone dari snapshot tetap menahan fallback HTTP yang datang terlambat
+        productCatalogReplica.putIfAbsent(2L, "Rantai", new BigDecimal("90000"));
+        assertTrue(productCatalogReplica.find(2L).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void snapshot_WritesProductsAndTombstonesWithOffsets() {
+        when(productCatalogSnapshotJdbcRepository.findOffsets()).thenReturn(Map.of());
+        productCatalogReplica.apply(event(1L, "Busi", "15000", false), 0, 7L);
+        productCatalogReplica.apply(event(2L, "Rantai", "90000", true), 1, 3L);
+
+        productCatalogReplica.snapshot();
+
+        ArgumentCaptor<List<SnapshotProduct>> products = ArgumentCaptor.forClass(List.class);
+        verify(productCatalogSnapshotJdbcRepository).lockSnapshot();
+        verify(productCatalogSnapshotJdbcRepository).replace(products.capture(), eq(Map.of(0, 8L, 1, 4L)));
+        assertEquals(List.of(new SnapshotProduct(1L, "Busi", new BigDecimal("15000"), false),
+                new SnapshotProduct(2L, "Rantai", new BigDecimal("90000"), true)),
+                products.getValue().stream().sorted(Comparator.comparing(SnapshotProduct::productId)).toList());
+    }
+
+    @Test
+    void snapshot_SkipsWhenNothingChangedOrAlreadyCovered() {
+        productCatalogReplica.snapshot();
+        verifyNoInteractions(productCatalogSnapshotJdbcRepository);
+
+        // Instance lain sudah menyimpan snapshot yang lebih baru
+        when(productCatalogSnapshotJdbcRepository.findOffsets()).thenReturn(Map.of(0, 20L));
+        productCatalogReplica.apply(event(1L, "Busi", "15000", false), 0, 7L);
+        productCatalogReplica.snapshot();
+        verify(productCatalogSnapshotJdbcRepository, never()).replace(anyList(), anyMap());
+    }
+
+    private ProductChangedEvent event(Long productId, String productName, String price, boolean deleted) {
+        return new ProductChangedEvent(productId, productName, new BigDecimal(price), deleted);
+    }
+}
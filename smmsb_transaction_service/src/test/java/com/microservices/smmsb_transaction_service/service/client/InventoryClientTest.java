@@ -0,0 +1,108 @@
+package com.microservices.smmsb_transaction_service.service.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.microservices.smmsb_transaction_service.dto.InventoryProductDto;
+import com.microservices.smmsb_transaction_service.dto.response.InventoryResponse;
+import com.microservices.smmsb_transaction_service.exception.ResourceNotFoundException;
+import com.microservices.smmsb_transaction_service.exception.ServiceUnavailableException;
+import com.microservices.smmsb_transaction_service.utils.MessageUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryClientTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private MessageUtils messageUtils;
+
+    private InventoryClient inventoryClient;
+
+    @BeforeEach
+    void setUp() {
+        inventoryClient = new InventoryClient(restTemplate, messageUtils, "http://inventory", 2, 10, 2, 60_000);
+    }
+
+    @Test
+    void getProduct_ReturnsTypedData() {
+        InventoryProductDto product = new InventoryProductDto(1L, "Busi", 5, new BigDecimal("15000"));
+        stubExchange().thenReturn(ResponseEntity.ok(new InventoryResponse<>(product, "OK", 200)));
+
+        assertEquals(product, inventoryClient.getProduct(1L, new HttpHeaders()));
+        verify(restTemplate).exchange(eq("http://inventory/api/v1/inventory/get-by-id/{id}"),
+                eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class), eq(1L));
+    }
+
+    @Test
+    void getProduct_NotFound_DoesNotCountAsFailure() {
+        stubExchange().thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceNotFoundException.class, () -> inventoryClient.getProduct(1L, new HttpHeaders()));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, inventoryClient.getCircuitState());
+    }
+
+    @Test
+    void getProduct_RepeatedTimeouts_OpenCircuitAndSkipCalls() {
+        stubExchange().thenThrow(new ResourceAccessException("Read timed out"));
+
+        assertThrows(ServiceUnavailableException.class, () -> inventoryClient.getProduct(1L, new HttpHeaders()));
+        assertThrows(ServiceUnavailableException.class, () -> inventoryClient.getProduct(1L, new HttpHeaders()));
+        assertEquals(CircuitBreaker.State.OPEN, inventoryClient.getCircuitState());
+
+        assertThrows(ServiceUnavailableException.class, () -> inventoryClient.getProduct(1L, new HttpHeaders()));
+        verify(restTemplate, times(2)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class), any(Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void getProducts_OneCallForAllIds() {
+        Map<Long, InventoryProductDto> products = Map.of(
+                1L, new InventoryProductDto(1L, "Busi", 5, new BigDecimal("15000")),
+                2L, new InventoryProductDto(2L, "Oli", 3, new BigDecimal("55000")));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class), eq("1,2")))
+                .thenReturn(ResponseEntity.ok(new InventoryResponse<>(products, "OK", 200)));
+
+        assertEquals(products, inventoryClient.getProducts(List.of(1L, 2L), new HttpHeaders()));
+        verify(restTemplate, times(1)).exchange(eq("http://inventory/api/v1/inventory/get-by-ids?ids={ids}"),
+                eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class), eq("1,2"));
+    }
+
+    @Test
+    void getProducts_NoIds_SkipsCall() {
+        assertTrue(inventoryClient.getProducts(List.of(), new HttpHeaders()).isEmpty());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private OngoingStubbing<ResponseEntity> stubExchange() {
+        return when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class), eq(1L)));
+    }
+}
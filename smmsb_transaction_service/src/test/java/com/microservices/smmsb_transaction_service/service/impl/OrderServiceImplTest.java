@@ -0,0 +1,227 @@
+package com.microservices.smmsb_transaction_service.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.microservices.smmsb_transaction_service.dto.InventoryProductDto;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.OrderStockEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationDecisionEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationResultEvent;
+import com.microservices.smmsb_transaction_service.dto.request.CreateOrderRequest;
+import com.microservices.smmsb_transaction_service.dto.request.OrderLineRequest;
+import com.microservices.smmsb_transaction_service.dto.response.MessageResponse;
+import com.microservices.smmsb_transaction_service.exception.BadRequestException;
+import com.microservices.smmsb_transaction_service.exception.ResourceNotFoundException;
+import com.microservices.smmsb_transaction_service.model.Order;
+import com.microservices.smmsb_transaction_service.model.Transaction;
+import com.microservices.smmsb_transaction_service.model.TransactionStatus;
+import com.microservices.smmsb_transaction_service.repository.OrderJdbcRepository;
+import com.microservices.smmsb_transaction_service.repository.OrderJdbcRepository.CreatedOrder;
+import com.microservices.smmsb_transaction_service.repository.OrderRepository;
+import com.microservices.smmsb_transaction_service.repository.TransactionRepository;
+import com.microservices.smmsb_transaction_service.service.ProductCatalogReplica;
+import com.microservices.smmsb_transaction_service.service.ProductCatalogReplica.CatalogProduct;
+import com.microservices.smmsb_transaction_service.service.client.InventoryClient;
+import com.microservices.smmsb_transaction_service.service.kafka.KafkaProducer;
+import com.microservices.smmsb_transaction_service.utils.MessageUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private MessageUtils messageUtils;
+
+    @Mock
+    private InventoryClient inventoryClient;
+
+    @Mock
+    private ProductCatalogReplica productCatalogReplica;
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private HttpServletRequest httpServletRequest;
+
+    private OrderServiceImpl orderService;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        // Saga asli di atas KafkaProducer mock, sehingga event yang dikirim saga tetap bisa diverifikasi
+        orderService = new OrderServiceImpl(orderRepository, orderJdbcRepository, transactionRepository, messageUtils,
+                inventoryClient, productCatalogReplica, kafkaProducer, transactionTemplate,
+                new StockReservationSaga(kafkaProducer));
+        ReflectionTestUtils.setField(orderService, "maxLines", 50);
+        order = Order.builder()
+                .id(900L)
+                .userId(200L)
+                .status(TransactionStatus.PENDING)
+                .totalAmount(new BigDecimal("350.00"))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void createOrder_OneMultiGetOneInsertOneEvent() {
+        when(httpServletRequest.getHeader("X-User-Id")).thenReturn("200");
+        when(productCatalogReplica.find(100L))
+                .thenReturn(Optional.of(new CatalogProduct(100L, "Busi", new BigDecimal("100.00"), false)));
+        when(productCatalogReplica.find(101L)).thenReturn(Optional.empty());
+        when(inventoryClient.getProducts(eq(List.of(101L)), any(HttpHeaders.class)))
+                .thenReturn(Map.of(101L, new InventoryProductDto(101L, "Oli", 10, new BigDecimal("50.00"))));
+        when(orderJdbcRepository.insert(eq(200L), eq(new BigDecimal("350.00")), anyList(), any(LocalDateTime.class)))
+                .thenReturn(new CreatedOrder(900L, Map.of(100L, 1L, 101L, 2L)));
+
+        MessageResponse response = orderService.createOrder(new CreateOrderRequest(List.of(
+                new OrderLineRequest(100L, 2), new OrderLineRequest(101L, 1), new OrderLineRequest(100L, 1))),
+                httpServletRequest);
+
+        assertEquals(HttpStatus.CREATED.value(), response.getStatusCode());
+        // Baris dengan produk yang sama digabung sebelum disimpan
+        ArgumentCaptor<List<Transaction>> lines = ArgumentCaptor.forClass(List.class);
+        verify(orderJdbcRepository).insert(eq(200L), any(BigDecimal.class), lines.capture(), any(LocalDateTime.class));
+        assertEquals(2, lines.getValue().size());
+        assertEquals(3, lines.getValue().get(0).getQuantity());
+        // Produk yang tidak ada di replika diambil sekaligus, bukan satu per satu
+        verify(inventoryClient, times(1)).getProducts(anyCollection(), any(HttpHeaders.class));
+        verify(inventoryClient, never()).getProduct(anyLong(), any(HttpHeaders.class));
+        verify(productCatalogReplica).putIfAbsent(101L, "Oli", new BigDecimal("50.00"));
+        ArgumentCaptor<OrderStockEvent> event = ArgumentCaptor.forClass(OrderStockEvent.class);
+        verify(kafkaProducer, times(1)).sendOrderStockEvent(event.capture());
+        assertEquals(900L, event.getValue().getOrderId());
+        assertNotNull(event.getValue().getEventId());
+        assertEquals(2, event.getValue().getLines().size());
+        assertEquals(1L, event.getValue().getLines().get(0).getTransactionId());
+        assertEquals(2L, event.getValue().getLines().get(1).getTransactionId());
+    }
+
+    @Test
+    void createOrder_UnknownProduct_NothingSaved() {
+        when(httpServletRequest.getHeader("X-User-Id")).thenReturn("200");
+        when(productCatalogReplica.find(101L)).thenReturn(Optional.empty());
+        when(inventoryClient.getProducts(anyCollection(), any(HttpHeaders.class))).thenReturn(Map.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.createOrder(
+                new CreateOrderRequest(List.of(new OrderLineRequest(101L, 1))), httpServletRequest));
+
+        verifyNoInteractions(orderJdbcRepository, kafkaProducer);
+    }
+
+    @Test
+    void createOrder_TooManyLines_BadRequest() {
+        when(httpServletRequest.getHeader("X-User-Id")).thenReturn("200");
+        ReflectionTestUtils.setField(orderService, "maxLines", 2);
+
+        assertThrows(BadRequestException.class, () -> orderService.createOrder(
+                new CreateOrderRequest(Collections.nCopies(3, new OrderLineRequest(100L, 1))), httpServletRequest));
+
+        verifyNoInteractions(productCatalogReplica, inventoryClient, orderJdbcRepository);
+    }
+
+    @Test
+    void handleStockReservationResult_Reserved_ConfirmsOrderAndLines() {
+        when(orderRepository.updateStatus(eq(900L), eq(TransactionStatus.PENDING), eq(TransactionStatus.CONFIRMED),
+                isNull(), any(LocalDateTime.class))).thenReturn(1);
+        when(orderRepository.findById(900L)).thenReturn(Optional.of(order));
+
+        orderService.handleStockReservationResult(new StockReservationResultEvent(null, null, 4,
+                StockReservationResultEvent.RESERVED, null, 900L));
+
+        verify(transactionRepository).updateStatusByOrderId(eq(900L), eq(TransactionStatus.CONFIRMED), isNull(),
+                any(LocalDateTime.class));
+        verify(kafkaProducer).sendStockReservationDecisionEvent(
+                new StockReservationDecisionEvent(null, null, StockReservationDecisionEvent.CONFIRM, 900L));
+        verify(kafkaProducer, times(1)).sendNotificationEvent(any(NotificationEvent.class));
+    }
+
+    @Test
+    void handleStockReservationResult_Rejected_CancelsOrderAndLines() {
+        when(orderRepository.updateStatus(eq(900L), eq(TransactionStatus.PENDING), eq(TransactionStatus.CANCELLED),
+                eq("INSUFFICIENT_STOCK"), any(LocalDateTime.class))).thenReturn(1);
+        when(orderRepository.findById(900L)).thenReturn(Optional.of(order));
+
+        orderService.handleStockReservationResult(new StockReservationResultEvent(null, 101L, 0,
+                StockReservationResultEvent.REJECTED, "INSUFFICIENT_STOCK", 900L));
+
+        verify(transactionRepository).updateStatusByOrderId(eq(900L), eq(TransactionStatus.CANCELLED),
+                eq("INSUFFICIENT_STOCK"), any(LocalDateTime.class));
+        verify(kafkaProducer).sendNotificationEvent(argThat((NotificationEvent event) ->
+                event.getMessage().contains("INSUFFICIENT_STOCK")));
+        // Tidak ada baris yang dikurangi, tidak ada yang perlu dikompensasi
+        verify(kafkaProducer, never()).sendStockReservationDecisionEvent(any());
+    }
+
+    @Test
+    void handleStockReservationResult_ExpiredAfterConfirm_KeepsOrderConfirmed() {
+        order.setStatus(TransactionStatus.CONFIRMED);
+        when(orderRepository.findById(900L)).thenReturn(Optional.of(order));
+
+        orderService.handleStockReservationResult(new StockReservationResultEvent(null, null, 0,
+                StockReservationResultEvent.EXPIRED, null, 900L));
+
+        verify(orderRepository, never()).updateStatus(eq(900L), eq(TransactionStatus.CONFIRMED),
+                eq(TransactionStatus.CANCELLED), any(), any(LocalDateTime.class));
+        verify(transactionRepository, never()).updateStatusByOrderId(anyLong(), any(), any(), any());
+        verifyNoInteractions(kafkaProducer);
+    }
+
+    @Test
+    void cancelStalePendingOrders_CancelsOrderLinesAndReleasesReservation() {
+        ReflectionTestUtils.setField(orderService, "pendingTimeoutSeconds", 60L);
+        ReflectionTestUtils.setField(orderService, "pendingBatchSize", 200);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(orderRepository.findByStatusAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(eq(TransactionStatus.PENDING),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(order));
+        when(orderRepository.updateStatus(eq(900L), eq(TransactionStatus.PENDING), eq(TransactionStatus.CANCELLED),
+                eq(StockReservationSaga.REASON_STOCK_TIMEOUT), any(LocalDateTime.class))).thenReturn(1);
+
+        assertEquals(1, orderService.cancelStalePendingOrders());
+
+        verify(transactionRepository).updateStatusByOrderId(eq(900L), eq(TransactionStatus.CANCELLED),
+                eq(StockReservationSaga.REASON_STOCK_TIMEOUT), any(LocalDateTime.class));
+        verify(kafkaProducer).sendStockReservationDecisionEvent(
+                new StockReservationDecisionEvent(null, null, StockReservationDecisionEvent.CANCEL, 900L));
+        verify(kafkaProducer).sendNotificationEvent(any(NotificationEvent.class));
+    }
+}
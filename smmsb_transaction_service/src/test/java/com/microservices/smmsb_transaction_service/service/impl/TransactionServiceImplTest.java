@@ -5,38 +5,44 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.microservices.smmsb_transaction_service.dto.InventoryProductDto;
 import com.microservices.smmsb_transaction_service.dto.TransactionDto;
 import com.microservices.smmsb_transaction_service.dto.kafkaEvent.NotificationEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationDecisionEvent;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationResultEvent;
 import com.microservices.smmsb_transaction_service.dto.kafkaEvent.UpdateProductStockEvent;
 import com.microservices.smmsb_transaction_service.dto.request.CreateTransactionRequest;
 import com.microservices.smmsb_transaction_service.dto.response.ApiDataResponseBuilder;
 import com.microservices.smmsb_transaction_service.dto.response.ListResponse;
 import com.microservices.smmsb_transaction_service.dto.response.MessageResponse;
+import com.microservices.smmsb_transaction_service.exception.ServiceUnavailableException;
 import com.microservices.smmsb_transaction_service.model.Transaction;
+import com.microservices.smmsb_transaction_service.model.TransactionStatus;
 import com.microservices.smmsb_transaction_service.repository.TransactionRepository;
+import com.microservices.smmsb_transaction_service.service.ProductCatalogReplica;
+import com.microservices.smmsb_transaction_service.service.ProductCatalogReplica.CatalogProduct;
+import com.microservices.smmsb_transaction_service.service.client.InventoryClient;
 import com.microservices.smmsb_transaction_service.service.kafka.KafkaProducer;
 import com.microservices.smmsb_transaction_service.utils.MessageUtils;
 
@@ -45,9 +51,6 @@ import jakarta.servlet.http.HttpServletRequest;
 @ExtendWith(MockitoExtension.class)
 public class TransactionServiceImplTest {
 
-    @Mock
-    private ModelMapper modelMapper;
-
     @Mock
     private TransactionRepository transactionRepository;
 
@@ -55,15 +58,20 @@ public class TransactionServiceImplTest {
     private MessageUtils messageUtils;
 
     @Mock
-    private RestTemplate restTemplate;
+    private InventoryClient inventoryClient;
+
+    @Mock
+    private ProductCatalogReplica productCatalogReplica;
 
     @Mock
     private KafkaProducer kafkaProducer;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @Mock
     private HttpServletRequest httpServletRequest;
 
-    @InjectMocks
     private TransactionServiceImpl transactionService;
 
     private Transaction transaction;
@@ -72,6 +80,9 @@ public class TransactionServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // Saga asli di atas KafkaProducer mock, sehingga event yang dikirim saga tetap bisa diverifikasi
+        transactionService = new TransactionServiceImpl(transactionRepository, messageUtils, inventoryClient,
+                productCatalogReplica, kafkaProducer, transactionTemplate, new StockReservationSaga(kafkaProducer));
         // Setup test data
         transaction = new Transaction();
         transaction.setId(1L);
@@ -96,24 +107,32 @@ public class TransactionServiceImplTest {
         createTransactionRequest.setQuantity(5);
     }
 
-    @SuppressWarnings("rawtypes")
-   @Test
+    @Test
+    void createTransaction_ProductInCatalog_SkipsInventoryCall() {
+        when(httpServletRequest.getHeader("X-User-Id")).thenReturn("200");
+        when(productCatalogReplica.find(100L))
+                .thenReturn(Optional.of(new CatalogProduct(100L, "Test Product", new BigDecimal("100.00"), false)));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
+        when(messageUtils.getMessage("transaction.created", 1L)).thenReturn("Transaction created successfully with ID: 1");
+
+        MessageResponse response = transactionService.createTransaction(createTransactionRequest, httpServletRequest);
+
+        assertEquals(HttpStatus.CREATED.value(), response.getStatusCode());
+        verifyNoInteractions(inventoryClient);
+        verify(transactionRepository).save(argThat((Transaction saved) -> "Test Product".equals(saved.getProductName())
+                && new BigDecimal("500.00").equals(saved.getTotalAmount())));
+    }
+
+    @Test
     void createTransaction_Success() {
         // Arrange
         when(httpServletRequest.getHeader("X-User-Id")).thenReturn("200");
         when(httpServletRequest.getHeader("Authorization")).thenReturn("Bearer token");
         when(httpServletRequest.getHeader("X-Session-Id")).thenReturn("session-id");
 
-        Map<String, Object> productData = new HashMap<>();
-        productData.put("productName", "Test Product");
-        productData.put("price", 100.00);
-
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("data", productData);
-
-        ResponseEntity<Map> responseEntity = new ResponseEntity<>(responseBody, HttpStatus.OK);
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Map.class)))
-                .thenReturn(responseEntity);
+        when(productCatalogReplica.find(100L)).thenReturn(Optional.empty());
+        when(inventoryClient.getProduct(eq(100L), any(HttpHeaders.class)))
+                .thenReturn(new InventoryProductDto(100L, "Test Product", 20, new BigDecimal("100.00")));
 
         when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
         when(messageUtils.getMessage("transaction.created", 1L)).thenReturn("Transaction created successfully with ID: 1");
@@ -127,9 +146,107 @@ public class TransactionServiceImplTest {
         assertEquals(HttpStatus.CREATED.name(), response.getStatus());
         
         // Verify interactions
-        verify(kafkaProducer).sendUpdateStockEvent(any(UpdateProductStockEvent.class));
+        verify(kafkaProducer).sendUpdateStockEvent(argThat((UpdateProductStockEvent event) -> event.getEventId() != null));
+        // Notifikasi baru dikirim setelah reservasi stok dikonfirmasi
+        verify(kafkaProducer, never()).sendNotificationEvent(any(NotificationEvent.class));
+        // Produk yang belum ada di replika dimasukkan dari hasil fallback HTTP
+        verify(productCatalogReplica).putIfAbsent(100L, "Test Product", new BigDecimal("100.00"));
+        verify(transactionRepository).save(argThat((Transaction saved) -> "Test Product".equals(saved.getProductName())
+                && new BigDecimal("500.00").equals(saved.getTotalAmount())
+                && saved.getStatus() == TransactionStatus.PENDING));
+    }
+
+    @Test
+    void handleStockReservationResult_Reserved_ConfirmsAndNotifies() {
+        when(transactionRepository.updateStatus(eq(1L), eq(TransactionStatus.PENDING), eq(TransactionStatus.CONFIRMED),
+                isNull(), any(LocalDateTime.class))).thenReturn(1);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
+
+        transactionService.handleStockReservationResult(
+                new StockReservationResultEvent(1L, 100L, 5, StockReservationResultEvent.RESERVED, null, null));
+
+        verify(kafkaProducer).sendStockReservationDecisionEvent(
+                new StockReservationDecisionEvent(1L, 100L, StockReservationDecisionEvent.CONFIRM, null));
+        verify(kafkaProducer).sendNotificationEvent(any(NotificationEvent.class));
+    }
+
+    @Test
+    void handleStockReservationResult_ReservedAfterTimeout_CancelsReservation() {
+        when(transactionRepository.updateStatus(eq(1L), eq(TransactionStatus.PENDING), eq(TransactionStatus.CONFIRMED),
+                isNull(), any(LocalDateTime.class))).thenReturn(0);
+        transaction.setStatus(TransactionStatus.CANCELLED);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
+
+        transactionService.handleStockReservationResult(
+                new StockReservationResultEvent(1L, 100L, 5, StockReservationResultEvent.RESERVED, null, null));
+
+        verify(kafkaProducer).sendStockReservationDecisionEvent(
+                new StockReservationDecisionEvent(1L, 100L, StockReservationDecisionEvent.CANCEL, null));
+        verify(kafkaProducer, never()).sendNotificationEvent(any(NotificationEvent.class));
+    }
+
+    @Test
+    void handleStockReservationResult_Rejected_CancelsWithReason() {
+        when(transactionRepository.updateStatus(eq(1L), eq(TransactionStatus.PENDING), eq(TransactionStatus.CANCELLED),
+                eq("INSUFFICIENT_STOCK"), any(LocalDateTime.class))).thenReturn(1);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
+
+        transactionService.handleStockReservationResult(new StockReservationResultEvent(1L, 100L, 5,
+                StockReservationResultEvent.REJECTED, "INSUFFICIENT_STOCK", null));
+
+        verify(kafkaProducer).sendNotificationEvent(argThat((NotificationEvent event) ->
+                event.getMessage().contains("INSUFFICIENT_STOCK")));
+        // Stok tidak pernah dikurangi, tidak ada yang perlu dikompensasi
+        verify(kafkaProducer, never()).sendStockReservationDecisionEvent(any());
+    }
+
+    @Test
+    void handleStockReservationResult_ExpiredAfterConfirm_KeepsConfirmed() {
+        // Confirm terlambat sampai di Inventory Service setelah TTL
+        transaction.setStatus(TransactionStatus.CONFIRMED);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
+
+        transactionService.handleStockReservationResult(
+                new StockReservationResultEvent(1L, 100L, 5, StockReservationResultEvent.EXPIRED, null, null));
+
+        verify(transactionRepository, never()).updateStatus(eq(1L), eq(TransactionStatus.CONFIRMED),
+                eq(TransactionStatus.CANCELLED), any(), any(LocalDateTime.class));
+        verify(kafkaProducer, never()).sendNotificationEvent(any(NotificationEvent.class));
+        verify(kafkaProducer, never()).sendStockReservationDecisionEvent(any());
+    }
+
+    @Test
+    void cancelStalePendingTransactions_CancelsAndReleasesReservation() {
+        ReflectionTestUtils.setField(transactionService, "pendingTimeoutSeconds", 60L);
+        ReflectionTestUtils.setField(transactionService, "pendingBatchSize", 200);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        transaction.setStatus(TransactionStatus.PENDING);
+        when(transactionRepository.findByStatusAndOrderIdIsNullAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(
+                eq(TransactionStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(transaction));
+        when(transactionRepository.updateStatus(eq(1L), eq(TransactionStatus.PENDING), eq(TransactionStatus.CANCELLED),
+                eq(StockReservationSaga.REASON_STOCK_TIMEOUT), any(LocalDateTime.class))).thenReturn(1);
+
+        assertEquals(1, transactionService.cancelStalePendingTransactions());
+
+        verify(kafkaProducer).sendStockReservationDecisionEvent(
+                new StockReservationDecisionEvent(1L, 100L, StockReservationDecisionEvent.CANCEL, null));
         verify(kafkaProducer).sendNotificationEvent(any(NotificationEvent.class));
-        verify(transactionRepository).save(any(Transaction.class));
+    }
+
+    @Test
+    void createTransaction_InventoryUnavailable_NothingSaved() {
+        when(httpServletRequest.getHeader("X-User-Id")).thenReturn("200");
+        when(inventoryClient.getProduct(eq(100L), any(HttpHeaders.class)))
+                .thenThrow(new ServiceUnavailableException("Inventory Service is unavailable"));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> transactionService.createTransaction(createTransactionRequest, httpServletRequest));
+
+        verifyNoInteractions(transactionRepository, kafkaProducer);
     }
 
     @Test
@@ -172,7 +289,6 @@ public class TransactionServiceImplTest {
     void getTransactionById_Success() {
         // Arrange
         when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
-        when(modelMapper.map(transaction, TransactionDto.class)).thenReturn(transactionDto);
         when(messageUtils.getMessage("transactions.found", 1L)).thenReturn("Transaction found with ID: 1");
 
         // Act
@@ -204,7 +320,6 @@ public class TransactionServiceImplTest {
         Page<Transaction> transactionPage = new PageImpl<>(Arrays.asList(transaction));
         
         when(transactionRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(transactionPage);
-        when(modelMapper.map(transaction, TransactionDto.class)).thenReturn(transactionDto);
         when(messageUtils.getMessage("transactions.found")).thenReturn("Transactions found");
 
         // Act
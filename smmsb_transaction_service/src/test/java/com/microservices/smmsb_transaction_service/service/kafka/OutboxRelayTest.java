@@ -0,0 +1,113 @@
+package com.microservices.smmsb_transaction_service.service.kafka;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.smmsb_transaction_service.dto.kafkaEvent.StockReservationDecisionEvent;
+import com.microservices.smmsb_transaction_service.model.OutboxEvent;
+import com.microservices.smmsb_transaction_service.repository.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    private static final String TOPIC = "stock-reservation-decision";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate, new ObjectMapper(), transactionTemplate);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 3);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 10);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMs", 1000L);
+        lenient().when(outboxEventRepository.tryLockRelay()).thenReturn(true);
+    }
+
+    @Test
+    void relayBatch_SendsDecisionsWithKeyAndMarksSent() {
+        when(outboxEventRepository.lockNextBatch(10, 3)).thenReturn(List.of(event(1L), event(2L)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any(StockReservationDecisionEvent.class)))
+                .thenReturn(sent());
+
+        assertFalse(outboxRelay.relayBatch());
+
+        verify(kafkaTemplate).send(TOPIC, "1", new StockReservationDecisionEvent(1L, 100L,
+                StockReservationDecisionEvent.CONFIRM, null));
+        verify(outboxEventRepository).markSent(eq(List.of(1L, 2L)), any());
+    }
+
+    @Test
+    void relayBatch_BrokerUnavailable_KeepsDecisionForNextRun() {
+        when(outboxEventRepository.lockNextBatch(10, 3)).thenReturn(List.of(event(1L), event(2L)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any(StockReservationDecisionEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("metadata timeout")));
+
+        outboxRelay.relayBatch();
+
+        verify(kafkaTemplate, times(1)).send(anyString(), any(), any());
+        verify(outboxEventRepository, never()).markFailed(anyLong(), any());
+        verify(outboxEventRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void relayBatch_PermanentFailure_MarksOnlyPrefixSent() {
+        when(outboxEventRepository.lockNextBatch(10, 3)).thenReturn(List.of(event(1L), event(2L), event(3L)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any(StockReservationDecisionEvent.class)))
+                .thenReturn(sent(), CompletableFuture.failedFuture(new RecordTooLargeException("too large")), sent());
+
+        outboxRelay.relayBatch();
+
+        verify(outboxEventRepository).markSent(eq(List.of(1L)), any());
+        verify(outboxEventRepository).markFailed(2L, "too large");
+    }
+
+    @Test
+    void relayBatch_AnotherRelayHoldsLock_SendsNothing() {
+        when(outboxEventRepository.tryLockRelay()).thenReturn(false);
+
+        assertFalse(outboxRelay.relayBatch());
+
+        verify(outboxEventRepository, never()).lockNextBatch(anyInt(), anyInt());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private OutboxEvent event(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic(TOPIC)
+                .eventKey(String.valueOf(id))
+                .eventType(StockReservationDecisionEvent.class.getName())
+                .payload("{\"transactionId\":" + id + ",\"productId\":100,\"decision\":\"CONFIRM\"}")
+                .build();
+    }
+
+    private CompletableFuture<SendResult<String, Object>> sent() {
+        return CompletableFuture.completedFuture(new SendResult<>(null, null));
+    }
+}